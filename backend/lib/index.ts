@@ -5,6 +5,7 @@ import { CognitoStack } from './stack/cognito-stack';
 import { TimestreamStack } from './stack/timestream-stack';
 import { ApiGatewayStack, ApiGatewayStackProps } from './stack/apigateway-stack';
 import { SesStack } from "./stack/ses-stack";
+import { ExportStack } from "./stack/export-stack";
 
 const stages = ['dev', 'prod'];
 
@@ -20,19 +21,25 @@ stages.forEach((stage) => {
   const dynamoDbStack = new DynamoDbStack(app, `RemoteMobilityMonitoringDynamoStack-${stage}`, {
     stage: stage,
   });
+  const exportStack = new ExportStack(app, `RemoteMobilityMonitoringExportStack-${stage}`, {
+    stage: stage,
+  });
   const lambdaStack = new LambdaStack(app, `RemoteMobilityMonitoringLambdaStack-${stage}`, {
     stage: stage,
     ddbTable: dynamoDbStack.remoteMobilityMonitoringTable,
     timestreamDatabase: timestreamStack.database,
     timestreamTable: timestreamStack.metricsTable,
     userPool: cognitoStack.userPool,
+    userPoolClient: cognitoStack.userPoolClient,
     sesSender: sesStack.senderEmailIdentity.emailIdentityName,
+    exportBucket: exportStack.exportBucket,
   });
   const apigatewayStackProps: ApiGatewayStackProps = {
     stage: stage,
     userPool: cognitoStack.userPool,
     defaultFunction: lambdaStack.defaultFunction,
     getOrganizationFunction: lambdaStack.getOrganizationAlias,
+    searchCaregiversFunction: lambdaStack.searchCaregiversAlias,
     getAdminFunction: lambdaStack.getAdminAlias,
     deleteAdminFunction: lambdaStack.deleteAdminAlias,
     createCaregiverFunction: lambdaStack.createCaregiverAlias,
@@ -40,8 +47,12 @@ stages.forEach((stage) => {
     acceptPatientPrimaryFunction: lambdaStack.acceptPatientPrimaryAlias,
     addPatientFunction: lambdaStack.addPatientAlias,
     removePatientFunction: lambdaStack.removePatientAlias,
+    addAlertRuleFunction: lambdaStack.addAlertRuleAlias,
+    getAllAlertRulesFunction: lambdaStack.getAllAlertRulesAlias,
+    removeAlertRuleFunction: lambdaStack.removeAlertRuleAlias,
     getCaregiverFunction: lambdaStack.getCaregiverAlias,
     getAllPatientsFunction: lambdaStack.getAllPatientsAlias,
+    searchPatientsFunction: lambdaStack.searchPatientsAlias,
     updateCaregiverFunction: lambdaStack.updateCaregiverAlias,
     deleteCaregiverFunction: lambdaStack.deleteCaregiverAlias,
     createPatientFunction: lambdaStack.createPatientAlias,
@@ -49,6 +60,7 @@ stages.forEach((stage) => {
     getAllCaregiversFunction: lambdaStack.getAllCaregiversAlias,
     addMetricsFunction: lambdaStack.addMetricsAlias,
     queryMetricsFunction: lambdaStack.queryMetricsAlias,
+    exportMetricsFunction: lambdaStack.exportMetricsAlias,
     updatePatientFunction: lambdaStack.updatePatientAlias,
     deletePatientFunction: lambdaStack.deletePatientAlias,
   }
@@ -10,6 +10,7 @@ export interface ApiGatewayStackProps extends cdk.StackProps {
   readonly userPool: cognito.UserPool;
   readonly defaultFunction: lambda.Function;
   readonly getOrganizationFunction: lambda.Alias;
+  readonly searchCaregiversFunction: lambda.Alias;
   readonly getAdminFunction: lambda.Alias;
   readonly deleteAdminFunction: lambda.Alias;
   readonly createCaregiverFunction: lambda.Alias;
@@ -17,8 +18,12 @@ export interface ApiGatewayStackProps extends cdk.StackProps {
   readonly acceptPatientPrimaryFunction: lambda.Alias;
   readonly addPatientFunction: lambda.Alias;
   readonly removePatientFunction: lambda.Alias;
+  readonly addAlertRuleFunction: lambda.Alias;
+  readonly getAllAlertRulesFunction: lambda.Alias;
+  readonly removeAlertRuleFunction: lambda.Alias;
   readonly getCaregiverFunction: lambda.Alias;
   readonly getAllPatientsFunction: lambda.Alias;
+  readonly searchPatientsFunction: lambda.Alias;
   readonly updateCaregiverFunction: lambda.Alias;
   readonly deleteCaregiverFunction: lambda.Alias;
   readonly createPatientFunction: lambda.Alias;
@@ -26,6 +31,7 @@ export interface ApiGatewayStackProps extends cdk.StackProps {
   readonly getAllCaregiversFunction: lambda.Alias;
   readonly addMetricsFunction: lambda.Alias;
   readonly queryMetricsFunction: lambda.Alias;
+  readonly exportMetricsFunction: lambda.Alias;
   readonly updatePatientFunction: lambda.Alias;
   readonly deletePatientFunction: lambda.Alias;
 }
@@ -70,6 +76,7 @@ export class ApiGatewayStack extends cdk.Stack {
     });
 
     const getOrganizationFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.getOrganizationFunction);
+    const searchCaregiversFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.searchCaregiversFunction);
 
     const getAdminFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.getAdminFunction);
     const deleteAdminFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.deleteAdminFunction);
@@ -79,8 +86,12 @@ export class ApiGatewayStack extends cdk.Stack {
     const acceptPatientPrimaryFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.acceptPatientPrimaryFunction);
     const addPatientFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.addPatientFunction);
     const removePatientFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.removePatientFunction);
+    const addAlertRuleFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.addAlertRuleFunction);
+    const getAllAlertRulesFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.getAllAlertRulesFunction);
+    const removeAlertRuleFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.removeAlertRuleFunction);
     const getCaregiverFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.getCaregiverFunction);
     const getAllPatientsFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.getAllPatientsFunction);
+    const searchPatientsFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.searchPatientsFunction);
     const updateCaregiverFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.updateCaregiverFunction);
     const deleteCaregiverFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.deleteCaregiverFunction);
 
@@ -89,12 +100,15 @@ export class ApiGatewayStack extends cdk.Stack {
     const getAllCaregiversFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.getAllCaregiversFunction);
     const addMetricsFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.addMetricsFunction);
     const queryMetricsFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.queryMetricsFunction);
+    const exportMetricsFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.exportMetricsFunction);
     const updatePatientFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.updatePatientFunction);
     const deletePatientFunctionIntegration = ApiGatewayStack.createLambdaIntegration(props.deletePatientFunction);
 
     const organizations = api.root.addResource('organizations');
     const organization_id = organizations.addResource('{organization_id}');
     organization_id.addMethod('GET', getOrganizationFunctionIntegration, methodOptions); // GET /organizations/{organization_id}
+    const organization_search = organization_id.addResource('search');
+    organization_search.addMethod('GET', searchCaregiversFunctionIntegration, methodOptions); // GET /organizations/{organization_id}/search
 
     const admins = api.root.addResource('admins');
     const admin_id = admins.addResource('{admin_id}');
@@ -110,11 +124,18 @@ export class ApiGatewayStack extends cdk.Stack {
     const caregiver_patients = caregiver_id.addResource('patients');
     caregiver_patients.addMethod('POST', addPatientPrimaryFunctionIntegration, methodOptions); // POST /caregivers/{caregiver_id}/patients
     caregiver_patients.addMethod('GET', getAllPatientsFunctionIntegration, methodOptions); // GET /caregivers/{caregiver_id}/patients
+    const caregiver_search = caregiver_id.addResource('search');
+    caregiver_search.addMethod('GET', searchPatientsFunctionIntegration, methodOptions); // GET /caregivers/{caregiver_id}/search
     const caregiver_patient_id = caregiver_patients.addResource('{patient_id}');
     caregiver_patient_id.addMethod('POST', addPatientFunctionIntegration, methodOptions); // POST /caregivers/{caregiver_id}/patients/{patient_id}
     caregiver_patient_id.addMethod('DELETE', removePatientFunctionIntegration, methodOptions); // DELETE /caregivers/{caregiver_id}/patients/{patient_id}
     const caregiver_patient_accept = caregiver_patient_id.addResource('accept');
     caregiver_patient_accept.addMethod('POST', acceptPatientPrimaryFunctionIntegration, methodOptions) // POST /caregivers/{caregiver_id}/patients/{patient_id}/accept
+    const caregiver_patient_rules = caregiver_patient_id.addResource('rules');
+    caregiver_patient_rules.addMethod('POST', addAlertRuleFunctionIntegration, methodOptions); // POST /caregivers/{caregiver_id}/patients/{patient_id}/rules
+    caregiver_patient_rules.addMethod('GET', getAllAlertRulesFunctionIntegration, methodOptions); // GET /caregivers/{caregiver_id}/patients/{patient_id}/rules
+    const caregiver_patient_rule_id = caregiver_patient_rules.addResource('{rule_id}');
+    caregiver_patient_rule_id.addMethod('DELETE', removeAlertRuleFunctionIntegration, methodOptions); // DELETE /caregivers/{caregiver_id}/patients/{patient_id}/rules/{rule_id}
 
     const patients = api.root.addResource('patients');
     patients.addMethod('POST', createPatientFunctionIntegration, {}); // POST /patients
@@ -127,6 +148,7 @@ export class ApiGatewayStack extends cdk.Stack {
     const metrics = api.root.addResource('metrics');
     metrics.addMethod('POST', addMetricsFunctionIntegration, methodOptions); // POST /metrics
     metrics.addMethod('GET', queryMetricsFunctionIntegration, methodOptions); // GET /metrics
+    metrics.addResource('export').addMethod('POST', exportMetricsFunctionIntegration, methodOptions); // POST /metrics/export
   }
 
   private static createLambdaIntegration(lambdaFunction: lambda.Alias | lambda.Function) {
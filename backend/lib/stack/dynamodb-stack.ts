@@ -17,6 +17,8 @@ export class DynamoDbStack extends cdk.Stack {
   public static CAREGIVER_EMAIL_GSI_NAME = 'car-email-gsi';
   public static PATIENT_EMAIL_GSI_NAME = 'pat-email-gsi';
   public static PATIENT_DEVICE_ID_GSI_NAME = 'pat-device_id-gsi';
+  public static ROSTER_NAME_GSI_NAME = 'roster_name-gsi';
+  public static ROSTER_CREATED_AT_GSI_NAME = 'roster_created_at-gsi';
 
   public readonly remoteMobilityMonitoringTable: dynamodb.Table;
 
@@ -39,6 +41,8 @@ export class DynamoDbStack extends cdk.Stack {
     table.addGlobalSecondaryIndex(DynamoDbStack.createGsiProps(DynamoDbStack.CAREGIVER_EMAIL_GSI_NAME, 'car-email'));
     table.addGlobalSecondaryIndex(DynamoDbStack.createGsiProps(DynamoDbStack.PATIENT_EMAIL_GSI_NAME, 'pat-email'));
     table.addGlobalSecondaryIndex(DynamoDbStack.createGsiProps(DynamoDbStack.PATIENT_DEVICE_ID_GSI_NAME, 'pat-device_id'));
+    table.addGlobalSecondaryIndex(DynamoDbStack.createGsiProps(DynamoDbStack.ROSTER_NAME_GSI_NAME, 'roster_id', 'roster_name'));
+    table.addGlobalSecondaryIndex(DynamoDbStack.createGsiProps(DynamoDbStack.ROSTER_CREATED_AT_GSI_NAME, 'roster_id', 'roster_created_at'));
     return table;
   }
 
@@ -0,0 +1,26 @@
+import * as cdk from 'aws-cdk-lib';
+import * as s3 from 'aws-cdk-lib/aws-s3';
+
+interface ExportStackProp extends cdk.StackProps {
+  readonly stage: string;
+}
+
+export class ExportStack extends cdk.Stack {
+  public readonly exportBucket: s3.Bucket;
+
+  constructor(scope: cdk.App, id: string, props: ExportStackProp) {
+    super(scope, id, props);
+
+    // Private, exports are downloaded through presigned URLs handed out by the export function
+    this.exportBucket = new s3.Bucket(this, 'RemoteMobilityMonitoringExportBucket', {
+      blockPublicAccess: s3.BlockPublicAccess.BLOCK_ALL,
+      encryption: s3.BucketEncryption.S3_MANAGED,
+      enforceSSL: true,
+      lifecycleRules: [{
+        expiration: cdk.Duration.days(1), // presigned URLs are only valid for 15 minutes
+      }],
+      removalPolicy: cdk.RemovalPolicy.DESTROY,
+      autoDeleteObjects: true,
+    });
+  }
+}
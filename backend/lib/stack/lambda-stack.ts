@@ -4,6 +4,7 @@ import * as lambda from 'aws-cdk-lib/aws-lambda';
 import * as iam from 'aws-cdk-lib/aws-iam';
 import * as cognito from 'aws-cdk-lib/aws-cognito';
 import * as timestream from "aws-cdk-lib/aws-timestream";
+import * as s3 from 'aws-cdk-lib/aws-s3';
 import { formResourceName } from "../utility";
 
 interface LambdaStackProps extends cdk.StackProps {
@@ -12,7 +13,9 @@ interface LambdaStackProps extends cdk.StackProps {
   readonly timestreamDatabase: timestream.CfnDatabase;
   readonly timestreamTable: timestream.CfnTable;
   readonly userPool: cognito.UserPool;
+  readonly userPoolClient: cognito.UserPoolClient;
   readonly sesSender: string;
+  readonly exportBucket: s3.Bucket;
 }
 
 export class LambdaStack extends cdk.Stack {
@@ -22,7 +25,9 @@ export class LambdaStack extends cdk.Stack {
   private static timeout = cdk.Duration.seconds(300);
   private static memorySize = 1024;
   private readonly userPool: cognito.UserPool;
+  private readonly userPoolClient: cognito.UserPoolClient;
   private readonly sesSender: string;
+  private readonly exportBucket: s3.Bucket;
 
   public readonly lambdaRole: iam.Role
   public readonly dynamoDbTableName: string;
@@ -34,6 +39,8 @@ export class LambdaStack extends cdk.Stack {
   public readonly createOrganizationAlias: lambda.Alias;
   public readonly getOrganizationFunction: lambda.Function;
   public readonly getOrganizationAlias: lambda.Alias;
+  public readonly searchCaregiversFunction: lambda.Function;
+  public readonly searchCaregiversAlias: lambda.Alias;
   public readonly createAdminFunction: lambda.Function;
   public readonly createAdminAlias: lambda.Alias;
   public readonly getAdminFunction: lambda.Function;
@@ -50,10 +57,18 @@ export class LambdaStack extends cdk.Stack {
   public readonly addPatientAlias: lambda.Alias;
   public readonly removePatientFunction: lambda.Function;
   public readonly removePatientAlias: lambda.Alias;
+  public readonly addAlertRuleFunction: lambda.Function;
+  public readonly addAlertRuleAlias: lambda.Alias;
+  public readonly getAllAlertRulesFunction: lambda.Function;
+  public readonly getAllAlertRulesAlias: lambda.Alias;
+  public readonly removeAlertRuleFunction: lambda.Function;
+  public readonly removeAlertRuleAlias: lambda.Alias;
   public readonly getCaregiverFunction: lambda.Function;
   public readonly getCaregiverAlias: lambda.Alias;
   public readonly getAllPatientsFunction: lambda.Function;
   public readonly getAllPatientsAlias: lambda.Alias;
+  public readonly searchPatientsFunction: lambda.Function;
+  public readonly searchPatientsAlias: lambda.Alias;
   public readonly updateCaregiverFunction: lambda.Function;
   public readonly updateCaregiverAlias: lambda.Alias;
   public readonly deleteCaregiverFunction: lambda.Function;
@@ -68,6 +83,8 @@ export class LambdaStack extends cdk.Stack {
   public readonly addMetricsAlias: lambda.Alias;
   public readonly queryMetricsFunction: lambda.Function;
   public readonly queryMetricsAlias: lambda.Alias;
+  public readonly exportMetricsFunction: lambda.Function;
+  public readonly exportMetricsAlias: lambda.Alias;
   public readonly updatePatientFunction: lambda.Function;
   public readonly updatePatientAlias: lambda.Alias;
   public readonly deletePatientFunction: lambda.Function;
@@ -82,7 +99,9 @@ export class LambdaStack extends cdk.Stack {
     this.timestreamDatabaseName = props.timestreamDatabase.databaseName!;
     this.timestreamTableName = props.timestreamTable.tableName!;
     this.userPool = props.userPool;
+    this.userPoolClient = props.userPoolClient;
     this.sesSender = props.sesSender;
+    this.exportBucket = props.exportBucket;
 
     const defaultFunctionName = `DefaultFunction-${props.stage}`;
     this.defaultFunction = new lambda.Function(this, defaultFunctionName, {
@@ -102,6 +121,9 @@ export class LambdaStack extends cdk.Stack {
     const getOrganizationFunctionName = formResourceName('GetOrganizationFunction', props.stage);
     this.getOrganizationFunction = this.createGetOrganizationFunction(getOrganizationFunctionName);
     this.getOrganizationAlias = this.createLambdaAlias(getOrganizationFunctionName, this.getOrganizationFunction);
+    const searchCaregiversFunctionName = formResourceName('SearchCaregiversFunction', props.stage);
+    this.searchCaregiversFunction = this.createSearchCaregiversFunction(searchCaregiversFunctionName);
+    this.searchCaregiversAlias = this.createLambdaAlias(searchCaregiversFunctionName, this.searchCaregiversFunction);
 
     const createAdminFunctionName = formResourceName('CreateAdminFunction', props.stage);
     this.createAdminFunction = this.createCreateAdminFunction(createAdminFunctionName);
@@ -128,12 +150,24 @@ export class LambdaStack extends cdk.Stack {
     const removePatientFunctionName = formResourceName('RemovePatientFunction', props.stage);
     this.removePatientFunction = this.createRemovePatientFunction(removePatientFunctionName);
     this.removePatientAlias = this.createLambdaAlias(removePatientFunctionName, this.removePatientFunction);
+    const addAlertRuleFunctionName = formResourceName('AddAlertRuleFunction', props.stage);
+    this.addAlertRuleFunction = this.createAddAlertRuleFunction(addAlertRuleFunctionName);
+    this.addAlertRuleAlias = this.createLambdaAlias(addAlertRuleFunctionName, this.addAlertRuleFunction);
+    const getAllAlertRulesFunctionName = formResourceName('GetAllAlertRulesFunction', props.stage);
+    this.getAllAlertRulesFunction = this.createGetAllAlertRulesFunction(getAllAlertRulesFunctionName);
+    this.getAllAlertRulesAlias = this.createLambdaAlias(getAllAlertRulesFunctionName, this.getAllAlertRulesFunction);
+    const removeAlertRuleFunctionName = formResourceName('RemoveAlertRuleFunction', props.stage);
+    this.removeAlertRuleFunction = this.createRemoveAlertRuleFunction(removeAlertRuleFunctionName);
+    this.removeAlertRuleAlias = this.createLambdaAlias(removeAlertRuleFunctionName, this.removeAlertRuleFunction);
     const getCaregiverFunctionName = formResourceName('GetCaregiverFunction', props.stage);
     this.getCaregiverFunction = this.createGetCaregiverFunction(getCaregiverFunctionName);
     this.getCaregiverAlias = this.createLambdaAlias(getCaregiverFunctionName, this.getCaregiverFunction);
     const getAllPatientsFunctionName = formResourceName('GetAllPatientsFunction', props.stage);
     this.getAllPatientsFunction = this.createGetAllPatientsFunction(getAllPatientsFunctionName);
     this.getAllPatientsAlias = this.createLambdaAlias(getAllPatientsFunctionName, this.getAllPatientsFunction);
+    const searchPatientsFunctionName = formResourceName('SearchPatientsFunction', props.stage);
+    this.searchPatientsFunction = this.createSearchPatientsFunction(searchPatientsFunctionName);
+    this.searchPatientsAlias = this.createLambdaAlias(searchPatientsFunctionName, this.searchPatientsFunction);
     const updateCaregiverFunctionName = formResourceName('UpdateCaregiverFunction', props.stage);
     this.updateCaregiverFunction = this.createUpdateCaregiverFunction(updateCaregiverFunctionName);
     this.updateCaregiverAlias = this.createLambdaAlias(updateCaregiverFunctionName, this.updateCaregiverFunction);
@@ -156,6 +190,9 @@ export class LambdaStack extends cdk.Stack {
     const queryMetricsFunctionName = formResourceName('QueryMetricsFunction', props.stage);
     this.queryMetricsFunction = this.createQueryMetricsFunction(queryMetricsFunctionName);
     this.queryMetricsAlias = this.createLambdaAlias(queryMetricsFunctionName, this.queryMetricsFunction);
+    const exportMetricsFunctionName = formResourceName('ExportMetricsFunction', props.stage);
+    this.exportMetricsFunction = this.createExportMetricsFunction(exportMetricsFunctionName);
+    this.exportMetricsAlias = this.createLambdaAlias(exportMetricsFunctionName, this.exportMetricsFunction);
     const updatePatientFunctionName = formResourceName('UpdatePatientFunction', props.stage);
     this.updatePatientFunction = this.createUpdatePatientFunction(updatePatientFunctionName);
     this.updatePatientAlias = this.createLambdaAlias(updatePatientFunctionName, this.updatePatientFunction);
@@ -233,6 +270,10 @@ export class LambdaStack extends cdk.Stack {
     return this.createLambdaFunction(functionName, 'organization.GetOrganizationHandler');
   }
 
+  private createSearchCaregiversFunction(functionName: string): lambda.Function {
+    return this.createLambdaFunction(functionName, 'organization.SearchCaregiversHandler');
+  }
+
   private createCreateAdminFunction(functionName: string): lambda.Function {
     return this.createLambdaFunction(functionName, 'admin.CreateAdminHandler');
   }
@@ -253,6 +294,18 @@ export class LambdaStack extends cdk.Stack {
     return this.createLambdaFunction(functionName, 'caregiver.RemovePatientHandler');
   }
 
+  private createAddAlertRuleFunction(functionName: string): lambda.Function {
+    return this.createLambdaFunction(functionName, 'caregiver.AddAlertRuleHandler');
+  }
+
+  private createGetAllAlertRulesFunction(functionName: string): lambda.Function {
+    return this.createLambdaFunction(functionName, 'caregiver.GetAllAlertRulesHandler');
+  }
+
+  private createRemoveAlertRuleFunction(functionName: string): lambda.Function {
+    return this.createLambdaFunction(functionName, 'caregiver.RemoveAlertRuleHandler');
+  }
+
   private createGetCaregiverFunction(functionName: string): lambda.Function {
     return this.createLambdaFunction(functionName, 'caregiver.GetCaregiverHandler');
   }
@@ -261,6 +314,10 @@ export class LambdaStack extends cdk.Stack {
     return this.createLambdaFunction(functionName, 'caregiver.GetAllPatientsHandler');
   }
 
+  private createSearchPatientsFunction(functionName: string): lambda.Function {
+    return this.createLambdaFunction(functionName, 'caregiver.SearchPatientsHandler');
+  }
+
   private createUpdateCaregiverFunction(functionName: string): lambda.Function {
     return this.createLambdaFunction(functionName, 'caregiver.UpdateCaregiverHandler');
   }
@@ -289,6 +346,15 @@ export class LambdaStack extends cdk.Stack {
     return this.createLambdaFunction(functionName, 'patient.QueryMetricsHandler');
   }
 
+  private createExportMetricsFunction(functionName: string): lambda.Function {
+    const exportMetricsFunction = this.createLambdaFunction(functionName, 'patient.ExportMetricsHandler', {
+      'EXPORT_BUCKET_NAME': this.exportBucket.bucketName,
+      'EXPORT_DIRECTORY': '/tmp/exports',
+    });
+    this.exportBucket.grantReadWrite(exportMetricsFunction);
+    return exportMetricsFunction;
+  }
+
   private createUpdatePatientFunction(functionName: string): lambda.Function {
     return this.createLambdaFunction(functionName, 'patient.UpdatePatientHandler');
   }
@@ -297,7 +363,8 @@ export class LambdaStack extends cdk.Stack {
     return this.createLambdaFunction(functionName, 'patient.DeletePatientHandler');
   }
 
-  private createLambdaFunction(functionName: string, handler: string): lambda.Function {
+  private createLambdaFunction(functionName: string, handler: string,
+                               environment: { [key: string]: string } = {}): lambda.Function {
     const lambdaFunction = new lambda.Function(this, functionName, {
       functionName: functionName,
       runtime: LambdaStack.runtime,
@@ -311,7 +378,9 @@ export class LambdaStack extends cdk.Stack {
         'TIMESTREAM_DATABASE_NAME': this.timestreamDatabaseName,
         'TIMESTREAM_TABLE_NAME': this.timestreamTableName,
         'COGNITO_USERPOOL_ID': this.userPool.userPoolId,
+        'COGNITO_USERPOOL_CLIENT_ID': this.userPoolClient.userPoolClientId,
         'SES_SENDER': this.sesSender,
+        ...environment,
       },
     });
     LambdaStack.enableSnapStart(lambdaFunction);
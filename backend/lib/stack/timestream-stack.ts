@@ -29,6 +29,9 @@ export class TimestreamStack extends cdk.Stack {
         MemoryStoreRetentionPeriodInHours: "72", // 3 days
         MagneticStoreRetentionPeriodInDays: "36500", // 100 years
       },
+      magneticStoreWriteProperties: {
+        EnableMagneticStoreWrites: true, // historical imports are older than memory store retention
+      },
     });
   }
 }
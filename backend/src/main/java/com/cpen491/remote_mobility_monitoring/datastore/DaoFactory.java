@@ -1,20 +1,38 @@
 package com.cpen491.remote_mobility_monitoring.datastore;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.AdminDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AlertRuleDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AssociationLayout;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AuthDecisionCache;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.EntityCache;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.GenericDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.IdentityMap;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStateDao;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.PartitionShards;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 /**
- * Factory class for DAOs for DynamoDB, which includes OrganizationDao, AdminDao, CaregiverDao, and PatientDao.
+ * Factory class for DAOs for DynamoDB, which includes OrganizationDao, AdminDao, CaregiverDao, PatientDao,
+ * MetricsStateDao, and AlertRuleDao.
  */
 public class DaoFactory {
     private final GenericDao genericDao;
+    private final AuthDecisionCache authDecisionCache;
 
     public DaoFactory(String tableName, DynamoDbClient ddbClient) {
         this.genericDao = new GenericDao(tableName, ddbClient);
+        this.authDecisionCache = null;
+    }
+
+    public DaoFactory(String tableName, DynamoDbClient ddbClient, AssociationLayout associationLayout,
+                      EntityCache entityCache, IdentityMap identityMap, PartitionShards partitionShards,
+                      AuthDecisionCache authDecisionCache) {
+        this.genericDao = new GenericDao(tableName, ddbClient, associationLayout, entityCache, identityMap,
+                partitionShards);
+        this.authDecisionCache = authDecisionCache;
     }
 
     public OrganizationDao createOrganizationDao() {
@@ -26,10 +44,18 @@ public class DaoFactory {
     }
 
     public CaregiverDao createCaregiverDao(OrganizationDao organizationDao, PatientDao patientDao) {
-        return new CaregiverDao(genericDao, organizationDao, patientDao);
+        return new CaregiverDao(genericDao, organizationDao, patientDao, authDecisionCache);
     }
 
     public PatientDao createPatientDao() {
         return new PatientDao(genericDao);
     }
+
+    public MetricsStateDao createMetricsStateDao() {
+        return new MetricsStateDao(genericDao);
+    }
+
+    public AlertRuleDao createAlertRuleDao() {
+        return new AlertRuleDao(genericDao);
+    }
 }
@@ -10,9 +10,9 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
 import java.util.Map;
+import java.util.Optional;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AdminTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.OrganizationTable;
@@ -54,6 +54,21 @@ public class AdminDao {
         genericDao.addAssociation(Organization.convertToMap(organization), adminMap);
     }
 
+    /**
+     * Checks whether an Admin record with the given id exists. The record is read through the entity cache if there
+     * is one, see {@link GenericDao#findByPrimaryKey}.
+     *
+     * @param id The id of the record
+     * @return {@link Boolean}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if id is empty or invalid
+     */
+    public boolean exists(String id) {
+        Validator.validateAdminId(id);
+
+        return genericDao.findByPartitionKey(id).hasItem();
+    }
+
     /**
      * Finds an Admin record by id.
      *
@@ -87,13 +102,14 @@ public class AdminDao {
         log.info("Finding Admin record with email [{}]", email);
         Validator.validateEmail(email);
 
-        QueryResponse response = genericDao
-                .findAllByPartitionKeyOnIndex(AdminTable.EMAIL_NAME, email, AdminTable.EMAIL_INDEX_NAME);
-        if (!response.hasItems() || response.items().size() == 0) {
+        Optional<Map<String, AttributeValue>> item = genericDao
+                .findAllByPartitionKeyOnIndex(AdminTable.EMAIL_NAME, email, AdminTable.EMAIL_INDEX_NAME)
+                .stream().findFirst();
+        if (item.isEmpty()) {
             log.info("Cannot find Admin record with email [{}]", email);
             return null;
         }
-        Admin admin = Admin.convertFromMap(response.items().get(0));
+        Admin admin = Admin.convertFromMap(item.get());
         genericDao.setCorrectId(admin, AdminTable.ID_PREFIX);
         return admin;
     }
@@ -110,13 +126,14 @@ public class AdminDao {
         log.info("Finding Organization of Admin [{}]", adminId);
         Validator.validateAdminId(adminId);
 
-        QueryResponse response = genericDao
-                .findAllAssociationsOnSidIndex(adminId, OrganizationTable.ID_PREFIX);
-        if (!response.hasItems() || response.items().size() == 0) {
+        Optional<Map<String, AttributeValue>> item = genericDao
+                .findAllAssociationsOnSidIndex(adminId, OrganizationTable.ID_PREFIX)
+                .stream().findFirst();
+        if (item.isEmpty()) {
             log.info("Cannot find Organization of Admin [{}]", adminId);
             return null;
         }
-        Organization organization = Organization.convertFromMap(response.items().get(0));
+        Organization organization = Organization.convertFromMap(item.get());
         organization.setSid(organization.getPid());
         return organization;
     }
@@ -151,13 +168,14 @@ public class AdminDao {
      * Deletes an Admin record by id and all of its associations. Does nothing if record does not exist.
      *
      * @param id The id of the record to delete
+     * @return {@link DeleteReport} of the records deleted
      * @throws IllegalArgumentException
      * @throws NullPointerException Above 2 exceptions are thrown if id is empty or invalid
      */
-    public void delete(String id) {
+    public DeleteReport delete(String id) {
         log.info("Deleting Admin record with id [{}]", id);
         Validator.validateAdminId(id);
 
-        genericDao.delete(id);
+        return genericDao.delete(id);
     }
 }
@@ -0,0 +1,142 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AlertRuleTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.putInMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.putNullIfAbsent;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.getCurrentUtcTimeString;
+
+@Slf4j
+@AllArgsConstructor
+public class AlertRuleDao {
+    @NonNull
+    private GenericDao genericDao;
+
+    /**
+     * Creates a new AlertRule record for the Patient given by pid. A new rule id is generated and set as sid.
+     *
+     * @param newRecord The AlertRule record to create
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if any of pid, caregiverId, measureName, operator,
+     *                              or threshold are empty or invalid
+     */
+    public void create(AlertRule newRecord) {
+        newRecord.setSid(AlertRuleTable.ID_PREFIX + UUID.randomUUID());
+        log.info("Creating new AlertRule record {}", newRecord);
+        Validator.validateAlertRule(newRecord);
+
+        if (newRecord.getDurationMinutes() == null) {
+            newRecord.setDurationMinutes(0L);
+        }
+        genericDao.setDate(newRecord);
+        genericDao.put(AlertRule.convertToMap(newRecord));
+    }
+
+    /**
+     * Finds an AlertRule record by Patient id and rule id.
+     *
+     * @param patientId The id of the Patient the rule belongs to
+     * @param ruleId The id of the rule
+     * @return {@link AlertRule}
+     * @throws RecordDoesNotExistException If record with the given ids does not exist
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patientId or ruleId is empty or invalid
+     */
+    public AlertRule findById(String patientId, String ruleId) {
+        log.info("Finding AlertRule record [{}] of Patient [{}]", ruleId, patientId);
+        Validator.validatePatientId(patientId);
+        Validator.validateRuleId(ruleId);
+
+        GetItemResponse response = genericDao.findByPrimaryKey(patientId, ruleId);
+        if (!response.hasItem()) {
+            log.error("Cannot find AlertRule record [{}] of Patient [{}]", ruleId, patientId);
+            throw new RecordDoesNotExistException(AlertRule.class.getSimpleName(), ruleId);
+        }
+        return AlertRule.convertFromMap(response.item());
+    }
+
+    /**
+     * Finds all AlertRule records of a Patient.
+     *
+     * @param patientId The id of the Patient record
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patientId is empty or invalid
+     */
+    public List<AlertRule> findAllByPatientId(String patientId) {
+        log.info("Finding all AlertRule records of Patient [{}]", patientId);
+        Validator.validatePatientId(patientId);
+
+        return genericDao
+                .findAllAssociations(patientId, AlertRuleTable.ID_PREFIX)
+                .stream().map(AlertRule::convertFromMap).collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the evaluation state of AlertRule records, i.e. breachStartedAt, lastEvaluatedAt, and lastTriggeredAt.
+     * The other attributes of the records are left as they are, and rules that were deleted in the meantime are not
+     * written back.
+     *
+     * @param updatedRecords The AlertRule records whose evaluation state to write
+     * @return {@link List} of the AlertRule records that no longer exist
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if any of pid, sid, caregiverId, measureName, operator,
+     *                              or threshold are empty or invalid
+     */
+    public List<AlertRule> updateEvaluationState(List<AlertRule> updatedRecords) {
+        log.info("Updating evaluation state of AlertRule records {}", updatedRecords);
+        for (AlertRule updatedRecord : updatedRecords) {
+            Validator.validateAlertRule(updatedRecord);
+        }
+
+        String currentTime = getCurrentUtcTimeString();
+        List<AlertRule> deletedRecords = new ArrayList<>();
+        for (AlertRule updatedRecord : updatedRecords) {
+            updatedRecord.setUpdatedAt(currentTime);
+            Map<String, AttributeValue> item = new HashMap<>();
+            putInMap(item, AlertRuleTable.PID_NAME, updatedRecord.getPid());
+            putInMap(item, AlertRuleTable.SID_NAME, updatedRecord.getSid());
+            putInMap(item, AlertRuleTable.BREACH_STARTED_AT_NAME, updatedRecord.getBreachStartedAt());
+            putInMap(item, AlertRuleTable.LAST_EVALUATED_AT_NAME, updatedRecord.getLastEvaluatedAt());
+            putInMap(item, AlertRuleTable.LAST_TRIGGERED_AT_NAME, updatedRecord.getLastTriggeredAt());
+            putInMap(item, AlertRuleTable.UPDATED_AT_NAME, currentTime);
+            putNullIfAbsent(item, AlertRuleTable.BREACH_STARTED_AT_NAME, AlertRuleTable.LAST_EVALUATED_AT_NAME,
+                    AlertRuleTable.LAST_TRIGGERED_AT_NAME);
+            if (!genericDao.updateAttributes(item)) {
+                deletedRecords.add(updatedRecord);
+            }
+        }
+        return deletedRecords;
+    }
+
+    /**
+     * Deletes an AlertRule record. Does nothing if record does not exist.
+     *
+     * @param patientId The id of the Patient the rule belongs to
+     * @param ruleId The id of the rule
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patientId or ruleId is empty or invalid
+     */
+    public void delete(String patientId, String ruleId) {
+        log.info("Deleting AlertRule record [{}] of Patient [{}]", ruleId, patientId);
+        Validator.validatePatientId(patientId);
+        Validator.validateRuleId(ruleId);
+
+        genericDao.deleteByPrimaryKey(patientId, ruleId);
+    }
+}
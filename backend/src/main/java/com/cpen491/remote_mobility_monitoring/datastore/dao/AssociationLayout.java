@@ -0,0 +1,36 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How association records between two entities are stored by {@link GenericDao}.
+ * <ul>
+ *     <li>DENORMALIZED: association records hold copies of all attributes of both entities, so reads need no further
+ *     lookups but every update of an entity rewrites all of its associations.</li>
+ *     <li>NORMALIZED: association records hold only keys, timestamps and relationship attributes, and entity
+ *     attributes are hydrated from the entity records with a batch read, so an update writes a single record.</li>
+ * </ul>
+ */
+public enum AssociationLayout {
+    DENORMALIZED("denormalized"),
+    NORMALIZED("normalized");
+
+    private static final Map<String, AssociationLayout> stringToEnumMap = new HashMap<>();
+
+    static {
+        for (AssociationLayout layout : AssociationLayout.values()) {
+            stringToEnumMap.put(layout.layout, layout);
+        }
+    }
+
+    public final String layout;
+
+    AssociationLayout(String layout) {
+        this.layout = layout;
+    }
+
+    public static AssociationLayout convertToEnum(String s) {
+        return stringToEnumMap.get(s);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.dependency.utility.BoundedTtlCache;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of authorization decisions keyed by (principal, relation, resource). Allowed decisions expire allowTtlMillis
+ * after being cached and denied decisions expire denyTtlMillis after being cached, which bounds how long a change
+ * made by another container takes to apply. Changes made in this container are applied at once, as
+ * {@link CaregiverDao} invalidates the decisions of the Caregiver-Patient pairs it adds or removes and of the
+ * Caregivers it deletes. See {@link BoundedTtlCache} for eviction and hit rate reporting.
+ */
+public class AuthDecisionCache {
+    /**
+     * Relations between a principal and a resource. For relations of the principal alone, e.g. being an Admin, the
+     * resource is the principal itself.
+     */
+    public enum Relation {
+        IS_ADMIN,
+        IS_CAREGIVER,
+        HAS_PATIENT,
+        IS_PRIMARY_CAREGIVER_OF
+    }
+
+    private static final List<Relation> PAIR_RELATIONS = List.of(Relation.HAS_PATIENT, Relation.IS_PRIMARY_CAREGIVER_OF);
+
+    private final long allowTtlMillis;
+    private final long denyTtlMillis;
+    private final BoundedTtlCache<Key, Boolean> cache;
+
+    public AuthDecisionCache(int maxEntries, long allowTtlMillis, long denyTtlMillis) {
+        this(maxEntries, allowTtlMillis, denyTtlMillis, System::currentTimeMillis);
+    }
+
+    AuthDecisionCache(int maxEntries, long allowTtlMillis, long denyTtlMillis, LongSupplier clock) {
+        this.allowTtlMillis = allowTtlMillis;
+        this.denyTtlMillis = denyTtlMillis;
+        this.cache = new BoundedTtlCache<>("Authorization decision", maxEntries, clock);
+    }
+
+    /**
+     * Returns the cached decision, or null if it is not cached or has expired.
+     */
+    public Boolean get(String principal, Relation relation, String resource) {
+        return cache.get(new Key(principal, relation, resource));
+    }
+
+    public void put(String principal, Relation relation, String resource, boolean allowed) {
+        long ttlMillis = allowed ? allowTtlMillis : denyTtlMillis;
+        cache.put(new Key(principal, relation, resource), allowed, cache.now() + ttlMillis);
+    }
+
+    /**
+     * Invalidates the decisions of every relation between principal and resource.
+     */
+    public void invalidate(String principal, String resource) {
+        for (Relation relation : PAIR_RELATIONS) {
+            cache.invalidate(new Key(principal, relation, resource));
+        }
+    }
+
+    /**
+     * Invalidates all decisions with id as principal or resource, e.g. when the entity with that id is deleted.
+     */
+    public void invalidateAll(String id) {
+        cache.invalidateIf(key -> key.principal.equals(id) || key.resource.equals(id));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    private static class Key {
+        private final String principal;
+        private final Relation relation;
+        private final String resource;
+
+        private Key(String principal, Relation relation, String resource) {
+            this.principal = principal;
+            this.relation = relation;
+            this.resource = resource;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return principal.equals(key.principal) && relation == key.relation && resource.equals(key.resource);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(principal, relation, resource);
+        }
+    }
+}
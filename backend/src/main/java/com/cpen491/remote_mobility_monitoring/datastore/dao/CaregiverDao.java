@@ -11,12 +11,15 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.OrganizationTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
@@ -27,15 +30,30 @@ import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtil
 @Slf4j
 @AllArgsConstructor
 public class CaregiverDao {
+    // Attributes of Patient associations listed in a Caregiver's roster
+    public static final List<String> PATIENT_ROSTER_PROJECTION = List.of(PatientTable.EMAIL_NAME,
+            PatientTable.FIRST_NAME_NAME, PatientTable.LAST_NAME_NAME, PatientTable.PHONE_NUMBER_NAME,
+            CaregiverTable.IS_PRIMARY_NAME, CaregiverTable.AUTH_CODE_NAME);
+    // Attributes of Patient associations deciding whether a Caregiver has the Patient
+    private static final List<String> ACCESS_PROJECTION = List.of(CaregiverTable.IS_PRIMARY_NAME,
+            CaregiverTable.AUTH_CODE_NAME);
+
     @NonNull
     private GenericDao genericDao;
     @NonNull
     private OrganizationDao organizationDao;
     @NonNull
     private PatientDao patientDao;
+    // Null if authorization decisions are not cached
+    private AuthDecisionCache authDecisionCache;
+
+    public CaregiverDao(GenericDao genericDao, OrganizationDao organizationDao, PatientDao patientDao) {
+        this(genericDao, organizationDao, patientDao, null);
+    }
 
     /**
      * Creates a new Caregiver record and adds it to an organization. Record with the given email must not already exist.
+     * The record, its association with the organization and the claim of its email are written in one transaction.
      *
      * @param newRecord The Caregiver record to create
      * @param organizationId The id of the Organization record
@@ -52,15 +70,16 @@ public class CaregiverDao {
 
         Organization organization = organizationDao.findById(organizationId);
 
-        if (findByEmail(newRecord.getEmail()) != null) {
+        genericDao.setDate(newRecord);
+        Map<String, AttributeValue> caregiverMap = Caregiver.convertToMap(newRecord);
+        Map<String, AttributeValue> associationMap = genericDao.buildAssociation(Organization.convertToMap(organization),
+                caregiverMap);
+        ClaimResult result = genericDao.createWithClaim(List.of(caregiverMap, associationMap),
+                buildEmailClaimId(newRecord.getEmail()));
+        if (result == ClaimResult.ALREADY_CLAIMED) {
             log.error("Caregiver record with email [{}] already exists", newRecord.getEmail());
             throw new DuplicateRecordException(Caregiver.class.getSimpleName(), newRecord.getEmail());
         }
-
-        genericDao.setDate(newRecord);
-        Map<String, AttributeValue> caregiverMap = Caregiver.convertToMap(newRecord);
-        genericDao.put(caregiverMap);
-        genericDao.addAssociation(Organization.convertToMap(organization), caregiverMap);
     }
 
     /**
@@ -76,8 +95,10 @@ public class CaregiverDao {
      */
     public Caregiver findUnverifiedPrimaryCaregiver(String patientId, String caregiverId) {
         log.info("Finding primary Caregiver [{}] with Patient [{}]", caregiverId, patientId);
+        Validator.validatePatientId(patientId);
+        Validator.validateCaregiverId(caregiverId);
 
-        GetItemResponse response = findPatientCaregiverAssociation(patientId, caregiverId);
+        GetItemResponse response = genericDao.findAssociationByPrimaryKey(caregiverId, patientId);
         if (!response.hasItem()) {
             log.error("Cannot find Caregiver [{}] and Patient [{}] association", caregiverId, patientId);
             throw new RecordDoesNotExistException(Caregiver.class.getSimpleName(), patientId + ":" + caregiverId);
@@ -128,11 +149,42 @@ public class CaregiverDao {
         log.info("Checking that Caregiver [{}] has Patient [{}]", caregiverId, patientId);
 
         GetItemResponse response = findPatientCaregiverAssociation(patientId, caregiverId);
-        if (!response.hasItem()) {
-            return false;
-        }
-        if (getBoolFromMap(response.item(), CaregiverTable.IS_PRIMARY_NAME)) {
-            return getFromMap(response.item(), CaregiverTable.AUTH_CODE_NAME) == null;
+        return response.hasItem() && grantsAccess(response.item());
+    }
+
+    /**
+     * Finds the Patients that Caregiver does not have, i.e. the Patients for which {@link #hasPatient} is false. All
+     * association records are read with BatchGetItem in parallel chunks instead of one GetItem per Patient.
+     *
+     * @param patientIds The ids of the Patient records
+     * @param caregiverId The id of the Caregiver record
+     * @return {@link Set} of the ids in patientIds that Caregiver does not have
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patientIds is null, or any of patientIds or
+     *                              caregiverId is empty or invalid
+     */
+    public Set<String> findPatientsWithoutAccess(List<String> patientIds, String caregiverId) {
+        log.info("Checking that Caregiver [{}] has Patients {}", caregiverId, patientIds);
+        Validator.validateIds(patientIds);
+        patientIds.forEach(Validator::validatePatientId);
+        Validator.validateCaregiverId(caregiverId);
+
+        Set<String> withAccess = genericDao.batchFindAssociations(caregiverId, patientIds, ACCESS_PROJECTION).stream()
+                .filter(CaregiverDao::grantsAccess)
+                .map(item -> getFromMap(item, BaseTable.SID_NAME))
+                .collect(Collectors.toSet());
+        return patientIds.stream()
+                .filter(patientId -> !withAccess.contains(patientId))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Returns whether a Caregiver-Patient association record gives the Caregiver access to the Patient, which a
+     * primary association only does once the Patient has accepted it.
+     */
+    private static boolean grantsAccess(Map<String, AttributeValue> association) {
+        if (getBoolFromMap(association, CaregiverTable.IS_PRIMARY_NAME)) {
+            return getFromMap(association, CaregiverTable.AUTH_CODE_NAME) == null;
         }
         return true;
     }
@@ -171,6 +223,7 @@ public class CaregiverDao {
         caregiver.setAuthCodeTimestamp(getCurrentUtcTimeString());
 
         genericDao.addAssociation(Caregiver.convertPrimaryToMap(caregiver), Patient.convertToMap(patient));
+        invalidateAuthDecisions(caregiverId, patient.getPid());
     }
 
     /**
@@ -218,6 +271,7 @@ public class CaregiverDao {
         }
 
         genericDao.addAssociation(caregiverMap, Patient.convertToMap(patient));
+        invalidateAuthDecisions(caregiverId, patientId);
     }
 
     /**
@@ -234,6 +288,28 @@ public class CaregiverDao {
         Validator.validateCaregiverId(caregiverId);
 
         genericDao.deleteByPrimaryKey(caregiverId, patientId);
+        invalidateAuthDecisions(caregiverId, patientId);
+    }
+
+    private void invalidateAuthDecisions(String caregiverId, String patientId) {
+        if (authDecisionCache != null) {
+            authDecisionCache.invalidate(caregiverId, patientId);
+        }
+    }
+
+    /**
+     * Checks whether a Caregiver record with the given id exists. The record is read through the entity cache if
+     * there is one, see {@link GenericDao#findByPrimaryKey}.
+     *
+     * @param id The id of the record
+     * @return {@link Boolean}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if id is empty or invalid
+     */
+    public boolean exists(String id) {
+        Validator.validateCaregiverId(id);
+
+        return genericDao.findByPartitionKey(id).hasItem();
     }
 
     /**
@@ -269,19 +345,20 @@ public class CaregiverDao {
         log.info("Finding Caregiver record with email [{}]", email);
         Validator.validateEmail(email);
 
-        QueryResponse response = genericDao
-                .findAllByPartitionKeyOnIndex(CaregiverTable.EMAIL_NAME, email, CaregiverTable.EMAIL_INDEX_NAME);
-        if (!response.hasItems() || response.items().size() == 0) {
+        Optional<Map<String, AttributeValue>> item = genericDao
+                .findAllByPartitionKeyOnIndex(CaregiverTable.EMAIL_NAME, email, CaregiverTable.EMAIL_INDEX_NAME)
+                .stream().findFirst();
+        if (item.isEmpty()) {
             log.info("Cannot find Caregiver record with email [{}]", email);
             return null;
         }
-        Caregiver caregiver = Caregiver.convertFromMap(response.items().get(0));
+        Caregiver caregiver = Caregiver.convertFromMap(item.get());
         genericDao.setCorrectId(caregiver, CaregiverTable.ID_PREFIX);
         return caregiver;
     }
 
     /**
-     * Batch finds all Caregiver records by IDs.
+     * Batch finds all Caregiver records by IDs, in the order of ids. IDs without a record are skipped.
      *
      * @param ids Set of IDs of the records to find
      * @return {@link List}
@@ -310,13 +387,14 @@ public class CaregiverDao {
         log.info("Finding Organization of Caregiver [{}]", caregiverId);
         Validator.validateCaregiverId(caregiverId);
 
-        QueryResponse response = genericDao
-                .findAllAssociationsOnSidIndex(caregiverId, OrganizationTable.ID_PREFIX);
-        if (!response.hasItems() || response.items().size() == 0) {
+        Optional<Map<String, AttributeValue>> item = genericDao
+                .findAllAssociationsOnSidIndex(caregiverId, OrganizationTable.ID_PREFIX)
+                .stream().findFirst();
+        if (item.isEmpty()) {
             log.info("Cannot find Organization of Caregiver [{}]", caregiverId);
             return null;
         }
-        Organization organization = Organization.convertFromMap(response.items().get(0));
+        Organization organization = Organization.convertFromMap(item.get());
         organization.setSid(organization.getPid());
         return organization;
     }
@@ -330,25 +408,87 @@ public class CaregiverDao {
      * @throws NullPointerException Above 2 exceptions are thrown if caregiverId is empty or invalid
      */
     public List<Patient> findAllPatients(String caregiverId) {
+        return findAllPatients(caregiverId, null);
+    }
+
+    /**
+     * Find all Patients of this Caregiver. Only pid, sid and the attributes in projection are read,
+     * e.g. {@link #PATIENT_ROSTER_PROJECTION} for rosters.
+     *
+     * @param caregiverId The id of the Caregiver record
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if caregiverId is empty or invalid
+     */
+    public List<Patient> findAllPatients(String caregiverId, List<String> projection) {
         log.info("Finding all Patient records of Caregiver [{}]", caregiverId);
         Validator.validateCaregiverId(caregiverId);
 
-        List<Map<String, AttributeValue>> result = genericDao
-                .findAllAssociations(caregiverId, PatientTable.ID_PREFIX).items();
-        return result.stream().map(map -> {
+        return genericDao
+                .findAllAssociations(caregiverId, PatientTable.ID_PREFIX, projection)
+                .stream().map(CaregiverDao::convertPatientFromMap).collect(Collectors.toList());
+    }
+
+    /**
+     * Find a page of the Patients of this Caregiver in the order of query.sort, starting after query.cursor.
+     * Only pid, sid and the attributes in {@link #PATIENT_ROSTER_PROJECTION} are read.
+     *
+     * @param caregiverId The id of the Caregiver record
+     * @param query The sort, name prefix, cursor and size of the page
+     * @return {@link RosterPage}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if caregiverId is empty or invalid, or the cursor
+     *                              is invalid
+     */
+    public RosterPage<Patient> findPatientPage(String caregiverId, @NonNull RosterQuery query) {
+        log.info("Finding {} Patient records of Caregiver [{}] by {}", query.getLimit(), caregiverId, query.getSort());
+        Validator.validateCaregiverId(caregiverId);
+
+        RosterPage<Map<String, AttributeValue>> page = genericDao.findRosterPage(caregiverId, PatientTable.ID_PREFIX,
+                query, PATIENT_ROSTER_PROJECTION);
+        return RosterPage.<Patient>builder()
+                .items(page.getItems().stream().map(CaregiverDao::convertPatientFromMap).collect(Collectors.toList()))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    /**
+     * Search the Patients of this Caregiver by prefixes of their first names, last names, and emails, see
+     * {@link GenericDao#search}. Only pid, sid, email, firstName, and lastName are read.
+     *
+     * @param caregiverId The id of the Caregiver record
+     * @param search The words to search for
+     * @param limit The maximum number of Patients to return
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if caregiverId is empty or invalid
+     */
+    public List<Patient> searchPatients(String caregiverId, String search, int limit) {
+        log.info("Searching Patient records of Caregiver [{}] for [{}]", caregiverId, search);
+        Validator.validateCaregiverId(caregiverId);
+
+        return genericDao.search(caregiverId, PatientTable.ID_PREFIX, search, limit).stream().map(map -> {
             Patient patient = Patient.convertFromMap(map);
             patient.setPid(patient.getSid());
-            if (getBoolFromMap(map, CaregiverTable.IS_PRIMARY_NAME)) {
-                patient.setIsPrimary(true);
-                patient.setVerified(getFromMap(map, CaregiverTable.AUTH_CODE_NAME) == null);
-            }
             return patient;
         }).collect(Collectors.toList());
     }
 
+    private static Patient convertPatientFromMap(Map<String, AttributeValue> map) {
+        Patient patient = Patient.convertFromMap(map);
+        patient.setPid(patient.getSid());
+        if (getBoolFromMap(map, CaregiverTable.IS_PRIMARY_NAME)) {
+            patient.setIsPrimary(true);
+            patient.setVerified(getFromMap(map, CaregiverTable.AUTH_CODE_NAME) == null);
+        }
+        return patient;
+    }
+
     /**
      * Updates a Caregiver record. Record with given id must already exist.
      * Record with given email should not already exist unless it is the same record being updated.
+     * The record and the claim of its email are written in one transaction.
      *
      * @param updatedRecord The Caregiver record to update
      * @throws DuplicateRecordException If record with the given email already exists
@@ -361,28 +501,42 @@ public class CaregiverDao {
         log.info("Updating Caregiver record {}", updatedRecord);
         Validator.validateCaregiver(updatedRecord);
 
-        Caregiver found = findByEmail(updatedRecord.getEmail());
-        if (found != null && !found.getPid().equals(updatedRecord.getPid())) {
+        ClaimResult result = genericDao.updateWithClaim(Caregiver.convertToMap(updatedRecord), CaregiverTable.EMAIL_NAME);
+        if (result == ClaimResult.ALREADY_CLAIMED) {
             log.error("Caregiver record with email [{}] already exists", updatedRecord.getEmail());
             throw new DuplicateRecordException(Caregiver.class.getSimpleName(), updatedRecord.getEmail());
         }
-
-        findById(updatedRecord.getPid());
-
-        genericDao.update(Caregiver.convertToMap(updatedRecord));
+        if (result == ClaimResult.RECORD_DOES_NOT_EXIST) {
+            log.error("Cannot find Caregiver record with id [{}]", updatedRecord.getPid());
+            throw new RecordDoesNotExistException(Caregiver.class.getSimpleName(), updatedRecord.getPid());
+        }
     }
 
     /**
-     * Deletes a Caregiver record by id and all of its associations. Does nothing if record does not exist.
+     * Deletes a Caregiver record by id and all of its associations, and releases the claim of its email. Does nothing
+     * if record does not exist.
      *
      * @param id The id of the record to delete
+     * @return {@link DeleteReport} of the records deleted
      * @throws IllegalArgumentException
      * @throws NullPointerException Above 2 exceptions are thrown if id is empty or invalid
      */
-    public void delete(String id) {
+    public DeleteReport delete(String id) {
         log.info("Deleting Caregiver record with id [{}]", id);
         Validator.validateCaregiverId(id);
 
-        genericDao.delete(id);
+        GetItemResponse response = genericDao.findByPartitionKey(id);
+        DeleteReport report = genericDao.delete(id);
+        if (response.hasItem()) {
+            genericDao.releaseClaim(buildEmailClaimId(Caregiver.convertFromMap(response.item()).getEmail()), id);
+        }
+        if (authDecisionCache != null) {
+            authDecisionCache.invalidateAll(id);
+        }
+        return report;
+    }
+
+    private static String buildEmailClaimId(String email) {
+        return GenericDao.buildClaimId(CaregiverTable.EMAIL_NAME, email);
     }
 }
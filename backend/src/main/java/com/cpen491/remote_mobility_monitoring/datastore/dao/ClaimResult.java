@@ -0,0 +1,15 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+/**
+ * Outcome of a write of {@link GenericDao} that claims a unique value, e.g. the email of a Caregiver.
+ * <ul>
+ *     <li>WRITTEN: the records were written and the value is claimed by the record.</li>
+ *     <li>ALREADY_CLAIMED: nothing was written because the value is claimed by another record.</li>
+ *     <li>RECORD_DOES_NOT_EXIST: nothing was written because the record to update does not exist.</li>
+ * </ul>
+ */
+public enum ClaimResult {
+    WRITTEN,
+    ALREADY_CLAIMED,
+    RECORD_DOES_NOT_EXIST
+}
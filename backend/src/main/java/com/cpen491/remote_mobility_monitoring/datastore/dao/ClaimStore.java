@@ -0,0 +1,195 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.ClaimTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.getCurrentUtcTimeString;
+
+/**
+ * The records claiming unique values, e.g. the emails of Caregivers, see {@link ClaimTable}. A record and its claim
+ * are written in one TransactWriteItems call, so concurrent writes of the same value cannot both succeed. Only the
+ * claimed records themselves are written here, {@link GenericDao} updates their associations and search index.
+ */
+@Slf4j
+@AllArgsConstructor
+class ClaimStore {
+    // Attempts of a claimed update whose record held a different value than expected, see update
+    static final int MAX_CLAIMED_UPDATE_ATTEMPTS = 3;
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+
+    @NonNull
+    private GenericDao genericDao;
+
+    /**
+     * See {@link GenericDao#buildClaimId}.
+     */
+    static String buildClaimId(String attributeName, String value) {
+        return ClaimTable.ID_PREFIX + attributeName + "#" + value;
+    }
+
+    /**
+     * Creates records together with the record claiming a unique value for the first record. Nothing is written if
+     * the value is claimed by another record.
+     *
+     * @param items The records to create, the first of which claims the value
+     * @param claimId The id of the claim record, see {@link #buildClaimId}
+     * @return {@link ClaimResult#WRITTEN}, or {@link ClaimResult#ALREADY_CLAIMED} if nothing was written
+     */
+    ClaimResult create(List<Map<String, AttributeValue>> items, String claimId) {
+        List<TransactWriteItem> writes = new ArrayList<>();
+        writes.add(buildClaimPut(claimId, getFromMap(items.get(0), BaseTable.PID_NAME)));
+        for (Map<String, AttributeValue> item : items) {
+            writes.add(TransactWriteItem.builder()
+                    .put(Put.builder().item(item).tableName(genericDao.getTableName()).build())
+                    .build());
+        }
+
+        try {
+            genericDao.getDdbClient().transactWriteItems(TransactWriteItemsRequest.builder().transactItems(writes).build());
+        } catch (TransactionCanceledException e) {
+            if (isConditionalCheckFailed(e, 0)) {
+                return ClaimResult.ALREADY_CLAIMED;
+            }
+            throw e;
+        }
+        return ClaimResult.WRITTEN;
+    }
+
+    /**
+     * Updates the attributes of a record and moves its claim of the unique value of claimedName if the value
+     * changed. The record and the claims are written in one TransactWriteItems call on the condition that the record
+     * still holds the value it is expected to. It is first expected to hold the value in item, so an update that does
+     * not change the value needs no read; otherwise the value the record holds is returned by the failed condition
+     * and the write is retried, up to {@link #MAX_CLAIMED_UPDATE_ATTEMPTS} attempts.
+     *
+     * @param item The map containing attribute names and values to overwrite record with
+     * @param claimedName The name of the unique attribute
+     * @return {@link ClaimResult#WRITTEN}, or {@link ClaimResult#ALREADY_CLAIMED} or
+     *         {@link ClaimResult#RECORD_DOES_NOT_EXIST} if nothing was written
+     */
+    ClaimResult update(Map<String, AttributeValue> item, String claimedName) {
+        String expectedValue = getFromMap(item, claimedName);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                genericDao.getDdbClient().transactWriteItems(buildClaimedUpdate(item, claimedName, expectedValue));
+                return ClaimResult.WRITTEN;
+            } catch (TransactionCanceledException e) {
+                if (isConditionalCheckFailed(e, 1)) {
+                    return ClaimResult.ALREADY_CLAIMED;
+                }
+                if (!isConditionalCheckFailed(e, 0) || attempt >= MAX_CLAIMED_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                CancellationReason reason = e.cancellationReasons().get(0);
+                if (!reason.hasItem() || reason.item().isEmpty()) {
+                    return ClaimResult.RECORD_DOES_NOT_EXIST;
+                }
+                expectedValue = getFromMap(reason.item(), claimedName);
+            }
+        }
+    }
+
+    private TransactWriteItemsRequest buildClaimedUpdate(Map<String, AttributeValue> item, String claimedName,
+                                                         String expectedValue) {
+        Map<String, String> attributeNames = new HashMap<>();
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        String updateExpression = GenericDao.buildUpdateExpression(item, attributeNames, attributeValues);
+        attributeNames.put("#claimed", claimedName);
+        attributeValues.put(":expected", convertToAttributeValue(expectedValue));
+
+        List<TransactWriteItem> writes = new ArrayList<>();
+        writes.add(TransactWriteItem.builder()
+                .update(Update.builder()
+                        .key(GenericDao.buildKey(getFromMap(item, BaseTable.PID_NAME)))
+                        .updateExpression(updateExpression)
+                        .conditionExpression("attribute_exists(#pid) AND #claimed = :expected")
+                        .expressionAttributeNames(attributeNames)
+                        .expressionAttributeValues(attributeValues)
+                        .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                        .tableName(genericDao.getTableName())
+                        .build())
+                .build());
+
+        String value = getFromMap(item, claimedName);
+        if (!value.equals(expectedValue)) {
+            String ownerId = getFromMap(item, BaseTable.PID_NAME);
+            writes.add(buildClaimPut(buildClaimId(claimedName, value), ownerId));
+            // Records created before claims were introduced have no claim to release
+            writes.add(TransactWriteItem.builder()
+                    .delete(Delete.builder()
+                            .key(GenericDao.buildKey(buildClaimId(claimedName, expectedValue)))
+                            .conditionExpression("attribute_not_exists(#pid) OR #owner = :owner")
+                            .expressionAttributeNames(Map.of("#pid", BaseTable.PID_NAME,
+                                    "#owner", ClaimTable.OWNER_ID_NAME))
+                            .expressionAttributeValues(Map.of(":owner", convertToAttributeValue(ownerId)))
+                            .tableName(genericDao.getTableName())
+                            .build())
+                    .build());
+        }
+        return TransactWriteItemsRequest.builder().transactItems(writes).build();
+    }
+
+    private TransactWriteItem buildClaimPut(String claimId, String ownerId) {
+        // Claiming a value the owner already holds succeeds, so retried writes are idempotent
+        return TransactWriteItem.builder()
+                .put(Put.builder()
+                        .item(buildClaim(claimId, ownerId))
+                        .conditionExpression("attribute_not_exists(#pid) OR #owner = :owner")
+                        .expressionAttributeNames(Map.of("#pid", BaseTable.PID_NAME, "#owner", ClaimTable.OWNER_ID_NAME))
+                        .expressionAttributeValues(Map.of(":owner", convertToAttributeValue(ownerId)))
+                        .tableName(genericDao.getTableName())
+                        .build())
+                .build();
+    }
+
+    static Map<String, AttributeValue> buildClaim(String claimId, String ownerId) {
+        Map<String, AttributeValue> claim = GenericDao.buildKey(claimId);
+        claim.put(ClaimTable.OWNER_ID_NAME, convertToAttributeValue(ownerId));
+        claim.put(BaseTable.CREATED_AT_NAME, convertToAttributeValue(getCurrentUtcTimeString()));
+        return claim;
+    }
+
+    private static boolean isConditionalCheckFailed(TransactionCanceledException e, int index) {
+        return e.hasCancellationReasons() && e.cancellationReasons().size() > index
+                && CONDITIONAL_CHECK_FAILED.equals(e.cancellationReasons().get(index).code());
+    }
+
+    /**
+     * See {@link GenericDao#releaseClaim}.
+     */
+    void release(String claimId, String ownerId) {
+        DeleteItemRequest request = DeleteItemRequest.builder()
+                .key(GenericDao.buildKey(claimId))
+                .conditionExpression("#owner = :owner")
+                .expressionAttributeNames(Map.of("#owner", ClaimTable.OWNER_ID_NAME))
+                .expressionAttributeValues(Map.of(":owner", convertToAttributeValue(ownerId)))
+                .tableName(genericDao.getTableName())
+                .build();
+        try {
+            genericDao.getDdbClient().deleteItem(request);
+        } catch (ConditionalCheckFailedException e) {
+            log.info("Claim [{}] is not held by [{}]", claimId, ownerId);
+        }
+    }
+}
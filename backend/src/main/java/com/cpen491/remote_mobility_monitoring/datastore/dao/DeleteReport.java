@@ -0,0 +1,20 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Result of deleting a record and all of its associations.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class DeleteReport {
+    private String id;
+    private int recordsDeleted;
+    // Number of records deleted by the type of the other id, e.g. "pat" for associations with Patients
+    private Map<String, Integer> recordsDeletedByType;
+}
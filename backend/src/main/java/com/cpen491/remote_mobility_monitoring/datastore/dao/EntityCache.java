@@ -0,0 +1,53 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.dependency.utility.BoundedTtlCache;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of entity records by id. Records expire ttlMillis after being cached, which bounds how stale a record can be
+ * when it was written by another container. {@link GenericDao} invalidates records it writes itself. See
+ * {@link BoundedTtlCache} for eviction and hit rate reporting.
+ */
+public class EntityCache {
+    private final long ttlMillis;
+    private final BoundedTtlCache<String, Map<String, AttributeValue>> cache;
+
+    public EntityCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    EntityCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.cache = new BoundedTtlCache<>("Entity", maxEntries, clock);
+    }
+
+    /**
+     * Returns the cached record with the given id, or null if it is not cached or has expired.
+     */
+    public Map<String, AttributeValue> get(String id) {
+        return cache.get(id);
+    }
+
+    public void put(String id, Map<String, AttributeValue> item) {
+        cache.put(id, Map.copyOf(item), cache.now() + ttlMillis);
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+}
@@ -1,36 +1,116 @@
 package com.cpen491.remote_mobility_monitoring.datastore.dao;
 
 import com.cpen491.remote_mobility_monitoring.datastore.model.BaseModel;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
-import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.RosterTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.SearchTable;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.isNull;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.getCurrentUtcTimeString;
 
+@Slf4j
 @AllArgsConstructor
 public class GenericDao {
+    // Maximum number of items DynamoDB accepts in one BatchWriteItem request
+    static final int MAX_BATCH_WRITE_ITEMS = 25;
+    static final int MAX_BATCH_WRITE_ATTEMPTS = 5;
+    // Maximum number of keys DynamoDB accepts in one BatchGetItem request
+    static final int MAX_BATCH_GET_KEYS = 100;
+    static final int MAX_BATCH_GET_ATTEMPTS = 5;
+    private static final long BATCH_BACKOFF_MILLIS = 25;
+    private static final String ROSTER_KEY_SEPARATOR = "#";
+    private static final int BATCH_THREADS = 8;
+    private static final ExecutorService BATCH_EXECUTOR = Executors.newFixedThreadPool(BATCH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "dynamodb-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Set<String> KEY_AND_DATE_NAMES = Set.of(BaseTable.PID_NAME, BaseTable.SID_NAME,
+            BaseTable.CREATED_AT_NAME, BaseTable.UPDATED_AT_NAME);
+
     @NonNull
+    @Getter(AccessLevel.PACKAGE)
     private String tableName;
     @NonNull
+    @Getter(AccessLevel.PACKAGE)
     private DynamoDbClient ddbClient;
+    @NonNull
+    @Getter(AccessLevel.PACKAGE)
+    private AssociationLayout associationLayout;
+    // Entity records read by id or to hydrate normalized associations, null to disable caching
+    private EntityCache entityCache;
+    // Entity records read by id in the current request, null to disable
+    private IdentityMap identityMap;
+    @NonNull
+    @Getter(AccessLevel.PACKAGE)
+    private PartitionShards partitionShards;
+    private final SearchIndex searchIndex = new SearchIndex(this);
+    private final ClaimStore claimStore = new ClaimStore(this);
+
+    public GenericDao(String tableName, DynamoDbClient ddbClient) {
+        this(tableName, ddbClient, AssociationLayout.DENORMALIZED, null);
+    }
+
+    public GenericDao(String tableName, DynamoDbClient ddbClient, AssociationLayout associationLayout,
+                      EntityCache entityCache) {
+        this(tableName, ddbClient, associationLayout, entityCache, null);
+    }
+
+    public GenericDao(String tableName, DynamoDbClient ddbClient, AssociationLayout associationLayout,
+                      EntityCache entityCache, IdentityMap identityMap) {
+        this(tableName, ddbClient, associationLayout, entityCache, identityMap, PartitionShards.NONE);
+    }
 
     /**
      * Create or overwrites record.
@@ -44,35 +124,210 @@ public class GenericDao {
                 .build();
 
         ddbClient.putItem(request);
+        invalidateCachedEntity(item);
+    }
+
+    /**
+     * Creates or overwrites record on the condition that the record still holds the attribute values it was read
+     * with, so that a read-modify-write does not overwrite a concurrent one, e.g. of MetricsStates.
+     *
+     * @param item The map containing attribute names and values to create or overwrite
+     * @param expected The attribute names and values the record must hold, or an empty map if it must not exist
+     * @return Whether the record was written, nothing is written if the record has changed
+     */
+    public boolean putIfUnchanged(Map<String, AttributeValue> item, Map<String, AttributeValue> expected) {
+        Map<String, String> attributeNames = new HashMap<>();
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        List<String> conditions = new ArrayList<>();
+        if (expected.isEmpty()) {
+            attributeNames.put("#pid", BaseTable.PID_NAME);
+            conditions.add("attribute_not_exists(#pid)");
+        }
+        for (Map.Entry<String, AttributeValue> entry : expected.entrySet()) {
+            String index = Integer.toString(conditions.size());
+            attributeNames.put("#expected" + index, entry.getKey());
+            attributeValues.put(":expected" + index, entry.getValue());
+            conditions.add("#expected" + index + " = :expected" + index);
+        }
+
+        PutItemRequest.Builder request = PutItemRequest.builder()
+                .item(item)
+                .conditionExpression(String.join(" AND ", conditions))
+                .expressionAttributeNames(attributeNames)
+                .tableName(tableName);
+        if (!attributeValues.isEmpty()) {
+            request.expressionAttributeValues(attributeValues);
+        }
+        try {
+            ddbClient.putItem(request.build());
+        } catch (ConditionalCheckFailedException e) {
+            log.info("Record [{}] [{}] changed since it was read", getFromMap(item, BaseTable.PID_NAME),
+                    getFromMap(item, BaseTable.SID_NAME));
+            return false;
+        }
+        invalidateCachedEntity(item);
+        return true;
+    }
+
+    /**
+     * Creates or overwrites records with BatchWriteItem, see {@link #batchWrite}. Records are not written atomically.
+     *
+     * @param items The maps containing attribute names and values to create or overwrite, with unique primary keys
+     */
+    public void batchPut(List<Map<String, AttributeValue>> items) {
+        List<WriteRequest> writeRequests = new ArrayList<>(items.size());
+        for (Map<String, AttributeValue> item : items) {
+            writeRequests.add(WriteRequest.builder().putRequest(builder -> builder.item(item)).build());
+        }
+        batchWrite(writeRequests);
+        items.forEach(this::invalidateCachedEntity);
+    }
+
+    /**
+     * Deletes records with BatchWriteItem, see {@link #batchWrite}. Records are not deleted atomically.
+     *
+     * @param keyMaps The maps containing pid and sid of the records to delete, with unique primary keys
+     */
+    public void batchDeleteByPrimaryKey(List<Map<String, AttributeValue>> keyMaps) {
+        List<WriteRequest> writeRequests = new ArrayList<>(keyMaps.size());
+        for (Map<String, AttributeValue> keyMap : keyMaps) {
+            Map<String, AttributeValue> key = new HashMap<>();
+            key.put(BaseTable.PID_NAME, keyMap.get(BaseTable.PID_NAME));
+            key.put(BaseTable.SID_NAME, keyMap.get(BaseTable.SID_NAME));
+            writeRequests.add(WriteRequest.builder().deleteRequest(builder -> builder.key(key)).build());
+        }
+        batchWrite(writeRequests);
+        keyMaps.forEach(this::invalidateCachedEntity);
+    }
+
+    /**
+     * Runs write requests in chunks of {@link #MAX_BATCH_WRITE_ITEMS} issued in parallel. Requests left unprocessed by
+     * DynamoDB are retried with backoff and, after {@link #MAX_BATCH_WRITE_ATTEMPTS} attempts, run one by one.
+     */
+    private void batchWrite(List<WriteRequest> writeRequests) {
+        runChunksInParallel(writeRequests, MAX_BATCH_WRITE_ITEMS, chunk -> {
+            batchWriteChunk(chunk);
+            return null;
+        });
+    }
+
+    private void batchWriteChunk(List<WriteRequest> writeRequests) {
+        for (int attempt = 1; ; attempt++) {
+            BatchWriteItemRequest request = BatchWriteItemRequest.builder()
+                    .requestItems(Collections.singletonMap(tableName, writeRequests))
+                    .build();
+            BatchWriteItemResponse response = ddbClient.batchWriteItem(request);
+            writeRequests = response.hasUnprocessedItems()
+                    ? response.unprocessedItems().getOrDefault(tableName, Collections.emptyList())
+                    : Collections.emptyList();
+            if (writeRequests.isEmpty()) {
+                return;
+            }
+            if (attempt >= MAX_BATCH_WRITE_ATTEMPTS || !backoff(attempt)) {
+                break;
+            }
+        }
+
+        log.warn("Running {} unprocessed write requests one by one", writeRequests.size());
+        for (WriteRequest writeRequest : writeRequests) {
+            if (writeRequest.putRequest() != null) {
+                put(writeRequest.putRequest().item());
+            } else {
+                // Deleted by key as is, as the keys are final and search index records are deleted by the caller
+                ddbClient.deleteItem(DeleteItemRequest.builder()
+                        .tableName(tableName)
+                        .key(writeRequest.deleteRequest().key())
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Splits values into chunks of chunkSize and applies function to each chunk, in parallel if there is more than
+     * one. Returns the results in chunk order.
+     */
+    private static <T, R> List<R> runChunksInParallel(List<T> values, int chunkSize, Function<List<T>, R> function) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += chunkSize) {
+            chunks.add(values.subList(i, Math.min(i + chunkSize, values.size())));
+        }
+
+        if (chunks.size() <= 1) {
+            return chunks.stream().map(function).collect(Collectors.toList());
+        }
+        List<CompletableFuture<R>> futures = new ArrayList<>(chunks.size());
+        for (List<T> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> function.apply(chunk), BATCH_EXECUTOR));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    /**
+     * Sleeps for a random time up to an exponentially growing cap before retrying unprocessed batch requests.
+     * Returns false if interrupted.
+     */
+    private static boolean backoff(int attempt) {
+        try {
+            long cap = BATCH_BACKOFF_MILLIS << (attempt - 1);
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     /**
      * Associates item1 with item2. Done by creating a record with pid = item1.pid and sid = item2.pid,
-     * as well as all the attributes of item1 and item2.
+     * as well as all the attributes of item1 and item2. If the associations of item1 are sharded, pid is the shard of
+     * item1.pid given by {@link PartitionShards#shardKey}. In the normalized layout only the attributes in
+     * {@link BaseTable#ASSOCIATION_ATTRIBUTE_NAMES} are kept. If item2 is searchable, it is added to the search index
+     * of item1, see {@link #search}.
      *
      * @param item1 The map containing attribute names and values of item1
      * @param item2 The map containing attribute names and values of item2
      */
     public void addAssociation(Map<String, AttributeValue> item1, Map<String, AttributeValue> item2) {
+        PutItemRequest request = PutItemRequest.builder()
+                .item(buildAssociation(item1, item2))
+                .tableName(tableName)
+                .build();
+
+        ddbClient.putItem(request);
+        batchPut(SearchIndex.buildRecords(getFromMap(item1, BaseTable.PID_NAME), item2));
+    }
+
+    /**
+     * Builds the association record of item1 with item2 written by {@link #addAssociation}.
+     */
+    Map<String, AttributeValue> buildAssociation(Map<String, AttributeValue> item1, Map<String, AttributeValue> item2) {
         Map<String, AttributeValue> item = new HashMap<>();
         item.putAll(item1);
         item.putAll(item2);
         AttributeValue currentTime = convertToAttributeValue(getCurrentUtcTimeString());
-        item.put(BaseTable.PID_NAME, item1.get(BaseTable.PID_NAME));
+        item.put(BaseTable.PID_NAME, convertToAttributeValue(partitionShards.shardKey(
+                getFromMap(item1, BaseTable.PID_NAME), getFromMap(item2, BaseTable.PID_NAME))));
         item.put(BaseTable.SID_NAME, item2.get(BaseTable.PID_NAME));
         item.put(BaseTable.CREATED_AT_NAME, currentTime);
         item.put(BaseTable.UPDATED_AT_NAME, currentTime);
-
-        PutItemRequest request = PutItemRequest.builder()
-                .item(item)
-                .tableName(tableName)
-                .build();
-
-        ddbClient.putItem(request);
+        setRosterKeys(item);
+        if (associationLayout == AssociationLayout.NORMALIZED) {
+            item = normalizeAssociation(item);
+        }
+        return item;
     }
 
     /**
-     * Finds record with pid and sid both matching keyVal.
+     * Finds record with pid and sid both matching keyVal. The record is read through the entity cache if there is
+     * one, see {@link #findByPrimaryKey}.
      *
      * @param keyVal The partition key value
      * @return {@link GetItemResponse}
@@ -82,13 +337,43 @@ public class GenericDao {
     }
 
     /**
-     * Finds record with pid and sid matching input pid and sid.
+     * Finds record with pid and sid matching input pid and sid. Entity records, whose pid and sid are equal, are read
+     * at most once per request through the identity map, and otherwise through the entity cache if there is one, so
+     * repeated reads of the same entity are served from memory until the cached record expires or is written by this
+     * GenericDao. Association records are read from the shard of pid if its associations are sharded.
      *
      * @param pid The partition key value
      * @param sid The sort key value
      * @return {@link GetItemResponse}
      */
     public GetItemResponse findByPrimaryKey(String pid, String sid) {
+        if (!pid.equals(sid)) {
+            return getItem(partitionShards.shardKey(pid, sid), sid);
+        }
+        if (identityMap != null && identityMap.contains(pid)) {
+            Map<String, AttributeValue> item = identityMap.get(pid);
+            return item == null ? GetItemResponse.builder().build() : GetItemResponse.builder().item(item).build();
+        }
+        GetItemResponse response = findEntity(pid);
+        if (identityMap != null) {
+            identityMap.put(pid, response.hasItem() ? response.item() : null);
+        }
+        return response;
+    }
+
+    private GetItemResponse findEntity(String id) {
+        Map<String, AttributeValue> cached = entityCache == null ? null : entityCache.get(id);
+        if (cached != null) {
+            return GetItemResponse.builder().item(cached).build();
+        }
+        GetItemResponse response = getItem(id, id);
+        if (entityCache != null && response.hasItem()) {
+            entityCache.put(id, response.item());
+        }
+        return response;
+    }
+
+    private GetItemResponse getItem(String pid, String sid) {
         Map<String, AttributeValue> keyMap = new HashMap<>();
         keyMap.put(BaseTable.PID_NAME, convertToAttributeValue(pid));
         keyMap.put(BaseTable.SID_NAME, convertToAttributeValue(sid));
@@ -102,12 +387,30 @@ public class GenericDao {
     }
 
     /**
-     * Finds all records with pid matching keyVal.
+     * Finds association record with pid and sid matching input pid and sid, including the attributes of both
+     * entities in either layout.
+     *
+     * @param pid The partition key value
+     * @param sid The sort key value
+     * @return {@link GetItemResponse}
+     */
+    public GetItemResponse findAssociationByPrimaryKey(String pid, String sid) {
+        GetItemResponse response = findByPrimaryKey(pid, sid);
+        if (associationLayout != AssociationLayout.NORMALIZED || !response.hasItem()) {
+            return response;
+        }
+        return response.toBuilder()
+                .item(hydrateAssociations(Collections.singletonList(response.item()), null).get(0))
+                .build();
+    }
+
+    /**
+     * Finds all records with pid matching keyVal. See {@link #runQuery} for how pages are fetched.
      *
      * @param keyVal The partition key value
-     * @return {@link QueryResponse}
+     * @return {@link SdkIterable} of the records
      */
-    public QueryResponse findAllByPartitionKey(String keyVal) {
+    public SdkIterable<Map<String, AttributeValue>> findAllByPartitionKey(String keyVal) {
         return findAllByPartitionKey(BaseTable.PID_NAME, keyVal, null, false);
     }
 
@@ -117,20 +420,120 @@ public class GenericDao {
      * @param keyName The GSI key name
      * @param keyVal The GSI partition key value
      * @param indexName The GSI name
-     * @return {@link QueryResponse}
+     * @return {@link SdkIterable} of the records
      */
-    public QueryResponse findAllByPartitionKeyOnIndex(String keyName, String keyVal, String indexName) {
+    public SdkIterable<Map<String, AttributeValue>> findAllByPartitionKeyOnIndex(String keyName, String keyVal, String indexName) {
         return findAllByPartitionKey(keyName, keyVal, indexName, true);
     }
 
-    private QueryResponse findAllByPartitionKey(String keyName, String keyVal, String indexName, boolean index) {
+    /**
+     * Finds all records with pid matching any of the input pids, i.e. entity records and their associations, reading
+     * only pid, sid and the attributes in projection. A single partition is read lazily with one paginated query, and
+     * several partitions are read to the end in parallel, see {@link #queryPartitions}. Association records are
+     * hydrated like those found by {@link #findAllAssociations}.
+     *
+     * @param pids The partition key values, e.g. an entity id and the keys of its shards
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link SdkIterable} of the records
+     */
+    public SdkIterable<Map<String, AttributeValue>> findPartitions(List<String> pids, List<String> projection) {
+        if (pids.size() > 1) {
+            List<Map<String, AttributeValue>> items = queryPartitions(pids, null, projection);
+            return items::iterator;
+        }
+
+        QueryIterable pages = queryPartition(pids.get(0), null, projection);
+        if (associationLayout != AssociationLayout.NORMALIZED) {
+            return pages.items();
+        }
+        return () -> pages.stream()
+                .flatMap(page -> hydrateAssociationRecords(page.items(), projection).stream())
+                .iterator();
+    }
+
+    /**
+     * Returns the partition keys holding the associations of the entity with the given id, see
+     * {@link PartitionShards#shardKeys}.
+     *
+     * @param id The id of the entity
+     * @return {@link List} of the partition keys
+     */
+    public List<String> findShardKeys(String id) {
+        return partitionShards.shardKeys(id);
+    }
+
+    /**
+     * Queries the partitions of pids in parallel, each whole or only the records with sid starting with sidPrefix if
+     * it is not null, and returns the records of all partitions in the order of pids. In the normalized layout the
+     * association records of all partitions are hydrated together. Records are returned with the pid of their entity
+     * rather than of their shard.
+     */
+    private List<Map<String, AttributeValue>> queryPartitions(List<String> pids, String sidPrefix, List<String> projection) {
+        List<List<Map<String, AttributeValue>>> partitions = runChunksInParallel(pids, 1, chunk -> {
+            List<Map<String, AttributeValue>> items = new ArrayList<>();
+            queryPartition(chunk.get(0), sidPrefix, projection).items().forEach(items::add);
+            return items;
+        });
+
+        List<Map<String, AttributeValue>> items = partitions.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        if (associationLayout == AssociationLayout.NORMALIZED) {
+            items = hydrateAssociationRecords(items, projection);
+        }
+        return items.stream().map(this::unshard).collect(Collectors.toList());
+    }
+
+    private QueryIterable queryPartition(String pid, String sidPrefix, List<String> projection) {
+        String expression = sidPrefix == null ? "#pid = :pidValue" : "#pid = :pidValue AND begins_with(#sid, :sidValue)";
+        Map<String, String> attributeNames = new HashMap<>();
+        attributeNames.put("#pid", BaseTable.PID_NAME);
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        attributeValues.put(":pidValue", convertToAttributeValue(pid));
+        if (sidPrefix != null) {
+            attributeNames.put("#sid", BaseTable.SID_NAME);
+            attributeValues.put(":sidValue", convertToAttributeValue(sidPrefix));
+        }
+
+        return runQuery(expression, attributeNames, attributeValues, null, false, projection);
+    }
+
+    /**
+     * Hydrates the association records among items, leaving the other records as they are.
+     */
+    private List<Map<String, AttributeValue>> hydrateAssociationRecords(List<Map<String, AttributeValue>> items,
+                                                                        List<String> projection) {
+        List<Map<String, AttributeValue>> associations = items.stream()
+                .filter(GenericDao::isAssociation)
+                .collect(Collectors.toList());
+        Iterator<Map<String, AttributeValue>> hydrated = hydrateAssociations(associations, projection).iterator();
+        return items.stream()
+                .map(item -> isAssociation(item) ? hydrated.next() : item)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns item with the pid of its entity if it is in a shard of the entity's partition.
+     */
+    private Map<String, AttributeValue> unshard(Map<String, AttributeValue> item) {
+        String pid = getFromMap(item, BaseTable.PID_NAME);
+        String entityId = partitionShards.entityId(pid);
+        if (entityId.equals(pid)) {
+            return item;
+        }
+        Map<String, AttributeValue> unsharded = new HashMap<>(item);
+        unsharded.put(BaseTable.PID_NAME, convertToAttributeValue(entityId));
+        return unsharded;
+    }
+
+    private SdkIterable<Map<String, AttributeValue>> findAllByPartitionKey(String keyName, String keyVal, String indexName, boolean index) {
         String expression = "#pid = :pidValue";
         Map<String, String> attributeNames = new HashMap<>();
         attributeNames.put("#pid", keyName);
         Map<String, AttributeValue> attributeValues = new HashMap<>();
         attributeValues.put(":pidValue", convertToAttributeValue(keyVal));
 
-        return runQuery(expression, attributeNames, attributeValues, indexName, index);
+        return runQuery(expression, attributeNames, attributeValues, indexName, index, null).items();
     }
 
     /**
@@ -138,10 +541,23 @@ public class GenericDao {
      *
      * @param pid The partition key value
      * @param sidPrefix The sort key prefix
-     * @return {@link QueryResponse}
+     * @return {@link SdkIterable} of the records
+     */
+    public SdkIterable<Map<String, AttributeValue>> findAllAssociations(String pid, String sidPrefix) {
+        return findAllAssociations(pid, sidPrefix, null);
+    }
+
+    /**
+     * Finds all records with pid matching input pid and sid starting with sidPrefix, reading only pid, sid and the
+     * attributes in projection. If the associations of pid are sharded, all shards are queried in parallel.
+     *
+     * @param pid The partition key value
+     * @param sidPrefix The sort key prefix
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link SdkIterable} of the records
      */
-    public QueryResponse findAllAssociations(String pid, String sidPrefix) {
-        return findAllAssociations(pid, sidPrefix, null, false);
+    public SdkIterable<Map<String, AttributeValue>> findAllAssociations(String pid, String sidPrefix, List<String> projection) {
+        return findAllAssociations(pid, sidPrefix, null, false, projection);
     }
 
     /**
@@ -150,13 +566,32 @@ public class GenericDao {
      *
      * @param sid The GSI partition key value
      * @param pidPrefix The GSI sort key prefix
-     * @return {@link QueryResponse}
+     * @return {@link SdkIterable} of the records
      */
-    public QueryResponse findAllAssociationsOnSidIndex(String sid, String pidPrefix) {
-        return findAllAssociations(sid, pidPrefix, BaseTable.SID_INDEX_NAME, true);
+    public SdkIterable<Map<String, AttributeValue>> findAllAssociationsOnSidIndex(String sid, String pidPrefix) {
+        return findAllAssociationsOnSidIndex(sid, pidPrefix, null);
     }
 
-    private QueryResponse findAllAssociations(String pid, String sidPrefix, String indexName, boolean index) {
+    /**
+     * Finds all records with sid matching input sid and pid starting with pidPrefix, reading only pid, sid and the
+     * attributes in projection. Query will be executed on sid GSI.
+     *
+     * @param sid The GSI partition key value
+     * @param pidPrefix The GSI sort key prefix
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link SdkIterable} of the records
+     */
+    public SdkIterable<Map<String, AttributeValue>> findAllAssociationsOnSidIndex(String sid, String pidPrefix, List<String> projection) {
+        return findAllAssociations(sid, pidPrefix, BaseTable.SID_INDEX_NAME, true, projection);
+    }
+
+    private SdkIterable<Map<String, AttributeValue>> findAllAssociations(String pid, String sidPrefix, String indexName,
+                                                                         boolean index, List<String> projection) {
+        if (!index && partitionShards.isSharded(pid)) {
+            List<Map<String, AttributeValue>> items = queryPartitions(partitionShards.shardKeys(pid), sidPrefix, projection);
+            return items::iterator;
+        }
+
         String expression = "#pid = :pidValue AND begins_with(#sid, :sidValue)";
         Map<String, String> attributeNames = new HashMap<>();
         Map<String, AttributeValue> attributeValues = new HashMap<>();
@@ -170,81 +605,619 @@ public class GenericDao {
         attributeValues.put(":pidValue", convertToAttributeValue(pid));
         attributeValues.put(":sidValue", convertToAttributeValue(sidPrefix));
 
-        return runQuery(expression, attributeNames, attributeValues, indexName, index);
+        QueryIterable pages = runQuery(expression, attributeNames, attributeValues, indexName, index, projection);
+        SdkIterable<Map<String, AttributeValue>> items = pages.items();
+        if (associationLayout == AssociationLayout.NORMALIZED) {
+            // Each page is hydrated with one batch read when it is reached
+            items = () -> pages.stream()
+                    .flatMap(page -> hydrateAssociations(page.items(), projection).stream())
+                    .iterator();
+        }
+        if (!index) {
+            return items;
+        }
+        // Records found by sid may be in a shard of the partition of the other entity
+        SdkIterable<Map<String, AttributeValue>> found = items;
+        return () -> found.stream().map(this::unshard).iterator();
     }
 
-    private QueryResponse runQuery(String expression, Map<String, String> attributeNames,
-                                   Map<String, AttributeValue> attributeValues, String indexName, boolean index) {
+    /**
+     * Finds a page of the records with pid matching input pid and sid starting with sidPrefix, i.e. a roster such as
+     * the Patients of a Caregiver, in the order of query.sort. The page is read from the roster index of the sort,
+     * seeking past the sort key in query.cursor, so a page costs the same however long the roster is. If the
+     * associations of pid are sharded, a page is read from each shard in parallel and the pages are merged. Only
+     * records written with roster keys are found, see {@link TableMigrations#backfillRosterKeys}.
+     *
+     * @param pid The partition key value
+     * @param sidPrefix The sort key prefix, which must be the prefix of an entity listed in rosters
+     * @param query The sort, name prefix, cursor and size of the page
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link RosterPage} of the records
+     * @throws IllegalArgumentException If the cursor is invalid
+     */
+    public RosterPage<Map<String, AttributeValue>> findRosterPage(String pid, String sidPrefix, RosterQuery query,
+                                                                  List<String> projection) {
+        RosterSort sort = query.getSort();
+        String after = query.getCursor() == null ? null : decodeCursor(query.getCursor());
+        String namePrefix = query.getNamePrefix() == null ? null : query.getNamePrefix().toLowerCase(Locale.ROOT);
+        List<String> shardProjection = null;
+        if (projection != null) {
+            shardProjection = new ArrayList<>(projection);
+            shardProjection.add(sort.keyName);
+        }
+        List<String> finalProjection = shardProjection;
+
+        List<List<Map<String, AttributeValue>>> shardPages = runChunksInParallel(partitionShards.shardKeys(pid), 1,
+                chunk -> queryRosterShard(buildRosterId(chunk.get(0), sidPrefix), sort, namePrefix, after,
+                        query.getLimit(), finalProjection));
+        // Each shard read one more record than the page holds, so there is a next page if any is left over
+        List<Map<String, AttributeValue>> merged = shardPages.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(item -> getFromMap(item, sort.keyName)))
+                .collect(Collectors.toList());
+        List<Map<String, AttributeValue>> items = merged.subList(0, Math.min(query.getLimit(), merged.size()));
+        String nextCursor = merged.size() > query.getLimit()
+                ? encodeCursor(getFromMap(items.get(items.size() - 1), sort.keyName))
+                : null;
+
+        if (associationLayout == AssociationLayout.NORMALIZED) {
+            items = hydrateAssociations(items, projection);
+        }
+        return RosterPage.<Map<String, AttributeValue>>builder()
+                .items(items.stream().map(this::unshard).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Reads up to limit + 1 records of one roster from the index of sort, with sort key after the given one if it is
+     * not null and last name starting with namePrefix if it is not null.
+     */
+    private List<Map<String, AttributeValue>> queryRosterShard(String rosterId, RosterSort sort, String namePrefix,
+                                                               String after, int limit, List<String> projection) {
+        Map<String, String> attributeNames = new HashMap<>();
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        attributeNames.put("#roster", RosterTable.ROSTER_ID_NAME);
+        attributeValues.put(":roster", convertToAttributeValue(rosterId));
+        String expression = "#roster = :roster";
+        String filterExpression = null;
+
+        if (namePrefix != null && sort == RosterSort.LAST_NAME) {
+            String upper = namePrefix + Character.MAX_VALUE;
+            if (after != null && after.compareTo(upper) > 0) {
+                return Collections.emptyList();
+            }
+            attributeNames.put("#key", sort.keyName);
+            if (after == null || after.compareTo(namePrefix) < 0) {
+                expression += " AND begins_with(#key, :prefix)";
+                attributeValues.put(":prefix", convertToAttributeValue(namePrefix));
+            } else {
+                expression += " AND #key BETWEEN :after AND :upper";
+                attributeValues.put(":after", convertToAttributeValue(after));
+                attributeValues.put(":upper", convertToAttributeValue(upper));
+            }
+        } else {
+            if (after != null) {
+                expression += " AND #key > :after";
+                attributeNames.put("#key", sort.keyName);
+                attributeValues.put(":after", convertToAttributeValue(after));
+            }
+            if (namePrefix != null) {
+                // Filtered after reading, so the paginator may read more than one page to fill the page
+                filterExpression = "begins_with(#name, :prefix)";
+                attributeNames.put("#name", RosterTable.NAME_KEY_NAME);
+                attributeValues.put(":prefix", convertToAttributeValue(namePrefix));
+            }
+        }
+
+        String projectionExpression = buildProjectionExpression(projection, attributeNames);
+        QueryRequest request = QueryRequest.builder()
+                .tableName(tableName)
+                .indexName(sort.indexName)
+                .keyConditionExpression(expression)
+                .filterExpression(filterExpression)
+                .expressionAttributeNames(attributeNames)
+                .expressionAttributeValues(attributeValues)
+                .projectionExpression(projectionExpression)
+                .limit(limit + 1)
+                .build();
+        return ddbClient.queryPaginator(request).items().stream()
+                .filter(item -> !getFromMap(item, sort.keyName).equals(after))
+                .limit(limit + 1)
+                .collect(Collectors.toList());
+    }
+
+    private static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor, e);
+        }
+    }
+
+    /**
+     * Sets the roster index keys of association record item, which holds the attributes of its member sid, if sid is
+     * the id of an entity listed in rosters. The name key orders members by last and first name ignoring case, and
+     * the created at key by when the association was created. Both end with sid so that every key is unique.
+     */
+    static void setRosterKeys(Map<String, AttributeValue> item) {
+        String sid = getFromMap(item, BaseTable.SID_NAME);
+        String memberPrefix = getRosterMemberPrefix(sid);
+        if (memberPrefix == null) {
+            return;
+        }
+        item.put(RosterTable.ROSTER_ID_NAME, convertToAttributeValue(
+                buildRosterId(getFromMap(item, BaseTable.PID_NAME), memberPrefix)));
+        item.put(RosterTable.NAME_KEY_NAME, convertToAttributeValue(buildRosterNameKey(item, sid, memberPrefix)));
+        item.put(RosterTable.CREATED_AT_KEY_NAME, convertToAttributeValue(
+                getFromMap(item, BaseTable.CREATED_AT_NAME) + ROSTER_KEY_SEPARATOR + sid));
+    }
+
+    static String buildRosterId(String pid, String memberPrefix) {
+        return pid + ROSTER_KEY_SEPARATOR + memberPrefix;
+    }
+
+    private static String buildRosterNameKey(Map<String, AttributeValue> member, String memberId, String memberPrefix) {
+        Pair<String, String> names = RosterTable.MEMBER_NAME_NAMES.get(memberPrefix);
+        String firstName = Objects.toString(getFromMap(member, names.getLeft()), "");
+        String lastName = Objects.toString(getFromMap(member, names.getRight()), "");
+        return lastName.toLowerCase(Locale.ROOT) + ROSTER_KEY_SEPARATOR + firstName.toLowerCase(Locale.ROOT)
+                + ROSTER_KEY_SEPARATOR + memberId;
+    }
+
+    static String getRosterMemberPrefix(String id) {
+        String prefix = getIdType(id) + "-";
+        return RosterTable.MEMBER_NAME_NAMES.containsKey(prefix) ? prefix : null;
+    }
+
+    /**
+     * Rewrites the roster name keys of the association records listing the entity item, if its name has changed.
+     * Only needed in the normalized layout, where updating an entity does not rewrite its associations.
+     */
+    private void updateRosterNameKeys(Map<String, AttributeValue> item) {
+        String id = getFromMap(item, BaseTable.PID_NAME);
+        String memberPrefix = getRosterMemberPrefix(id);
+        if (memberPrefix == null) {
+            return;
+        }
+        String nameKey = buildRosterNameKey(item, id, memberPrefix);
+        for (Map<String, AttributeValue> association : findAllByPartitionKeyOnIndex(BaseTable.SID_NAME, id, BaseTable.SID_INDEX_NAME)) {
+            if (!isAssociation(association) || !association.containsKey(RosterTable.NAME_KEY_NAME)
+                    || nameKey.equals(getFromMap(association, RosterTable.NAME_KEY_NAME))) {
+                continue;
+            }
+            Map<String, AttributeValue> key = new HashMap<>();
+            key.put(BaseTable.PID_NAME, association.get(BaseTable.PID_NAME));
+            key.put(BaseTable.SID_NAME, association.get(BaseTable.SID_NAME));
+            ddbClient.updateItem(UpdateItemRequest.builder()
+                    .key(key)
+                    .updateExpression("SET #name = :name")
+                    .expressionAttributeNames(Map.of("#name", RosterTable.NAME_KEY_NAME))
+                    .expressionAttributeValues(Map.of(":name", convertToAttributeValue(nameKey)))
+                    .tableName(tableName)
+                    .build());
+        }
+    }
+
+    /**
+     * Finds the members with sid starting with sidPrefix in the search index of scopeId, e.g. the Patients of a
+     * Caregiver, that match search. A member matches if every word of search is a prefix of a word of its
+     * searchable attributes, ignoring case. The index holds a record for each prefix of each word of each member,
+     * so a search reads the one index partition of its longest word with one Query of up to limit records. Only if
+     * search has more than one word, or a word longer than the indexed prefixes, is the partition filtered and may
+     * take more than one page. Only pid, sid, and the searchable attributes of the members are returned.
+     *
+     * @param scopeId The id of the entity whose members are searched
+     * @param sidPrefix The prefix of the ids of the members
+     * @param search The words to search for
+     * @param limit The maximum number of members to return
+     * @return {@link List} of the members, ordered by id
+     */
+    public List<Map<String, AttributeValue>> search(String scopeId, String sidPrefix, String search, int limit) {
+        return searchIndex.search(scopeId, sidPrefix, search, limit);
+    }
+
+    /**
+     * Runs a query lazily. Pages are only requested from DynamoDB as the returned pages or items are iterated,
+     * following LastEvaluatedKey until the last page, so results larger than the 1 MB page limit are not truncated and
+     * only one page is held in memory at a time. Iterating the result again re-runs the query. If projection is not
+     * null, only pid, sid and the attributes in projection are read.
+     */
+    QueryIterable runQuery(String expression, Map<String, String> attributeNames,
+                                   Map<String, AttributeValue> attributeValues,
+                                   String indexName, boolean index, List<String> projection) {
+        String projectionExpression = buildProjectionExpression(projection, attributeNames);
         QueryRequest.Builder requestBuilder = QueryRequest.builder()
                 .keyConditionExpression(expression)
                 .expressionAttributeNames(attributeNames)
                 .expressionAttributeValues(attributeValues)
+                .projectionExpression(projectionExpression)
                 .tableName(tableName);
 
         QueryRequest request = index ? requestBuilder.indexName(indexName).build() : requestBuilder.build();
-        return ddbClient.query(request);
+        return ddbClient.queryPaginator(request);
     }
 
     /**
-     * Batch finds all records with pid and sid matching input list of keyValues.
+     * Builds a projection expression of pid, sid and the attributes in projection, adding placeholders for the
+     * attribute names to attributeNames. Returns null if projection is null.
+     */
+    private static String buildProjectionExpression(List<String> projection, Map<String, String> attributeNames) {
+        if (projection == null) {
+            return null;
+        }
+        // Attribute names contain '-', so they are always referred to by placeholders
+        Set<String> projectedNames = new LinkedHashSet<>(List.of(BaseTable.PID_NAME, BaseTable.SID_NAME));
+        projectedNames.addAll(projection);
+        List<String> placeholders = new ArrayList<>();
+        for (String name : projectedNames) {
+            String placeholder = "#p" + placeholders.size();
+            attributeNames.put(placeholder, name);
+            placeholders.add(placeholder);
+        }
+        return String.join(", ", placeholders);
+    }
+
+    /**
+     * Batch finds all records with pid and sid matching input list of keyValues. Keys are fetched with BatchGetItem
+     * in chunks of {@link #MAX_BATCH_GET_KEYS} issued in parallel. Keys left unprocessed by DynamoDB are retried with
+     * backoff and, after {@link #MAX_BATCH_GET_ATTEMPTS} attempts, fetched one by one. Records are returned in the
+     * order of keyValues, and keys without a record are skipped.
      *
      * @param keyValues The list of partition key values
      * @return {@link List}
      */
     public List<Map<String, AttributeValue>> batchFindByPartitionKey(List<String> keyValues) {
-        List<Map<String, AttributeValue>> keyMaps = new ArrayList<>();
+        return batchFindByPartitionKey(keyValues, null);
+    }
+
+    /**
+     * Batch finds all records with pid and sid matching input list of keyValues, reading only pid, sid and the
+     * attributes in projection. See {@link #batchFindByPartitionKey(List)}.
+     *
+     * @param keyValues The list of partition key values
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link List}
+     */
+    public List<Map<String, AttributeValue>> batchFindByPartitionKey(List<String> keyValues, List<String> projection) {
+        // BatchGetItem rejects duplicate keys
+        List<String> uniqueKeyValues = new ArrayList<>(new LinkedHashSet<>(keyValues));
+        Map<String, Map<String, AttributeValue>> found = new HashMap<>();
+        for (List<Map<String, AttributeValue>> items : runChunksInParallel(uniqueKeyValues, MAX_BATCH_GET_KEYS,
+                chunk -> batchGetChunk(chunk.stream().map(keyVal -> buildKeyMap(keyVal, keyVal)).collect(Collectors.toList()),
+                        projection))) {
+            for (Map<String, AttributeValue> item : items) {
+                found.put(getFromMap(item, BaseTable.PID_NAME), item);
+            }
+        }
+
+        List<Map<String, AttributeValue>> result = new ArrayList<>(keyValues.size());
         for (String keyVal : keyValues) {
-            Map<String, AttributeValue> map = new HashMap<>();
-            AttributeValue key = convertToAttributeValue(keyVal);
-            map.put(BaseTable.PID_NAME, key);
-            map.put(BaseTable.SID_NAME, key);
-            keyMaps.add(map);
+            Map<String, AttributeValue> item = found.get(keyVal);
+            if (item != null) {
+                result.add(item);
+            }
         }
+        return result;
+    }
 
-        KeysAndAttributes keysAndAttributes = KeysAndAttributes.builder()
-                .keys(keyMaps)
-                .build();
-        Map<String, KeysAndAttributes> requestItems = new HashMap<>();
-        requestItems.put(tableName, keysAndAttributes);
+    /**
+     * Batch finds the association records of pid with each of sids, reading only pid, sid and the attributes in
+     * projection. Associations are read from the shard of pid if its associations are sharded, with BatchGetItem in
+     * chunks of {@link #MAX_BATCH_GET_KEYS} issued in parallel, see {@link #batchFindByPartitionKey(List)}. Association
+     * records are returned as stored, so in the normalized layout they hold no entity attributes.
+     *
+     * @param pid The partition key value, without shard suffix
+     * @param sids The list of sort key values
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link List} of the records found, in the order of sids
+     */
+    public List<Map<String, AttributeValue>> batchFindAssociations(String pid, List<String> sids, List<String> projection) {
+        // BatchGetItem rejects duplicate keys
+        List<String> uniqueSids = new ArrayList<>(new LinkedHashSet<>(sids));
+        Map<String, Map<String, AttributeValue>> found = new HashMap<>();
+        for (List<Map<String, AttributeValue>> items : runChunksInParallel(uniqueSids, MAX_BATCH_GET_KEYS,
+                chunk -> batchGetChunk(chunk.stream().map(sid -> buildKeyMap(partitionShards.shardKey(pid, sid), sid))
+                        .collect(Collectors.toList()), projection))) {
+            for (Map<String, AttributeValue> item : items) {
+                found.put(getFromMap(item, BaseTable.SID_NAME), item);
+            }
+        }
 
-        BatchGetItemRequest request = BatchGetItemRequest.builder()
-                .requestItems(requestItems)
-                .build();
+        List<Map<String, AttributeValue>> result = new ArrayList<>(sids.size());
+        for (String sid : sids) {
+            Map<String, AttributeValue> item = found.get(sid);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
 
-        return ddbClient.batchGetItem(request).responses().get(tableName);
+    private static Map<String, AttributeValue> buildKeyMap(String pid, String sid) {
+        Map<String, AttributeValue> keyMap = new HashMap<>();
+        keyMap.put(BaseTable.PID_NAME, convertToAttributeValue(pid));
+        keyMap.put(BaseTable.SID_NAME, convertToAttributeValue(sid));
+        return keyMap;
+    }
+
+    private List<Map<String, AttributeValue>> batchGetChunk(List<Map<String, AttributeValue>> keyMaps, List<String> projection) {
+        Map<String, String> attributeNames = new HashMap<>();
+        String projectionExpression = buildProjectionExpression(projection, attributeNames);
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int attempt = 1; ; attempt++) {
+            KeysAndAttributes keysAndAttributes = KeysAndAttributes.builder()
+                    .keys(keyMaps)
+                    .projectionExpression(projectionExpression)
+                    .expressionAttributeNames(attributeNames.isEmpty() ? null : attributeNames)
+                    .build();
+            BatchGetItemRequest request = BatchGetItemRequest.builder()
+                    .requestItems(Collections.singletonMap(tableName, keysAndAttributes))
+                    .build();
+            BatchGetItemResponse response = ddbClient.batchGetItem(request);
+            items.addAll(response.responses().getOrDefault(tableName, Collections.emptyList()));
+            keyMaps = response.hasUnprocessedKeys() && response.unprocessedKeys().containsKey(tableName)
+                    ? response.unprocessedKeys().get(tableName).keys()
+                    : Collections.emptyList();
+            if (keyMaps.isEmpty()) {
+                return items;
+            }
+            if (attempt >= MAX_BATCH_GET_ATTEMPTS || !backoff(attempt)) {
+                break;
+            }
+        }
+
+        log.warn("Getting {} unprocessed keys one by one", keyMaps.size());
+        for (Map<String, AttributeValue> keyMap : keyMaps) {
+            String pid = getFromMap(keyMap, BaseTable.PID_NAME);
+            String sid = getFromMap(keyMap, BaseTable.SID_NAME);
+            // Keys of associations already point at their shard
+            GetItemResponse response = pid.equals(sid) ? findByPrimaryKey(pid, sid) : getItem(pid, sid);
+            if (response.hasItem()) {
+                items.add(response.item());
+            }
+        }
+        return items;
     }
 
     /**
-     * Updates all records with pid or sid matching item.pid.
+     * Updates all records with pid or sid matching item.pid. The records are overwritten with {@link #batchPut}, so
+     * latency barely depends on the number of associations. In the normalized layout associations hold no entity
+     * attributes, so only the record itself is updated.
      *
      * @param item The map containing attribute names and values to overwrite record with
      */
     public void update(Map<String, AttributeValue> item) {
         String currentTime = getCurrentUtcTimeString();
         item.put(BaseTable.UPDATED_AT_NAME, convertToAttributeValue(currentTime));
+        if (associationLayout == AssociationLayout.NORMALIZED) {
+            updateRecord(item);
+            updateRosterNameKeys(item);
+        } else {
+            updateCopies(item, true);
+        }
+        searchIndex.updateRecords(item);
+    }
 
-        List<Map<String, AttributeValue>> keyMaps = findAllRecordsContainingId(getFromMap(item, BaseTable.PID_NAME));
+    /**
+     * Overwrites the attributes of item in the associations of item.pid, and in the record itself if includeRecord.
+     * Other records under item.pid, e.g. the MetricsState and AlertRule records of a Patient, hold no copy of item
+     * and are left as they are.
+     */
+    private void updateCopies(Map<String, AttributeValue> item, boolean includeRecord) {
+        String id = getFromMap(item, BaseTable.PID_NAME);
+        List<Map<String, AttributeValue>> keyMaps = findAllRecordsContainingId(id);
 
+        List<Map<String, AttributeValue>> updatedItems = new ArrayList<>(keyMaps.size());
         for (Map<String, AttributeValue> keyMap : keyMaps) {
+            boolean isRecord = id.equals(getFromMap(keyMap, BaseTable.PID_NAME))
+                    && id.equals(getFromMap(keyMap, BaseTable.SID_NAME));
+            if (isRecord ? !includeRecord : !isAssociation(keyMap)) {
+                continue;
+            }
             keyMap = new HashMap<>(keyMap);
             AttributeValue pid = keyMap.get(BaseTable.PID_NAME);
             AttributeValue sid = keyMap.get(BaseTable.SID_NAME);
             keyMap.putAll(item);
+            keyMap.values().removeIf(DynamoDbUtils::isNull);
             keyMap.put(BaseTable.PID_NAME, pid);
             keyMap.put(BaseTable.SID_NAME, sid);
-            put(keyMap);
+            if (id.equals(sid.s()) && keyMap.containsKey(RosterTable.NAME_KEY_NAME)) {
+                keyMap.put(RosterTable.NAME_KEY_NAME, convertToAttributeValue(
+                        buildRosterNameKey(keyMap, id, getRosterMemberPrefix(id))));
+            }
+            updatedItems.add(keyMap);
         }
+        batchPut(updatedItems);
     }
 
     /**
-     * Deletes a record with pid and sid matching input pid and sid.
+     * Sets the attributes of item on the existing record with the pid and sid of item, and removes the attributes
+     * marked as cleared, leaving its other attributes as they are. Unlike {@link #update} no other record is written,
+     * so this is only meant for records that are never copied into associations, e.g. AlertRules.
+     *
+     * @param item The map containing the keys of the record and the attribute names and values to write
+     * @return Whether the record exists, nothing is written otherwise
+     */
+    public boolean updateAttributes(Map<String, AttributeValue> item) {
+        Map<String, String> attributeNames = new HashMap<>();
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        String updateExpression = buildUpdateExpression(item, attributeNames, attributeValues);
+
+        Map<String, AttributeValue> keyMap = new HashMap<>();
+        keyMap.put(BaseTable.PID_NAME, item.get(BaseTable.PID_NAME));
+        keyMap.put(BaseTable.SID_NAME, item.get(BaseTable.SID_NAME));
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .key(keyMap)
+                .updateExpression(updateExpression)
+                .conditionExpression("attribute_exists(#pid)")
+                .expressionAttributeNames(attributeNames)
+                .expressionAttributeValues(attributeValues)
+                .tableName(tableName)
+                .build();
+        try {
+            ddbClient.updateItem(request);
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            log.info("Record [{}] [{}] to update does not exist", getFromMap(item, BaseTable.PID_NAME),
+                    getFromMap(item, BaseTable.SID_NAME));
+            return false;
+        }
+    }
+
+    private void updateRecord(Map<String, AttributeValue> item) {
+        Map<String, String> attributeNames = new HashMap<>();
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        String updateExpression = buildUpdateExpression(item, attributeNames, attributeValues);
+
+        // Like the denormalized update, updating a record that does not exist does nothing
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .key(buildKey(getFromMap(item, BaseTable.PID_NAME)))
+                .updateExpression(updateExpression)
+                .conditionExpression("attribute_exists(#pid)")
+                .expressionAttributeNames(attributeNames)
+                .expressionAttributeValues(attributeValues)
+                .tableName(tableName)
+                .build();
+        try {
+            ddbClient.updateItem(request);
+        } catch (ConditionalCheckFailedException e) {
+            log.info("Record [{}] to update does not exist", getFromMap(item, BaseTable.PID_NAME));
+        }
+        invalidateCachedEntity(item);
+    }
+
+    /**
+     * Builds an update expression setting all attributes of item except the keys, and removing the attributes
+     * marked as cleared with {@link DynamoDbUtils#putNullIfAbsent}, adding placeholders to attributeNames and
+     * attributeValues. The placeholder #pid refers to the partition key.
+     */
+    static String buildUpdateExpression(Map<String, AttributeValue> item, Map<String, String> attributeNames,
+                                        Map<String, AttributeValue> attributeValues) {
+        List<String> assignments = new ArrayList<>();
+        List<String> removals = new ArrayList<>();
+        attributeNames.put("#pid", BaseTable.PID_NAME);
+        for (Map.Entry<String, AttributeValue> entry : item.entrySet()) {
+            if (entry.getKey().equals(BaseTable.PID_NAME) || entry.getKey().equals(BaseTable.SID_NAME)) {
+                continue;
+            }
+            String name = "#a" + attributeNames.size();
+            attributeNames.put(name, entry.getKey());
+            if (isNull(entry.getValue())) {
+                removals.add(name);
+                continue;
+            }
+            String value = ":a" + attributeValues.size();
+            attributeValues.put(value, entry.getValue());
+            assignments.add(name + " = " + value);
+        }
+
+        String updateExpression = "SET " + String.join(", ", assignments);
+        return removals.isEmpty() ? updateExpression : updateExpression + " REMOVE " + String.join(", ", removals);
+    }
+
+    /**
+     * Builds the id of the record claiming value of attributeName, e.g. the email of a Caregiver.
+     *
+     * @param attributeName The name of the unique attribute
+     * @param value The value to claim
+     * @return The id of the claim record
+     */
+    public static String buildClaimId(String attributeName, String value) {
+        return ClaimStore.buildClaimId(attributeName, value);
+    }
+
+    /**
+     * Creates records together with the record claiming a unique value for the first record, e.g. the email of a
+     * Caregiver, in one TransactWriteItems call. Nothing is written if the value is claimed by another record, so
+     * concurrent creates with the same value cannot both succeed. The associations created are added to the search
+     * index.
+     *
+     * @param items The records to create, the first of which claims the value
+     * @param claimId The id of the claim record, see {@link #buildClaimId}
+     * @return {@link ClaimResult#WRITTEN}, or {@link ClaimResult#ALREADY_CLAIMED} if nothing was written
+     */
+    public ClaimResult createWithClaim(List<Map<String, AttributeValue>> items, String claimId) {
+        ClaimResult result = claimStore.create(items, claimId);
+        if (result != ClaimResult.WRITTEN) {
+            return result;
+        }
+        items.forEach(this::invalidateCachedEntity);
+
+        // Normalized associations hold no member attributes, so members are indexed from their own records
+        Map<String, Map<String, AttributeValue>> entities = items.stream()
+                .filter(item -> getFromMap(item, BaseTable.PID_NAME).equals(getFromMap(item, BaseTable.SID_NAME)))
+                .collect(Collectors.toMap(item -> getFromMap(item, BaseTable.PID_NAME), item -> item));
+        List<Map<String, AttributeValue>> searchRecords = new ArrayList<>();
+        for (Map<String, AttributeValue> item : items) {
+            if (isAssociation(item)) {
+                String scopeId = partitionShards.entityId(getFromMap(item, BaseTable.PID_NAME));
+                searchRecords.addAll(SearchIndex.buildRecords(scopeId,
+                        entities.getOrDefault(getFromMap(item, BaseTable.SID_NAME), item)));
+            }
+        }
+        batchPut(searchRecords);
+        return ClaimResult.WRITTEN;
+    }
+
+    /**
+     * Updates a record like {@link #update} and moves its claim of the unique value of claimedName, e.g. the email
+     * of a Caregiver, if the value changed, see {@link ClaimStore#update}. Denormalized copies in associations and
+     * the search index are updated afterwards.
+     *
+     * @param item The map containing attribute names and values to overwrite record with
+     * @param claimedName The name of the unique attribute
+     * @return {@link ClaimResult#WRITTEN}, or {@link ClaimResult#ALREADY_CLAIMED} or
+     *         {@link ClaimResult#RECORD_DOES_NOT_EXIST} if nothing was written
+     */
+    public ClaimResult updateWithClaim(Map<String, AttributeValue> item, String claimedName) {
+        item.put(BaseTable.UPDATED_AT_NAME, convertToAttributeValue(getCurrentUtcTimeString()));
+        ClaimResult result = claimStore.update(item, claimedName);
+        if (result != ClaimResult.WRITTEN) {
+            return result;
+        }
+        invalidateCachedEntity(item);
+
+        if (associationLayout == AssociationLayout.DENORMALIZED) {
+            updateCopies(item, false);
+        } else {
+            updateRosterNameKeys(item);
+        }
+        searchIndex.updateRecords(item);
+        return ClaimResult.WRITTEN;
+    }
+
+    static Map<String, AttributeValue> buildKey(String id) {
+        Map<String, AttributeValue> keyMap = new HashMap<>();
+        keyMap.put(BaseTable.PID_NAME, convertToAttributeValue(id));
+        keyMap.put(BaseTable.SID_NAME, convertToAttributeValue(id));
+        return keyMap;
+    }
+
+    /**
+     * Deletes the record claiming a unique value if it is claimed by ownerId. Does nothing otherwise.
+     *
+     * @param claimId The id of the claim record, see {@link #buildClaimId}
+     * @param ownerId The id of the record that claimed the value
+     */
+    public void releaseClaim(String claimId, String ownerId) {
+        claimStore.release(claimId, ownerId);
+    }
+
+    /**
+     * Deletes a record with pid and sid matching input pid and sid. Association records are deleted from the shard of
+     * pid if its associations are sharded, together with sid's records in the search index of pid.
      *
      * @param pid The partition key value
      * @param sid The sort key value
      */
     public void deleteByPrimaryKey(String pid, String sid) {
         Map<String, AttributeValue> keyMap = new HashMap<>();
-        keyMap.put(BaseTable.PID_NAME, convertToAttributeValue(pid));
+        keyMap.put(BaseTable.PID_NAME, convertToAttributeValue(pid.equals(sid) ? pid : partitionShards.shardKey(pid, sid)));
         keyMap.put(BaseTable.SID_NAME, convertToAttributeValue(sid));
 
         DeleteItemRequest request = DeleteItemRequest.builder()
@@ -253,29 +1226,164 @@ public class GenericDao {
                 .build();
 
         ddbClient.deleteItem(request);
+        invalidateCachedEntity(keyMap);
+        if (!pid.equals(sid) && SearchIndex.isSearchable(sid)) {
+            batchDeleteByPrimaryKey(searchIndex.findRecords(sid, pid));
+        }
     }
 
     /**
-     * Deletes all records with pid or sid matching item.pid.
+     * Deletes all records with pid or sid matching keyVal with {@link #batchDeleteByPrimaryKey}. The search index
+     * records of keyVal, and those of the members in the search index of keyVal, are deleted too but not reported.
      *
      * @param keyVal The partition key value
+     * @return {@link DeleteReport} of the records deleted
      */
-    public void delete(String keyVal) {
+    public DeleteReport delete(String keyVal) {
         List<Map<String, AttributeValue>> keyMaps = findAllRecordsContainingId(keyVal);
+        batchDeleteByPrimaryKey(keyMaps);
+
+        List<String> memberIds = keyMaps.stream()
+                .filter(keyMap -> isAssociation(keyMap)
+                        && keyVal.equals(partitionShards.entityId(getFromMap(keyMap, BaseTable.PID_NAME))))
+                .map(keyMap -> getFromMap(keyMap, BaseTable.SID_NAME))
+                .filter(SearchIndex::isSearchable)
+                .collect(Collectors.toList());
+        List<Map<String, AttributeValue>> searchRecords = new ArrayList<>(searchIndex.findRecords(keyVal, null));
+        runChunksInParallel(memberIds, 1, chunk -> searchIndex.findRecords(chunk.get(0), keyVal)).forEach(searchRecords::addAll);
+        batchDeleteByPrimaryKey(searchRecords);
 
+        Map<String, Integer> recordsDeletedByType = new TreeMap<>();
         for (Map<String, AttributeValue> keyMap : keyMaps) {
-            deleteByPrimaryKey(getFromMap(keyMap, BaseTable.PID_NAME), getFromMap(keyMap, BaseTable.SID_NAME));
+            String pid = getFromMap(keyMap, BaseTable.PID_NAME);
+            String other = keyVal.equals(partitionShards.entityId(pid)) ? getFromMap(keyMap, BaseTable.SID_NAME) : pid;
+            recordsDeletedByType.merge(getIdType(other), 1, Integer::sum);
         }
+        return DeleteReport.builder()
+                .id(keyVal)
+                .recordsDeleted(keyMaps.size())
+                .recordsDeletedByType(recordsDeletedByType)
+                .build();
     }
 
+    /**
+     * Finds the keys of all records with pid or sid matching keyVal, including the shards of keyVal. The record itself
+     * matches both pid and sid but is returned once, since BatchWriteItem rejects duplicate keys.
+     */
     private List<Map<String, AttributeValue>> findAllRecordsContainingId(String keyVal) {
-        List<Map<String, AttributeValue>> keyMaps = new ArrayList<>();
-        List<Map<String, AttributeValue>> pidItems = findAllByPartitionKey(keyVal).items();
-        List<Map<String, AttributeValue>> sidItems = findAllByPartitionKeyOnIndex(BaseTable.SID_NAME, keyVal, BaseTable.SID_INDEX_NAME).items();
+        Map<List<AttributeValue>, Map<String, AttributeValue>> keyMaps = new LinkedHashMap<>();
+        List<SdkIterable<Map<String, AttributeValue>>> sources = new ArrayList<>();
+        sources.add(findAllByPartitionKey(keyVal));
+        if (partitionShards.isSharded(keyVal)) {
+            partitionShards.shardKeys(keyVal).forEach(shardKey -> sources.add(findAllByPartitionKey(shardKey)));
+        }
+        sources.add(findAllByPartitionKeyOnIndex(BaseTable.SID_NAME, keyVal, BaseTable.SID_INDEX_NAME));
+
+        for (SdkIterable<Map<String, AttributeValue>> items : sources) {
+            for (Map<String, AttributeValue> item : items) {
+                if (getFromMap(item, BaseTable.PID_NAME).startsWith(SearchTable.ID_PREFIX)) {
+                    continue;
+                }
+                keyMaps.putIfAbsent(List.of(item.get(BaseTable.PID_NAME), item.get(BaseTable.SID_NAME)), item);
+            }
+        }
+        return new ArrayList<>(keyMaps.values());
+    }
+
+    static String getIdType(String id) {
+        int separator = id.indexOf('-');
+        return separator < 0 ? id : id.substring(0, separator);
+    }
 
-        keyMaps.addAll(pidItems);
-        keyMaps.addAll(sidItems);
-        return keyMaps;
+    static boolean isAssociation(Map<String, AttributeValue> item) {
+        String pid = getFromMap(item, BaseTable.PID_NAME);
+        String sid = getFromMap(item, BaseTable.SID_NAME);
+        return !pid.equals(sid) && isEntityId(pid) && isEntityId(sid);
+    }
+
+    private static boolean isEntityId(String id) {
+        return BaseTable.ENTITY_ID_PREFIXES.stream().anyMatch(id::startsWith);
+    }
+
+    static Map<String, AttributeValue> normalizeAssociation(Map<String, AttributeValue> item) {
+        Map<String, AttributeValue> normalized = new HashMap<>();
+        for (Map.Entry<String, AttributeValue> entry : item.entrySet()) {
+            if (KEY_AND_DATE_NAMES.contains(entry.getKey()) || BaseTable.ASSOCIATION_ATTRIBUTE_NAMES.contains(entry.getKey())) {
+                normalized.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Overlays the current attributes of both entities onto each association record. The entities of all the records
+     * are read with a single batch read, skipping those in the entity cache. Keys, dates and relationship attributes
+     * of the association records are kept, so stale copies left in denormalized records are replaced.
+     */
+    List<Map<String, AttributeValue>> hydrateAssociations(List<Map<String, AttributeValue>> associations,
+                                                          List<String> projection) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (Map<String, AttributeValue> association : associations) {
+            ids.add(partitionShards.entityId(getFromMap(association, BaseTable.PID_NAME)));
+            ids.add(getFromMap(association, BaseTable.SID_NAME));
+        }
+        Map<String, Map<String, AttributeValue>> entities = findEntities(ids, projection);
+
+        List<Map<String, AttributeValue>> hydrated = new ArrayList<>(associations.size());
+        for (Map<String, AttributeValue> association : associations) {
+            Map<String, AttributeValue> item = new HashMap<>(association);
+            overlayEntity(item, entities.get(partitionShards.entityId(getFromMap(association, BaseTable.PID_NAME))));
+            overlayEntity(item, entities.get(getFromMap(association, BaseTable.SID_NAME)));
+            hydrated.add(item);
+        }
+        return hydrated;
+    }
+
+    private static void overlayEntity(Map<String, AttributeValue> item, Map<String, AttributeValue> entity) {
+        if (entity == null) {
+            return;
+        }
+        for (Map.Entry<String, AttributeValue> entry : entity.entrySet()) {
+            if (!KEY_AND_DATE_NAMES.contains(entry.getKey())) {
+                item.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private Map<String, Map<String, AttributeValue>> findEntities(Set<String> ids, List<String> projection) {
+        Map<String, Map<String, AttributeValue>> entities = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : ids) {
+            Map<String, AttributeValue> entity = entityCache == null ? null : entityCache.get(id);
+            if (entity != null) {
+                entities.put(id, entity);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return entities;
+        }
+
+        for (Map<String, AttributeValue> entity : batchFindByPartitionKey(misses, projection)) {
+            String id = getFromMap(entity, BaseTable.PID_NAME);
+            entities.put(id, entity);
+            // Projected records are incomplete, so only full records are cached
+            if (entityCache != null && projection == null) {
+                entityCache.put(id, entity);
+            }
+        }
+        return entities;
+    }
+
+    private void invalidateCachedEntity(Map<String, AttributeValue> item) {
+        String id = getFromMap(item, BaseTable.PID_NAME);
+        if (entityCache != null) {
+            entityCache.invalidate(id);
+        }
+        if (identityMap != null) {
+            identityMap.invalidate(id);
+        }
     }
 
     /**
@@ -311,6 +1419,7 @@ public class GenericDao {
      */
     public void setCorrectId(BaseModel model, String idPrefix) {
         if (model.getPid().startsWith(idPrefix)) {
+            model.setPid(partitionShards.entityId(model.getPid()));
             model.setSid(model.getPid());
         } else {
             model.setPid(model.getSid());
@@ -0,0 +1,208 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+
+import java.util.Arrays;
+
+/**
+ * Append-only block of (time, value) points compressed as in Facebook's Gorilla: times as delta-of-delta with
+ * variable length prefixes and values XORed with the previous value, storing only the meaningful bits. Points must be
+ * appended in time order. All points in a block share the same patient dimensions.
+ */
+class GorillaBlock {
+    static final int MAX_POINTS = 1024;
+    // Accounted per block on top of the encoded bits
+    static final int OVERHEAD_BYTES = 96;
+    private static final int NO_WINDOW = -1;
+
+    interface PointConsumer {
+        void accept(long time, double value);
+    }
+
+    final Metrics dimensions;
+    private long[] words = new long[4];
+    private int bitCount;
+    private int count;
+    private long lastTime;
+    private long lastDelta;
+    private long lastValueBits;
+    private int leading = NO_WINDOW;
+    private int trailing;
+
+    GorillaBlock(Metrics dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    boolean canAppend(long time) {
+        return count < MAX_POINTS && (count == 0 || time >= lastTime);
+    }
+
+    void append(long time, double value) {
+        long valueBits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            writeBits(time, 64);
+            writeBits(valueBits, 64);
+        } else {
+            long delta = time - lastTime;
+            writeDeltaOfDelta(delta - lastDelta);
+            lastDelta = delta;
+            writeXor(valueBits ^ lastValueBits);
+        }
+        lastTime = time;
+        lastValueBits = valueBits;
+        count++;
+    }
+
+    /**
+     * Releases unused capacity once no more points will be appended.
+     */
+    void seal() {
+        words = Arrays.copyOf(words, (bitCount + 63) >>> 6);
+    }
+
+    int count() {
+        return count;
+    }
+
+    long lastTime() {
+        return lastTime;
+    }
+
+    int sizeBytes() {
+        return words.length * Long.BYTES + OVERHEAD_BYTES;
+    }
+
+    void forEach(PointConsumer consumer) {
+        if (count == 0) {
+            return;
+        }
+        Reader reader = new Reader();
+        long time = reader.readBits(64);
+        long valueBits = reader.readBits(64);
+        consumer.accept(time, Double.longBitsToDouble(valueBits));
+
+        long delta = 0;
+        int windowLeading = NO_WINDOW;
+        int windowTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            delta += reader.readDeltaOfDelta();
+            time += delta;
+            if (reader.readBits(1) != 0) {
+                if (reader.readBits(1) != 0) {
+                    windowLeading = (int) reader.readBits(5);
+                    int length = (int) reader.readBits(6) + 1;
+                    windowTrailing = 64 - windowLeading - length;
+                }
+                int length = 64 - windowLeading - windowTrailing;
+                valueBits ^= reader.readBits(length) << windowTrailing;
+            }
+            consumer.accept(time, Double.longBitsToDouble(valueBits));
+        }
+    }
+
+    private void writeDeltaOfDelta(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            writeBits(0b0, 1);
+        } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+            writeBits(0b10, 2);
+            writeBits(deltaOfDelta, 7);
+        } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+            writeBits(0b110, 3);
+            writeBits(deltaOfDelta, 9);
+        } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+            writeBits(0b1110, 4);
+            writeBits(deltaOfDelta, 12);
+        } else if (deltaOfDelta >= Integer.MIN_VALUE && deltaOfDelta <= Integer.MAX_VALUE) {
+            writeBits(0b11110, 5);
+            writeBits(deltaOfDelta, 32);
+        } else {
+            writeBits(0b11111, 5);
+            writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeXor(long xor) {
+        if (xor == 0) {
+            writeBits(0b0, 1);
+            return;
+        }
+        writeBits(0b1, 1);
+        int newLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int newTrailing = Long.numberOfTrailingZeros(xor);
+        if (leading != NO_WINDOW && newLeading >= leading && newTrailing >= trailing) {
+            writeBits(0b0, 1);
+        } else {
+            leading = newLeading;
+            trailing = newTrailing;
+            writeBits(0b1, 1);
+            writeBits(leading, 5);
+            writeBits(64 - leading - trailing - 1, 6);
+        }
+        writeBits(xor >>> trailing, 64 - leading - trailing);
+    }
+
+    /**
+     * Writes the lowest n bits of value, most significant first.
+     */
+    private void writeBits(long value, int n) {
+        int required = (bitCount + n + 63) >>> 6;
+        if (required > words.length) {
+            words = Arrays.copyOf(words, Math.max(required, words.length * 2));
+        }
+        if (n < 64) {
+            value &= (1L << n) - 1;
+        }
+        int offset = bitCount & 63;
+        int index = bitCount >>> 6;
+        int free = 64 - offset;
+        if (n <= free) {
+            words[index] |= value << (free - n);
+        } else {
+            words[index] |= value >>> (n - free);
+            words[index + 1] |= value << (64 - (n - free));
+        }
+        bitCount += n;
+    }
+
+    private class Reader {
+        private int position;
+
+        private long readBits(int n) {
+            int offset = position & 63;
+            int index = position >>> 6;
+            int free = 64 - offset;
+            long value;
+            if (n <= free) {
+                value = words[index] >>> (free - n);
+            } else {
+                value = (words[index] << (n - free)) | (words[index + 1] >>> (64 - (n - free)));
+            }
+            position += n;
+            return n == 64 ? value : value & ((1L << n) - 1);
+        }
+
+        private long readSigned(int n) {
+            long value = readBits(n);
+            return n == 64 ? value : (value << (64 - n)) >> (64 - n);
+        }
+
+        private long readDeltaOfDelta() {
+            if (readBits(1) == 0) {
+                return 0;
+            }
+            if (readBits(1) == 0) {
+                return readSigned(7);
+            }
+            if (readBits(1) == 0) {
+                return readSigned(9);
+            }
+            if (readBits(1) == 0) {
+                return readSigned(12);
+            }
+            if (readBits(1) == 0) {
+                return readSigned(32);
+            }
+            return readSigned(64);
+        }
+    }
+}
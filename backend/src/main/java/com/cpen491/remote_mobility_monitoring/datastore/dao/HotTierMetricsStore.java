@@ -0,0 +1,315 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.formatTimestreamTime;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.getTimeMillis;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.parseTimestreamTimeMillis;
+
+/**
+ * In-process cache of the last {@link #HOT_WINDOW} of Metrics in front of another {@link MetricsStore}. Each cached
+ * Patient holds one series per measure as {@link GorillaBlock}s, and remembers the time from which it holds all of the
+ * Patient's Metrics. Queries starting at or after that time for cached Patients are answered from memory, other
+ * Patients in the window are loaded from the backing store on miss, and queries reaching further back go to the
+ * backing store. Added Metrics are appended to cached Patients. Patients are evicted least recently used first to
+ * keep the encoded size within the memory budget.
+ */
+@Slf4j
+public class HotTierMetricsStore implements MetricsStore {
+    static final Duration HOT_WINDOW = Duration.ofDays(7);
+    // Accounted per cached Patient on top of its blocks
+    private static final int PATIENT_OVERHEAD_BYTES = 256;
+    // Upper bound of the backing store query when loading a Patient, to include Metrics timestamped slightly ahead
+    private static final Duration LOAD_AHEAD = Duration.ofDays(1);
+
+    private final MetricsStore backingStore;
+    private final long maxBytes;
+    private final Clock clock;
+    private final LinkedHashMap<String, PatientSeries> patients = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong writes = new AtomicLong();
+    private long bytes;
+
+    public HotTierMetricsStore(MetricsStore backingStore, long maxBytes) {
+        this(backingStore, maxBytes, Clock.systemUTC());
+    }
+
+    HotTierMetricsStore(MetricsStore backingStore, long maxBytes, Clock clock) {
+        this.backingStore = backingStore;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    @Override
+    public void add(List<Metrics> metricsList) {
+        backingStore.add(metricsList);
+        writes.incrementAndGet();
+
+        synchronized (this) {
+            for (Metrics metrics : metricsList) {
+                PatientSeries series = patients.get(metrics.getPatientId());
+                if (series == null) {
+                    continue;
+                }
+                long time = parseTimestreamTimeMillis(metrics.getTimestamp());
+                if (time <= series.coveredAfter) {
+                    continue;
+                }
+                long sizeBefore = series.sizeBytes;
+                if (series.append(time, metrics)) {
+                    bytes += series.sizeBytes - sizeBefore;
+                } else {
+                    // Out of order within the cached range, reload on next read instead of re-encoding
+                    remove(metrics.getPatientId());
+                }
+            }
+            trim();
+        }
+    }
+
+    @Override
+    public long stream(List<String> patientIds,
+                       Integer minAge,
+                       Integer maxAge,
+                       String sex,
+                       Float minHeight,
+                       Float maxHeight,
+                       Float minWeight,
+                       Float maxWeight,
+                       String start, String end,
+                       Consumer<Metrics> consumer) {
+        Validator.validateIds(patientIds);
+        for (String patientId : patientIds) {
+            Validator.validatePatientId(patientId);
+        }
+        Validator.validateTimestamp(start);
+        Validator.validateTimestamp(end);
+
+        long after = getTimeMillis(LocalDateTime.parse(start));
+        long before = getTimeMillis(LocalDateTime.parse(end));
+        long windowStart = clock.millis() - HOT_WINDOW.toMillis();
+        Predicate<Metrics> filter = MetricsFilter.build(minAge, maxAge, sex, minHeight, maxHeight, minWeight, maxWeight);
+
+        List<Metrics> found = serve(patientIds, after, before, filter);
+        if (found == null && after >= windowStart) {
+            load(patientIds, windowStart);
+            found = serve(patientIds, after, before, filter);
+        }
+        if (found == null) {
+            log.info("Hot tier miss for patients {} from {} to {}", patientIds, start, end);
+            return backingStore.stream(patientIds, minAge, maxAge, sex, minHeight, maxHeight, minWeight, maxWeight,
+                    start, end, consumer);
+        }
+        found.forEach(consumer);
+        return found.size();
+    }
+
+    /**
+     * @return The matching Metrics in time order, or null if any of the Patients is not cached from before after
+     */
+    private synchronized List<Metrics> serve(List<String> patientIds, long after, long before, Predicate<Metrics> filter) {
+        List<PatientSeries> hits = new ArrayList<>(patientIds.size());
+        for (String patientId : patientIds) {
+            PatientSeries series = patients.get(patientId);
+            if (series == null || series.coveredAfter > after) {
+                return null;
+            }
+            hits.add(series);
+        }
+
+        List<Map.Entry<Long, Metrics>> found = new ArrayList<>();
+        for (PatientSeries series : hits) {
+            series.collect(after, before, filter, found);
+        }
+        found.sort(Map.Entry.comparingByKey());
+        List<Metrics> metricsList = new ArrayList<>(found.size());
+        for (Map.Entry<Long, Metrics> entry : found) {
+            metricsList.add(entry.getValue());
+        }
+        return metricsList;
+    }
+
+    /**
+     * Loads the Patients that are not cached with one query to the backing store. The result is discarded if Metrics
+     * were added meanwhile, since they may be missing from it.
+     */
+    private void load(List<String> patientIds, long windowStart) {
+        List<String> missing = new ArrayList<>();
+        synchronized (this) {
+            for (String patientId : patientIds) {
+                PatientSeries series = patients.get(patientId);
+                if (series == null || series.coveredAfter > windowStart) {
+                    missing.add(patientId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        long writesBefore = writes.get();
+        Map<String, PatientSeries> loaded = new HashMap<>();
+        for (String patientId : missing) {
+            loaded.put(patientId, new PatientSeries(windowStart));
+        }
+        String start = LocalDateTime.ofInstant(Instant.ofEpochMilli(windowStart), ZoneOffset.UTC).toString();
+        String end = LocalDateTime.ofInstant(clock.instant().plus(LOAD_AHEAD), ZoneOffset.UTC).toString();
+        backingStore.stream(missing, null, null, null, null, null, null, null, start, end, metrics -> {
+            PatientSeries series = loaded.get(metrics.getPatientId());
+            if (series != null && !series.append(parseTimestreamTimeMillis(metrics.getTimestamp()), metrics)) {
+                // The backing store returns rows in time order, so this is not expected
+                loaded.remove(metrics.getPatientId());
+            }
+        });
+
+        synchronized (this) {
+            if (writes.get() != writesBefore) {
+                log.info("Discarding hot tier load of patients {} after concurrent write", missing);
+                return;
+            }
+            for (Map.Entry<String, PatientSeries> entry : loaded.entrySet()) {
+                remove(entry.getKey());
+                entry.getValue().seal();
+                patients.put(entry.getKey(), entry.getValue());
+                bytes += entry.getValue().sizeBytes;
+            }
+            trim();
+        }
+    }
+
+    private void remove(String patientId) {
+        PatientSeries removed = patients.remove(patientId);
+        if (removed != null) {
+            bytes -= removed.sizeBytes;
+        }
+    }
+
+    /**
+     * Evicts least recently used Patients until within the memory budget.
+     */
+    private void trim() {
+        Iterator<Map.Entry<String, PatientSeries>> iterator = patients.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().getValue().sizeBytes;
+            iterator.remove();
+        }
+    }
+
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    synchronized boolean isCached(String patientId) {
+        return patients.containsKey(patientId);
+    }
+
+    /**
+     * All Metrics of one Patient with time after coveredAfter.
+     */
+    private class PatientSeries {
+        private final long coveredAfter;
+        private final Map<MeasureName, List<GorillaBlock>> series = new EnumMap<>(MeasureName.class);
+        private long sizeBytes = PATIENT_OVERHEAD_BYTES;
+
+        private PatientSeries(long coveredAfter) {
+            this.coveredAfter = coveredAfter;
+        }
+
+        /**
+         * @return false if the time is before the last time of the measure
+         */
+        private boolean append(long time, Metrics metrics) {
+            List<GorillaBlock> blocks = series.computeIfAbsent(metrics.getMeasureName(), k -> new ArrayList<>());
+            GorillaBlock block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+            if (block != null && time < block.lastTime()) {
+                return false;
+            }
+            if (block == null || !block.canAppend(time) || !sameDimensions(block.dimensions, metrics)) {
+                if (block != null) {
+                    sizeBytes -= block.sizeBytes();
+                    block.seal();
+                    sizeBytes += block.sizeBytes();
+                }
+                block = new GorillaBlock(dimensionsOf(metrics));
+                blocks.add(block);
+                sizeBytes += block.sizeBytes();
+            }
+            long sizeBefore = block.sizeBytes();
+            block.append(time, Double.parseDouble(metrics.getMeasureValue()));
+            sizeBytes += block.sizeBytes() - sizeBefore;
+            return true;
+        }
+
+        private void seal() {
+            long sealed = PATIENT_OVERHEAD_BYTES;
+            for (List<GorillaBlock> blocks : series.values()) {
+                for (GorillaBlock block : blocks) {
+                    block.seal();
+                    sealed += block.sizeBytes();
+                }
+            }
+            sizeBytes = sealed;
+        }
+
+        private void collect(long after, long before, Predicate<Metrics> filter, List<Map.Entry<Long, Metrics>> found) {
+            for (Map.Entry<MeasureName, List<GorillaBlock>> entry : series.entrySet()) {
+                for (GorillaBlock block : entry.getValue()) {
+                    if (block.lastTime() <= after || !filter.test(block.dimensions)) {
+                        continue;
+                    }
+                    block.forEach((time, value) -> {
+                        if (time > after && time < before) {
+                            Metrics metrics = Metrics.builder()
+                                    .patientId(block.dimensions.getPatientId())
+                                    .sex(block.dimensions.getSex())
+                                    .birthday(block.dimensions.getBirthday())
+                                    .height(block.dimensions.getHeight())
+                                    .weight(block.dimensions.getWeight())
+                                    .measureName(entry.getKey())
+                                    .measureValue(Double.toString(value))
+                                    .timestamp(formatTimestreamTime(time))
+                                    .build();
+                            found.add(Map.entry(time, metrics));
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private static Metrics dimensionsOf(Metrics metrics) {
+        return Metrics.builder()
+                .patientId(metrics.getPatientId())
+                .sex(metrics.getSex())
+                .birthday(metrics.getBirthday())
+                .height(metrics.getHeight())
+                .weight(metrics.getWeight())
+                .build();
+    }
+
+    private static boolean sameDimensions(Metrics dimensions, Metrics metrics) {
+        return Objects.equals(dimensions.getSex(), metrics.getSex())
+                && Objects.equals(dimensions.getBirthday(), metrics.getBirthday())
+                && Objects.equals(dimensions.getHeight(), metrics.getHeight())
+                && Objects.equals(dimensions.getWeight(), metrics.getWeight());
+    }
+}
@@ -0,0 +1,97 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Entity records read during one request, so the same record is not read twice while the request is processed.
+ * Records are only kept within {@link #withScope} on the calling thread, or on threads running functions bound to it
+ * with {@link #bind}, and are dropped when it returns, so they can never be served to a later request. Outside a
+ * scope nothing is kept. {@link GenericDao} invalidates records it writes itself.
+ */
+public class IdentityMap {
+    private final ThreadLocal<Map<String, Map<String, AttributeValue>>> records = new ThreadLocal<>();
+
+    /**
+     * Runs func with a new scope, or within the current scope if there already is one.
+     *
+     * @param func The function to run
+     * @return The result of func
+     */
+    public <T> T withScope(Supplier<T> func) {
+        if (records.get() != null) {
+            return func.get();
+        }
+        // Synchronized as reads bound to the scope may run concurrently
+        records.set(Collections.synchronizedMap(new HashMap<>()));
+        try {
+            return func.get();
+        } finally {
+            records.remove();
+        }
+    }
+
+    /**
+     * Returns func bound to the scope of the calling thread, so it uses that scope when run on another thread.
+     * Returns func itself if the calling thread has no scope.
+     *
+     * @param func The function to bind
+     * @return The bound function
+     */
+    public <T> Supplier<T> bind(Supplier<T> func) {
+        Map<String, Map<String, AttributeValue>> scope = records.get();
+        if (scope == null) {
+            return func;
+        }
+        return () -> {
+            Map<String, Map<String, AttributeValue>> previous = records.get();
+            records.set(scope);
+            try {
+                return func.get();
+            } finally {
+                if (previous == null) {
+                    records.remove();
+                } else {
+                    records.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns whether a record with the given id was read in the current scope, including reads that found nothing.
+     */
+    public boolean contains(String id) {
+        Map<String, Map<String, AttributeValue>> scope = records.get();
+        return scope != null && scope.containsKey(id);
+    }
+
+    /**
+     * Returns the record with the given id read in the current scope, or null if there is none.
+     */
+    public Map<String, AttributeValue> get(String id) {
+        Map<String, Map<String, AttributeValue>> scope = records.get();
+        return scope == null ? null : scope.get(id);
+    }
+
+    /**
+     * Records that the record with the given id was read in the current scope. item is null if there is no record.
+     */
+    public void put(String id, Map<String, AttributeValue> item) {
+        Map<String, Map<String, AttributeValue>> scope = records.get();
+        if (scope != null) {
+            scope.put(id, item);
+        }
+    }
+
+    public void invalidate(String id) {
+        Map<String, Map<String, AttributeValue>> scope = records.get();
+        if (scope != null) {
+            scope.remove(id);
+        }
+    }
+}
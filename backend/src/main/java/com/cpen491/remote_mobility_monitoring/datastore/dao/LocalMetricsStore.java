@@ -0,0 +1,275 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsSegment.Row;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.getTimeMillis;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.parseTime;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_INVALID_ERROR_MESSAGE;
+
+/**
+ * Stores Metrics on local disk, for on-premises deployments and for load testing without AWS. Each Patient has a
+ * directory of append-only {@link MetricsSegment} files, one per write, which are merged once there are more than
+ * {@link #MAX_SEGMENTS_PER_PATIENT}. The time range of every segment is kept in memory, so a query only maps the
+ * segments that overlap it and merges their rows in time order.
+ */
+@Slf4j
+public class LocalMetricsStore implements MetricsStore {
+    static final int MAX_SEGMENTS_PER_PATIENT = 16;
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path directory;
+    private final Map<String, PatientSegments> patients = new ConcurrentHashMap<>();
+
+    public LocalMetricsStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void add(List<Metrics> metricsList) {
+        log.info("Adding new Metrics {}", metricsList);
+        Validator.validateMetricsList(metricsList);
+
+        Map<String, List<Row>> rowsByPatient = new LinkedHashMap<>();
+        for (Metrics metrics : metricsList) {
+            Validator.validateMetrics(metrics);
+            validatePathSafe(metrics.getPatientId());
+            long time = getTimeMillis(parseTime(metrics.getTimestamp()));
+            rowsByPatient.computeIfAbsent(metrics.getPatientId(), k -> new ArrayList<>()).add(new Row(time, metrics));
+        }
+
+        try {
+            for (Map.Entry<String, List<Row>> entry : rowsByPatient.entrySet()) {
+                getPatientSegments(entry.getKey()).append(entry.getValue());
+            }
+        } catch (IOException e) {
+            log.error("Failed to write Metrics to {}", directory, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long stream(List<String> patientIds,
+                       Integer minAge,
+                       Integer maxAge,
+                       String sex,
+                       Float minHeight,
+                       Float maxHeight,
+                       Float minWeight,
+                       Float maxWeight,
+                       String start, String end,
+                       Consumer<Metrics> consumer) {
+        log.info("Querying local Metrics for patients {} from {} to {}", patientIds, start, end);
+        Validator.validateIds(patientIds);
+        for (String patientId : patientIds) {
+            Validator.validatePatientId(patientId);
+            validatePathSafe(patientId);
+        }
+        Validator.validateTimestamp(start);
+        Validator.validateTimestamp(end);
+        long after = getTimeMillis(parseTime(start));
+        long before = getTimeMillis(parseTime(end));
+        Predicate<Metrics> filter = MetricsFilter.build(minAge, maxAge, sex, minHeight, maxHeight, minWeight, maxWeight);
+
+        // Each segment is sorted by time, so a k-way merge yields rows in time order without buffering them
+        int order = 0;
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(
+                Comparator.comparingLong((Cursor cursor) -> cursor.time).thenComparingInt(cursor -> cursor.order));
+        for (String patientId : patientIds) {
+            for (MetricsSegment segment : getPatientSegments(patientId).segments) {
+                if (segment.maxTime <= after || segment.minTime >= before) {
+                    continue;
+                }
+                Cursor cursor = new Cursor(patientId, segment, segment.firstRowAfter(after), order++);
+                if (cursor.advance(before, filter)) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        long count = 0;
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            consumer.accept(cursor.segment.getRow(cursor.row, cursor.patientId).metrics);
+            count++;
+            cursor.row++;
+            if (cursor.advance(before, filter)) {
+                cursors.add(cursor);
+            }
+        }
+        return count;
+    }
+
+    private PatientSegments getPatientSegments(String patientId) {
+        return patients.computeIfAbsent(patientId, id -> {
+            try {
+                return new PatientSegments(directory.resolve(id));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void validatePathSafe(String patientId) {
+        if (patientId.contains("/") || patientId.contains("\\") || patientId.contains("..")) {
+            throw new IllegalArgumentException(PATIENT_ID_INVALID_ERROR_MESSAGE);
+        }
+    }
+
+    private static class Cursor {
+        private final String patientId;
+        private final MetricsSegment segment;
+        private final int order;
+        private int row;
+        private long time;
+
+        private Cursor(String patientId, MetricsSegment segment, int row, int order) {
+            this.patientId = patientId;
+            this.segment = segment;
+            this.row = row;
+            this.order = order;
+        }
+
+        /**
+         * Moves to the next row, starting at the current one, that matches the filter.
+         *
+         * @return false if there is no such row before the given time
+         */
+        private boolean advance(long before, Predicate<Metrics> filter) {
+            for (; row < segment.rowCount; row++) {
+                time = segment.getTime(row);
+                if (time >= before) {
+                    return false;
+                }
+                if (filter.test(segment.getDimensions(row))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The segments of one Patient. Segment files are named by the range of write sequence numbers they contain, so a
+     * merged segment supersedes the segments it was merged from even if deleting them was interrupted.
+     */
+    private static class PatientSegments {
+        private final Path directory;
+        private volatile List<MetricsSegment> segments;
+        private long nextSequence;
+
+        private PatientSegments(Path directory) throws IOException {
+            this.directory = directory;
+            List<Path> paths = Collections.emptyList();
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> stream = Files.list(directory)) {
+                    paths = stream.collect(Collectors.toList());
+                }
+            }
+
+            List<long[]> ranges = new ArrayList<>();
+            for (Path path : paths) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(TEMP_EXTENSION)) {
+                    Files.delete(path);
+                } else if (name.endsWith(MetricsSegment.EXTENSION)) {
+                    ranges.add(sequenceRange(path));
+                }
+            }
+            ranges.sort(Comparator.comparingLong((long[] range) -> range[0]).thenComparingLong(range -> -range[1]));
+
+            List<MetricsSegment> loaded = new ArrayList<>();
+            long covered = -1;
+            for (long[] range : ranges) {
+                Path path = directory.resolve(segmentName(range[0], range[1]));
+                if (range[1] <= covered) {
+                    // Left behind by an interrupted compaction
+                    Files.delete(path);
+                    continue;
+                }
+                loaded.add(MetricsSegment.open(path));
+                covered = range[1];
+            }
+            this.segments = Collections.unmodifiableList(loaded);
+            this.nextSequence = covered + 1;
+        }
+
+        private synchronized void append(List<Row> rows) throws IOException {
+            List<Row> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparingLong(row -> row.time));
+            Files.createDirectories(directory);
+            long sequence = nextSequence++;
+            MetricsSegment segment = MetricsSegment.write(directory.resolve(segmentName(sequence, sequence)), sorted);
+
+            List<MetricsSegment> updated = new ArrayList<>(segments);
+            updated.add(segment);
+            segments = Collections.unmodifiableList(updated);
+            if (updated.size() > MAX_SEGMENTS_PER_PATIENT) {
+                compact();
+            }
+        }
+
+        /**
+         * Merges all segments into one. Identical rows, for example from a replayed import, are kept once.
+         */
+        private void compact() throws IOException {
+            List<MetricsSegment> old = segments;
+            String patientId = directory.getFileName().toString();
+            Map<List<Object>, Row> rows = new LinkedHashMap<>();
+            for (MetricsSegment segment : old) {
+                for (int i = 0; i < segment.rowCount; i++) {
+                    Row row = segment.getRow(i, patientId);
+                    Metrics metrics = row.metrics;
+                    rows.putIfAbsent(Arrays.asList(row.time, metrics.getMeasureName(), metrics.getMeasureValue(),
+                            metrics.getSex(), metrics.getBirthday(), metrics.getHeight(), metrics.getWeight()), row);
+                }
+            }
+            List<Row> sorted = new ArrayList<>(rows.values());
+            sorted.sort(Comparator.comparingLong(row -> row.time));
+
+            long first = sequenceRange(old.get(0).path)[0];
+            long last = sequenceRange(old.get(old.size() - 1).path)[1];
+            MetricsSegment merged = MetricsSegment.write(directory.resolve(segmentName(first, last)), sorted);
+            segments = Collections.singletonList(merged);
+            for (MetricsSegment segment : old) {
+                Files.deleteIfExists(segment.path);
+            }
+            log.info("Compacted {} segments of {} into {} rows", old.size(), patientId, sorted.size());
+        }
+
+        private static long[] sequenceRange(Path path) {
+            String name = path.getFileName().toString();
+            String[] range = name.substring(0, name.length() - MetricsSegment.EXTENSION.length()).split("-");
+            return new long[]{Long.parseLong(range[0]), Long.parseLong(range[1])};
+        }
+
+        private static String segmentName(long first, long last) {
+            return String.format("%019d-%019d%s", first, last, MetricsSegment.EXTENSION);
+        }
+    }
+}
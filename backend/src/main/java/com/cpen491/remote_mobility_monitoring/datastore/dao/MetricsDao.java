@@ -25,6 +25,7 @@ import software.amazon.awssdk.services.timestreamwrite.model.WriteRecordsRequest
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.MetricsTable;
@@ -34,7 +35,9 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 @Slf4j
 @AllArgsConstructor
-public class MetricsDao {
+public class MetricsDao implements MetricsStore {
+    // Maximum number of records Timestream accepts in one WriteRecords request
+    public static final int MAX_RECORDS_PER_WRITE = 100;
     private static final String QUERY_FORMAT = "SELECT * FROM \"%s\".\"%s\" WHERE patient_id in (%s) " +
             "AND time between from_iso8601_timestamp('%s') and from_iso8601_timestamp('%s') ORDER BY time";
     private static final String SELECT_FORMAT = "SELECT * FROM \"%s\".\"%s\"";
@@ -58,7 +61,7 @@ public class MetricsDao {
     private TimestreamQueryClient queryClient;
 
     /**
-     * Adds a list of Metrics.
+     * Adds a list of Metrics. Lists larger than {@link #MAX_RECORDS_PER_WRITE} are written in multiple requests.
      *
      * @param metricsList The list of Metrics to add
      * @throws InvalidMetricsException If the metrics already exists or if timestamp is out of Timestream range
@@ -66,6 +69,7 @@ public class MetricsDao {
      * @throws NullPointerException Above 2 exceptions are thrown if any of patientId, measureName,
      *                              measureValue, or timestamp are empty or invalid
      */
+    @Override
     public void add(List<Metrics> metricsList) {
         log.info("Adding new Metrics {}", metricsList);
         Validator.validateMetricsList(metricsList);
@@ -95,45 +99,42 @@ public class MetricsDao {
             records.add(record);
         }
 
-        WriteRecordsRequest request = WriteRecordsRequest.builder()
-                .databaseName(databaseName)
-                .tableName(tableName)
-                .records(records)
-                .build();
-        try {
-            writeClient.writeRecords(request);
-        } catch (RejectedRecordsException e) {
-            log.error("Timestream rejected metrics {}", e.rejectedRecords(), e);
-            throw new InvalidMetricsException(e);
+        for (int i = 0; i < records.size(); i += MAX_RECORDS_PER_WRITE) {
+            WriteRecordsRequest request = WriteRecordsRequest.builder()
+                    .databaseName(databaseName)
+                    .tableName(tableName)
+                    .records(records.subList(i, Math.min(i + MAX_RECORDS_PER_WRITE, records.size())))
+                    .build();
+            try {
+                writeClient.writeRecords(request);
+            } catch (RejectedRecordsException e) {
+                log.error("Timestream rejected metrics {}", e.rejectedRecords(), e);
+                throw new InvalidMetricsException(e);
+            }
         }
     }
 
     /**
-     * Queries for Metrics based on patient IDs, start time, and end time.
+     * Streams Metrics based on patient IDs, patient attributes, start time, and end time. Rows are handed to the
+     * consumer one at a time as each Timestream page is fetched, so memory use does not depend on the number of rows
+     * matched.
      *
-     * @param patientIds Patient Ids to query
-     * @param minAge     Minimum age to query
-     * @param maxAge     Maximum age to query
-     * @param sex
-     * @param minHeight  Minimum height to query
-     * @param maxHeight  Maximum height to query
-     * @param minWeight  Minimum weight to query
-     * @param maxWeight  Maximum weight to query
-     * @param start      Start time to query
-     * @param end        End time to query
-     * @return {@link List}
+     * @param consumer Consumer that receives each Metrics in time order
+     * @return The number of Metrics streamed
      * @throws IllegalArgumentException
      * @throws NullPointerException     Above 2 exceptions are thrown if any of patientIds, start, or end are empty or invalid
      */
-    public List<Metrics> query(List<String> patientIds,
-                               Integer minAge,
-                               Integer maxAge,
-                               String sex,
-                               Float minHeight,
-                               Float maxHeight,
-                               Float minWeight,
-                               Float maxWeight,
-                               String start, String end) {
+    @Override
+    public long stream(List<String> patientIds,
+                       Integer minAge,
+                       Integer maxAge,
+                       String sex,
+                       Float minHeight,
+                       Float maxHeight,
+                       Float minWeight,
+                       Float maxWeight,
+                       String start, String end,
+                       Consumer<Metrics> consumer) {
         log.info("Querying Metrics database for patients {} from {} to {}", patientIds, start, end);
         Validator.validateIds(patientIds);
         for (String patientId : patientIds) {
@@ -188,7 +189,6 @@ public class MetricsDao {
             queryString.append(String.format(EQUAL_FORMAT, MetricsTable.PATIENT_SEX_NAME, sex));
         }
         queryString.append(ORDER_BY_TIME_FORMAT);
-        List<Metrics> metricsList = new ArrayList<>();
 
         /*
         "SELECT * FROM \"%s\".\"%s\" WHERE patient_id in (%s) " +
@@ -198,22 +198,18 @@ public class MetricsDao {
         QueryRequest request = QueryRequest.builder().queryString(queryString.toString()).build();
         QueryIterable iterable = queryClient.queryPaginator(request);
 
+        long count = 0;
         for (QueryResponse response : iterable) {
             List<ColumnInfo> columnInfos = response.columnInfo();
             List<Row> rows = response.rows();
 
             for (Row row : rows) {
-                Metrics metrics = parseRow(columnInfos, row);
-                metricsList.add(metrics);
+                consumer.accept(parseRow(columnInfos, row));
+                count++;
             }
         }
 
-        return metricsList;
-    }
-
-    // backwards compatability method
-    public List<Metrics> query(List<String> patientIds, String start, String end) {
-        return query(patientIds, null, null, null, null, null, null, null, start, end);
+        return count;
     }
 
     private static Metrics parseRow(List<ColumnInfo> columnInfos, Row row) {
@@ -0,0 +1,48 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+/**
+ * Evaluates the patient filters of {@link MetricsStore#stream} in memory, for stores that do not query Timestream.
+ */
+class MetricsFilter {
+    /**
+     * @return A predicate on the patient dimensions of a Metrics, with the same semantics as the Timestream query
+     * where a comparison with a missing dimension is false
+     */
+    static Predicate<Metrics> build(Integer minAge, Integer maxAge, String sex, Float minHeight,
+                                    Float maxHeight, Float minWeight, Float maxWeight) {
+        Predicate<Metrics> filter = dimensions -> true;
+        if (minAge != null) {
+            LocalDate bornBefore = LocalDate.now().minusYears(minAge);
+            filter = filter.and(dimensions -> dimensions.getBirthday() != null
+                    && LocalDate.parse(dimensions.getBirthday()).isBefore(bornBefore));
+        }
+        if (maxAge != null) {
+            LocalDate bornAfter = LocalDate.now().minusYears(maxAge);
+            filter = filter.and(dimensions -> dimensions.getBirthday() != null
+                    && LocalDate.parse(dimensions.getBirthday()).isAfter(bornAfter));
+        }
+        if (minHeight != null) {
+            filter = filter.and(dimensions -> dimensions.getHeight() != null && dimensions.getHeight() > minHeight);
+        }
+        if (maxHeight != null) {
+            filter = filter.and(dimensions -> dimensions.getHeight() != null && dimensions.getHeight() < maxHeight);
+        }
+        if (minWeight != null) {
+            filter = filter.and(dimensions -> dimensions.getWeight() != null && dimensions.getWeight() > minWeight);
+        }
+        if (maxWeight != null) {
+            filter = filter.and(dimensions -> dimensions.getWeight() != null && dimensions.getWeight() < maxWeight);
+        }
+        if (!isEmpty(sex)) {
+            filter = filter.and(dimensions -> sex.equals(dimensions.getSex()));
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,225 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.formatTimestreamTime;
+
+/**
+ * Immutable, memory-mapped file holding Metrics of one Patient sorted by time. Rows are stored column by column so a
+ * time range is located by binary search over the time column without decoding other columns.
+ *
+ * <pre>
+ * int    magic
+ * int    row count
+ * long   min time, max time (epoch millis)
+ * int    dimension count, then per dimension: sex, birthday (length-prefixed UTF-8, -1 for null),
+ *        height, weight (float, NaN for null)
+ * long[] time
+ * double[] measure value
+ * int[]  dimension index
+ * byte[] measure name ordinal
+ * </pre>
+ */
+class MetricsSegment {
+    static final String EXTENSION = ".seg";
+    private static final int MAGIC = 0x524D4D53; // RMMS
+    private static final MeasureName[] MEASURE_NAMES = MeasureName.values();
+
+    /**
+     * A stored row, the time in epoch millis and the Metrics it was written from.
+     */
+    static class Row {
+        final long time;
+        final Metrics metrics;
+
+        Row(long time, Metrics metrics) {
+            this.time = time;
+            this.metrics = metrics;
+        }
+    }
+
+    final Path path;
+    final int rowCount;
+    final long minTime;
+    final long maxTime;
+    private final ByteBuffer buffer;
+    private final List<Metrics> dimensions;
+    private final int timeOffset;
+    private final int valueOffset;
+    private final int dimensionOffset;
+    private final int measureNameOffset;
+
+    private MetricsSegment(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a metrics segment: " + path);
+        }
+        this.rowCount = buffer.getInt(4);
+        this.minTime = buffer.getLong(8);
+        this.maxTime = buffer.getLong(16);
+
+        ByteBuffer header = buffer.duplicate();
+        header.position(24);
+        int dimensionCount = header.getInt();
+        this.dimensions = new ArrayList<>(dimensionCount);
+        for (int i = 0; i < dimensionCount; i++) {
+            String sex = readString(header);
+            String birthday = readString(header);
+            float height = header.getFloat();
+            float weight = header.getFloat();
+            dimensions.add(Metrics.builder()
+                    .sex(sex)
+                    .birthday(birthday)
+                    .height(Float.isNaN(height) ? null : height)
+                    .weight(Float.isNaN(weight) ? null : weight)
+                    .build());
+        }
+        this.timeOffset = header.position();
+        this.valueOffset = timeOffset + rowCount * Long.BYTES;
+        this.dimensionOffset = valueOffset + rowCount * Double.BYTES;
+        this.measureNameOffset = dimensionOffset + rowCount * Integer.BYTES;
+    }
+
+    /**
+     * Maps an existing segment file.
+     */
+    static MetricsSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MetricsSegment(path, buffer);
+        }
+    }
+
+    /**
+     * Writes rows sorted by time to a new segment file and maps it. The file is written under a temporary name and
+     * moved into place so a partially written segment is never picked up.
+     */
+    static MetricsSegment write(Path path, List<Row> rows) throws IOException {
+        Map<List<Object>, Integer> dimensionIndexes = new HashMap<>();
+        List<Metrics> dimensions = new ArrayList<>();
+        int[] rowDimensions = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Metrics metrics = rows.get(i).metrics;
+            rowDimensions[i] = dimensionIndexes.computeIfAbsent(dimensionKey(metrics), key -> {
+                dimensions.add(metrics);
+                return dimensions.size() - 1;
+            });
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rows.size());
+            out.writeLong(rows.isEmpty() ? 0 : rows.get(0).time);
+            out.writeLong(rows.isEmpty() ? 0 : rows.get(rows.size() - 1).time);
+            out.writeInt(dimensions.size());
+            for (Metrics metrics : dimensions) {
+                writeString(out, metrics.getSex());
+                writeString(out, metrics.getBirthday());
+                out.writeFloat(metrics.getHeight() == null ? Float.NaN : metrics.getHeight());
+                out.writeFloat(metrics.getWeight() == null ? Float.NaN : metrics.getWeight());
+            }
+            for (Row row : rows) {
+                out.writeLong(row.time);
+            }
+            for (Row row : rows) {
+                out.writeDouble(Double.parseDouble(row.metrics.getMeasureValue()));
+            }
+            for (int rowDimension : rowDimensions) {
+                out.writeInt(rowDimension);
+            }
+            for (Row row : rows) {
+                out.writeByte(row.metrics.getMeasureName().ordinal());
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    /**
+     * @return The index of the first row with time greater than the given time
+     */
+    int firstRowAfter(long time) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getTime(mid) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long getTime(int row) {
+        return buffer.getLong(timeOffset + row * Long.BYTES);
+    }
+
+    /**
+     * @return The patient dimensions of a row, shared between rows and not to be modified
+     */
+    Metrics getDimensions(int row) {
+        return dimensions.get(buffer.getInt(dimensionOffset + row * Integer.BYTES));
+    }
+
+    Row getRow(int row, String patientId) {
+        long time = getTime(row);
+        Metrics dimensions = getDimensions(row);
+        Metrics metrics = Metrics.builder()
+                .patientId(patientId)
+                .sex(dimensions.getSex())
+                .birthday(dimensions.getBirthday())
+                .height(dimensions.getHeight())
+                .weight(dimensions.getWeight())
+                .measureName(MEASURE_NAMES[buffer.get(measureNameOffset + row)])
+                .measureValue(Double.toString(buffer.getDouble(valueOffset + row * Double.BYTES)))
+                .timestamp(formatTimestreamTime(time))
+                .build();
+        return new Row(time, metrics);
+    }
+
+    private static List<Object> dimensionKey(Metrics metrics) {
+        return Arrays.asList(metrics.getSex(), metrics.getBirthday(), metrics.getHeight(), metrics.getWeight());
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
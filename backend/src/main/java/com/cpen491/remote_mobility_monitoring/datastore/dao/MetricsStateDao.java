@@ -0,0 +1,102 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.MetricsState;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.MetricsStateTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.putInMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.getCurrentUtcTimeString;
+
+@Slf4j
+@AllArgsConstructor
+public class MetricsStateDao {
+    @NonNull
+    private GenericDao genericDao;
+
+    /**
+     * Finds all MetricsState records of a Patient.
+     *
+     * @param patientId The id of the Patient record
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patientId is empty or invalid
+     */
+    public List<MetricsState> findAllByPatientId(String patientId) {
+        log.info("Finding all MetricsState records of Patient [{}]", patientId);
+        Validator.validatePatientId(patientId);
+
+        return genericDao
+                .findAllAssociations(patientId, MetricsStateTable.ID_PREFIX)
+                .stream().map(MetricsState::convertFromMap).collect(Collectors.toList());
+    }
+
+    /**
+     * Creates or overwrites MetricsState records. Sets sid from measureName and refreshes the dates.
+     *
+     * @param metricsStates The list of MetricsState records to save
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if metricsStates is null or if any of
+     *                              pid or measureName are empty or invalid
+     */
+    public void save(List<MetricsState> metricsStates) {
+        log.info("Saving MetricsState records {}", metricsStates);
+        Validator.validateMetricsStateList(metricsStates);
+        for (MetricsState metricsState : metricsStates) {
+            Validator.validateMetricsState(metricsState);
+        }
+
+        String currentTime = getCurrentUtcTimeString();
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (MetricsState metricsState : metricsStates) {
+            metricsState.setSid(MetricsState.buildSid(metricsState.getMeasureName()));
+            if (metricsState.getCreatedAt() == null) {
+                metricsState.setCreatedAt(currentTime);
+            }
+            metricsState.setUpdatedAt(currentTime);
+            items.add(MetricsState.convertToMap(metricsState));
+        }
+        genericDao.batchPut(items);
+    }
+
+    /**
+     * Creates or overwrites a MetricsState record on the condition that it still has the count and lastTimestamp it
+     * was read with, or does not exist if expectedCount is 0, so that states updated concurrently by two ingests of
+     * the same Patient do not overwrite each other. Sets sid from measureName and refreshes the dates.
+     *
+     * @param metricsState The MetricsState record to save
+     * @param expectedCount The count of the record when it was read, 0 if it did not exist
+     * @param expectedLastTimestamp The lastTimestamp of the record when it was read
+     * @return Whether the record was written, false if it was changed since it was read
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if metricsState is null or if pid or measureName
+     *                              are empty or invalid
+     */
+    public boolean saveIfUnchanged(MetricsState metricsState, long expectedCount, String expectedLastTimestamp) {
+        log.info("Saving MetricsState record {} if it still has count {}", metricsState, expectedCount);
+        Validator.validateMetricsState(metricsState);
+
+        String currentTime = getCurrentUtcTimeString();
+        metricsState.setSid(MetricsState.buildSid(metricsState.getMeasureName()));
+        if (metricsState.getCreatedAt() == null) {
+            metricsState.setCreatedAt(currentTime);
+        }
+        metricsState.setUpdatedAt(currentTime);
+
+        Map<String, AttributeValue> expected = new HashMap<>();
+        if (expectedCount > 0) {
+            putInMap(expected, MetricsStateTable.COUNT_NAME, expectedCount);
+            putInMap(expected, MetricsStateTable.LAST_TIMESTAMP_NAME, expectedLastTimestamp);
+        }
+        return genericDao.putIfUnchanged(MetricsState.convertToMap(metricsState), expected);
+    }
+}
@@ -0,0 +1,85 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage for Metrics. {@link MetricsDao} stores Metrics in Timestream and {@link LocalMetricsStore} stores them on
+ * local disk.
+ */
+public interface MetricsStore {
+    /**
+     * Adds a list of Metrics.
+     *
+     * @param metricsList The list of Metrics to add
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if any of patientId, measureName,
+     *                              measureValue, or timestamp are empty or invalid
+     */
+    void add(List<Metrics> metricsList);
+
+    /**
+     * Streams Metrics based on patient IDs, patient attributes, start time, and end time. Null filters are ignored.
+     * Rows are handed to the consumer one at a time in time order.
+     *
+     * @param patientIds List of patient IDs to query
+     * @param minAge     Minimum age to query
+     * @param maxAge     Maximum age to query
+     * @param sex        Sex to query
+     * @param minHeight  Minimum height to query
+     * @param maxHeight  Maximum height to query
+     * @param minWeight  Minimum weight to query
+     * @param maxWeight  Maximum weight to query
+     * @param start      Start time to query
+     * @param end        End time to query
+     * @param consumer   Consumer that receives each Metrics in time order
+     * @return The number of Metrics streamed
+     * @throws IllegalArgumentException
+     * @throws NullPointerException     Above 2 exceptions are thrown if any of patientIds, start, or end are empty or invalid
+     */
+    long stream(List<String> patientIds,
+                Integer minAge,
+                Integer maxAge,
+                String sex,
+                Float minHeight,
+                Float maxHeight,
+                Float minWeight,
+                Float maxWeight,
+                String start, String end,
+                Consumer<Metrics> consumer);
+
+    /**
+     * Queries for Metrics based on the same filters as {@link #stream}.
+     *
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException     Above 2 exceptions are thrown if any of patientIds, start, or end are empty or invalid
+     */
+    default List<Metrics> query(List<String> patientIds,
+                                Integer minAge,
+                                Integer maxAge,
+                                String sex,
+                                Float minHeight,
+                                Float maxHeight,
+                                Float minWeight,
+                                Float maxWeight,
+                                String start, String end) {
+        List<Metrics> metricsList = new ArrayList<>();
+        stream(patientIds, minAge, maxAge, sex, minHeight, maxHeight, minWeight, maxWeight, start, end, metricsList::add);
+        return metricsList;
+    }
+
+    /**
+     * Queries for Metrics based on patient IDs, start time, and end time.
+     *
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException     Above 2 exceptions are thrown if any of patientIds, start, or end are empty or invalid
+     */
+    default List<Metrics> query(List<String> patientIds, String start, String end) {
+        return query(patientIds, null, null, null, null, null, null, null, start, end);
+    }
+}
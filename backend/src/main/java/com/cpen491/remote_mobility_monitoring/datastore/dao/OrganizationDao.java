@@ -11,19 +11,32 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AdminTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.OrganizationTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
 
 @Slf4j
 @AllArgsConstructor
 public class OrganizationDao {
+    // Attributes of Admin and Caregiver associations listed in an Organization's roster
+    public static final List<String> ADMIN_ROSTER_PROJECTION = List.of(AdminTable.FIRST_NAME_NAME, AdminTable.LAST_NAME_NAME);
+    public static final List<String> CAREGIVER_ROSTER_PROJECTION = List.of(CaregiverTable.FIRST_NAME_NAME,
+            CaregiverTable.LAST_NAME_NAME);
+    // Attributes of the Organization record and its associations read with the whole roster
+    public static final List<String> ORGANIZATION_ROSTER_PROJECTION = List.of(OrganizationTable.NAME_NAME,
+            AdminTable.FIRST_NAME_NAME, AdminTable.LAST_NAME_NAME, CaregiverTable.FIRST_NAME_NAME,
+            CaregiverTable.LAST_NAME_NAME);
+
     @NonNull
     private GenericDao genericDao;
 
@@ -99,13 +112,14 @@ public class OrganizationDao {
         log.info("Finding Organization record with name [{}]", name);
         Validator.validateName(name);
 
-        QueryResponse response = genericDao
-                .findAllByPartitionKeyOnIndex(OrganizationTable.NAME_NAME, name, OrganizationTable.NAME_INDEX_NAME);
-        if (!response.hasItems() || response.items().size() == 0) {
+        Optional<Map<String, AttributeValue>> item = genericDao
+                .findAllByPartitionKeyOnIndex(OrganizationTable.NAME_NAME, name, OrganizationTable.NAME_INDEX_NAME)
+                .stream().findFirst();
+        if (item.isEmpty()) {
             log.info("Cannot find Organization record with name [{}]", name);
             return null;
         }
-        Organization organization = Organization.convertFromMap(response.items().get(0));
+        Organization organization = Organization.convertFromMap(item.get());
         genericDao.setCorrectId(organization, OrganizationTable.ID_PREFIX);
         return organization;
     }
@@ -119,12 +133,26 @@ public class OrganizationDao {
      * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty or invalid
      */
     public List<Admin> findAllAdmins(String organizationId) {
+        return findAllAdmins(organizationId, null);
+    }
+
+    /**
+     * Find all Admins belonging to this Organization. Only pid, sid and the attributes in projection are read,
+     * e.g. {@link #ADMIN_ROSTER_PROJECTION} for rosters.
+     *
+     * @param organizationId The id of the Organization record
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty or invalid
+     */
+    public List<Admin> findAllAdmins(String organizationId, List<String> projection) {
         log.info("Finding all Admin records belonging to Organization [{}]", organizationId);
         Validator.validateOrganizationId(organizationId);
 
-        List<Map<String, AttributeValue>> result = genericDao
-                .findAllAssociations(organizationId, AdminTable.ID_PREFIX).items();
-        return result.stream().map(map -> {
+        return genericDao
+                .findAllAssociations(organizationId, AdminTable.ID_PREFIX, projection)
+                .stream().map(map -> {
             Admin admin = Admin.convertFromMap(map);
             admin.setPid(admin.getSid());
             return admin;
@@ -140,18 +168,131 @@ public class OrganizationDao {
      * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty or invalid
      */
     public List<Caregiver> findAllCaregivers(String organizationId) {
+        return findAllCaregivers(organizationId, null);
+    }
+
+    /**
+     * Find all Caregivers belonging to this Organization. Only pid, sid and the attributes in projection are read,
+     * e.g. {@link #CAREGIVER_ROSTER_PROJECTION} for rosters.
+     *
+     * @param organizationId The id of the Organization record
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty or invalid
+     */
+    public List<Caregiver> findAllCaregivers(String organizationId, List<String> projection) {
         log.info("Finding all Caregiver records belonging to Organization [{}]", organizationId);
         Validator.validateOrganizationId(organizationId);
 
-        List<Map<String, AttributeValue>> result = genericDao
-                .findAllAssociations(organizationId, CaregiverTable.ID_PREFIX).items();
-        return result.stream().map(map -> {
+        return genericDao
+                .findAllAssociations(organizationId, CaregiverTable.ID_PREFIX, projection)
+                .stream().map(map -> {
+            Caregiver caregiver = Caregiver.convertFromMap(map);
+            caregiver.setPid(caregiver.getSid());
+            return caregiver;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Find a page of the Caregivers belonging to this Organization in the order of query.sort, starting after
+     * query.cursor. Only pid, sid and the attributes in {@link #CAREGIVER_ROSTER_PROJECTION} are read.
+     *
+     * @param organizationId The id of the Organization record
+     * @param query The sort, name prefix, cursor and size of the page
+     * @return {@link RosterPage}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty or invalid, or the
+     *                              cursor is invalid
+     */
+    public RosterPage<Caregiver> findCaregiverPage(String organizationId, @NonNull RosterQuery query) {
+        log.info("Finding {} Caregiver records belonging to Organization [{}] by {}", query.getLimit(),
+                organizationId, query.getSort());
+        Validator.validateOrganizationId(organizationId);
+
+        RosterPage<Map<String, AttributeValue>> page = genericDao.findRosterPage(organizationId,
+                CaregiverTable.ID_PREFIX, query, CAREGIVER_ROSTER_PROJECTION);
+        return RosterPage.<Caregiver>builder()
+                .items(page.getItems().stream().map(map -> {
+                    Caregiver caregiver = Caregiver.convertFromMap(map);
+                    caregiver.setPid(caregiver.getSid());
+                    return caregiver;
+                }).collect(Collectors.toList()))
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
+    /**
+     * Search the Caregivers belonging to this Organization by prefixes of their first names, last names, and emails,
+     * see {@link GenericDao#search}. Only pid, sid, email, firstName, and lastName are read.
+     *
+     * @param organizationId The id of the Organization record
+     * @param search The words to search for
+     * @param limit The maximum number of Caregivers to return
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty or invalid
+     */
+    public List<Caregiver> searchCaregivers(String organizationId, String search, int limit) {
+        log.info("Searching Caregiver records belonging to Organization [{}] for [{}]", organizationId, search);
+        Validator.validateOrganizationId(organizationId);
+
+        return genericDao.search(organizationId, CaregiverTable.ID_PREFIX, search, limit).stream().map(map -> {
             Caregiver caregiver = Caregiver.convertFromMap(map);
             caregiver.setPid(caregiver.getSid());
             return caregiver;
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Finds an Organization record by id together with all Admins and Caregivers belonging to it. The whole
+     * Organization partition is read with one paginated query and its records are told apart by sid prefix. If the
+     * associations of the Organization are sharded, the partition and all of its shards are queried in parallel and
+     * gathered. Only pid, sid and the attributes in {@link #ORGANIZATION_ROSTER_PROJECTION} are read.
+     *
+     * @param id The id of the Organization record
+     * @return {@link OrganizationRoster}
+     * @throws RecordDoesNotExistException If record with the given id does not exist
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if id is empty or invalid
+     */
+    public OrganizationRoster findRosterById(String id) {
+        log.info("Finding Organization record with id [{}] and its roster", id);
+        Validator.validateOrganizationId(id);
+
+        Organization organization = null;
+        List<Admin> admins = new ArrayList<>();
+        List<Caregiver> caregivers = new ArrayList<>();
+        Set<String> partitions = new LinkedHashSet<>();
+        partitions.add(id);
+        partitions.addAll(genericDao.findShardKeys(id));
+        for (Map<String, AttributeValue> item : genericDao.findPartitions(new ArrayList<>(partitions),
+                ORGANIZATION_ROSTER_PROJECTION)) {
+            String sid = getFromMap(item, OrganizationTable.SID_NAME);
+            if (sid.equals(id)) {
+                organization = Organization.convertFromMap(item);
+            } else if (sid.startsWith(AdminTable.ID_PREFIX)) {
+                Admin admin = Admin.convertFromMap(item);
+                admin.setPid(sid);
+                admins.add(admin);
+            } else if (sid.startsWith(CaregiverTable.ID_PREFIX)) {
+                Caregiver caregiver = Caregiver.convertFromMap(item);
+                caregiver.setPid(sid);
+                caregivers.add(caregiver);
+            }
+        }
+        if (organization == null) {
+            log.error("Cannot find Organization record with id [{}]", id);
+            throw new RecordDoesNotExistException(Organization.class.getSimpleName(), id);
+        }
+
+        return OrganizationRoster.builder()
+                .organization(organization)
+                .admins(admins)
+                .caregivers(caregivers)
+                .build();
+    }
+
     /**
      * Updates an Organization record. Record with given id must already exist.
      * Record with given name should not already exist unless it is the same record being updated.
@@ -183,13 +324,14 @@ public class OrganizationDao {
      * Deletes an Organization record by id and all of its associations. Does nothing if record does not exist.
      *
      * @param id The id of the record to delete
+     * @return {@link DeleteReport} of the records deleted
      * @throws IllegalArgumentException
      * @throws NullPointerException Above 2 exceptions are thrown if id is empty or invalid
      */
-    public void delete(String id) {
+    public DeleteReport delete(String id) {
         log.info("Deleting Organization record with id [{}]", id);
         Validator.validateOrganizationId(id);
 
-        genericDao.delete(id);
+        return genericDao.delete(id);
     }
 }
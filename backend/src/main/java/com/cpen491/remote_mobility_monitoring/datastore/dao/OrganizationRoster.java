@@ -0,0 +1,22 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Admin;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Organization;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * An Organization record with the Admins and Caregivers belonging to it.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class OrganizationRoster {
+    private Organization organization;
+    private List<Admin> admins;
+    private List<Caregiver> caregivers;
+}
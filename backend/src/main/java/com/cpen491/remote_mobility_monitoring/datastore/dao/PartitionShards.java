@@ -0,0 +1,80 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * How the association records of entities with many associations are spread over partitions by {@link GenericDao}.
+ * The associations of an entity whose id starts with one of the sharded prefixes are written to one of shardCount
+ * partitions "id#shard", where the shard is chosen by hashing the id of the other entity, so that no single partition
+ * takes all the reads and writes of e.g. a large Organization. The entity record itself stays in the "id" partition.
+ * With a shard count of 1 nothing is sharded.
+ */
+@Getter
+public class PartitionShards {
+    public static final PartitionShards NONE = new PartitionShards(Set.of(), 1);
+    private static final char SEPARATOR = '#';
+
+    @NonNull
+    private final Set<String> idPrefixes;
+    private final int shardCount;
+
+    public PartitionShards(@NonNull Set<String> idPrefixes, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1 but was " + shardCount);
+        }
+        this.idPrefixes = idPrefixes;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Returns whether the associations of the entity with the given id are sharded.
+     */
+    public boolean isSharded(String id) {
+        return shardCount > 1 && hasShardedPrefix(id) && id.indexOf(SEPARATOR) < 0;
+    }
+
+    /**
+     * Returns the partition key of the association of the entity with the given id with otherId.
+     */
+    public String shardKey(String id, String otherId) {
+        if (!isSharded(id)) {
+            return id;
+        }
+        return id + SEPARATOR + Math.floorMod(otherId.hashCode(), shardCount);
+    }
+
+    /**
+     * Returns the partition keys of all associations of the entity with the given id, which is just the id if its
+     * associations are not sharded.
+     */
+    public List<String> shardKeys(String id) {
+        if (!isSharded(id)) {
+            return List.of(id);
+        }
+        List<String> keys = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            keys.add(id + SEPARATOR + shard);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the id of the entity whose partition key is pid, i.e. pid without its shard.
+     */
+    public String entityId(String pid) {
+        int separator = pid.indexOf(SEPARATOR);
+        if (separator < 0 || !hasShardedPrefix(pid)) {
+            return pid;
+        }
+        return pid.substring(0, separator);
+    }
+
+    private boolean hasShardedPrefix(String id) {
+        return idPrefixes.stream().anyMatch(id::startsWith);
+    }
+}
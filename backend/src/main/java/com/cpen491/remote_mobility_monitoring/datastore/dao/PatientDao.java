@@ -10,25 +10,31 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getBoolFromMap;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.putNullIfAbsent;
 
 @Slf4j
 @AllArgsConstructor
 public class PatientDao {
+    // Attributes of Caregiver associations listed in a Patient's roster
+    public static final List<String> CAREGIVER_ROSTER_PROJECTION = List.of(CaregiverTable.FIRST_NAME_NAME,
+            CaregiverTable.LAST_NAME_NAME, CaregiverTable.IS_PRIMARY_NAME, CaregiverTable.AUTH_CODE_NAME);
+
     @NonNull
     private GenericDao genericDao;
 
     /**
-     * Creates a new Patient record. Record with the given email must not already exist.
+     * Creates a new Patient record. Record with the given email must not already exist. The record and the claim of
+     * its email are written in one transaction.
      *
      * @param newRecord The Patient record to create
      * @throws DuplicateRecordException If record with the given email already exists
@@ -40,14 +46,14 @@ public class PatientDao {
         log.info("Creating new Patient record {}", newRecord);
         Validator.validatePatient(newRecord);
 
-        if (findByEmail(newRecord.getEmail()) != null) {
+        genericDao.setDate(newRecord);
+        Map<String, AttributeValue> patientMap = Patient.convertToMap(newRecord);
+        log.info("Creating new Patient record {}", patientMap);
+        ClaimResult result = genericDao.createWithClaim(List.of(patientMap), buildEmailClaimId(newRecord.getEmail()));
+        if (result == ClaimResult.ALREADY_CLAIMED) {
             log.error("Patient record with email [{}] already exists", newRecord.getEmail());
             throw new DuplicateRecordException(Patient.class.getSimpleName(), newRecord.getEmail());
         }
-
-        genericDao.setDate(newRecord);
-        log.info("Creating new Patient record {}", Patient.convertToMap(newRecord));
-        genericDao.put(Patient.convertToMap(newRecord));
     }
 
     /**
@@ -83,13 +89,14 @@ public class PatientDao {
         log.info("Finding Patient record with email [{}]", email);
         Validator.validateEmail(email);
 
-        QueryResponse response = genericDao
-                .findAllByPartitionKeyOnIndex(PatientTable.EMAIL_NAME, email, PatientTable.EMAIL_INDEX_NAME);
-        if (!response.hasItems() || response.items().size() == 0) {
+        Optional<Map<String, AttributeValue>> item = genericDao
+                .findAllByPartitionKeyOnIndex(PatientTable.EMAIL_NAME, email, PatientTable.EMAIL_INDEX_NAME)
+                .stream().findFirst();
+        if (item.isEmpty()) {
             log.info("Cannot find Patient record with email [{}]", email);
             return null;
         }
-        Patient patient = Patient.convertFromMap(response.items().get(0));
+        Patient patient = Patient.convertFromMap(item.get());
         genericDao.setCorrectId(patient, PatientTable.ID_PREFIX);
         return patient;
     }
@@ -107,19 +114,20 @@ public class PatientDao {
         log.info("Finding Patient record with deviceId [{}]", deviceId);
         Validator.validateDeviceId(deviceId);
 
-        QueryResponse response = genericDao
-                .findAllByPartitionKeyOnIndex(PatientTable.DEVICE_ID_NAME, deviceId, PatientTable.DEVICE_ID_INDEX_NAME);
-        if (!response.hasItems() || response.items().size() == 0) {
+        Optional<Map<String, AttributeValue>> item = genericDao
+                .findAllByPartitionKeyOnIndex(PatientTable.DEVICE_ID_NAME, deviceId, PatientTable.DEVICE_ID_INDEX_NAME)
+                .stream().findFirst();
+        if (item.isEmpty()) {
             log.info("Cannot find Patient record with deviceId [{}]", deviceId);
             return null;
         }
-        Patient patient = Patient.convertFromMap(response.items().get(0));
+        Patient patient = Patient.convertFromMap(item.get());
         genericDao.setCorrectId(patient, PatientTable.ID_PREFIX);
         return patient;
     }
 
     /**
-     * Batch finds all Patient records by IDs.
+     * Batch finds all Patient records by IDs, in the order of ids. IDs without a record are skipped.
      *
      * @param ids Set of IDs of the records to find
      * @return {@link List}
@@ -145,12 +153,26 @@ public class PatientDao {
      * @throws NullPointerException Above 2 exceptions are thrown if patientId is empty or invalid
      */
     public List<Caregiver> findAllCaregivers(String patientId) {
+        return findAllCaregivers(patientId, null);
+    }
+
+    /**
+     * Find all Caregivers caring for this patient. Only pid, sid and the attributes in projection are read,
+     * e.g. {@link #CAREGIVER_ROSTER_PROJECTION} for rosters.
+     *
+     * @param patientId The id of the Patient record
+     * @param projection The names of the attributes to read, or null to read all attributes
+     * @return {@link List}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patientId is empty or invalid
+     */
+    public List<Caregiver> findAllCaregivers(String patientId, List<String> projection) {
         log.info("Finding all Caregiver records caring for Patient [{}]", patientId);
         Validator.validatePatientId(patientId);
 
-        List<Map<String, AttributeValue>> result = genericDao
-                .findAllAssociationsOnSidIndex(patientId, CaregiverTable.ID_PREFIX).items();
-        return result.stream().map(map -> {
+        return genericDao
+                .findAllAssociationsOnSidIndex(patientId, CaregiverTable.ID_PREFIX, projection)
+                .stream().map(map -> {
             Caregiver caregiver = Caregiver.convertFromMap(map);
             caregiver.setSid(caregiver.getPid());
             if (getBoolFromMap(map, CaregiverTable.IS_PRIMARY_NAME)) {
@@ -164,6 +186,8 @@ public class PatientDao {
     /**
      * Updates a Patient record. Record with given id must already exist.
      * Record with given email should not already exist unless it is the same record being updated.
+     * The record and the claim of its email are written in one transaction. Optional attributes that are null in
+     * updatedRecord, e.g. deviceId or weight, are removed from the record.
      *
      * @param updatedRecord The Patient record to update
      * @throws DuplicateRecordException If record with the given email already exists
@@ -176,28 +200,42 @@ public class PatientDao {
         log.info("Updating Patient record {}", updatedRecord);
         Validator.validatePatient(updatedRecord);
 
-        Patient found = findByEmail(updatedRecord.getEmail());
-        if (found != null && !found.getPid().equals(updatedRecord.getPid())) {
+        Map<String, AttributeValue> item = Patient.convertToMap(updatedRecord);
+        putNullIfAbsent(item, PatientTable.DEVICE_ID_NAME, PatientTable.BIRTHDAY, PatientTable.SEX,
+                PatientTable.HEIGHT, PatientTable.WEIGHT);
+        ClaimResult result = genericDao.updateWithClaim(item, PatientTable.EMAIL_NAME);
+        if (result == ClaimResult.ALREADY_CLAIMED) {
             log.error("Patient record with email [{}] already exists", updatedRecord.getEmail());
             throw new DuplicateRecordException(Patient.class.getSimpleName(), updatedRecord.getEmail());
         }
-
-        findById(updatedRecord.getPid());
-
-        genericDao.update(Patient.convertToMap(updatedRecord));
+        if (result == ClaimResult.RECORD_DOES_NOT_EXIST) {
+            log.error("Cannot find Patient record with id [{}]", updatedRecord.getPid());
+            throw new RecordDoesNotExistException(Patient.class.getSimpleName(), updatedRecord.getPid());
+        }
     }
 
     /**
-     * Deletes a Patient record by id and all of its associations. Does nothing if record does not exist.
+     * Deletes a Patient record by id and all of its associations, and releases the claim of its email. Does nothing
+     * if record does not exist.
      *
      * @param id The id of the record to delete
+     * @return {@link DeleteReport} of the records deleted
      * @throws IllegalArgumentException
      * @throws NullPointerException Above 2 exceptions are thrown if id is empty or invalid
      */
-    public void delete(String id) {
+    public DeleteReport delete(String id) {
         log.info("Deleting Patient record with id [{}]", id);
         Validator.validatePatientId(id);
 
-        genericDao.delete(id);
+        GetItemResponse response = genericDao.findByPartitionKey(id);
+        DeleteReport report = genericDao.delete(id);
+        if (response.hasItem()) {
+            genericDao.releaseClaim(buildEmailClaimId(Patient.convertFromMap(response.item()).getEmail()), id);
+        }
+        return report;
+    }
+
+    private static String buildEmailClaimId(String email) {
+        return GenericDao.buildClaimId(PatientTable.EMAIL_NAME, email);
     }
 }
@@ -0,0 +1,52 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent reads concurrently, so a request reading e.g. a record and its associations takes as long as its
+ * slowest read rather than the sum of its reads. Reads run within the {@link IdentityMap} scope of the calling thread.
+ */
+@AllArgsConstructor
+public class ReadExecutor {
+    @NonNull
+    private Executor executor;
+    @NonNull
+    private IdentityMap identityMap;
+
+    /**
+     * Starts read on the executor.
+     *
+     * @param read The read to run
+     * @return {@link CompletableFuture} of the result of read
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(identityMap.bind(read), executor);
+    }
+
+    /**
+     * Waits for a read started with {@link #supplyAsync} and returns its result. Exceptions thrown by the read are
+     * rethrown unchanged, e.g. {@link com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException}.
+     *
+     * @param read The started read
+     * @return The result of read
+     */
+    public static <T> T join(CompletableFuture<T> read) {
+        try {
+            return read.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Page of the members of a roster read with {@link GenericDao#findRosterPage}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class RosterPage<T> {
+    private List<T> items;
+    // Cursor to read the next page with, or null if this is the last page
+    private String nextCursor;
+}
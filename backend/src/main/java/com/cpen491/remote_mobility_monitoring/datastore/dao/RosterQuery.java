@@ -0,0 +1,49 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+
+/**
+ * Page of a roster to read with {@link GenericDao#findRosterPage}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class RosterQuery {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    @NonNull
+    @Builder.Default
+    private RosterSort sort = RosterSort.LAST_NAME;
+    // Case-insensitive prefix of the last names of the members to read, or null to read all members
+    private String namePrefix;
+    // Cursor returned with the previous page, or null to read the first page
+    private String cursor;
+    @Builder.Default
+    private int limit = DEFAULT_LIMIT;
+
+    /**
+     * Builds the query of a roster request, where any of the parameters may be missing. Returns null if all of them
+     * are missing, so that requests made before rosters were paginated still read the whole roster.
+     *
+     * @param limit The size of the page
+     * @param cursor The cursor returned with the previous page
+     * @param sort The sort, see {@link RosterSort#convertToEnum}
+     * @param namePrefix The prefix of the last names of the members to read
+     * @return {@link RosterQuery}, or null if no parameter is given
+     */
+    public static RosterQuery fromParameters(Integer limit, String cursor, String sort, String namePrefix) {
+        if (limit == null && cursor == null && sort == null && namePrefix == null) {
+            return null;
+        }
+        return RosterQuery.builder()
+                .limit(limit == null ? DEFAULT_LIMIT : limit)
+                .cursor(cursor)
+                .sort(sort == null ? RosterSort.LAST_NAME : RosterSort.convertToEnum(sort))
+                .namePrefix(namePrefix)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.RosterTable;
+
+/**
+ * Order of the members of a roster read with {@link GenericDao#findRosterPage}, each backed by a roster index.
+ * <ul>
+ *     <li>LAST_NAME: by last name and then first name, ignoring case.</li>
+ *     <li>CREATED_AT: by when the member was added to the roster, oldest first.</li>
+ * </ul>
+ */
+public enum RosterSort {
+    LAST_NAME("last_name", RosterTable.NAME_INDEX_NAME, RosterTable.NAME_KEY_NAME),
+    CREATED_AT("created_at", RosterTable.CREATED_AT_INDEX_NAME, RosterTable.CREATED_AT_KEY_NAME);
+
+    private static final Map<String, RosterSort> stringToEnumMap = new HashMap<>();
+
+    static {
+        for (RosterSort sort : RosterSort.values()) {
+            stringToEnumMap.put(sort.sort, sort);
+        }
+    }
+
+    public final String sort;
+    public final String indexName;
+    public final String keyName;
+
+    RosterSort(String sort, String indexName, String keyName) {
+        this.sort = sort;
+        this.indexName = indexName;
+        this.keyName = keyName;
+    }
+
+    public static RosterSort convertToEnum(String s) {
+        return stringToEnumMap.get(s);
+    }
+}
@@ -0,0 +1,164 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.SearchTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.isNull;
+
+/**
+ * The prefix search index of the members of rosters, e.g. the Patients of a Caregiver. Holds a record for each prefix
+ * of each word of the searchable attributes of each member, see {@link SearchTable}. Records are written and read
+ * through the {@link GenericDao} the index belongs to.
+ */
+@AllArgsConstructor
+class SearchIndex {
+    private static final String SEARCH_TOKEN_SEPARATOR = "#";
+
+    @NonNull
+    private GenericDao genericDao;
+
+    /**
+     * See {@link GenericDao#search}.
+     */
+    List<Map<String, AttributeValue>> search(String scopeId, String sidPrefix, String search, int limit) {
+        List<String> searchWords = SearchTokens.words(search);
+        String token = SearchTokens.lookupToken(searchWords);
+        if (token == null) {
+            return Collections.emptyList();
+        }
+        boolean exact = SearchTokens.isExactLookup(searchWords);
+        List<String> termNames = SearchTable.MEMBER_TERM_NAMES.getOrDefault(sidPrefix, Collections.emptyList());
+
+        Map<String, String> attributeNames = new HashMap<>();
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        attributeNames.put("#pid", BaseTable.PID_NAME);
+        attributeNames.put("#sid", BaseTable.SID_NAME);
+        attributeValues.put(":pid", convertToAttributeValue(buildSearchId(scopeId, token)));
+        attributeValues.put(":prefix", convertToAttributeValue(sidPrefix));
+        QueryRequest request = QueryRequest.builder()
+                .tableName(genericDao.getTableName())
+                .keyConditionExpression("#pid = :pid AND begins_with(#sid, :prefix)")
+                .expressionAttributeNames(attributeNames)
+                .expressionAttributeValues(attributeValues)
+                .limit(exact ? limit : null)
+                .build();
+        return genericDao.getDdbClient().queryPaginator(request).items().stream()
+                .map(SearchIndex::convertFromSearchRecord)
+                .filter(item -> exact || SearchTokens.matches(SearchTokens.terms(item, termNames), searchWords))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    static boolean isSearchable(String id) {
+        return SearchTable.MEMBER_TERM_NAMES.containsKey(GenericDao.getIdType(id) + "-");
+    }
+
+    private static String buildSearchId(String scopeId, String token) {
+        return SearchTable.ID_PREFIX + scopeId + SEARCH_TOKEN_SEPARATOR + token;
+    }
+
+    private static Map<String, AttributeValue> convertFromSearchRecord(Map<String, AttributeValue> record) {
+        Map<String, AttributeValue> member = new HashMap<>(record.get(SearchTable.MEMBER_NAME).m());
+        member.put(BaseTable.PID_NAME, record.get(BaseTable.PID_NAME));
+        member.put(BaseTable.SID_NAME, record.get(BaseTable.SID_NAME));
+        return member;
+    }
+
+    /**
+     * Builds the search index records of member in the search index of scopeId, one for each token of its searchable
+     * attributes, holding those attributes in {@link SearchTable#MEMBER_NAME}. Returns no records if member is not
+     * searchable.
+     */
+    static List<Map<String, AttributeValue>> buildRecords(String scopeId, Map<String, AttributeValue> member) {
+        String memberId = getFromMap(member, BaseTable.PID_NAME);
+        List<String> termNames = SearchTable.MEMBER_TERM_NAMES.get(GenericDao.getIdType(memberId) + "-");
+        if (termNames == null) {
+            return Collections.emptyList();
+        }
+        Map<String, AttributeValue> attributes = new HashMap<>();
+        for (String termName : termNames) {
+            if (member.get(termName) != null && !isNull(member.get(termName))) {
+                attributes.put(termName, member.get(termName));
+            }
+        }
+
+        List<Map<String, AttributeValue>> records = new ArrayList<>();
+        for (String token : SearchTokens.tokens(SearchTokens.terms(member, termNames))) {
+            Map<String, AttributeValue> record = new HashMap<>();
+            record.put(SearchTable.MEMBER_NAME, AttributeValue.builder().m(attributes).build());
+            record.put(BaseTable.PID_NAME, convertToAttributeValue(buildSearchId(scopeId, token)));
+            record.put(BaseTable.SID_NAME, convertToAttributeValue(memberId));
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Finds the search index records of memberId, in the search index of scopeId, or in all search indexes if
+     * scopeId is null. Read from the sid index, whose sort key is pid.
+     */
+    List<Map<String, AttributeValue>> findRecords(String memberId, String scopeId) {
+        Map<String, String> attributeNames = new HashMap<>();
+        Map<String, AttributeValue> attributeValues = new HashMap<>();
+        attributeNames.put("#sid", BaseTable.SID_NAME);
+        attributeNames.put("#pid", BaseTable.PID_NAME);
+        attributeValues.put(":sid", convertToAttributeValue(memberId));
+        attributeValues.put(":prefix", convertToAttributeValue(scopeId == null
+                ? SearchTable.ID_PREFIX
+                : SearchTable.ID_PREFIX + scopeId + SEARCH_TOKEN_SEPARATOR));
+        List<Map<String, AttributeValue>> records = new ArrayList<>();
+        genericDao.runQuery("#sid = :sid AND begins_with(#pid, :prefix)", attributeNames, attributeValues,
+                BaseTable.SID_INDEX_NAME, true, null).items().forEach(records::add);
+        return records;
+    }
+
+    /**
+     * Rewrites the search index records of the entity item in all search indexes listing it, if its searchable
+     * attributes have changed. Records of prefixes it no longer has are deleted.
+     */
+    void updateRecords(Map<String, AttributeValue> item) {
+        String memberId = getFromMap(item, BaseTable.PID_NAME);
+        if (!isSearchable(memberId)) {
+            return;
+        }
+        Map<String, List<Map<String, AttributeValue>>> recordsByScope = new HashMap<>();
+        for (Map<String, AttributeValue> record : findRecords(memberId, null)) {
+            String searchId = getFromMap(record, BaseTable.PID_NAME);
+            String scopeId = searchId.substring(SearchTable.ID_PREFIX.length(), searchId.indexOf(SEARCH_TOKEN_SEPARATOR));
+            recordsByScope.computeIfAbsent(scopeId, key -> new ArrayList<>()).add(record);
+        }
+
+        List<Map<String, AttributeValue>> updatedRecords = new ArrayList<>();
+        List<Map<String, AttributeValue>> staleRecords = new ArrayList<>();
+        for (Map.Entry<String, List<Map<String, AttributeValue>>> entry : recordsByScope.entrySet()) {
+            List<Map<String, AttributeValue>> records = buildRecords(entry.getKey(), item);
+            if (new HashSet<>(records).equals(new HashSet<>(entry.getValue()))) {
+                continue;
+            }
+            Set<String> searchIds = records.stream()
+                    .map(record -> getFromMap(record, BaseTable.PID_NAME))
+                    .collect(Collectors.toSet());
+            entry.getValue().stream()
+                    .filter(record -> !searchIds.contains(getFromMap(record, BaseTable.PID_NAME)))
+                    .forEach(staleRecords::add);
+            updatedRecords.addAll(records);
+        }
+        genericDao.batchDeleteByPrimaryKey(staleRecords);
+        genericDao.batchPut(updatedRecords);
+    }
+}
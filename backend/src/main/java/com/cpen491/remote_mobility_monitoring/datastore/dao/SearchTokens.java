@@ -0,0 +1,90 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+
+/**
+ * Prefix tokens of the searchable terms of roster members, kept as search index records by {@link GenericDao}.
+ * A term is a word of a searchable attribute, e.g. a first name, last name, or email, in lower case. Its tokens are
+ * its prefixes up to {@link #MAX_TOKEN_LENGTH} characters, so a search for any prefix of a term reads the one index
+ * partition of that prefix.
+ */
+final class SearchTokens {
+    static final int MAX_TOKEN_LENGTH = 20;
+
+    private SearchTokens() {
+    }
+
+    /**
+     * Returns the terms of the attributes termNames of member.
+     */
+    static List<String> terms(Map<String, AttributeValue> member, List<String> termNames) {
+        List<String> terms = new ArrayList<>();
+        for (String termName : termNames) {
+            String value = getFromMap(member, termName);
+            if (value != null) {
+                terms.addAll(words(value));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the tokens of terms without duplicates.
+     */
+    static Set<String> tokens(List<String> terms) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String term : terms) {
+            for (int length = 1; length <= Math.min(term.length(), MAX_TOKEN_LENGTH); length++) {
+                tokens.add(term.substring(0, length));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the lower case words of value.
+     */
+    static List<String> words(String value) {
+        return Arrays.stream(value.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the word of a search to look up in the index, which is its longest word cut to
+     * {@link #MAX_TOKEN_LENGTH} characters, or null if the search has no words.
+     */
+    static String lookupToken(List<String> searchWords) {
+        return searchWords.stream()
+                .max(Comparator.comparingInt(String::length))
+                .map(word -> word.substring(0, Math.min(word.length(), MAX_TOKEN_LENGTH)))
+                .orElse(null);
+    }
+
+    /**
+     * Returns whether the lookup token alone decides if a member matches the search, i.e. the search is one word of
+     * at most {@link #MAX_TOKEN_LENGTH} characters.
+     */
+    static boolean isExactLookup(List<String> searchWords) {
+        return searchWords.size() == 1 && searchWords.get(0).length() <= MAX_TOKEN_LENGTH;
+    }
+
+    /**
+     * Returns whether every word of the search is a prefix of a term of the member.
+     */
+    static boolean matches(List<String> terms, List<String> searchWords) {
+        return searchWords.stream().allMatch(word -> terms.stream().anyMatch(term -> term.startsWith(word)));
+    }
+}
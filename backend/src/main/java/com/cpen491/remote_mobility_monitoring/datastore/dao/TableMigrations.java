@@ -0,0 +1,206 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.RosterTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+
+/**
+ * One-off rewrites of the records of the table, run by the commands in the migration package when the layout of the
+ * records changes. Each migration scans the whole table page by page, writing each page of rewritten records with
+ * {@link GenericDao#batchPut}, and can be run again if it is interrupted. Not used by the Lambda handlers.
+ */
+@Slf4j
+@AllArgsConstructor
+public class TableMigrations {
+    @NonNull
+    private GenericDao genericDao;
+
+    private Iterable<ScanResponse> scanPages() {
+        return genericDao.getDdbClient().scanPaginator(ScanRequest.builder().tableName(genericDao.getTableName()).build());
+    }
+
+    /**
+     * Rewrites all association records in the given layout, e.g. to migrate existing records before switching the
+     * layout. Associations are the records whose pid and sid are the ids of two different entities.
+     *
+     * @param layout The layout to rewrite the association records in
+     * @return The number of association records rewritten
+     */
+    public long rewriteAssociations(AssociationLayout layout) {
+        long rewritten = 0;
+        for (ScanResponse page : scanPages()) {
+            List<Map<String, AttributeValue>> associations = page.items().stream()
+                    .filter(GenericDao::isAssociation)
+                    .collect(Collectors.toList());
+            if (associations.isEmpty()) {
+                continue;
+            }
+            if (layout == AssociationLayout.NORMALIZED) {
+                genericDao.batchPut(associations.stream().map(GenericDao::normalizeAssociation).collect(Collectors.toList()));
+            } else {
+                genericDao.batchPut(genericDao.hydrateAssociations(associations, null));
+            }
+            rewritten += associations.size();
+            log.info("Rewrote {} association records as {}", rewritten, layout.layout);
+        }
+        return rewritten;
+    }
+
+    /**
+     * Moves all association records to the partitions given by the current {@link PartitionShards}, e.g. to migrate
+     * existing records after the shard count is changed. Each page of moved associations is written to its new
+     * partition before it is deleted from the old one.
+     *
+     * @return The number of association records moved
+     */
+    public long reshardAssociations() {
+        PartitionShards partitionShards = genericDao.getPartitionShards();
+        long moved = 0;
+        for (ScanResponse page : scanPages()) {
+            List<Map<String, AttributeValue>> movedItems = new ArrayList<>();
+            List<Map<String, AttributeValue>> oldKeyMaps = new ArrayList<>();
+            for (Map<String, AttributeValue> item : page.items().stream().filter(GenericDao::isAssociation)
+                    .collect(Collectors.toList())) {
+                String pid = getFromMap(item, BaseTable.PID_NAME);
+                String shardKey = partitionShards.shardKey(partitionShards.entityId(pid), getFromMap(item, BaseTable.SID_NAME));
+                if (shardKey.equals(pid)) {
+                    continue;
+                }
+                Map<String, AttributeValue> movedItem = new HashMap<>(item);
+                movedItem.put(BaseTable.PID_NAME, convertToAttributeValue(shardKey));
+                if (movedItem.containsKey(RosterTable.ROSTER_ID_NAME)) {
+                    movedItem.put(RosterTable.ROSTER_ID_NAME, convertToAttributeValue(GenericDao.buildRosterId(shardKey,
+                            GenericDao.getRosterMemberPrefix(getFromMap(item, BaseTable.SID_NAME)))));
+                }
+                movedItems.add(movedItem);
+                oldKeyMaps.add(item);
+            }
+            if (movedItems.isEmpty()) {
+                continue;
+            }
+            genericDao.batchPut(movedItems);
+            genericDao.batchDeleteByPrimaryKey(oldKeyMaps);
+            moved += movedItems.size();
+            log.info("Moved {} association records to their shards", moved);
+        }
+        return moved;
+    }
+
+    /**
+     * Writes the roster index keys of all association records written before rosters were indexed, so that they are
+     * found by {@link GenericDao#findRosterPage}. In the normalized layout the names of the members are read with one
+     * batch read per page.
+     *
+     * @return The number of association records written
+     */
+    public long backfillRosterKeys() {
+        long written = 0;
+        for (ScanResponse page : scanPages()) {
+            List<Map<String, AttributeValue>> associations = page.items().stream()
+                    .filter(item -> GenericDao.isAssociation(item) && !item.containsKey(RosterTable.ROSTER_ID_NAME)
+                            && GenericDao.getRosterMemberPrefix(getFromMap(item, BaseTable.SID_NAME)) != null)
+                    .collect(Collectors.toList());
+            if (associations.isEmpty()) {
+                continue;
+            }
+            List<Map<String, AttributeValue>> withNames = genericDao.getAssociationLayout() == AssociationLayout.NORMALIZED
+                    ? genericDao.hydrateAssociations(associations, null)
+                    : associations;
+
+            List<Map<String, AttributeValue>> updatedItems = new ArrayList<>(associations.size());
+            for (int i = 0; i < associations.size(); i++) {
+                Map<String, AttributeValue> keys = new HashMap<>(withNames.get(i));
+                GenericDao.setRosterKeys(keys);
+                Map<String, AttributeValue> updatedItem = new HashMap<>(associations.get(i));
+                for (String name : List.of(RosterTable.ROSTER_ID_NAME, RosterTable.NAME_KEY_NAME, RosterTable.CREATED_AT_KEY_NAME)) {
+                    updatedItem.put(name, keys.get(name));
+                }
+                updatedItems.add(updatedItem);
+            }
+            genericDao.batchPut(updatedItems);
+            written += updatedItems.size();
+            log.info("Wrote roster keys of {} association records", written);
+        }
+        return written;
+    }
+
+    /**
+     * Writes the search index records of all association records written before members were searchable, so that
+     * they are found by {@link GenericDao#search}. In the normalized layout the attributes of the members are read
+     * with one batch read per page.
+     *
+     * @return The number of association records indexed
+     */
+    public long backfillSearchIndex() {
+        PartitionShards partitionShards = genericDao.getPartitionShards();
+        long indexed = 0;
+        for (ScanResponse page : scanPages()) {
+            List<Map<String, AttributeValue>> associations = page.items().stream()
+                    .filter(item -> GenericDao.isAssociation(item)
+                            && SearchIndex.isSearchable(getFromMap(item, BaseTable.SID_NAME)))
+                    .collect(Collectors.toList());
+            if (associations.isEmpty()) {
+                continue;
+            }
+            if (genericDao.getAssociationLayout() == AssociationLayout.NORMALIZED) {
+                associations = genericDao.hydrateAssociations(associations, null);
+            }
+
+            List<Map<String, AttributeValue>> records = new ArrayList<>();
+            for (Map<String, AttributeValue> association : associations) {
+                Map<String, AttributeValue> member = new HashMap<>(association);
+                member.put(BaseTable.PID_NAME, association.get(BaseTable.SID_NAME));
+                records.addAll(SearchIndex.buildRecords(
+                        partitionShards.entityId(getFromMap(association, BaseTable.PID_NAME)), member));
+            }
+            genericDao.batchPut(records);
+            indexed += associations.size();
+            log.info("Indexed {} association records for search", indexed);
+        }
+        return indexed;
+    }
+
+    /**
+     * Writes the claim records of the values of claimedName held by all records with ids starting with idPrefix,
+     * e.g. to claim the emails of records created before claims were introduced.
+     *
+     * @param idPrefix The prefix of the ids of the records
+     * @param claimedName The name of the unique attribute
+     * @return The number of claim records written
+     */
+    public long backfillClaims(String idPrefix, String claimedName) {
+        long written = 0;
+        for (ScanResponse page : scanPages()) {
+            List<Map<String, AttributeValue>> claims = new ArrayList<>();
+            for (Map<String, AttributeValue> item : page.items()) {
+                String pid = getFromMap(item, BaseTable.PID_NAME);
+                if (!pid.startsWith(idPrefix) || !pid.equals(getFromMap(item, BaseTable.SID_NAME))
+                        || !item.containsKey(claimedName)) {
+                    continue;
+                }
+                claims.add(ClaimStore.buildClaim(ClaimStore.buildClaimId(claimedName, getFromMap(item, claimedName)), pid));
+            }
+            if (claims.isEmpty()) {
+                continue;
+            }
+            genericDao.batchPut(claims);
+            written += claims.size();
+            log.info("Wrote {} claims of {}", written, claimedName);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,116 @@
+package com.cpen491.remote_mobility_monitoring.datastore.model;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AlertRuleTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getDoubleFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getLongFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.putInMap;
+
+/**
+ * A Caregiver defined threshold rule on one measure of a Patient, stored as an association with
+ * pid = patientId and sid = ruleId so that all rules of a Patient are found with a single query.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertRule extends BaseModel {
+    public enum Operator {
+        LESS_THAN("<"),
+        LESS_THAN_OR_EQUAL("<="),
+        GREATER_THAN(">"),
+        GREATER_THAN_OR_EQUAL(">=");
+
+        private static final Map<String, Operator> stringToEnumMap = new HashMap<>();
+
+        static {
+            for (Operator operator : Operator.values()) {
+                stringToEnumMap.put(operator.symbol, operator);
+            }
+        }
+
+        public final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public static Operator convertToEnum(String s) {
+            return stringToEnumMap.get(s);
+        }
+
+        public boolean test(double value, double threshold) {
+            switch (this) {
+                case LESS_THAN:
+                    return value < threshold;
+                case LESS_THAN_OR_EQUAL:
+                    return value <= threshold;
+                case GREATER_THAN:
+                    return value > threshold;
+                default:
+                    return value >= threshold;
+            }
+        }
+    }
+
+    private String caregiverId;
+    private MeasureName measureName;
+    private Operator operator;
+    private Double threshold;
+    private Long durationMinutes;       // How long the condition must hold before the rule triggers, 0 for immediately
+
+    // The following 3 attributes are the evaluation state of the rule
+    private String breachStartedAt;
+    private String lastEvaluatedAt;
+    private String lastTriggeredAt;
+
+    public static Map<String, AttributeValue> convertToMap(AlertRule alertRule) {
+        Map<String, AttributeValue> map = new HashMap<>();
+        putInMap(map, AlertRuleTable.PID_NAME, alertRule.getPid());
+        putInMap(map, AlertRuleTable.SID_NAME, alertRule.getSid());
+        putInMap(map, AlertRuleTable.CAREGIVER_ID_NAME, alertRule.getCaregiverId());
+        putInMap(map, AlertRuleTable.MEASURE_NAME_NAME, alertRule.getMeasureName() == null ? null : alertRule.getMeasureName().type);
+        putInMap(map, AlertRuleTable.OPERATOR_NAME, alertRule.getOperator() == null ? null : alertRule.getOperator().symbol);
+        putInMap(map, AlertRuleTable.THRESHOLD_NAME, alertRule.getThreshold());
+        putInMap(map, AlertRuleTable.DURATION_MINUTES_NAME, alertRule.getDurationMinutes());
+        putInMap(map, AlertRuleTable.BREACH_STARTED_AT_NAME, alertRule.getBreachStartedAt());
+        putInMap(map, AlertRuleTable.LAST_EVALUATED_AT_NAME, alertRule.getLastEvaluatedAt());
+        putInMap(map, AlertRuleTable.LAST_TRIGGERED_AT_NAME, alertRule.getLastTriggeredAt());
+        putInMap(map, AlertRuleTable.CREATED_AT_NAME, alertRule.getCreatedAt());
+        putInMap(map, AlertRuleTable.UPDATED_AT_NAME, alertRule.getUpdatedAt());
+        return map;
+    }
+
+    public static AlertRule convertFromMap(Map<String, AttributeValue> map) {
+        return AlertRule.builder()
+                .pid(getFromMap(map, AlertRuleTable.PID_NAME))
+                .sid(getFromMap(map, AlertRuleTable.SID_NAME))
+                .caregiverId(getFromMap(map, AlertRuleTable.CAREGIVER_ID_NAME))
+                .measureName(MeasureName.convertToEnum(getFromMap(map, AlertRuleTable.MEASURE_NAME_NAME)))
+                .operator(Operator.convertToEnum(getFromMap(map, AlertRuleTable.OPERATOR_NAME)))
+                .threshold(getDoubleFromMap(map, AlertRuleTable.THRESHOLD_NAME))
+                .durationMinutes(getLongFromMap(map, AlertRuleTable.DURATION_MINUTES_NAME))
+                .breachStartedAt(getFromMap(map, AlertRuleTable.BREACH_STARTED_AT_NAME))
+                .lastEvaluatedAt(getFromMap(map, AlertRuleTable.LAST_EVALUATED_AT_NAME))
+                .lastTriggeredAt(getFromMap(map, AlertRuleTable.LAST_TRIGGERED_AT_NAME))
+                .createdAt(getFromMap(map, AlertRuleTable.CREATED_AT_NAME))
+                .updatedAt(getFromMap(map, AlertRuleTable.UPDATED_AT_NAME))
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Specifies the table, index, and column names of all models
@@ -18,6 +19,15 @@ public final class Const {
         public static final String CREATED_AT_NAME = "created_at";
         public static final String UPDATED_AT_NAME = "updated_at";
         public static final String SID_INDEX_NAME = SID_NAME + INDEX_NAME_SUFFIX;
+        // Prefixes of the ids of entities that can be associated with each other
+        public static final List<String> ENTITY_ID_PREFIXES = Arrays.asList(
+                OrganizationTable.ID_PREFIX, AdminTable.ID_PREFIX, CaregiverTable.ID_PREFIX, PatientTable.ID_PREFIX
+        );
+        // Attributes describing an association itself rather than either entity, kept in normalized associations
+        public static final List<String> ASSOCIATION_ATTRIBUTE_NAMES = Arrays.asList(
+                CaregiverTable.IS_PRIMARY_NAME, CaregiverTable.AUTH_CODE_NAME, CaregiverTable.AUTH_CODE_TIMESTAMP_NAME,
+                RosterTable.ROSTER_ID_NAME, RosterTable.NAME_KEY_NAME, RosterTable.CREATED_AT_KEY_NAME
+        );
     }
 
     public static class OrganizationTable extends BaseTable {
@@ -75,6 +85,66 @@ public final class Const {
         );
     }
 
+    public static class MetricsStateTable extends BaseTable {
+        public static final String ID_PREFIX = "mst-";
+        public static final String MEASURE_NAME_NAME = ID_PREFIX + "measure_name";
+        public static final String COUNT_NAME = ID_PREFIX + "count";
+        public static final String MEAN_NAME = ID_PREFIX + "mean";
+        public static final String VARIANCE_NAME = ID_PREFIX + "variance";
+        public static final String CUSUM_NAME = ID_PREFIX + "cusum";
+        public static final String LAST_TIMESTAMP_NAME = ID_PREFIX + "last_timestamp";
+    }
+
+    public static class AlertRuleTable extends BaseTable {
+        public static final String ID_PREFIX = "rul-";
+        public static final String CAREGIVER_ID_NAME = ID_PREFIX + "caregiver_id";
+        public static final String MEASURE_NAME_NAME = ID_PREFIX + "measure_name";
+        public static final String OPERATOR_NAME = ID_PREFIX + "operator";
+        public static final String THRESHOLD_NAME = ID_PREFIX + "threshold";
+        public static final String DURATION_MINUTES_NAME = ID_PREFIX + "duration_minutes";
+        public static final String BREACH_STARTED_AT_NAME = ID_PREFIX + "breach_started_at";
+        public static final String LAST_EVALUATED_AT_NAME = ID_PREFIX + "last_evaluated_at";
+        public static final String LAST_TRIGGERED_AT_NAME = ID_PREFIX + "last_triggered_at";
+    }
+
+    // Keys of association records in the roster indexes, which list the members of a roster, e.g. the Patients of a
+    // Caregiver, in order of last name or of when they were added
+    public static class RosterTable extends BaseTable {
+        public static final String ROSTER_ID_NAME = "roster_id";
+        public static final String NAME_KEY_NAME = "roster_name";
+        public static final String CREATED_AT_KEY_NAME = "roster_created_at";
+        public static final String NAME_INDEX_NAME = NAME_KEY_NAME + INDEX_NAME_SUFFIX;
+        public static final String CREATED_AT_INDEX_NAME = CREATED_AT_KEY_NAME + INDEX_NAME_SUFFIX;
+        public static final List<Pair<String, String>> INDEX_NAMES_AND_SORT_KEYS = Arrays.asList(
+                new ImmutablePair<>(NAME_INDEX_NAME, NAME_KEY_NAME),
+                new ImmutablePair<>(CREATED_AT_INDEX_NAME, CREATED_AT_KEY_NAME)
+        );
+        // First and last name attributes of the members of rosters by id prefix
+        public static final Map<String, Pair<String, String>> MEMBER_NAME_NAMES = Map.of(
+                AdminTable.ID_PREFIX, new ImmutablePair<>(AdminTable.FIRST_NAME_NAME, AdminTable.LAST_NAME_NAME),
+                CaregiverTable.ID_PREFIX, new ImmutablePair<>(CaregiverTable.FIRST_NAME_NAME, CaregiverTable.LAST_NAME_NAME),
+                PatientTable.ID_PREFIX, new ImmutablePair<>(PatientTable.FIRST_NAME_NAME, PatientTable.LAST_NAME_NAME)
+        );
+    }
+
+    // Records of the prefix search index, one per word prefix of each member of a roster, e.g. the Patients of a Caregiver
+    public static class SearchTable extends BaseTable {
+        public static final String ID_PREFIX = "srh-";
+        // Nested so the attributes of members are not projected into the indexes keyed by them, e.g. by email
+        public static final String MEMBER_NAME = "member";
+        // Attributes of the members of rosters searched by prefix, by id prefix
+        public static final Map<String, List<String>> MEMBER_TERM_NAMES = Map.of(
+                CaregiverTable.ID_PREFIX, List.of(CaregiverTable.FIRST_NAME_NAME, CaregiverTable.LAST_NAME_NAME, CaregiverTable.EMAIL_NAME),
+                PatientTable.ID_PREFIX, List.of(PatientTable.FIRST_NAME_NAME, PatientTable.LAST_NAME_NAME, PatientTable.EMAIL_NAME)
+        );
+    }
+
+    // Records claiming a unique value, e.g. the email of a Caregiver, for the record with ownerId
+    public static class ClaimTable extends BaseTable {
+        public static final String ID_PREFIX = "clm-";
+        public static final String OWNER_ID_NAME = ID_PREFIX + "owner_id";
+    }
+
     public static class MetricsTable {
         public static final String PATIENT_ID_NAME = "patient_id";
         public static final String PATIENT_SEX_NAME = "patient_sex";
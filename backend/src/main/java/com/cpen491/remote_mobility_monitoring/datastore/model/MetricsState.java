@@ -0,0 +1,74 @@
+package com.cpen491.remote_mobility_monitoring.datastore.model;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.MetricsStateTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getDoubleFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.getLongFromMap;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.putInMap;
+
+/**
+ * Online statistics of one measure of one Patient, stored under pid = patientId and sid = ID_PREFIX + measureName
+ * so that it is removed together with the Patient.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsState extends BaseModel {
+    private MeasureName measureName;
+    private Long count;
+    private Double mean;
+    private Double variance;
+    private Double cusum;
+    private String lastTimestamp;
+
+    public static String buildSid(MeasureName measureName) {
+        return MetricsStateTable.ID_PREFIX + measureName.type;
+    }
+
+    public static Map<String, AttributeValue> convertToMap(MetricsState metricsState) {
+        Map<String, AttributeValue> map = new HashMap<>();
+        putInMap(map, MetricsStateTable.PID_NAME, metricsState.getPid());
+        putInMap(map, MetricsStateTable.SID_NAME, metricsState.getSid());
+        putInMap(map, MetricsStateTable.MEASURE_NAME_NAME, metricsState.getMeasureName().type);
+        putInMap(map, MetricsStateTable.COUNT_NAME, metricsState.getCount());
+        putInMap(map, MetricsStateTable.MEAN_NAME, metricsState.getMean());
+        putInMap(map, MetricsStateTable.VARIANCE_NAME, metricsState.getVariance());
+        putInMap(map, MetricsStateTable.CUSUM_NAME, metricsState.getCusum());
+        putInMap(map, MetricsStateTable.LAST_TIMESTAMP_NAME, metricsState.getLastTimestamp());
+        putInMap(map, MetricsStateTable.CREATED_AT_NAME, metricsState.getCreatedAt());
+        putInMap(map, MetricsStateTable.UPDATED_AT_NAME, metricsState.getUpdatedAt());
+        return map;
+    }
+
+    public static MetricsState convertFromMap(Map<String, AttributeValue> map) {
+        return MetricsState.builder()
+                .pid(getFromMap(map, MetricsStateTable.PID_NAME))
+                .sid(getFromMap(map, MetricsStateTable.SID_NAME))
+                .measureName(MeasureName.convertToEnum(getFromMap(map, MetricsStateTable.MEASURE_NAME_NAME)))
+                .count(getLongFromMap(map, MetricsStateTable.COUNT_NAME))
+                .mean(getDoubleFromMap(map, MetricsStateTable.MEAN_NAME))
+                .variance(getDoubleFromMap(map, MetricsStateTable.VARIANCE_NAME))
+                .cusum(getDoubleFromMap(map, MetricsStateTable.CUSUM_NAME))
+                .lastTimestamp(getFromMap(map, MetricsStateTable.LAST_TIMESTAMP_NAME))
+                .createdAt(getFromMap(map, MetricsStateTable.CREATED_AT_NAME))
+                .updatedAt(getFromMap(map, MetricsStateTable.UPDATED_AT_NAME))
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import com.cpen491.remote_mobility_monitoring.dependency.exception.InvalidAuthorizationException;
+import com.cpen491.remote_mobility_monitoring.function.schema.auth.JwtPayload;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies that JWTs are signed with RS256 by a key of a {@link JwksKeyProvider}, and that they are unexpired ID
+ * tokens with a subject issued by the configured Cognito user pool, for its app client if one is configured.
+ * Verification only uses the keys held in memory, so it makes no network call.
+ */
+@Slf4j
+public class JwksJwtVerifier implements JwtVerifier {
+    private static final String RS256 = "RS256";
+    private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+    // Cognito issues ID tokens, with the claims of the user, and access tokens; the API is called with ID tokens
+    private static final String ID_TOKEN_USE = "id";
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    private static class JwtHeader {
+        @SerializedName("alg")
+        private String alg;
+        @SerializedName("kid")
+        private String kid;
+    }
+
+    private final JwksKeyProvider keyProvider;
+    private final Gson gson;
+    private final String issuer;
+    private final String clientId;
+    private final LongSupplier clock;
+
+    /**
+     * @param keyProvider The keys JWTs may be signed with
+     * @param gson The Gson used to parse JWT headers
+     * @param issuer The iss claim of the user pool, i.e. https://cognito-idp.{region}.amazonaws.com/{userPoolId}
+     * @param clientId The aud claim of the app client of the user pool, null to accept every app client
+     */
+    public JwksJwtVerifier(JwksKeyProvider keyProvider, Gson gson, @NonNull String issuer, String clientId) {
+        this(keyProvider, gson, issuer, clientId, System::currentTimeMillis);
+    }
+
+    JwksJwtVerifier(JwksKeyProvider keyProvider, Gson gson, @NonNull String issuer, String clientId,
+                    LongSupplier clock) {
+        this.keyProvider = keyProvider;
+        this.gson = gson;
+        this.issuer = issuer;
+        this.clientId = clientId;
+        this.clock = clock;
+    }
+
+    @Override
+    public void verify(String jwt, JwtPayload payload) {
+        int headerEnd = jwt.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : jwt.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || jwt.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new InvalidAuthorizationException();
+        }
+
+        try {
+            JwtHeader header = gson.fromJson(decode(jwt.substring(0, headerEnd)), JwtHeader.class);
+            if (header == null || !RS256.equals(header.alg)) {
+                log.error("JWT is not signed with {}", RS256);
+                throw new InvalidAuthorizationException();
+            }
+            PublicKey key = header.kid == null ? null : keyProvider.getKey(header.kid);
+            if (key == null) {
+                log.error("JWT is signed with unknown key [{}]", header.kid);
+                throw new InvalidAuthorizationException();
+            }
+
+            Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+            signature.initVerify(key);
+            signature.update(jwt.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(decoder.decode(jwt.substring(payloadEnd + 1)))) {
+                log.error("JWT signature is invalid");
+                throw new InvalidAuthorizationException();
+            }
+        } catch (GeneralSecurityException | JsonParseException | IllegalArgumentException e) {
+            log.error("JWT cannot be verified", e);
+            throw new InvalidAuthorizationException();
+        }
+        verifyClaims(payload);
+    }
+
+    private void verifyClaims(JwtPayload payload) {
+        if (payload.getExp() == null || clock.getAsLong() >= payload.getExp() * 1000) {
+            log.error("JWT has expired");
+            throw new InvalidAuthorizationException();
+        }
+        if (payload.getSub() == null || payload.getSub().isEmpty()) {
+            log.error("JWT has no subject");
+            throw new InvalidAuthorizationException();
+        }
+        if (!issuer.equals(payload.getIss())) {
+            log.error("JWT is issued by [{}] instead of [{}]", payload.getIss(), issuer);
+            throw new InvalidAuthorizationException();
+        }
+        if (!ID_TOKEN_USE.equals(payload.getTokenUse())) {
+            log.error("JWT is a [{}] token instead of an ID token", payload.getTokenUse());
+            throw new InvalidAuthorizationException();
+        }
+        if (clientId != null && !clientId.equals(payload.getAud())) {
+            log.error("JWT is issued for app client [{}] instead of [{}]", payload.getAud(), clientId);
+            throw new InvalidAuthorizationException();
+        }
+    }
+
+    private static String decode(String part) {
+        return new String(decoder.decode(part), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,171 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Public keys of a JSON Web Key Set (JWKS) by key id, e.g. those of a Cognito user pool at
+ * https://cognito-idp.{region}.amazonaws.com/{userPoolId}/.well-known/jwks.json. The set is read from a file path or
+ * an http(s) URL once when created and kept in memory, so looking up a key makes no network call. It is read again in
+ * the background every refreshIntervalMillis, and on a lookup of an unknown key id at most once every
+ * minRefreshIntervalMillis, so rotated keys are picked up. A failed refresh keeps the keys read before.
+ */
+@Slf4j
+public class JwksKeyProvider {
+    private static final String RSA_KEY_TYPE = "RSA";
+    private static final int TIMEOUT_MILLIS = 5000;
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    private static class Jwks {
+        private List<Jwk> keys;
+    }
+
+    private static class Jwk {
+        private String kty;
+        private String kid;
+        private String n;
+        private String e;
+    }
+
+    private final String location;
+    private final long minRefreshIntervalMillis;
+    private final LongSupplier clock;
+    private final Gson gson;
+    private volatile Map<String, PublicKey> keys;
+    private long refreshedAt;
+
+    /**
+     * @param location The file path or http(s) URL of the JWKS
+     * @param refreshIntervalMillis The interval between background reads of the JWKS, or 0 to not read it in the
+     *                              background
+     * @param minRefreshIntervalMillis The minimum interval between reads of the JWKS on unknown key ids
+     * @param gson The Gson used to parse the JWKS
+     * @throws IllegalArgumentException If the JWKS cannot be read or has no RSA key
+     */
+    public JwksKeyProvider(String location, long refreshIntervalMillis, long minRefreshIntervalMillis, Gson gson) {
+        this(location, minRefreshIntervalMillis, gson, System::currentTimeMillis);
+        if (refreshIntervalMillis > 0) {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jwks-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    JwksKeyProvider(String location, long minRefreshIntervalMillis, Gson gson, LongSupplier clock) {
+        this.location = location;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+        this.gson = gson;
+        this.clock = clock;
+        try {
+            this.keys = load();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot read JWKS from " + location, e);
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("JWKS at " + location + " has no RSA key");
+        }
+        this.refreshedAt = clock.getAsLong();
+    }
+
+    /**
+     * Returns the public key with key id kid, or null if the JWKS has no such key.
+     */
+    public PublicKey getKey(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key == null && refreshUnknownKey()) {
+            key = keys.get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Reads the JWKS again, keeping the keys read before if it cannot be read.
+     */
+    public void refresh() {
+        try {
+            Map<String, PublicKey> loaded = load();
+            if (loaded.isEmpty()) {
+                log.error("JWKS at {} has no RSA key, keeping {} keys", location, keys.size());
+            } else {
+                keys = loaded;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Cannot read JWKS from {}, keeping {} keys", location, keys.size(), e);
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private boolean refreshUnknownKey() {
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (now - refreshedAt < minRefreshIntervalMillis) {
+                return false;
+            }
+            refreshedAt = now;
+        }
+        refresh();
+        return true;
+    }
+
+    private Map<String, PublicKey> load() throws IOException {
+        Jwks jwks = gson.fromJson(read(), Jwks.class);
+        if (jwks == null || jwks.keys == null) {
+            throw new JsonParseException("JWKS has no keys");
+        }
+
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (Jwk jwk : jwks.keys) {
+            if (!RSA_KEY_TYPE.equals(jwk.kty) || jwk.kid == null || jwk.n == null || jwk.e == null) {
+                continue;
+            }
+            try {
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(new BigInteger(1, decoder.decode(jwk.n)),
+                        new BigInteger(1, decoder.decode(jwk.e)));
+                loaded.put(jwk.kid, KeyFactory.getInstance(RSA_KEY_TYPE).generatePublic(spec));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.error("Skipping invalid JWK [{}] at {}", jwk.kid, location, e);
+            }
+        }
+        return Map.copyOf(loaded);
+    }
+
+    private String read() throws IOException {
+        if (!location.startsWith("https://") && !location.startsWith("http://")) {
+            return Files.readString(Paths.get(location));
+        }
+        URLConnection connection = new URL(location).openConnection();
+        connection.setConnectTimeout(TIMEOUT_MILLIS);
+        connection.setReadTimeout(TIMEOUT_MILLIS);
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import com.cpen491.remote_mobility_monitoring.dependency.exception.InvalidAuthorizationException;
+import com.cpen491.remote_mobility_monitoring.function.schema.auth.JwtPayload;
+
+/**
+ * Verifies JWTs before their claims are trusted. {@link #NONE} trusts every JWT, for handlers behind the API Gateway
+ * Cognito authorizer, which verifies JWTs itself. {@link JwksJwtVerifier} verifies JWTs locally, for handlers run
+ * outside Lambda.
+ */
+public interface JwtVerifier {
+    JwtVerifier NONE = (jwt, payload) -> {
+    };
+
+    /**
+     * Verifies jwt and the claims of its payload. The payload is decoded by the caller, which builds the principal
+     * from the same claims, so the claims that are verified are the ones that are trusted.
+     *
+     * @param jwt The JWT
+     * @param payload The decoded payload of jwt
+     * @throws InvalidAuthorizationException If jwt is malformed, its signature is invalid, or its claims are not
+     *                                       valid, e.g. it has expired
+     */
+    void verify(String jwt, JwtPayload payload);
+}
@@ -0,0 +1,39 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The user sending a request, as claimed by its JWT. The JWT is verified by the API Gateway Cognito authorizer
+ * before the request reaches a handler, so its claims can be trusted.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class Principal {
+    /**
+     * The user id without prefix, i.e. the sub claim
+     */
+    private String rawId;
+    /**
+     * The Cognito groups of the user, i.e. the cognito:groups claim, or null if the JWT has no such claim
+     */
+    private List<String> groups;
+
+    /**
+     * Returns whether the JWT had a cognito:groups claim, i.e. whether {@link #isInGroup} decides group membership.
+     */
+    public boolean hasGroups() {
+        return groups != null;
+    }
+
+    /**
+     * Returns whether the user is in the Cognito group groupName, see {@link CognitoWrapper#ADMIN_GROUP_NAME}.
+     */
+    public boolean isInGroup(String groupName) {
+        return groups != null && groups.contains(groupName);
+    }
+}
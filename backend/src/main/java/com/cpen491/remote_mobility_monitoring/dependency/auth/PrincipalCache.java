@@ -0,0 +1,49 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import com.cpen491.remote_mobility_monitoring.dependency.utility.BoundedTtlCache;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of principals by JWT. A principal expires when its JWT does, so a container reuses it for every request sent
+ * with the same token without verifying and decoding the token again. See {@link BoundedTtlCache} for eviction and
+ * hit rate reporting.
+ */
+public class PrincipalCache {
+    private final BoundedTtlCache<String, Principal> cache;
+
+    public PrincipalCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    PrincipalCache(int maxEntries, LongSupplier clock) {
+        this.cache = new BoundedTtlCache<>("Principal", maxEntries, clock);
+    }
+
+    /**
+     * Returns the cached principal of jwt, or null if it is not cached or jwt has expired.
+     */
+    public Principal get(String jwt) {
+        return cache.get(jwt);
+    }
+
+    /**
+     * Caches the principal of jwt until expiresAt, the expiry of jwt in epoch milliseconds. Does nothing if jwt has
+     * already expired.
+     */
+    public void put(String jwt, Principal principal, long expiresAt) {
+        cache.put(jwt, principal, expiresAt);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+}
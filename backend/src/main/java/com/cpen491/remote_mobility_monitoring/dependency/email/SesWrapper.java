@@ -25,17 +25,35 @@ public class SesWrapper {
         log.info("Sending Caregiver {} add Patient {} as primary Caregiver email with authCode {}",
                 caregiverId, patientEmail, authCode);
 
+        String bodyText = String.format("mobimon://verify?authCode=%s&caregiverId=%s", authCode, caregiverId);
+        sendEmail(patientEmail, "Primary caregiver request", bodyText);
+    }
+
+    public void metricsAnomalyEmail(String caregiverEmail, String patientName, String description) {
+        log.info("Sending metrics anomaly email to Caregiver {} for Patient {}", caregiverEmail, patientName);
+
+        String bodyText = String.format("A change in the mobility of %s was detected:%n%n%s", patientName, description);
+        sendEmail(caregiverEmail, "Mobility change detected for " + patientName, bodyText);
+    }
+
+    public void alertRuleEmail(String caregiverEmail, String patientName, String description) {
+        log.info("Sending alert rule email to Caregiver {} for Patient {}", caregiverEmail, patientName);
+
+        String bodyText = String.format("Alert rules you set for %s were triggered:%n%n%s", patientName, description);
+        sendEmail(caregiverEmail, "Alert triggered for " + patientName, bodyText);
+    }
+
+    private void sendEmail(String toAddress, String subjectText, String bodyText) {
         Destination destination = Destination.builder()
-                .toAddresses(patientEmail)
+                .toAddresses(toAddress)
                 .build();
 
-        String bodyText = String.format("mobimon://verify?authCode=%s&caregiverId=%s", authCode, caregiverId);
         Content content = Content.builder()
                 .data(bodyText)
                 .build();
 
         Content subject = Content.builder()
-                .data("Primary caregiver request")
+                .data(subjectText)
                 .build();
 
         Body body = Body.builder()
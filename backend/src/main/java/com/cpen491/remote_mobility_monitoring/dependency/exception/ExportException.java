@@ -0,0 +1,7 @@
+package com.cpen491.remote_mobility_monitoring.dependency.exception;
+
+public class ExportException extends RuntimeException {
+    public ExportException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,94 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.InflaterInputStream;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.export.ColumnarMetricsExportWriter.COLUMN_TYPES;
+import static com.cpen491.remote_mobility_monitoring.dependency.export.ColumnarMetricsExportWriter.MAGIC;
+import static com.cpen491.remote_mobility_monitoring.dependency.export.ColumnarMetricsExportWriter.ROW_GROUP_MARKER;
+import static com.cpen491.remote_mobility_monitoring.dependency.export.ColumnarMetricsExportWriter.STRING_TYPE;
+
+/**
+ * Reads a file written by {@link ColumnarMetricsExportWriter} sequentially, one row group at a time.
+ */
+public class ColumnarMetricsExportReader {
+    /**
+     * Reads all rows of the file.
+     *
+     * @param in The stream to read from
+     * @param consumer Consumer that receives each Metrics in file order
+     * @return The number of rows read
+     * @throws IOException If the stream cannot be read or is not a columnar export
+     */
+    public static long read(InputStream in, Consumer<Metrics> consumer) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a columnar metrics export");
+        }
+
+        long count = 0;
+        while (data.readByte() == ROW_GROUP_MARKER) {
+            int rows = data.readInt();
+            Object[] columns = new Object[COLUMN_TYPES.length];
+            for (int i = 0; i < COLUMN_TYPES.length; i++) {
+                byte[] bytes = new byte[data.readInt()];
+                data.readFully(bytes);
+                DataInputStream column = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)));
+                columns[i] = COLUMN_TYPES[i] == STRING_TYPE ? readStringColumn(column, rows) : readDoubleColumn(column, rows);
+            }
+            for (int row = 0; row < rows; row++) {
+                consumer.accept(toMetrics(columns, row));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String[] readStringColumn(DataInputStream column, int rows) throws IOException {
+        String[] dictionary = new String[column.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = column.readUTF();
+        }
+        String[] values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            int index = column.readInt();
+            values[row] = index < 0 ? null : dictionary[index];
+        }
+        return values;
+    }
+
+    private static double[] readDoubleColumn(DataInputStream column, int rows) throws IOException {
+        double[] values = new double[rows];
+        for (int row = 0; row < rows; row++) {
+            values[row] = column.readDouble();
+        }
+        return values;
+    }
+
+    private static Metrics toMetrics(Object[] columns, int row) {
+        double measureValue = ((double[]) columns[2])[row];
+        double height = ((double[]) columns[6])[row];
+        double weight = ((double[]) columns[7])[row];
+        return Metrics.builder()
+                .patientId(((String[]) columns[0])[row])
+                .measureName(MeasureName.convertToEnum(((String[]) columns[1])[row]))
+                .measureValue(Double.isNaN(measureValue) ? null : Double.toString(measureValue))
+                .timestamp(((String[]) columns[3])[row])
+                .sex(((String[]) columns[4])[row])
+                .birthday(((String[]) columns[5])[row])
+                .height(Double.isNaN(height) ? null : (float) height)
+                .weight(Double.isNaN(weight) ? null : (float) weight)
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes Metrics in a column oriented format modeled after Parquet row groups. Rows are buffered until a row group is
+ * full, then each column of the group is encoded and deflated separately, so readers can skip columns they do not
+ * need and similar values compress well. Only one row group is held in memory at a time.
+ *
+ * <pre>
+ * file        := MAGIC rowGroup* footer footerOffset(long) MAGIC
+ * rowGroup    := 1(byte) rowCount(int) column*
+ * column      := byteLength(int) deflated(columnData)
+ * columnData  := STRING: dictionarySize(int) utf* index(int)*, index -1 for null
+ *              | DOUBLE: value(double)*, NaN for null
+ * footer      := 0(byte) columnCount(int) (name(utf) type(byte))* rowGroupCount(int) (offset(long) rowCount(int))*
+ * </pre>
+ */
+public class ColumnarMetricsExportWriter implements MetricsExportWriter {
+    static final byte[] MAGIC = {'R', 'M', 'M', 'C'};
+    static final byte ROW_GROUP_MARKER = 1;
+    static final byte FOOTER_MARKER = 0;
+    static final byte STRING_TYPE = 0;
+    static final byte DOUBLE_TYPE = 1;
+    static final byte[] COLUMN_TYPES = {STRING_TYPE, STRING_TYPE, DOUBLE_TYPE, STRING_TYPE, STRING_TYPE, STRING_TYPE, DOUBLE_TYPE, DOUBLE_TYPE};
+    public static final int DEFAULT_ROW_GROUP_SIZE = 8192;
+
+    private final CountingOutputStream counter;
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private final String[][] stringColumns;
+    private final double[][] doubleColumns;
+    private final List<long[]> rowGroups = new ArrayList<>();
+    private int bufferedRows = 0;
+    private long rowCount = 0;
+
+    public ColumnarMetricsExportWriter(OutputStream out) {
+        this(out, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    public ColumnarMetricsExportWriter(OutputStream out, int rowGroupSize) {
+        this.counter = new CountingOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.out = new DataOutputStream(counter);
+        this.rowGroupSize = rowGroupSize;
+        this.stringColumns = new String[COLUMNS.length][];
+        this.doubleColumns = new double[COLUMNS.length][];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (COLUMN_TYPES[i] == STRING_TYPE) {
+                stringColumns[i] = new String[rowGroupSize];
+            } else {
+                doubleColumns[i] = new double[rowGroupSize];
+            }
+        }
+        try {
+            this.out.write(MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void write(Metrics metrics) throws IOException {
+        int row = bufferedRows;
+        stringColumns[0][row] = metrics.getPatientId();
+        stringColumns[1][row] = metrics.getMeasureName() == null ? null : metrics.getMeasureName().type;
+        doubleColumns[2][row] = metrics.getMeasureValue() == null ? Double.NaN : Double.parseDouble(metrics.getMeasureValue());
+        stringColumns[3][row] = metrics.getTimestamp();
+        stringColumns[4][row] = metrics.getSex();
+        stringColumns[5][row] = metrics.getBirthday();
+        doubleColumns[6][row] = metrics.getHeight() == null ? Double.NaN : metrics.getHeight();
+        doubleColumns[7][row] = metrics.getWeight() == null ? Double.NaN : metrics.getWeight();
+        bufferedRows++;
+        rowCount++;
+        if (bufferedRows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushRowGroup();
+        long footerOffset = counter.count;
+        out.writeByte(FOOTER_MARKER);
+        out.writeInt(COLUMNS.length);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            out.writeUTF(COLUMNS[i]);
+            out.writeByte(COLUMN_TYPES[i]);
+        }
+        out.writeInt(rowGroups.size());
+        for (long[] rowGroup : rowGroups) {
+            out.writeLong(rowGroup[0]);
+            out.writeInt((int) rowGroup[1]);
+        }
+        out.writeLong(footerOffset);
+        out.write(MAGIC);
+        out.close();
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (bufferedRows == 0) {
+            return;
+        }
+        rowGroups.add(new long[]{counter.count, bufferedRows});
+        out.writeByte(ROW_GROUP_MARKER);
+        out.writeInt(bufferedRows);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream column = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+                if (COLUMN_TYPES[i] == STRING_TYPE) {
+                    writeStringColumn(column, stringColumns[i]);
+                } else {
+                    writeDoubleColumn(column, doubleColumns[i]);
+                }
+            }
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        }
+        for (String[] stringColumn : stringColumns) {
+            if (stringColumn != null) {
+                Arrays.fill(stringColumn, 0, bufferedRows, null);
+            }
+        }
+        bufferedRows = 0;
+    }
+
+    private void writeStringColumn(DataOutputStream column, String[] values) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] indices = new int[bufferedRows];
+        for (int row = 0; row < bufferedRows; row++) {
+            String value = values[row];
+            if (value == null) {
+                indices[row] = -1;
+                continue;
+            }
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = entries.size();
+                dictionary.put(value, index);
+                entries.add(value);
+            }
+            indices[row] = index;
+        }
+        column.writeInt(entries.size());
+        for (String entry : entries) {
+            column.writeUTF(entry);
+        }
+        for (int index : indices) {
+            column.writeInt(index);
+        }
+    }
+
+    private void writeDoubleColumn(DataOutputStream column, double[] values) throws IOException {
+        for (int row = 0; row < bufferedRows; row++) {
+            column.writeDouble(values[row]);
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
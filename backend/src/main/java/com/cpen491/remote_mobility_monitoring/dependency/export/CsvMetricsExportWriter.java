@@ -0,0 +1,86 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes Metrics as gzip compressed CSV with a header row. Fields are quoted only when they contain a comma,
+ * a quote, or a line break.
+ */
+public class CsvMetricsExportWriter implements MetricsExportWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private long rowCount = 0;
+
+    public CsvMetricsExportWriter(OutputStream out) {
+        try {
+            this.writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void write(Metrics metrics) throws IOException {
+        writeField(metrics.getPatientId());
+        writer.write(',');
+        writeField(metrics.getMeasureName() == null ? null : metrics.getMeasureName().type);
+        writer.write(',');
+        writeField(metrics.getMeasureValue());
+        writer.write(',');
+        writeField(metrics.getTimestamp());
+        writer.write(',');
+        writeField(metrics.getSex());
+        writer.write(',');
+        writeField(metrics.getBirthday());
+        writer.write(',');
+        writeField(metrics.getHeight() == null ? null : metrics.getHeight().toString());
+        writer.write(',');
+        writeField(metrics.getWeight() == null ? null : metrics.getWeight().toString());
+        writer.write('\n');
+        rowCount++;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
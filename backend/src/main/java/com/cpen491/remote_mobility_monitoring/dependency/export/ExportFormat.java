@@ -0,0 +1,39 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+public enum ExportFormat {
+    CSV("csv", ".csv.gz"),
+    COLUMNAR("columnar", ".rmmc");
+
+    private static final Map<String, ExportFormat> stringToEnumMap = new HashMap<>();
+
+    static {
+        for (ExportFormat format : ExportFormat.values()) {
+            stringToEnumMap.put(format.type, format);
+        }
+    }
+
+    public final String type;
+    public final String extension;
+
+    ExportFormat(String type, String extension) {
+        this.type = type;
+        this.extension = extension;
+    }
+
+    public static ExportFormat convertToEnum(String s) {
+        return stringToEnumMap.get(s);
+    }
+
+    public MetricsExportWriter createWriter(OutputStream out) {
+        switch (this) {
+            case CSV:
+                return new CsvMetricsExportWriter(out);
+            default:
+                return new ColumnarMetricsExportWriter(out);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Where export artifacts are written to. An artifact is identified by a name, written with {@link #create(String)},
+ * and only addressable once {@link #publish(String)} returned its location.
+ */
+public interface ExportStorage {
+    OutputStream create(String name) throws IOException;
+
+    /**
+     * Makes a completely written artifact available and returns the location to download it from.
+     */
+    String publish(String name) throws IOException;
+
+    /**
+     * Deletes what was written of an artifact that is not published. Does nothing if nothing was written.
+     */
+    void discard(String name);
+}
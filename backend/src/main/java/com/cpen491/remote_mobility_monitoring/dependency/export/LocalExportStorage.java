@@ -0,0 +1,45 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stores export artifacts as files in a local directory. Only meant for running locally, as the files are not
+ * reachable by whoever requested the export once it runs in Lambda.
+ */
+@Slf4j
+@AllArgsConstructor
+public class LocalExportStorage implements ExportStorage {
+    @NonNull
+    private Path directory;
+
+    @Override
+    public OutputStream create(String name) throws IOException {
+        Files.createDirectories(directory);
+        return Files.newOutputStream(directory.resolve(name));
+    }
+
+    @Override
+    public String publish(String name) {
+        return directory.resolve(name).toUri().toString();
+    }
+
+    @Override
+    public void discard(String name) {
+        deleteFile(directory.resolve(name));
+    }
+
+    static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export file [{}]", file, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes Metrics one row at a time into an export file. Implementations only buffer a bounded number of rows, so an
+ * export of any size can be written with constant memory. Closing the writer finishes the file and closes the
+ * underlying stream.
+ */
+public interface MetricsExportWriter extends Closeable {
+    String[] COLUMNS = {"patient_id", "measure_name", "measure_value", "timestamp", "sex", "birthday", "height", "weight"};
+
+    void write(Metrics metrics) throws IOException;
+
+    long getRowCount();
+}
@@ -0,0 +1,65 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Stores export artifacts as objects in a private S3 bucket. An artifact is staged in a local file while it is
+ * written, since its size is not known up front, and uploaded when it is published. Its location is a presigned
+ * URL that allows downloading it for urlDuration.
+ */
+@Slf4j
+@AllArgsConstructor
+public class S3ExportStorage implements ExportStorage {
+    @NonNull
+    private S3Client s3Client;
+    @NonNull
+    private S3Presigner s3Presigner;
+    @NonNull
+    private String bucketName;
+    @NonNull
+    private Path stagingDirectory;
+    @NonNull
+    private Duration urlDuration;
+
+    @Override
+    public OutputStream create(String name) throws IOException {
+        Files.createDirectories(stagingDirectory);
+        return Files.newOutputStream(stagingDirectory.resolve(name));
+    }
+
+    @Override
+    public String publish(String name) throws IOException {
+        Path file = stagingDirectory.resolve(name);
+        try {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucketName).key(name).build(), RequestBody.fromFile(file));
+            return s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                    .signatureDuration(urlDuration)
+                    .getObjectRequest(GetObjectRequest.builder().bucket(bucketName).key(name).build())
+                    .build()).url().toString();
+        } catch (SdkException e) {
+            throw new IOException("Failed to upload export " + name + " to bucket " + bucketName, e);
+        } finally {
+            LocalExportStorage.deleteFile(file);
+        }
+    }
+
+    @Override
+    public void discard(String name) {
+        LocalExportStorage.deleteFile(stagingDirectory.resolve(name));
+    }
+}
@@ -0,0 +1,103 @@
+package com.cpen491.remote_mobility_monitoring.dependency.utility;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache, evicting the least recently used entry once maxEntries is reached. Each entry expires at
+ * the time it is put with, so callers choose how long a value may be stale. Hits and misses are counted and the hit
+ * rate is logged every {@link #REPORT_INTERVAL} lookups, so it can be monitored from the logs of each container.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+@Slf4j
+public class BoundedTtlCache<K, V> {
+    static final int REPORT_INTERVAL = 1000;
+
+    private final String name;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hitCount;
+    private long missCount;
+
+    public BoundedTtlCache(String name, int maxEntries, LongSupplier clock) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the current time of the clock of the cache in epoch milliseconds, to compute expiry times from.
+     */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Returns the value cached with key, or null if it is not cached or has expired.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now() >= entry.expiresAt) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        if ((hitCount + missCount) % REPORT_INTERVAL == 0) {
+            log.info("{} cache: {} hits, {} misses, {} entries", name, hitCount, missCount, entries.size());
+        }
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Caches value with key until expiresAt in epoch milliseconds. Does nothing if expiresAt has already passed.
+     */
+    public synchronized void put(K key, V value, long expiresAt) {
+        if (now() >= expiresAt) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+        if (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import java.util.Map;
 
 public class DynamoDbUtils {
+    private static final AttributeValue NULL_ATTRIBUTE_VALUE = AttributeValue.builder().nul(true).build();
+
     public static void putInMap(Map<String, AttributeValue> map, String key, String val) {
         if (val == null || val.isEmpty()) return;
         map.put(key, convertToAttributeValue(val));
@@ -20,6 +22,30 @@ public class DynamoDbUtils {
         map.put(key, convertToAttributeValue(val));
     }
 
+    public static void putInMap(Map<String, AttributeValue> map, String key, Double val) {
+        if (val == null) return;
+        map.put(key, convertToAttributeValue(val));
+    }
+
+    public static void putInMap(Map<String, AttributeValue> map, String key, Long val) {
+        if (val == null) return;
+        map.put(key, convertToAttributeValue(val));
+    }
+
+    /**
+     * Marks each attribute in keys that is not in map as cleared, so that an update removes it from the record
+     * instead of keeping its old value.
+     */
+    public static void putNullIfAbsent(Map<String, AttributeValue> map, String... keys) {
+        for (String key : keys) {
+            map.putIfAbsent(key, NULL_ATTRIBUTE_VALUE);
+        }
+    }
+
+    public static boolean isNull(AttributeValue val) {
+        return val != null && Boolean.TRUE.equals(val.nul());
+    }
+
     public static AttributeValue convertToAttributeValue(String s) {
         return AttributeValue.builder().s(s).build();
     }
@@ -32,6 +58,14 @@ public class DynamoDbUtils {
         return AttributeValue.builder().n(Float.toString(f)).build();
     }
 
+    public static AttributeValue convertToAttributeValue(Double d) {
+        return AttributeValue.builder().n(Double.toString(d)).build();
+    }
+
+    public static AttributeValue convertToAttributeValue(Long l) {
+        return AttributeValue.builder().n(Long.toString(l)).build();
+    }
+
     public static String getFromMap(Map<String, AttributeValue> map, String key) {
         AttributeValue val = map.get(key);
         if (val == null) return null;
@@ -49,4 +83,16 @@ public class DynamoDbUtils {
         if (val == null) return null;
         else return Float.parseFloat(val.n());
     }
+
+    public static Double getDoubleFromMap(Map<String, AttributeValue> map, String key) {
+        AttributeValue val = map.get(key);
+        if (val == null) return null;
+        else return Double.parseDouble(val.n());
+    }
+
+    public static Long getLongFromMap(Map<String, AttributeValue> map, String key) {
+        AttributeValue val = map.get(key);
+        if (val == null) return null;
+        else return Long.parseLong(val.n());
+    }
 }
@@ -0,0 +1,318 @@
+package com.cpen491.remote_mobility_monitoring.dependency.utility;
+
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.cpen491.remote_mobility_monitoring.function.schema.auth.JwtPayload;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans the claims used for authorization, i.e. sub, cognito:groups, exp, iss, token_use, and aud, out of a decoded
+ * JWT payload in one pass over its bytes, skipping every other claim without materializing it. Returns null instead of guessing when
+ * the payload is not a JSON object or one of those claims does not have its expected type, in which case
+ * {@link JwtUtils} falls back to parsing the whole payload.
+ */
+final class JwtClaimScanner {
+    private static final byte[] SUB = Const.SUB_NAME.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GROUPS = Const.COGNITO_GROUPS_NAME.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EXP = Const.EXP_NAME.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ISS = Const.ISS_NAME.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOKEN_USE = Const.TOKEN_USE_NAME.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] AUD = Const.AUD_NAME.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Thrown internally when the payload cannot be scanned, turned into a null result by {@link #scan}.
+     */
+    private static final class UnscannableException extends RuntimeException {
+        private UnscannableException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final UnscannableException UNSCANNABLE = new UnscannableException();
+
+    private final byte[] json;
+    private int pos;
+
+    private JwtClaimScanner(byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Returns the claims of payload, or null if payload cannot be scanned.
+     */
+    static JwtPayload scan(byte[] payload) {
+        try {
+            return new JwtClaimScanner(payload).scanObject();
+        } catch (UnscannableException e) {
+            return null;
+        }
+    }
+
+    private JwtPayload scanObject() {
+        JwtPayload claims = new JwtPayload();
+        expect('{');
+        if (peek() == '}') {
+            pos++;
+            return end(claims);
+        }
+        while (true) {
+            int keyStart = skipString();
+            int keyEnd = pos - 1;
+            expect(':');
+            if (isKey(keyStart, keyEnd, SUB)) {
+                claims.setSub(readString());
+            } else if (isKey(keyStart, keyEnd, GROUPS)) {
+                claims.setGroups(readStringArray());
+            } else if (isKey(keyStart, keyEnd, EXP)) {
+                claims.setExp(readLong());
+            } else if (isKey(keyStart, keyEnd, ISS)) {
+                claims.setIss(readString());
+            } else if (isKey(keyStart, keyEnd, TOKEN_USE)) {
+                claims.setTokenUse(readString());
+            } else if (isKey(keyStart, keyEnd, AUD)) {
+                claims.setAud(readString());
+            } else {
+                skipValue();
+            }
+            byte next = next();
+            if (next == '}') {
+                return end(claims);
+            }
+            if (next != ',') {
+                throw UNSCANNABLE;
+            }
+        }
+    }
+
+    private JwtPayload end(JwtPayload claims) {
+        skipWhitespace();
+        if (pos != json.length) {
+            throw UNSCANNABLE;
+        }
+        return claims;
+    }
+
+    private boolean isKey(int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (json[start + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString() {
+        if (peek() == 'n') {
+            skipLiteral();
+            return null;
+        }
+        int start = skipString();
+        int end = pos - 1;
+        for (int i = start; i < end; i++) {
+            if (json[i] == '\\') {
+                return unescape(start, end);
+            }
+        }
+        return new String(json, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private List<String> readStringArray() {
+        if (peek() == 'n') {
+            skipLiteral();
+            return null;
+        }
+        expect('[');
+        List<String> values = new ArrayList<>();
+        if (peek() == ']') {
+            pos++;
+            return values;
+        }
+        while (true) {
+            if (peek() != '"') {
+                throw UNSCANNABLE;
+            }
+            values.add(readString());
+            byte next = next();
+            if (next == ']') {
+                return values;
+            }
+            if (next != ',') {
+                throw UNSCANNABLE;
+            }
+        }
+    }
+
+    private Long readLong() {
+        if (peek() == 'n') {
+            skipLiteral();
+            return null;
+        }
+        int start = pos;
+        if (pos < json.length && json[pos] == '-') {
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (pos < json.length && json[pos] >= '0' && json[pos] <= '9') {
+            if (++digits > 18) {
+                throw UNSCANNABLE;
+            }
+            value = value * 10 + (json[pos++] - '0');
+        }
+        if (digits == 0 || (pos < json.length && isNumberPart(json[pos]))) {
+            throw UNSCANNABLE;
+        }
+        return json[start] == '-' ? -value : value;
+    }
+
+    private void skipValue() {
+        byte next = peek();
+        if (next == '"') {
+            skipString();
+        } else if (next == '{' || next == '[') {
+            skipContainer();
+        } else {
+            skipLiteral();
+        }
+    }
+
+    private void skipContainer() {
+        int depth = 0;
+        do {
+            if (pos >= json.length) {
+                throw UNSCANNABLE;
+            }
+            byte b = json[pos];
+            if (b == '"') {
+                skipString();
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+            pos++;
+        } while (depth > 0);
+    }
+
+    private void skipLiteral() {
+        int start = pos;
+        while (pos < json.length && (isNumberPart(json[pos]) || (json[pos] >= 'a' && json[pos] <= 'z'))) {
+            pos++;
+        }
+        if (pos == start) {
+            throw UNSCANNABLE;
+        }
+    }
+
+    /**
+     * Skips the string starting at pos, returning the index of its first character. pos ends after the closing
+     * quote.
+     */
+    private int skipString() {
+        expect('"');
+        int start = pos;
+        while (pos < json.length) {
+            byte b = json[pos++];
+            if (b == '\\') {
+                pos++;
+            } else if (b == '"') {
+                return start;
+            }
+        }
+        throw UNSCANNABLE;
+    }
+
+    private String unescape(int start, int end) {
+        StringBuilder builder = new StringBuilder(end - start);
+        int runStart = start;
+        int i = start;
+        while (i < end) {
+            if (json[i] != '\\') {
+                i++;
+                continue;
+            }
+            builder.append(new String(json, runStart, i - runStart, StandardCharsets.UTF_8));
+            if (i + 1 >= end) {
+                throw UNSCANNABLE;
+            }
+            byte escaped = json[i + 1];
+            i += 2;
+            if (escaped == 'u') {
+                if (i + 4 > end) {
+                    throw UNSCANNABLE;
+                }
+                try {
+                    builder.append((char) Integer.parseInt(new String(json, i, 4, StandardCharsets.US_ASCII), 16));
+                } catch (NumberFormatException e) {
+                    throw UNSCANNABLE;
+                }
+                i += 4;
+            } else {
+                builder.append(unescape(escaped));
+            }
+            runStart = i;
+        }
+        builder.append(new String(json, runStart, end - runStart, StandardCharsets.UTF_8));
+        return builder.toString();
+    }
+
+    private static char unescape(byte escaped) {
+        switch (escaped) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            default:
+                throw UNSCANNABLE;
+        }
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw UNSCANNABLE;
+        }
+    }
+
+    private byte next() {
+        byte b = peek();
+        pos++;
+        return b;
+    }
+
+    private byte peek() {
+        skipWhitespace();
+        if (pos >= json.length) {
+            throw UNSCANNABLE;
+        }
+        return json[pos];
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) {
+            pos++;
+        }
+    }
+
+    private static boolean isNumberPart(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+}
@@ -1,15 +1,26 @@
 package com.cpen491.remote_mobility_monitoring.dependency.utility;
 
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwtVerifier;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.Principal;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.PrincipalCache;
 import com.cpen491.remote_mobility_monitoring.dependency.exception.InvalidAuthorizationException;
 import com.cpen491.remote_mobility_monitoring.function.schema.Const;
 import com.cpen491.remote_mobility_monitoring.function.schema.auth.JwtPayload;
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JwtUtils {
     private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+    private static final int PRINCIPAL_CACHE_MAX_ENTRIES = 1000;
+    // Principals verified by each JwtVerifier, so a principal is only reused by the verifier that verified it
+    private static final Map<JwtVerifier, PrincipalCache> principalCaches = new ConcurrentHashMap<>();
 
     public static String getAuthorizationJwt(Map<String, String> headers) {
         String authorization = headers.get(Const.AUTHORIZATION_NAME1);
@@ -21,28 +32,80 @@ public class JwtUtils {
         }
 
         // Skip "Bearer" part of header
-        String[] authorizationSplit = authorization.split(" ");
-        if (authorizationSplit.length != 2) {
+        int space = authorization.indexOf(' ');
+        if (space < 0 || space == authorization.length() - 1 || authorization.indexOf(' ', space + 1) >= 0) {
             throw new InvalidAuthorizationException();
         }
-        return authorizationSplit[1];
+        return authorization.substring(space + 1);
     }
 
     public static String decodePayload(String jwt) {
-        String[] parts = jwt.split("\\.");
-        if (parts.length < 3) {
+        return new String(decodePayloadBytes(jwt), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] decodePayloadBytes(String jwt) {
+        int payloadStart = jwt.indexOf('.') + 1;
+        int payloadEnd = payloadStart == 0 ? -1 : jwt.indexOf('.', payloadStart);
+        if (payloadEnd < 0 || payloadEnd == payloadStart || payloadEnd == jwt.length() - 1) {
+            throw new InvalidAuthorizationException();
+        }
+        try {
+            return decoder.decode(jwt.substring(payloadStart, payloadEnd));
+        } catch (IllegalArgumentException e) {
             throw new InvalidAuthorizationException();
         }
-        return new String(decoder.decode(parts[1]));
     }
 
-    public static String getIdFromHeader(Map<String, String> headers, Gson gson) {
+    public static String getIdFromHeader(Map<String, String> headers, Gson gson, JwtVerifier jwtVerifier) {
+        return getPrincipalFromHeader(headers, gson, jwtVerifier).getRawId();
+    }
+
+    /**
+     * Returns the user id and Cognito groups claimed by the JWT of the Authorization header once jwtVerifier has
+     * verified the JWT and the claims the principal is built from. Principals are cached by JWT and jwtVerifier until
+     * the JWT expires, see {@link PrincipalCache}, so requests sent with the same token neither verify nor decode it
+     * again, and a principal is only cached once jwtVerifier has verified its JWT. The claims are scanned out of the
+     * payload, see {@link JwtClaimScanner}, and the payload is only parsed with gson if it cannot be scanned.
+     *
+     * @param headers The request headers
+     * @param gson The Gson used to parse the JWT payload if it cannot be scanned
+     * @param jwtVerifier The verifier of the JWT
+     * @return {@link Principal}
+     * @throws InvalidAuthorizationException If the header is missing or malformed, the JWT fails verification, or
+     *                                       the JWT has no sub claim
+     */
+    public static Principal getPrincipalFromHeader(Map<String, String> headers, Gson gson, JwtVerifier jwtVerifier) {
         String jwt = getAuthorizationJwt(headers);
-        String payload = decodePayload(jwt);
-        String id = gson.fromJson(payload, JwtPayload.class).getSub();
+        PrincipalCache principalCache = principalCaches.computeIfAbsent(jwtVerifier,
+                verifier -> new PrincipalCache(PRINCIPAL_CACHE_MAX_ENTRIES));
+        Principal principal = principalCache.get(jwt);
+        if (principal != null) {
+            return principal;
+        }
+
+        byte[] payload = decodePayloadBytes(jwt);
+        JwtPayload claims = JwtClaimScanner.scan(payload);
+        if (claims == null) {
+            try {
+                claims = gson.fromJson(new String(payload, StandardCharsets.UTF_8), JwtPayload.class);
+            } catch (JsonParseException e) {
+                throw new InvalidAuthorizationException();
+            }
+            if (claims == null) {
+                throw new InvalidAuthorizationException();
+            }
+        }
+        jwtVerifier.verify(jwt, claims);
+        String id = claims.getSub();
+        List<String> groups = claims.getGroups();
         if (id == null || id.isEmpty()) {
             throw new InvalidAuthorizationException();
         }
-        return id;
+
+        principal = new Principal(id, groups == null ? null : Collections.unmodifiableList(groups));
+        if (claims.getExp() != null) {
+            principalCache.put(jwt, principal, claims.getExp() * 1000);
+        }
+        return principal;
     }
 }
@@ -1,10 +1,16 @@
 package com.cpen491.remote_mobility_monitoring.dependency.utility;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 
 public class TimeUtils {
+    // Format of the time column returned by Timestream
+    private static final DateTimeFormatter TIMESTREAM_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS").withZone(ZoneOffset.UTC);
+
     public static LocalDateTime getCurrentUtcTime() {
         return LocalDateTime.now(ZoneOffset.UTC);
     }
@@ -25,6 +31,17 @@ public class TimeUtils {
         return LocalDateTime.parse(time);
     }
 
+    public static String formatTimestreamTime(long timeMillis) {
+        return TIMESTREAM_TIME_FORMATTER.format(Instant.ofEpochMilli(timeMillis));
+    }
+
+    /**
+     * Parses a time either in ISO-8601 or as returned by Timestream, both in UTC.
+     */
+    public static long parseTimestreamTimeMillis(String time) {
+        return getTimeMillis(parseTime(time.replace(' ', 'T')));
+    }
+
     public static long secondsBetweenTimes(LocalDateTime time1, LocalDateTime time2) {
         return ChronoUnit.SECONDS.between(time1, time2);
     }
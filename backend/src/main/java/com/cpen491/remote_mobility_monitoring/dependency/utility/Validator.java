@@ -1,29 +1,41 @@
 package com.cpen491.remote_mobility_monitoring.dependency.utility;
 
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterQuery;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterSort;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Admin;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule.Operator;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.MetricsState;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Organization;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import com.cpen491.remote_mobility_monitoring.dependency.export.ExportFormat;
 import com.cpen491.remote_mobility_monitoring.function.schema.admin.CreateAdminRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.admin.DeleteAdminRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.admin.GetAdminRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AcceptPatientPrimaryRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddAlertRuleRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddPatientPrimaryRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddPatientRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.CreateCaregiverRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.DeleteCaregiverRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllAlertRulesRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllPatientsRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetCaregiverRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemoveAlertRuleRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemovePatientRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.SearchPatientsRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.UpdateCaregiverRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.CreateOrganizationRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.SearchCaregiversRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.AddMetricsRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.AddMetricsRequestBody.AddMetricsSerialization;
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.CreatePatientRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.DeletePatientRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.patient.ExportMetricsRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.GetAllCaregiversRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.GetPatientRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.QueryMetricsRequestBody;
@@ -39,6 +51,7 @@ import java.util.List;
 import java.util.Set;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AdminTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AlertRuleTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.OrganizationTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
@@ -92,6 +105,11 @@ public class Validator {
     public static final String WALKING_STEADINESS_INVALID_ERROR_MESSAGE = "walking_steadiness is not an integer";
     public static final String TIMESTAMP_BLANK_ERROR_MESSAGE = "timestamp must be present";
     public static final String TIMESTAMP_INVALID_ERROR_MESSAGE = "timestamp is not an in iso8601 format";
+    public static final String RULE_ID_BLANK_ERROR_MESSAGE = "rule_id must be present";
+    public static final String RULE_ID_INVALID_ERROR_MESSAGE = "rule_id invalid";
+    public static final String OPERATOR_NULL_ERROR_MESSAGE = "operator must be one of <, <=, >, >=";
+    public static final String THRESHOLD_NULL_ERROR_MESSAGE = "threshold must not be null";
+    public static final String DURATION_MINUTES_INVALID_ERROR_MESSAGE = "duration_minutes must not be negative";
     public static final String GROUP_NAME_BLANK_ERROR_MESSAGE = "group name must be present";
     public static final List<String> VALID_GROUP_NAMES = Arrays.asList(ADMIN_GROUP_NAME, CAREGIVER_GROUP_NAME, PATIENT_GROUP_NAME);
     public static final String GROUP_NAME_INVALID_ERROR_MESSAGE = "group name is not Admin or Caregiver";
@@ -102,6 +120,9 @@ public class Validator {
     public static final String PATIENT_RECORD_NULL_ERROR_MESSAGE = "Patient record must not be null";
     public static final String METRICS_LIST_NULL_ERROR_MESSAGE = "Metrics list must not be null";
     public static final String METRICS_NULL_ERROR_MESSAGE = "Metrics must not be null";
+    public static final String ALERT_RULE_RECORD_NULL_ERROR_MESSAGE = "AlertRule record must not be null";
+    public static final String METRICS_STATE_LIST_NULL_ERROR_MESSAGE = "MetricsState list must not be null";
+    public static final String METRICS_STATE_NULL_ERROR_MESSAGE = "MetricsState must not be null";
     public static final String CREATE_ORGANIZATION_NULL_ERROR_MESSAGE = "Create organization request body must not be null";
     public static final String GET_ORGANIZATION_NULL_ERROR_MESSAGE = "Get organization request body must not be null";
     public static final String CREATE_ADMIN_NULL_ERROR_MESSAGE = "Create admin request body must not be null";
@@ -112,6 +133,9 @@ public class Validator {
     public static final String ACCEPT_PATIENT_PRIMARY_NULL_ERROR_MESSAGE = "Accept patient primary request body must not be null";
     public static final String ADD_PATIENT_NULL_ERROR_MESSAGE = "Add patient request body must not be null";
     public static final String REMOVE_PATIENT_NULL_ERROR_MESSAGE = "Remove patient request body must not be null";
+    public static final String ADD_ALERT_RULE_NULL_ERROR_MESSAGE = "Add alert rule request body must not be null";
+    public static final String GET_ALL_ALERT_RULES_NULL_ERROR_MESSAGE = "Get all alert rules request body must not be null";
+    public static final String REMOVE_ALERT_RULE_NULL_ERROR_MESSAGE = "Remove alert rule request body must not be null";
     public static final String GET_CAREGIVER_NULL_ERROR_MESSAGE = "Get caregiver request body must not be null";
     public static final String GET_ALL_PATIENTS_NULL_ERROR_MESSAGE = "Get all patients request body must not be null";
     public static final String UPDATE_CAREGIVER_NULL_ERROR_MESSAGE = "Update caregiver request body must not be null";
@@ -122,6 +146,14 @@ public class Validator {
     public static final String GET_ALL_CAREGIVERS_NULL_ERROR_MESSAGE = "Get all caregivers request body must not be null";
     public static final String ADD_METRICS_NULL_ERROR_MESSAGE = "Add metrics request body must not be null";
     public static final String QUERY_METRICS_NULL_ERROR_MESSAGE = "Query metrics request body must not be null";
+    public static final String EXPORT_METRICS_NULL_ERROR_MESSAGE = "Export metrics request body must not be null";
+    public static final String EXPORT_PATIENTS_EMPTY_ERROR_MESSAGE = "patients must not be empty";
+    public static final String EXPORT_FORMAT_INVALID_ERROR_MESSAGE = "format must be one of csv, columnar";
+    public static final String LIMIT_INVALID_ERROR_MESSAGE = "limit must be between 1 and " + RosterQuery.MAX_LIMIT;
+    public static final String SORT_INVALID_ERROR_MESSAGE = "sort must be one of last_name, created_at";
+    public static final String SEARCH_BLANK_ERROR_MESSAGE = "search must be present";
+    public static final String SEARCH_PATIENTS_NULL_ERROR_MESSAGE = "Search patients request body must not be null";
+    public static final String SEARCH_CAREGIVERS_NULL_ERROR_MESSAGE = "Search caregivers request body must not be null";
     public static final String UPDATE_PATIENT_NULL_ERROR_MESSAGE = "Update patient request body must not be null";
     public static final String DELETE_PATIENT_NULL_ERROR_MESSAGE = "Delete patient request body must not be null";
     public static final String INVALID_SEX_MESSAGE = "Invalid Sex";
@@ -265,6 +297,27 @@ public class Validator {
         }
     }
 
+    public static void validateRuleId(String ruleId) {
+        Validate.notBlank(ruleId, RULE_ID_BLANK_ERROR_MESSAGE);
+        if (!ruleId.startsWith(AlertRuleTable.ID_PREFIX)) {
+            throw new IllegalArgumentException(RULE_ID_INVALID_ERROR_MESSAGE);
+        }
+    }
+
+    public static void validateOperator(Operator operator) {
+        Validate.notNull(operator, OPERATOR_NULL_ERROR_MESSAGE);
+    }
+
+    public static void validateThreshold(Double threshold) {
+        Validate.notNull(threshold, THRESHOLD_NULL_ERROR_MESSAGE);
+    }
+
+    public static void validateDurationMinutes(Long durationMinutes) {
+        if (durationMinutes != null && durationMinutes < 0) {
+            throw new IllegalArgumentException(DURATION_MINUTES_INVALID_ERROR_MESSAGE);
+        }
+    }
+
     public static void validateTimestamp(String timestamp) {
         Validate.notBlank(timestamp, TIMESTAMP_BLANK_ERROR_MESSAGE);
         try {
@@ -323,6 +376,17 @@ public class Validator {
         }
     }
 
+    public static void validateAlertRule(AlertRule alertRule) {
+        Validate.notNull(alertRule, ALERT_RULE_RECORD_NULL_ERROR_MESSAGE);
+        validatePatientId(alertRule.getPid());
+        validateRuleId(alertRule.getSid());
+        validateCaregiverId(alertRule.getCaregiverId());
+        validateMeasureName(alertRule.getMeasureName());
+        validateOperator(alertRule.getOperator());
+        validateThreshold(alertRule.getThreshold());
+        validateDurationMinutes(alertRule.getDurationMinutes());
+    }
+
     public static void validateMetricsList(List<Metrics> metrics) {
         Validate.notNull(metrics, METRICS_LIST_NULL_ERROR_MESSAGE);
     }
@@ -335,6 +399,16 @@ public class Validator {
         validateTimestamp(metrics.getTimestamp());
     }
 
+    public static void validateMetricsStateList(List<MetricsState> metricsStates) {
+        Validate.notNull(metricsStates, METRICS_STATE_LIST_NULL_ERROR_MESSAGE);
+    }
+
+    public static void validateMetricsState(MetricsState metricsState) {
+        Validate.notNull(metricsState, METRICS_STATE_NULL_ERROR_MESSAGE);
+        validatePatientId(metricsState.getPid());
+        validateMeasureName(metricsState.getMeasureName());
+    }
+
     public static void validateAddMetricsSerialization(AddMetricsSerialization metrics) {
         Validate.notNull(metrics, METRICS_NULL_ERROR_MESSAGE);
         validateStepLength(metrics.getStepLength());
@@ -355,6 +429,13 @@ public class Validator {
     public static void validateGetOrganizationRequestBody(GetOrganizationRequestBody body) {
         Validate.notNull(body, GET_ORGANIZATION_NULL_ERROR_MESSAGE);
         validateOrganizationId(body.getOrganizationId());
+        validateRosterPage(body.getLimit(), body.getSort());
+    }
+
+    public static void validateSearchCaregiversRequestBody(SearchCaregiversRequestBody body) {
+        Validate.notNull(body, SEARCH_CAREGIVERS_NULL_ERROR_MESSAGE);
+        validateOrganizationId(body.getOrganizationId());
+        validateSearch(body.getSearch(), body.getLimit());
     }
 
     public static void validateCreateAdminRequestBody(CreateAdminRequestBody body) {
@@ -410,6 +491,29 @@ public class Validator {
         validatePatientId(body.getPatientId());
     }
 
+    public static void validateAddAlertRuleRequestBody(AddAlertRuleRequestBody body) {
+        Validate.notNull(body, ADD_ALERT_RULE_NULL_ERROR_MESSAGE);
+        validateCaregiverId(body.getCaregiverId());
+        validatePatientId(body.getPatientId());
+        validateMeasureName(MeasureName.convertToEnum(body.getMetricName()));
+        validateOperator(Operator.convertToEnum(body.getOperator()));
+        validateThreshold(body.getThreshold());
+        validateDurationMinutes(body.getDurationMinutes());
+    }
+
+    public static void validateGetAllAlertRulesRequestBody(GetAllAlertRulesRequestBody body) {
+        Validate.notNull(body, GET_ALL_ALERT_RULES_NULL_ERROR_MESSAGE);
+        validateCaregiverId(body.getCaregiverId());
+        validatePatientId(body.getPatientId());
+    }
+
+    public static void validateRemoveAlertRuleRequestBody(RemoveAlertRuleRequestBody body) {
+        Validate.notNull(body, REMOVE_ALERT_RULE_NULL_ERROR_MESSAGE);
+        validateCaregiverId(body.getCaregiverId());
+        validatePatientId(body.getPatientId());
+        validateRuleId(body.getRuleId());
+    }
+
     public static void validateGetCaregiverRequestBody(GetCaregiverRequestBody body) {
         Validate.notNull(body, GET_CAREGIVER_NULL_ERROR_MESSAGE);
         validateCaregiverId(body.getCaregiverId());
@@ -418,6 +522,27 @@ public class Validator {
     public static void validateGetAllPatientsRequestBody(GetAllPatientsRequestBody body) {
         Validate.notNull(body, GET_ALL_PATIENTS_NULL_ERROR_MESSAGE);
         validateCaregiverId(body.getCaregiverId());
+        validateRosterPage(body.getLimit(), body.getSort());
+    }
+
+    public static void validateSearchPatientsRequestBody(SearchPatientsRequestBody body) {
+        Validate.notNull(body, SEARCH_PATIENTS_NULL_ERROR_MESSAGE);
+        validateCaregiverId(body.getCaregiverId());
+        validateSearch(body.getSearch(), body.getLimit());
+    }
+
+    private static void validateRosterPage(Integer limit, String sort) {
+        if (limit != null) {
+            Validate.inclusiveBetween(1, RosterQuery.MAX_LIMIT, limit, LIMIT_INVALID_ERROR_MESSAGE);
+        }
+        if (sort != null) {
+            Validate.notNull(RosterSort.convertToEnum(sort), SORT_INVALID_ERROR_MESSAGE);
+        }
+    }
+
+    private static void validateSearch(String search, Integer limit) {
+        Validate.notBlank(search, SEARCH_BLANK_ERROR_MESSAGE);
+        validateRosterPage(limit, null);
     }
 
     public static void validateUpdateCaregiverRequestBody(UpdateCaregiverRequestBody body) {
@@ -498,6 +623,18 @@ public class Validator {
         }
     }
 
+    public static void validateExportMetricsRequestBody(ExportMetricsRequestBody body) {
+        Validate.notNull(body, EXPORT_METRICS_NULL_ERROR_MESSAGE);
+        validateIds(body.getPatientIds());
+        Validate.notEmpty(body.getPatientIds(), EXPORT_PATIENTS_EMPTY_ERROR_MESSAGE);
+        for (String patientId : body.getPatientIds()) {
+            validatePatientId(patientId);
+        }
+        validateTimestamp(body.getStart());
+        validateTimestamp(body.getEnd());
+        Validate.notNull(ExportFormat.convertToEnum(body.getFormat()), EXPORT_FORMAT_INVALID_ERROR_MESSAGE);
+    }
+
     public static void validateUpdatePatientRequestBody(UpdatePatientRequestBody body) {
         Validate.notNull(body, UPDATE_PATIENT_NULL_ERROR_MESSAGE);
         validatePatientId(body.getPatientId());
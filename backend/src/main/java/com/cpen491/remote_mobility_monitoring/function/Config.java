@@ -1,15 +1,21 @@
 package com.cpen491.remote_mobility_monitoring.function;
 
+import com.cpen491.remote_mobility_monitoring.datastore.dao.EntityCache;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.IdentityMap;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwtVerifier;
 import com.cpen491.remote_mobility_monitoring.function.module.AuthModule;
 import com.cpen491.remote_mobility_monitoring.function.module.AwsModule;
 import com.cpen491.remote_mobility_monitoring.function.module.DatastoreModule;
 import com.cpen491.remote_mobility_monitoring.function.module.EmailModule;
 import com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule;
+import com.cpen491.remote_mobility_monitoring.function.module.ExportModule;
 import com.cpen491.remote_mobility_monitoring.function.module.ServiceModule;
 import com.cpen491.remote_mobility_monitoring.function.module.UtilityModule;
 import com.cpen491.remote_mobility_monitoring.function.service.AdminService;
+import com.cpen491.remote_mobility_monitoring.function.service.AlertRuleService;
 import com.cpen491.remote_mobility_monitoring.function.service.AuthService;
 import com.cpen491.remote_mobility_monitoring.function.service.CaregiverService;
+import com.cpen491.remote_mobility_monitoring.function.service.ExportService;
 import com.cpen491.remote_mobility_monitoring.function.service.OrganizationService;
 import com.cpen491.remote_mobility_monitoring.function.service.PatientService;
 import com.google.gson.Gson;
@@ -24,6 +30,7 @@ import javax.inject.Singleton;
         DatastoreModule.class,
         AuthModule.class,
         EmailModule.class,
+        ExportModule.class,
         ServiceModule.class,
         UtilityModule.class,
 })
@@ -33,6 +40,11 @@ public interface Config {
     AdminService adminService();
     CaregiverService caregiverService();
     PatientService patientService();
+    AlertRuleService alertRuleService();
+    ExportService exportService();
+    EntityCache entityCache();
+    IdentityMap identityMap();
+    JwtVerifier jwtVerifier();
     Gson gson();
 
     static Config instance() {
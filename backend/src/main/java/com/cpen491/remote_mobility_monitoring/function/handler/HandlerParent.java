@@ -1,22 +1,36 @@
 package com.cpen491.remote_mobility_monitoring.function.handler;
 
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.IdentityMap;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwtVerifier;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils;
 import com.cpen491.remote_mobility_monitoring.function.Config;
 import com.cpen491.remote_mobility_monitoring.function.service.AdminService;
+import com.cpen491.remote_mobility_monitoring.function.service.AlertRuleService;
 import com.cpen491.remote_mobility_monitoring.function.service.AuthService;
 import com.cpen491.remote_mobility_monitoring.function.service.CaregiverService;
+import com.cpen491.remote_mobility_monitoring.function.service.ExportService;
 import com.cpen491.remote_mobility_monitoring.function.service.OrganizationService;
 import com.cpen491.remote_mobility_monitoring.function.service.PatientService;
 import com.google.gson.Gson;
 import org.crac.Core;
 import org.crac.Resource;
 
+import java.util.Map;
+import java.util.function.Function;
+
 public class HandlerParent implements Resource {
     protected final AuthService authService;
     protected final OrganizationService organizationService;
     protected final AdminService adminService;
     protected final CaregiverService caregiverService;
     protected final PatientService patientService;
+    protected final AlertRuleService alertRuleService;
+    protected final ExportService exportService;
     protected final Gson gson;
+    protected final JwtVerifier jwtVerifier;
+    private final IdentityMap identityMap;
 
     public HandlerParent() {
         Core.getGlobalContext().register(this);
@@ -26,7 +40,27 @@ public class HandlerParent implements Resource {
         this.adminService = config.adminService();
         this.caregiverService = config.caregiverService();
         this.patientService = config.patientService();
+        this.alertRuleService = config.alertRuleService();
+        this.exportService = config.exportService();
         this.gson = config.gson();
+        this.jwtVerifier = config.jwtVerifier();
+        this.identityMap = config.identityMap();
+    }
+
+    /**
+     * Processes request with {@link HandlerUtils#processApiGatewayRequest} in its own {@link IdentityMap} scope, so
+     * no record is read twice while the request is processed.
+     */
+    protected APIGatewayProxyResponseEvent processApiGatewayRequest(Function<APIGatewayProxyRequestEvent, String> func,
+                                                                    APIGatewayProxyRequestEvent request) {
+        return identityMap.withScope(() -> HandlerUtils.processApiGatewayRequest(func, request));
+    }
+
+    /**
+     * Processes request with {@link HandlerUtils#processGenericRequest} in its own {@link IdentityMap} scope.
+     */
+    protected String processGenericRequest(Function<Map<String, String>, String> func, Map<String, String> request) {
+        return identityMap.withScope(() -> HandlerUtils.processGenericRequest(func, request));
     }
 
     @Override
@@ -35,6 +69,7 @@ public class HandlerParent implements Resource {
         adminService.prime();
         caregiverService.prime();
         patientService.prime();
+        alertRuleService.prime();
     }
 
     @Override
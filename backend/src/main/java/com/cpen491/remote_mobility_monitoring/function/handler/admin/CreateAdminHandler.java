@@ -10,8 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processGenericRequest;
-
 @Slf4j
 public class CreateAdminHandler extends HandlerParent implements RequestHandler<Map<String, String>, String> {
     @Override
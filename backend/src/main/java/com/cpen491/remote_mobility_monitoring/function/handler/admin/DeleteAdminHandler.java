@@ -11,15 +11,13 @@ import com.cpen491.remote_mobility_monitoring.function.schema.admin.DeleteAdminR
 import com.cpen491.remote_mobility_monitoring.function.schema.admin.DeleteAdminResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class DeleteAdminHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
         log.info("Received Delete Admin request with path parameters: {}", requestEvent.getPathParameters());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             String adminId = request.getPathParameters().get(Const.ADMIN_ID_NAME);
             authService.selfCheckThrow(rawId, adminId);
             DeleteAdminRequestBody requestBody = DeleteAdminRequestBody.builder()
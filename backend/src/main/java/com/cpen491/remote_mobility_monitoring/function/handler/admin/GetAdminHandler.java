@@ -10,8 +10,6 @@ import com.cpen491.remote_mobility_monitoring.function.schema.admin.GetAdminRequ
 import com.cpen491.remote_mobility_monitoring.function.schema.admin.GetAdminResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class GetAdminHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
@@ -11,8 +11,6 @@ import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AcceptPa
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AcceptPatientPrimaryResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class AcceptPatientPrimaryHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
@@ -20,7 +18,7 @@ public class AcceptPatientPrimaryHandler extends HandlerParent implements Reques
         log.info("Received Accept Patient Primary request with path parameters: {} and body: {}",
                 requestEvent.getPathParameters(), requestEvent.getBody());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
             String patientId = request.getPathParameters().get(Const.PATIENT_ID_NAME);
             authService.selfCheckThrow(rawId, patientId);
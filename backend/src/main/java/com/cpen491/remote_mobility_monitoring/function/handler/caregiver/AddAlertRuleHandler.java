@@ -0,0 +1,34 @@
+package com.cpen491.remote_mobility_monitoring.function.handler.caregiver;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.JwtUtils;
+import com.cpen491.remote_mobility_monitoring.function.handler.HandlerParent;
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddAlertRuleRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddAlertRuleResponseBody;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class AddAlertRuleHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
+        log.info("Received Add Alert Rule request with path parameters: {} and body: {}",
+                requestEvent.getPathParameters(), requestEvent.getBody());
+        return processApiGatewayRequest((request) -> {
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
+            String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
+            String patientId = request.getPathParameters().get(Const.PATIENT_ID_NAME);
+            authService.selfCheckThrow(rawId, caregiverId);
+            authService.caregiverHasPatient(rawId, patientId);
+            AddAlertRuleRequestBody requestBody = gson.fromJson(request.getBody(), AddAlertRuleRequestBody.class);
+            requestBody.setCaregiverId(caregiverId);
+            requestBody.setPatientId(patientId);
+            AddAlertRuleResponseBody responseBody = alertRuleService.addAlertRule(requestBody);
+            log.info("Responding to Add Alert Rule request with response body {}", responseBody);
+            return gson.toJson(responseBody);
+        }, requestEvent);
+    }
+}
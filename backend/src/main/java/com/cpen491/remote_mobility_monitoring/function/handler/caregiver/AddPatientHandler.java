@@ -11,15 +11,13 @@ import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddPatie
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddPatientResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class AddPatientHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
         log.info("Received Add Patient request with path parameters: {}", requestEvent.getPathParameters());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
             String patientId = request.getPathParameters().get(Const.PATIENT_ID_NAME);
             authService.caregiverIsPrimaryCaregiverOfPatient(rawId, patientId);
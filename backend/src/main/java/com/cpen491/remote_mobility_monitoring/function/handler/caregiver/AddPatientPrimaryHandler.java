@@ -11,8 +11,6 @@ import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddPatie
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddPatientPrimaryResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class AddPatientPrimaryHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
@@ -20,7 +18,7 @@ public class AddPatientPrimaryHandler extends HandlerParent implements RequestHa
         log.info("Received Add Patient Primary request with path parameters: {} and body: {}",
                 requestEvent.getPathParameters(), requestEvent.getBody());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
             authService.selfCheckThrow(rawId, caregiverId);
             AddPatientPrimaryRequestBody requestBody = gson.fromJson(request.getBody(), AddPatientPrimaryRequestBody.class);
@@ -11,19 +11,26 @@ import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllPa
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllPatientsResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
+import java.util.Map;
 
 @Slf4j
 public class GetAllPatientsHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
-        log.info("Received Get all Patients request with path parameters: {}", requestEvent.getPathParameters());
+        log.info("Received Get all Patients request with path parameters: {}, and query parameters: {}",
+                requestEvent.getPathParameters(), requestEvent.getQueryStringParameters());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
             authService.selfCheckThrow(rawId, caregiverId);
+            Map<String, String> queryParameters = request.getQueryStringParameters() == null
+                    ? Map.of() : request.getQueryStringParameters();
             GetAllPatientsRequestBody requestBody = GetAllPatientsRequestBody.builder()
                     .caregiverId(caregiverId)
+                    .limit(queryParameters.get(Const.LIMIT_NAME) == null ? null : Integer.parseInt(queryParameters.get(Const.LIMIT_NAME)))
+                    .cursor(queryParameters.get(Const.CURSOR_NAME))
+                    .sort(queryParameters.get(Const.SORT_NAME))
+                    .namePrefix(queryParameters.get(Const.NAME_PREFIX_NAME))
                     .build();
             GetAllPatientsResponseBody responseBody = caregiverService.getAllPatients(requestBody);
             log.info("Responding to Get all Patients request with response body {}", responseBody);
@@ -0,0 +1,35 @@
+package com.cpen491.remote_mobility_monitoring.function.handler.caregiver;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.JwtUtils;
+import com.cpen491.remote_mobility_monitoring.function.handler.HandlerParent;
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemoveAlertRuleRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemoveAlertRuleResponseBody;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class RemoveAlertRuleHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
+        log.info("Received Remove Alert Rule request with path parameters: {}", requestEvent.getPathParameters());
+        return processApiGatewayRequest((request) -> {
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
+            String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
+            String patientId = request.getPathParameters().get(Const.PATIENT_ID_NAME);
+            String ruleId = request.getPathParameters().get(Const.RULE_ID_NAME);
+            authService.selfCheckThrow(rawId, caregiverId);
+            RemoveAlertRuleRequestBody requestBody = RemoveAlertRuleRequestBody.builder()
+                    .caregiverId(caregiverId)
+                    .patientId(patientId)
+                    .ruleId(ruleId)
+                    .build();
+            RemoveAlertRuleResponseBody responseBody = alertRuleService.removeAlertRule(requestBody);
+            log.info("Responding to Remove Alert Rule request with response body {}", responseBody);
+            return gson.toJson(responseBody);
+        }, requestEvent);
+    }
+}
@@ -0,0 +1,38 @@
+package com.cpen491.remote_mobility_monitoring.function.handler.caregiver;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.JwtUtils;
+import com.cpen491.remote_mobility_monitoring.function.handler.HandlerParent;
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.SearchPatientsRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.SearchPatientsResponseBody;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+@Slf4j
+public class SearchPatientsHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
+        log.info("Received Search Patients request with path parameters: {}, and query parameters: {}",
+                requestEvent.getPathParameters(), requestEvent.getQueryStringParameters());
+        return processApiGatewayRequest((request) -> {
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
+            String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
+            authService.selfCheckThrow(rawId, caregiverId);
+            Map<String, String> queryParameters = request.getQueryStringParameters() == null
+                    ? Map.of() : request.getQueryStringParameters();
+            SearchPatientsRequestBody requestBody = SearchPatientsRequestBody.builder()
+                    .caregiverId(caregiverId)
+                    .search(queryParameters.get(Const.SEARCH_NAME))
+                    .limit(queryParameters.get(Const.LIMIT_NAME) == null ? null : Integer.parseInt(queryParameters.get(Const.LIMIT_NAME)))
+                    .build();
+            SearchPatientsResponseBody responseBody = caregiverService.searchPatients(requestBody);
+            log.info("Responding to Search Patients request with response body {}", responseBody);
+            return gson.toJson(responseBody);
+        }, requestEvent);
+    }
+}
@@ -11,8 +11,6 @@ import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.UpdateCa
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.UpdateCaregiverResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class UpdateCaregiverHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
@@ -20,7 +18,7 @@ public class UpdateCaregiverHandler extends HandlerParent implements RequestHand
         log.info("Received Update Caregiver request with path parameters: {} and body: {}",
                 requestEvent.getPathParameters(), requestEvent.getBody());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             String caregiverId = request.getPathParameters().get(Const.CAREGIVER_ID_NAME);
             authService.selfCheckThrow(rawId, caregiverId);
             UpdateCaregiverRequestBody requestBody = gson.fromJson(request.getBody(), UpdateCaregiverRequestBody.class);
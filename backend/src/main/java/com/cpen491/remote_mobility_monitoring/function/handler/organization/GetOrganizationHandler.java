@@ -10,17 +10,24 @@ import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOr
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
+import java.util.Map;
 
 @Slf4j
 public class GetOrganizationHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
-        log.info("Received Get Organization request with path parameters: {}", requestEvent.getPathParameters());
+        log.info("Received Get Organization request with path parameters: {}, and query parameters: {}",
+                requestEvent.getPathParameters(), requestEvent.getQueryStringParameters());
         return processApiGatewayRequest((request) -> {
             String organizationId = request.getPathParameters().get(Const.ORGANIZATION_ID_NAME);
+            Map<String, String> queryParameters = request.getQueryStringParameters() == null
+                    ? Map.of() : request.getQueryStringParameters();
             GetOrganizationRequestBody requestBody = GetOrganizationRequestBody.builder()
                     .organizationId(organizationId)
+                    .limit(queryParameters.get(Const.LIMIT_NAME) == null ? null : Integer.parseInt(queryParameters.get(Const.LIMIT_NAME)))
+                    .cursor(queryParameters.get(Const.CURSOR_NAME))
+                    .sort(queryParameters.get(Const.SORT_NAME))
+                    .namePrefix(queryParameters.get(Const.NAME_PREFIX_NAME))
                     .build();
             GetOrganizationResponseBody responseBody = organizationService.getOrganization(requestBody);
             log.info("Responding to Get Organization request with response body {}", responseBody);
@@ -0,0 +1,35 @@
+package com.cpen491.remote_mobility_monitoring.function.handler.organization;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.cpen491.remote_mobility_monitoring.function.handler.HandlerParent;
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.SearchCaregiversRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.SearchCaregiversResponseBody;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+@Slf4j
+public class SearchCaregiversHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
+        log.info("Received Search Caregivers request with path parameters: {}, and query parameters: {}",
+                requestEvent.getPathParameters(), requestEvent.getQueryStringParameters());
+        return processApiGatewayRequest((request) -> {
+            String organizationId = request.getPathParameters().get(Const.ORGANIZATION_ID_NAME);
+            Map<String, String> queryParameters = request.getQueryStringParameters() == null
+                    ? Map.of() : request.getQueryStringParameters();
+            SearchCaregiversRequestBody requestBody = SearchCaregiversRequestBody.builder()
+                    .organizationId(organizationId)
+                    .search(queryParameters.get(Const.SEARCH_NAME))
+                    .limit(queryParameters.get(Const.LIMIT_NAME) == null ? null : Integer.parseInt(queryParameters.get(Const.LIMIT_NAME)))
+                    .build();
+            SearchCaregiversResponseBody responseBody = organizationService.searchCaregivers(requestBody);
+            log.info("Responding to Search Caregivers request with response body {}", responseBody);
+            return gson.toJson(responseBody);
+        }, requestEvent);
+    }
+}
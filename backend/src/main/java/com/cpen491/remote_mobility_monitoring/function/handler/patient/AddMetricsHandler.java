@@ -10,15 +10,13 @@ import com.cpen491.remote_mobility_monitoring.function.schema.patient.AddMetrics
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.AddMetricsResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class AddMetricsHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
         log.info("Received Add Metrics request with body: {}", requestEvent.getBody());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             AddMetricsRequestBody requestBody = gson.fromJson(request.getBody(), AddMetricsRequestBody.class);
             authService.selfCheckThrow(rawId, requestBody.getPatientId());
             AddMetricsResponseBody responseBody = patientService.addMetrics(requestBody);
@@ -0,0 +1,29 @@
+package com.cpen491.remote_mobility_monitoring.function.handler.patient;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.JwtUtils;
+import com.cpen491.remote_mobility_monitoring.function.handler.HandlerParent;
+import com.cpen491.remote_mobility_monitoring.function.schema.patient.ExportMetricsRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.patient.ExportMetricsResponseBody;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ExportMetricsHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent requestEvent, Context context) {
+        log.info("Received Export Metrics request with body: {}", requestEvent.getBody());
+        return processApiGatewayRequest((request) -> {
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
+            ExportMetricsRequestBody requestBody = gson.fromJson(request.getBody(), ExportMetricsRequestBody.class);
+            if (requestBody != null && requestBody.getPatientIds() != null) {
+                authService.caregiverHasPatients(rawId, requestBody.getPatientIds());
+            }
+            ExportMetricsResponseBody responseBody = exportService.exportMetrics(requestBody);
+            log.info("Responding to Export Metrics request with response body {}", responseBody);
+            return gson.toJson(responseBody);
+        }, requestEvent);
+    }
+}
@@ -14,8 +14,6 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.List;
 import java.util.Map;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class QueryMetricsHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
@@ -23,11 +21,9 @@ public class QueryMetricsHandler extends HandlerParent implements RequestHandler
         log.info("Received Query Metrics request with multi-value query parameters: {}, and query parameters: {}",
                 requestEvent.getMultiValueQueryStringParameters(), requestEvent.getQueryStringParameters());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             List<String> patientIds = request.getMultiValueQueryStringParameters().get(Const.PATIENTS_NAME);
-            for (String patientId : patientIds) {
-                authService.caregiverHasPatient(rawId, patientId);
-            }
+            authService.caregiverHasPatients(rawId, patientIds);
             Map<String, String> queryParameters = request.getQueryStringParameters();
             QueryMetricsRequestBody requestBody = QueryMetricsRequestBody.builder()
                     .patientIds(patientIds)
@@ -11,8 +11,6 @@ import com.cpen491.remote_mobility_monitoring.function.schema.patient.UpdatePati
 import com.cpen491.remote_mobility_monitoring.function.schema.patient.UpdatePatientResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
-import static com.cpen491.remote_mobility_monitoring.dependency.utility.HandlerUtils.processApiGatewayRequest;
-
 @Slf4j
 public class UpdatePatientHandler extends HandlerParent implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     @Override
@@ -20,7 +18,7 @@ public class UpdatePatientHandler extends HandlerParent implements RequestHandle
         log.info("Received Update Patient request with path parameters: {} and body: {}",
                 requestEvent.getPathParameters(), requestEvent.getBody());
         return processApiGatewayRequest((request) -> {
-            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson);
+            String rawId = JwtUtils.getIdFromHeader(request.getHeaders(), gson, jwtVerifier);
             String patientId = request.getPathParameters().get(Const.PATIENT_ID_NAME);
             authService.selfCheckThrow(rawId, patientId);
             UpdatePatientRequestBody requestBody = gson.fromJson(request.getBody(), UpdatePatientRequestBody.class);
@@ -2,17 +2,28 @@ package com.cpen491.remote_mobility_monitoring.function.module;
 
 import com.cpen491.remote_mobility_monitoring.dependency.auth.CognitoWrapper;
 import com.cpen491.remote_mobility_monitoring.dependency.auth.CognitoWrapperFactory;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwksJwtVerifier;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwksKeyProvider;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwtVerifier;
+import com.google.gson.Gson;
 import dagger.Module;
 import dagger.Provides;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
 
+import javax.annotation.Nullable;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.COGNITO_USERPOOL_CLIENT_ID;
 import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.COGNITO_USERPOOL_ID;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.JWKS_LOCATION;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.JWKS_REFRESH_SECONDS;
 
 @Module
 public class AuthModule {
+    private static final long DEFAULT_JWKS_REFRESH_SECONDS = 3600;
+    private static final long JWKS_MIN_REFRESH_MILLIS = 60 * 1000;
+
     @Provides
     @Singleton
     public static CognitoWrapperFactory cognitoWrapperFactory(@Named(COGNITO_USERPOOL_ID) String userpoolId,
@@ -25,4 +36,33 @@ public class AuthModule {
     public static CognitoWrapper cognitoWrapper(CognitoWrapperFactory cognitoWrapperFactory) {
         return cognitoWrapperFactory.createCognitoWrapper();
     }
+
+    /**
+     * Verifies JWTs locally against the JWKS at the JWKS_LOCATION environment variable, a file path or an http(s)
+     * URL, read again every JWKS_REFRESH_SECONDS, 3600 by default. JWTs must be ID tokens issued by the user pool
+     * COGNITO_USERPOOL_ID, and for the app client COGNITO_USERPOOL_CLIENT_ID if it is set. The stack leaves
+     * JWKS_LOCATION unset, so JWTs are trusted as verified by the API Gateway Cognito authorizer. JWKS_LOCATION is
+     * required whenever handlers can be invoked without going through that authorizer, e.g. when run outside Lambda.
+     */
+    @Provides
+    @Singleton
+    public static JwtVerifier jwtVerifier(@Named(JWKS_LOCATION) @Nullable String jwksLocation,
+                                          @Named(JWKS_REFRESH_SECONDS) @Nullable String jwksRefreshSeconds,
+                                          @Named(COGNITO_USERPOOL_ID) String userpoolId,
+                                          @Named(COGNITO_USERPOOL_CLIENT_ID) @Nullable String userpoolClientId,
+                                          Gson gson) {
+        if (jwksLocation == null || jwksLocation.isBlank()) {
+            return JwtVerifier.NONE;
+        }
+        if (userpoolId == null || userpoolId.isBlank()) {
+            throw new IllegalArgumentException(COGNITO_USERPOOL_ID + " must be set with " + JWKS_LOCATION);
+        }
+        long refreshSeconds = jwksRefreshSeconds == null ? DEFAULT_JWKS_REFRESH_SECONDS : Long.parseLong(jwksRefreshSeconds);
+        JwksKeyProvider keyProvider = new JwksKeyProvider(jwksLocation, refreshSeconds * 1000, JWKS_MIN_REFRESH_MILLIS, gson);
+        return new JwksJwtVerifier(keyProvider, gson, buildIssuer(userpoolId), userpoolClientId);
+    }
+
+    static String buildIssuer(String userpoolId) {
+        return "https://cognito-idp." + AwsModule.REGION.id() + ".amazonaws.com/" + userpoolId;
+    }
 }
@@ -9,6 +9,8 @@ import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.sesv2.SesV2Client;
 import software.amazon.awssdk.services.timestreamquery.TimestreamQueryClient;
 import software.amazon.awssdk.services.timestreamwrite.TimestreamWriteClient;
@@ -18,7 +20,7 @@ import java.net.URI;
 
 @Module
 public class AwsModule {
-    private static final Region REGION = Region.US_WEST_2;
+    static final Region REGION = Region.US_WEST_2;
 
     @Provides
     @Singleton
@@ -82,4 +84,24 @@ public class AwsModule {
                 .overrideConfiguration(ClientOverrideConfiguration.builder().build())
                 .build();
     }
+
+    @Provides
+    @Singleton
+    public static S3Client s3Client(SdkHttpClient httpClient) {
+        return S3Client.builder()
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClient(httpClient)
+                .region(REGION)
+                .overrideConfiguration(ClientOverrideConfiguration.builder().build())
+                .build();
+    }
+
+    @Provides
+    @Singleton
+    public static S3Presigner s3Presigner() {
+        return S3Presigner.builder()
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .region(REGION)
+                .build();
+    }
 }
@@ -3,29 +3,140 @@ package com.cpen491.remote_mobility_monitoring.function.module;
 import com.cpen491.remote_mobility_monitoring.datastore.DaoFactory;
 import com.cpen491.remote_mobility_monitoring.datastore.MetricsDaoFactory;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.AdminDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AlertRuleDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AssociationLayout;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AuthDecisionCache;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.EntityCache;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.HotTierMetricsStore;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.IdentityMap;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.LocalMetricsStore;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStateDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.PartitionShards;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.ReadExecutor;
+import com.cpen491.remote_mobility_monitoring.migration.AssociationMigrationCommand;
+import com.cpen491.remote_mobility_monitoring.migration.ShardMigrationCommand;
 import dagger.Module;
 import dagger.Provides;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.timestreamquery.TimestreamQueryClient;
 import software.amazon.awssdk.services.timestreamwrite.TimestreamWriteClient;
 
+import javax.annotation.Nullable;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.Executors;
 
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.OrganizationTable;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.ASSOCIATION_LAYOUT;
 import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.DYNAMO_DB_TABLE_NAME;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.METRICS_HOT_TIER_BYTES;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.METRICS_STORE;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.METRICS_STORE_DIRECTORY;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.ORGANIZATION_SHARDS;
 import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.TIMESTREAM_DATABASE_NAME;
 import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.TIMESTREAM_TABLE_NAME;
 
 @Module
 public class DatastoreModule {
+    public static final String TIMESTREAM_METRICS_STORE = "timestream";
+    public static final String LOCAL_METRICS_STORE = "local";
+    private static final String DEFAULT_METRICS_STORE_DIRECTORY = "/tmp/metrics";
+    private static final long DEFAULT_METRICS_HOT_TIER_BYTES = 16L * 1024 * 1024;
+    private static final int ENTITY_CACHE_MAX_ENTRIES = 10000;
+    private static final long ENTITY_CACHE_TTL_MILLIS = 60 * 1000;
+    private static final int AUTH_DECISION_CACHE_MAX_ENTRIES = 10000;
+    private static final long AUTH_DECISION_CACHE_ALLOW_TTL_MILLIS = 60 * 1000;
+    private static final long AUTH_DECISION_CACHE_DENY_TTL_MILLIS = 10 * 1000;
+    private static final int READ_THREADS = 8;
+
+    /**
+     * Selects how associations are stored with the ASSOCIATION_LAYOUT environment variable, "denormalized" by default
+     * or "normalized". Existing associations must be rewritten with {@link AssociationMigrationCommand} before the
+     * layout is switched. The associations of each Organization are spread over the number of partitions in the
+     * ORGANIZATION_SHARDS environment variable, 1 by default, and must be moved with
+     * {@link ShardMigrationCommand} after it is changed.
+     */
+    @Provides
+    @Singleton
+    public static DaoFactory daoFactory(@Named(DYNAMO_DB_TABLE_NAME) String tableName,
+                                        @Named(ASSOCIATION_LAYOUT) @Nullable String associationLayout,
+                                        @Named(ORGANIZATION_SHARDS) @Nullable String organizationShards,
+                                        DynamoDbClient ddbClient, EntityCache entityCache,
+                                        IdentityMap identityMap, AuthDecisionCache authDecisionCache) {
+        return new DaoFactory(tableName, ddbClient, associationLayout(associationLayout), entityCache, identityMap,
+                partitionShards(organizationShards), authDecisionCache);
+    }
+
+    /**
+     * Cache of entity records shared by all DAOs of the container. Records written by another container can be
+     * served stale for up to {@link #ENTITY_CACHE_TTL_MILLIS}.
+     */
+    @Provides
+    @Singleton
+    public static EntityCache entityCache() {
+        return new EntityCache(ENTITY_CACHE_MAX_ENTRIES, ENTITY_CACHE_TTL_MILLIS);
+    }
+
+    /**
+     * Authorization decisions shared by all requests of the container. Access granted or revoked by another container
+     * applies after at most {@link #AUTH_DECISION_CACHE_ALLOW_TTL_MILLIS} or {@link #AUTH_DECISION_CACHE_DENY_TTL_MILLIS}.
+     */
+    @Provides
+    @Singleton
+    public static AuthDecisionCache authDecisionCache() {
+        return new AuthDecisionCache(AUTH_DECISION_CACHE_MAX_ENTRIES, AUTH_DECISION_CACHE_ALLOW_TTL_MILLIS,
+                AUTH_DECISION_CACHE_DENY_TTL_MILLIS);
+    }
+
+    /**
+     * Records read during one request, scoped by {@link IdentityMap#withScope} in HandlerParent.
+     */
+    @Provides
+    @Singleton
+    public static IdentityMap identityMap() {
+        return new IdentityMap();
+    }
+
+    /**
+     * Runs the independent reads of a request concurrently on a pool of daemon threads.
+     */
     @Provides
     @Singleton
-    public static DaoFactory daoFactory(@Named(DYNAMO_DB_TABLE_NAME) String tableName, DynamoDbClient ddbClient) {
-        return new DaoFactory(tableName, ddbClient);
+    public static ReadExecutor readExecutor(IdentityMap identityMap) {
+        return new ReadExecutor(Executors.newFixedThreadPool(READ_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "dynamodb-read");
+            thread.setDaemon(true);
+            return thread;
+        }), identityMap);
+    }
+
+    public static AssociationLayout associationLayout(String associationLayout) {
+        if (associationLayout == null) {
+            return AssociationLayout.DENORMALIZED;
+        }
+        AssociationLayout layout = AssociationLayout.convertToEnum(associationLayout);
+        if (layout == null) {
+            throw new IllegalArgumentException("Unknown association layout " + associationLayout);
+        }
+        return layout;
+    }
+
+    public static PartitionShards partitionShards(String organizationShards) {
+        int shardCount;
+        try {
+            shardCount = organizationShards == null ? 1 : Integer.parseInt(organizationShards);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid organization shard count " + organizationShards, e);
+        }
+        return new PartitionShards(Set.of(OrganizationTable.ID_PREFIX), shardCount);
     }
 
     @Provides
@@ -52,6 +163,18 @@ public class DatastoreModule {
         return daoFactory.createPatientDao();
     }
 
+    @Provides
+    @Singleton
+    public static MetricsStateDao metricsStateDao(DaoFactory daoFactory) {
+        return daoFactory.createMetricsStateDao();
+    }
+
+    @Provides
+    @Singleton
+    public static AlertRuleDao alertRuleDao(DaoFactory daoFactory) {
+        return daoFactory.createAlertRuleDao();
+    }
+
     @Provides
     @Singleton
     public static MetricsDaoFactory metricsDaoFactory(@Named(TIMESTREAM_DATABASE_NAME) String databaseName,
@@ -66,4 +189,28 @@ public class DatastoreModule {
     public static MetricsDao metricsDao(MetricsDaoFactory metricsDaoFactory) {
         return metricsDaoFactory.createMetricsDao();
     }
+
+    /**
+     * Selects where Metrics are stored with the METRICS_STORE environment variable, Timestream by default or "local"
+     * for {@link LocalMetricsStore} under METRICS_STORE_DIRECTORY. Recent Metrics are cached in a
+     * {@link HotTierMetricsStore} of METRICS_HOT_TIER_BYTES, 0 to disable.
+     */
+    @Provides
+    @Singleton
+    public static MetricsStore metricsStore(@Named(METRICS_STORE) @Nullable String metricsStore,
+                                            @Named(METRICS_STORE_DIRECTORY) @Nullable String metricsStoreDirectory,
+                                            @Named(METRICS_HOT_TIER_BYTES) @Nullable String metricsHotTierBytes,
+                                            Provider<MetricsDao> metricsDao) {
+        MetricsStore backingStore;
+        if (metricsStore == null || TIMESTREAM_METRICS_STORE.equals(metricsStore)) {
+            backingStore = metricsDao.get();
+        } else if (LOCAL_METRICS_STORE.equals(metricsStore)) {
+            backingStore = new LocalMetricsStore(Paths.get(metricsStoreDirectory == null ? DEFAULT_METRICS_STORE_DIRECTORY : metricsStoreDirectory));
+        } else {
+            throw new IllegalArgumentException("Unknown metrics store " + metricsStore);
+        }
+
+        long hotTierBytes = metricsHotTierBytes == null ? DEFAULT_METRICS_HOT_TIER_BYTES : Long.parseLong(metricsHotTierBytes);
+        return hotTierBytes > 0 ? new HotTierMetricsStore(backingStore, hotTierBytes) : backingStore;
+    }
 }
@@ -3,6 +3,7 @@ package com.cpen491.remote_mobility_monitoring.function.module;
 import dagger.Module;
 import dagger.Provides;
 
+import javax.annotation.Nullable;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -12,7 +13,17 @@ public class EnvironmentModule {
     public static final String TIMESTREAM_DATABASE_NAME = "TIMESTREAM_DATABASE_NAME";
     public static final String TIMESTREAM_TABLE_NAME = "TIMESTREAM_TABLE_NAME";
     public static final String COGNITO_USERPOOL_ID = "COGNITO_USERPOOL_ID";
+    public static final String COGNITO_USERPOOL_CLIENT_ID = "COGNITO_USERPOOL_CLIENT_ID";
     public static final String SES_SENDER = "SES_SENDER";
+    public static final String EXPORT_DIRECTORY = "EXPORT_DIRECTORY";
+    public static final String EXPORT_BUCKET_NAME = "EXPORT_BUCKET_NAME";
+    public static final String METRICS_STORE = "METRICS_STORE";
+    public static final String METRICS_STORE_DIRECTORY = "METRICS_STORE_DIRECTORY";
+    public static final String METRICS_HOT_TIER_BYTES = "METRICS_HOT_TIER_BYTES";
+    public static final String ASSOCIATION_LAYOUT = "ASSOCIATION_LAYOUT";
+    public static final String ORGANIZATION_SHARDS = "ORGANIZATION_SHARDS";
+    public static final String JWKS_LOCATION = "JWKS_LOCATION";
+    public static final String JWKS_REFRESH_SECONDS = "JWKS_REFRESH_SECONDS";
 
     @Provides
     @Named(DYNAMO_DB_TABLE_NAME)
@@ -42,10 +53,90 @@ public class EnvironmentModule {
         return System.getenv(COGNITO_USERPOOL_ID);
     }
 
+    @Provides
+    @Named(COGNITO_USERPOOL_CLIENT_ID)
+    @Singleton
+    @Nullable
+    public static String cognitoUserpoolClientId() {
+        return System.getenv(COGNITO_USERPOOL_CLIENT_ID);
+    }
+
     @Provides
     @Named(SES_SENDER)
     @Singleton
     public static String sesSender() {
         return System.getenv(SES_SENDER);
     }
+
+    @Provides
+    @Named(EXPORT_DIRECTORY)
+    @Singleton
+    @Nullable
+    public static String exportDirectory() {
+        return System.getenv(EXPORT_DIRECTORY);
+    }
+
+    @Provides
+    @Named(EXPORT_BUCKET_NAME)
+    @Singleton
+    @Nullable
+    public static String exportBucketName() {
+        return System.getenv(EXPORT_BUCKET_NAME);
+    }
+
+    @Provides
+    @Named(METRICS_STORE)
+    @Singleton
+    @Nullable
+    public static String metricsStore() {
+        return System.getenv(METRICS_STORE);
+    }
+
+    @Provides
+    @Named(METRICS_STORE_DIRECTORY)
+    @Singleton
+    @Nullable
+    public static String metricsStoreDirectory() {
+        return System.getenv(METRICS_STORE_DIRECTORY);
+    }
+
+    @Provides
+    @Named(METRICS_HOT_TIER_BYTES)
+    @Singleton
+    @Nullable
+    public static String metricsHotTierBytes() {
+        return System.getenv(METRICS_HOT_TIER_BYTES);
+    }
+
+    @Provides
+    @Named(ASSOCIATION_LAYOUT)
+    @Singleton
+    @Nullable
+    public static String associationLayout() {
+        return System.getenv(ASSOCIATION_LAYOUT);
+    }
+
+    @Provides
+    @Named(ORGANIZATION_SHARDS)
+    @Singleton
+    @Nullable
+    public static String organizationShards() {
+        return System.getenv(ORGANIZATION_SHARDS);
+    }
+
+    @Provides
+    @Named(JWKS_LOCATION)
+    @Singleton
+    @Nullable
+    public static String jwksLocation() {
+        return System.getenv(JWKS_LOCATION);
+    }
+
+    @Provides
+    @Named(JWKS_REFRESH_SECONDS)
+    @Singleton
+    @Nullable
+    public static String jwksRefreshSeconds() {
+        return System.getenv(JWKS_REFRESH_SECONDS);
+    }
 }
@@ -0,0 +1,42 @@
+package com.cpen491.remote_mobility_monitoring.function.module;
+
+import com.cpen491.remote_mobility_monitoring.dependency.export.ExportStorage;
+import com.cpen491.remote_mobility_monitoring.dependency.export.LocalExportStorage;
+import com.cpen491.remote_mobility_monitoring.dependency.export.S3ExportStorage;
+import dagger.Module;
+import dagger.Provides;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import javax.annotation.Nullable;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.EXPORT_BUCKET_NAME;
+import static com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule.EXPORT_DIRECTORY;
+
+@Module
+public class ExportModule {
+    private static final String DEFAULT_EXPORT_DIRECTORY = "/tmp/exports";
+    private static final Duration EXPORT_URL_DURATION = Duration.ofMinutes(15);
+
+    /**
+     * Stores exports in the S3 bucket EXPORT_BUCKET_NAME, staged under EXPORT_DIRECTORY. Without a bucket, e.g. when
+     * running locally, exports are kept as files in EXPORT_DIRECTORY.
+     */
+    @Provides
+    @Singleton
+    public static ExportStorage exportStorage(@Named(EXPORT_BUCKET_NAME) @Nullable String exportBucketName,
+                                              @Named(EXPORT_DIRECTORY) @Nullable String exportDirectory,
+                                              Provider<S3Client> s3Client, Provider<S3Presigner> s3Presigner) {
+        Path directory = Paths.get(exportDirectory == null ? DEFAULT_EXPORT_DIRECTORY : exportDirectory);
+        if (exportBucketName == null) {
+            return new LocalExportStorage(directory);
+        }
+        return new S3ExportStorage(s3Client.get(), s3Presigner.get(), exportBucketName, directory, EXPORT_URL_DURATION);
+    }
+}
@@ -1,15 +1,23 @@
 package com.cpen491.remote_mobility_monitoring.function.module;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.AdminDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AlertRuleDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AuthDecisionCache;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
-import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStateDao;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.ReadExecutor;
 import com.cpen491.remote_mobility_monitoring.dependency.auth.CognitoWrapper;
 import com.cpen491.remote_mobility_monitoring.dependency.email.SesWrapper;
+import com.cpen491.remote_mobility_monitoring.dependency.export.ExportStorage;
 import com.cpen491.remote_mobility_monitoring.function.service.AdminService;
+import com.cpen491.remote_mobility_monitoring.function.service.AlertRuleService;
+import com.cpen491.remote_mobility_monitoring.function.service.AnomalyDetectionService;
 import com.cpen491.remote_mobility_monitoring.function.service.AuthService;
 import com.cpen491.remote_mobility_monitoring.function.service.CaregiverService;
+import com.cpen491.remote_mobility_monitoring.function.service.ExportService;
 import com.cpen491.remote_mobility_monitoring.function.service.OrganizationService;
 import com.cpen491.remote_mobility_monitoring.function.service.PatientService;
 import dagger.Module;
@@ -21,8 +29,9 @@ import javax.inject.Singleton;
 public class ServiceModule {
     @Provides
     @Singleton
-    public static AuthService authService(OrganizationDao organizationDao, AdminDao adminDao, CaregiverDao caregiverDao, PatientDao patientDao) {
-        return new AuthService(organizationDao, adminDao, caregiverDao, patientDao);
+    public static AuthService authService(OrganizationDao organizationDao, AdminDao adminDao, CaregiverDao caregiverDao,
+                                          PatientDao patientDao, AuthDecisionCache authDecisionCache) {
+        return new AuthService(organizationDao, adminDao, caregiverDao, patientDao, authDecisionCache);
     }
 
     @Provides
@@ -40,13 +49,36 @@ public class ServiceModule {
     @Provides
     @Singleton
     public static CaregiverService caregiverService(CaregiverDao caregiverDao, OrganizationDao organizationDao,
-                                                    CognitoWrapper cognitoWrapper, SesWrapper sesWrapper) {
-        return new CaregiverService(caregiverDao, organizationDao, cognitoWrapper, sesWrapper);
+                                                    CognitoWrapper cognitoWrapper, SesWrapper sesWrapper,
+                                                    ReadExecutor readExecutor) {
+        return new CaregiverService(caregiverDao, organizationDao, cognitoWrapper, sesWrapper, readExecutor);
     }
 
     @Provides
     @Singleton
-    public static PatientService patientService(PatientDao patientDao, MetricsDao metricsDao, CognitoWrapper cognitoWrapper) {
-        return new PatientService(patientDao, metricsDao, cognitoWrapper);
+    public static AnomalyDetectionService anomalyDetectionService(MetricsStateDao metricsStateDao, PatientDao patientDao,
+                                                                  CaregiverDao caregiverDao, SesWrapper sesWrapper) {
+        return new AnomalyDetectionService(metricsStateDao, patientDao, caregiverDao, sesWrapper);
+    }
+
+    @Provides
+    @Singleton
+    public static AlertRuleService alertRuleService(AlertRuleDao alertRuleDao, CaregiverDao caregiverDao, SesWrapper sesWrapper) {
+        return new AlertRuleService(alertRuleDao, caregiverDao, sesWrapper);
+    }
+
+    @Provides
+    @Singleton
+    public static PatientService patientService(PatientDao patientDao, MetricsStore metricsStore, CognitoWrapper cognitoWrapper,
+                                                AnomalyDetectionService anomalyDetectionService,
+                                                AlertRuleService alertRuleService, ReadExecutor readExecutor) {
+        return new PatientService(patientDao, metricsStore, cognitoWrapper, anomalyDetectionService, alertRuleService,
+                readExecutor);
+    }
+
+    @Provides
+    @Singleton
+    public static ExportService exportService(MetricsStore metricsStore, ExportStorage exportStorage) {
+        return new ExportService(metricsStore, exportStorage);
     }
 }
@@ -25,6 +25,12 @@ public final class Const {
     public static final String PATIENTS_NAME = "patients";
     public static final String ADMINS_NAME = "admins";
     public static final String CAREGIVERS_NAME = "caregivers";
+    public static final String LIMIT_NAME = "limit";
+    public static final String CURSOR_NAME = "cursor";
+    public static final String NEXT_CURSOR_NAME = "next_cursor";
+    public static final String SORT_NAME = "sort";
+    public static final String NAME_PREFIX_NAME = "name";
+    public static final String SEARCH_NAME = "search";
     public static final String METRICS_NAME = "metrics";
     public static final String START_NAME = "start";
     public static final String END_NAME = "end";
@@ -41,8 +47,23 @@ public final class Const {
     public static final String AUTHORIZATION_NAME1 = "Authorization";
     public static final String AUTHORIZATION_NAME2 = "authorization";
     public static final String SUB_NAME = "sub";
+    public static final String COGNITO_GROUPS_NAME = "cognito:groups";
+    public static final String EXP_NAME = "exp";
+    public static final String ISS_NAME = "iss";
+    public static final String TOKEN_USE_NAME = "token_use";
+    public static final String AUD_NAME = "aud";
     public static final String SEND_EMAIL = "send_email";
     public static final String MESSAGE_NAME = "message";
+    public static final String RULE_ID_NAME = "rule_id";
+    public static final String RULES_NAME = "rules";
+    public static final String OPERATOR_NAME = "operator";
+    public static final String THRESHOLD_NAME = "threshold";
+    public static final String DURATION_MINUTES_NAME = "duration_minutes";
+    public static final String LAST_TRIGGERED_AT_NAME = "last_triggered_at";
+    public static final String EXPORT_ID_NAME = "export_id";
+    public static final String FORMAT_NAME = "format";
+    public static final String LOCATION_NAME = "location";
+    public static final String ROW_COUNT_NAME = "row_count";
     public static final String PATIENT_BIRTHDAY = "birthday";
     public static final String PATIENT_SEX = "sex";
     public static final String PATIENT_HEIGHT = "height";
@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,4 +16,14 @@ import lombok.NoArgsConstructor;
 public class JwtPayload {
     @SerializedName(Const.SUB_NAME)
     private String sub;
+    @SerializedName(Const.COGNITO_GROUPS_NAME)
+    private List<String> groups;
+    @SerializedName(Const.EXP_NAME)
+    private Long exp;
+    @SerializedName(Const.ISS_NAME)
+    private String iss;
+    @SerializedName(Const.TOKEN_USE_NAME)
+    private String tokenUse;
+    @SerializedName(Const.AUD_NAME)
+    private String aud;
 }
@@ -0,0 +1,27 @@
+package com.cpen491.remote_mobility_monitoring.function.schema.caregiver;
+
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.google.gson.annotations.SerializedName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddAlertRuleRequestBody {
+    @SerializedName(Const.CAREGIVER_ID_NAME)
+    private String caregiverId;
+    @SerializedName(Const.PATIENT_ID_NAME)
+    private String patientId;
+    @SerializedName(Const.METRIC_NAME_NAME)
+    private String metricName;
+    @SerializedName(Const.OPERATOR_NAME)
+    private String operator;
+    @SerializedName(Const.THRESHOLD_NAME)
+    private Double threshold;
+    @SerializedName(Const.DURATION_MINUTES_NAME)
+    private Long durationMinutes;
+}
@@ -0,0 +1,56 @@
+package com.cpen491.remote_mobility_monitoring.function.schema.caregiver;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.google.gson.annotations.SerializedName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetAllAlertRulesResponseBody {
+    @Getter
+    @Builder
+    @ToString
+    @EqualsAndHashCode
+    public static class AlertRuleSerialization {
+        @SerializedName(Const.RULE_ID_NAME)
+        private String ruleId;
+        @SerializedName(Const.METRIC_NAME_NAME)
+        private String metricName;
+        @SerializedName(Const.OPERATOR_NAME)
+        private String operator;
+        @SerializedName(Const.THRESHOLD_NAME)
+        private Double threshold;
+        @SerializedName(Const.DURATION_MINUTES_NAME)
+        private Long durationMinutes;
+        @SerializedName(Const.CREATED_AT_NAME)
+        private String createdAt;
+        @SerializedName(Const.LAST_TRIGGERED_AT_NAME)
+        private String lastTriggeredAt;
+
+        public static AlertRuleSerialization fromAlertRule(AlertRule alertRule) {
+            return AlertRuleSerialization.builder()
+                    .ruleId(alertRule.getSid())
+                    .metricName(alertRule.getMeasureName().type)
+                    .operator(alertRule.getOperator().symbol)
+                    .threshold(alertRule.getThreshold())
+                    .durationMinutes(alertRule.getDurationMinutes())
+                    .createdAt(alertRule.getCreatedAt())
+                    .lastTriggeredAt(alertRule.getLastTriggeredAt())
+                    .build();
+        }
+    }
+
+    @SerializedName(Const.RULES_NAME)
+    private List<AlertRuleSerialization> rules;
+}
@@ -53,4 +53,7 @@ public class GetAllPatientsResponseBody {
 
     @SerializedName(Const.PATIENTS_NAME)
     private List<PatientSerialization> patients;
+
+    @SerializedName(Const.NEXT_CURSOR_NAME)
+    private String nextCursor;
 }
@@ -14,4 +14,12 @@ import lombok.NoArgsConstructor;
 public class GetOrganizationRequestBody {
     @SerializedName(Const.ORGANIZATION_ID_NAME)
     private String organizationId;
+    @SerializedName(Const.LIMIT_NAME)
+    private Integer limit;
+    @SerializedName(Const.CURSOR_NAME)
+    private String cursor;
+    @SerializedName(Const.SORT_NAME)
+    private String sort;
+    @SerializedName(Const.NAME_PREFIX_NAME)
+    private String namePrefix;
 }
@@ -69,4 +69,7 @@ public class GetOrganizationResponseBody {
 
     @SerializedName(Const.CAREGIVERS_NAME)
     private List<CaregiverSerialization> caregivers;
+
+    @SerializedName(Const.NEXT_CURSOR_NAME)
+    private String nextCursor;
 }
@@ -0,0 +1,20 @@
+package com.cpen491.remote_mobility_monitoring.function.schema.organization;
+
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody.CaregiverSerialization;
+import com.google.gson.annotations.SerializedName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCaregiversResponseBody {
+    @SerializedName(Const.CAREGIVERS_NAME)
+    private List<CaregiverSerialization> caregivers;
+}
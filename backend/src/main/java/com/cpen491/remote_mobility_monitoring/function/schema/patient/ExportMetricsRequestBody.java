@@ -0,0 +1,25 @@
+package com.cpen491.remote_mobility_monitoring.function.schema.patient;
+
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.google.gson.annotations.SerializedName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportMetricsRequestBody {
+    @SerializedName(Const.PATIENTS_NAME)
+    private List<String> patientIds;
+    @SerializedName(Const.START_NAME)
+    private String start;
+    @SerializedName(Const.END_NAME)
+    private String end;
+    @SerializedName(Const.FORMAT_NAME)
+    private String format;
+}
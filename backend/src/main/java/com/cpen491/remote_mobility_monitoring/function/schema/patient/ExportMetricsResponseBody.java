@@ -0,0 +1,23 @@
+package com.cpen491.remote_mobility_monitoring.function.schema.patient;
+
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.google.gson.annotations.SerializedName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportMetricsResponseBody {
+    @SerializedName(Const.EXPORT_ID_NAME)
+    private String exportId;
+    @SerializedName(Const.FORMAT_NAME)
+    private String format;
+    @SerializedName(Const.LOCATION_NAME)
+    private String location;
+    @SerializedName(Const.ROW_COUNT_NAME)
+    private Long rowCount;
+}
@@ -1,6 +1,7 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.AdminDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.DeleteReport;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.DuplicateRecordException;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
@@ -114,7 +115,8 @@ public class AdminService {
             log.warn("Error {} thrown when trying to find and delete Admin {} in Cognito", e.getClass(), body);
         }
 
-        adminDao.delete(body.getAdminId());
+        DeleteReport report = adminDao.delete(body.getAdminId());
+        log.info("Deleted Admin {}", report);
 
         return DeleteAdminResponseBody.builder()
                 .message("OK")
@@ -0,0 +1,341 @@
+package com.cpen491.remote_mobility_monitoring.function.service;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AlertRuleDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule.Operator;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import com.cpen491.remote_mobility_monitoring.dependency.email.SesWrapper;
+import com.cpen491.remote_mobility_monitoring.dependency.exception.InsufficientPermissionException;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddAlertRuleRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddAlertRuleResponseBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllAlertRulesRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllAlertRulesResponseBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllAlertRulesResponseBody.AlertRuleSerialization;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemoveAlertRuleRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemoveAlertRuleResponseBody;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.parseTime;
+
+/**
+ * Manages Caregiver defined threshold rules and evaluates them against incoming Metrics. The rules of a Patient
+ * are compiled into a matcher indexed by measure and cached per container, so evaluating a batch only touches
+ * the rules on the measures present in the batch and costs a single query when the cache is cold.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AlertRuleService {
+    // How long a compiled matcher is reused before the rules are reloaded, to pick up changes made in other containers
+    static final Duration MATCHER_TTL = Duration.ofMinutes(1);
+
+    @NonNull
+    private AlertRuleDao alertRuleDao;
+    @NonNull
+    private CaregiverDao caregiverDao;
+    @NonNull
+    private SesWrapper sesWrapper;
+    private final Map<String, RuleMatcher> matchers = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an AlertRule for a Patient owned by a Caregiver.
+     *
+     * @param body The request body
+     * @return {@link AddAlertRuleResponseBody}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if any of caregiverId, patientId, metricName, operator,
+     *                              or threshold are empty or invalid, or if durationMinutes is negative
+     */
+    public AddAlertRuleResponseBody addAlertRule(AddAlertRuleRequestBody body) {
+        log.info("Adding AlertRule {}", body);
+        Validator.validateAddAlertRuleRequestBody(body);
+
+        AlertRule alertRule = AlertRule.builder()
+                .pid(body.getPatientId())
+                .caregiverId(body.getCaregiverId())
+                .measureName(MeasureName.convertToEnum(body.getMetricName()))
+                .operator(Operator.convertToEnum(body.getOperator()))
+                .threshold(body.getThreshold())
+                .durationMinutes(body.getDurationMinutes())
+                .build();
+        alertRuleDao.create(alertRule);
+        matchers.remove(body.getPatientId());
+
+        return AddAlertRuleResponseBody.builder()
+                .ruleId(alertRule.getSid())
+                .build();
+    }
+
+    /**
+     * Gets all AlertRules a Caregiver has on a Patient.
+     *
+     * @param body The request body
+     * @return {@link GetAllAlertRulesResponseBody}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if caregiverId or patientId is empty or invalid
+     */
+    public GetAllAlertRulesResponseBody getAllAlertRules(GetAllAlertRulesRequestBody body) {
+        log.info("Getting all AlertRules {}", body);
+        Validator.validateGetAllAlertRulesRequestBody(body);
+
+        List<AlertRule> alertRules = alertRuleDao.findAllByPatientId(body.getPatientId());
+
+        return GetAllAlertRulesResponseBody.builder()
+                .rules(alertRules.stream()
+                        .filter(alertRule -> body.getCaregiverId().equals(alertRule.getCaregiverId()))
+                        .map(AlertRuleSerialization::fromAlertRule)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Removes an AlertRule. The rule must belong to the Caregiver.
+     *
+     * @param body The request body
+     * @return {@link RemoveAlertRuleResponseBody}
+     * @throws RecordDoesNotExistException If AlertRule record with the given ruleId does not exist
+     * @throws InsufficientPermissionException If the AlertRule belongs to another Caregiver
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if any of caregiverId, patientId, or ruleId
+     *                              are empty or invalid
+     */
+    public RemoveAlertRuleResponseBody removeAlertRule(RemoveAlertRuleRequestBody body) {
+        log.info("Removing AlertRule {}", body);
+        Validator.validateRemoveAlertRuleRequestBody(body);
+
+        AlertRule alertRule = alertRuleDao.findById(body.getPatientId(), body.getRuleId());
+        if (!body.getCaregiverId().equals(alertRule.getCaregiverId())) {
+            log.error("AlertRule [{}] does not belong to Caregiver [{}]", body.getRuleId(), body.getCaregiverId());
+            throw new InsufficientPermissionException();
+        }
+        alertRuleDao.delete(body.getPatientId(), body.getRuleId());
+        matchers.remove(body.getPatientId());
+
+        return RemoveAlertRuleResponseBody.builder()
+                .message("OK")
+                .build();
+    }
+
+    /**
+     * Evaluates newly added Metrics of a Patient against the Patient's AlertRules and emails the owning Caregivers
+     * of the rules that triggered. A rule triggers once per breach, when its condition has held for at least
+     * durationMinutes since the first breaching sample. Samples that are not newer than the last sample evaluated
+     * by a rule are ignored by that rule. Rules whose Caregiver no longer has the Patient are removed. Only the
+     * evaluation state of the rules is written back, and rules removed since they were loaded raise no alerts.
+     * Batches of the same Patient are evaluated one at a time by each container.
+     *
+     * @param patient The Patient the metrics belong to
+     * @param metricsList The list of Metrics that were added
+     * @return {@link List} of alerts that were raised
+     */
+    public List<Alert> evaluateMetrics(Patient patient, List<Metrics> metricsList) {
+        RuleMatcher matcher = getMatcher(patient.getPid());
+        if (matcher.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Alert> alerts;
+        // The cached rules are mutated while evaluated, so batches of the Patient are evaluated one at a time
+        synchronized (matcher) {
+            alerts = evaluateRules(patient, matcher, metricsList);
+        }
+        if (!alerts.isEmpty()) {
+            log.info("AlertRules triggered {} for Patient [{}]", alerts, patient.getPid());
+            notifyCaregivers(patient, alerts);
+        }
+        return alerts;
+    }
+
+    private List<Alert> evaluateRules(Patient patient, RuleMatcher matcher, List<Metrics> metricsList) {
+        List<Metrics> sorted = metricsList.stream()
+                .filter(metrics -> matcher.hasRules(metrics.getMeasureName()))
+                .sorted(Comparator.comparing(metrics -> parseTime(metrics.getTimestamp())))
+                .collect(Collectors.toList());
+
+        // Rules are mutated while evaluated, so they are tracked by identity rather than by their changing hashCode
+        Set<AlertRule> updatedRules = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Alert> alerts = new ArrayList<>();
+        for (Metrics metrics : sorted) {
+            LocalDateTime time = parseTime(metrics.getTimestamp());
+            double value = Double.parseDouble(metrics.getMeasureValue());
+            for (AlertRule alertRule : matcher.getRules(metrics.getMeasureName())) {
+                if (alertRule.getLastEvaluatedAt() != null && !time.isAfter(parseTime(alertRule.getLastEvaluatedAt()))) {
+                    continue;
+                }
+                Alert alert = evaluate(alertRule, value, metrics.getTimestamp());
+                updatedRules.add(alertRule);
+                if (alert != null) {
+                    alerts.add(alert);
+                }
+            }
+        }
+
+        if (!updatedRules.isEmpty()) {
+            List<AlertRule> deletedRules = alertRuleDao.updateEvaluationState(new ArrayList<>(updatedRules));
+            if (!deletedRules.isEmpty()) {
+                // Removed in another container since the matcher was compiled, so neither alerted on nor kept
+                log.info("AlertRules {} of Patient [{}] no longer exist", deletedRules, patient.getPid());
+                Set<String> deletedRuleIds = deletedRules.stream().map(AlertRule::getSid).collect(Collectors.toSet());
+                alerts.removeIf(alert -> deletedRuleIds.contains(alert.getRuleId()));
+                matchers.remove(patient.getPid());
+            }
+        }
+        return alerts;
+    }
+
+    /**
+     * Applies one sample to the rule's evaluation state and returns an Alert if the rule triggers.
+     */
+    static Alert evaluate(AlertRule alertRule, double value, String timestamp) {
+        alertRule.setLastEvaluatedAt(timestamp);
+        if (!alertRule.getOperator().test(value, alertRule.getThreshold())) {
+            alertRule.setBreachStartedAt(null);
+            return null;
+        }
+
+        if (alertRule.getBreachStartedAt() == null) {
+            alertRule.setBreachStartedAt(timestamp);
+        }
+        LocalDateTime breachStartedAt = parseTime(alertRule.getBreachStartedAt());
+        boolean alreadyTriggered = alertRule.getLastTriggeredAt() != null &&
+                !parseTime(alertRule.getLastTriggeredAt()).isBefore(breachStartedAt);
+        long durationMinutes = alertRule.getDurationMinutes() == null ? 0 : alertRule.getDurationMinutes();
+        if (alreadyTriggered || Duration.between(breachStartedAt, parseTime(timestamp)).toMinutes() < durationMinutes) {
+            return null;
+        }
+
+        alertRule.setLastTriggeredAt(timestamp);
+        return Alert.builder()
+                .ruleId(alertRule.getSid())
+                .caregiverId(alertRule.getCaregiverId())
+                .measureName(alertRule.getMeasureName())
+                .operator(alertRule.getOperator())
+                .threshold(alertRule.getThreshold())
+                .value(value)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private RuleMatcher getMatcher(String patientId) {
+        RuleMatcher matcher = matchers.get(patientId);
+        LocalDateTime now = LocalDateTime.now();
+        if (matcher == null || matcher.loadedAt.plus(MATCHER_TTL).isBefore(now)) {
+            matcher = new RuleMatcher(alertRuleDao.findAllByPatientId(patientId), now);
+            matchers.put(patientId, matcher);
+        }
+        return matcher;
+    }
+
+    private void notifyCaregivers(Patient patient, List<Alert> alerts) {
+        String patientName = patient.getFirstName() + " " + patient.getLastName();
+        Map<String, List<Alert>> alertsByCaregiver = alerts.stream()
+                .collect(Collectors.groupingBy(Alert::getCaregiverId, LinkedHashMap::new, Collectors.toList()));
+
+        for (Map.Entry<String, List<Alert>> entry : alertsByCaregiver.entrySet()) {
+            String caregiverId = entry.getKey();
+            try {
+                if (!caregiverDao.hasPatient(patient.getPid(), caregiverId)) {
+                    log.info("Caregiver [{}] no longer has Patient [{}], removing its AlertRules", caregiverId, patient.getPid());
+                    for (Alert alert : entry.getValue()) {
+                        alertRuleDao.delete(patient.getPid(), alert.getRuleId());
+                    }
+                    matchers.remove(patient.getPid());
+                    continue;
+                }
+                Caregiver caregiver = caregiverDao.findById(caregiverId);
+                String description = entry.getValue().stream().map(Alert::describe).collect(Collectors.joining("\n"));
+                sesWrapper.alertRuleEmail(caregiver.getEmail(), patientName, description);
+            } catch (Exception e) {
+                log.error("Failed to notify Caregiver [{}] of alerts for Patient [{}]", caregiverId, patient.getPid(), e);
+            }
+        }
+    }
+
+    /**
+     * Primes the AlertRuleService to reduce cold start time.
+     */
+    public void prime() {
+        log.info("Priming AlertRuleService");
+        try {
+            alertRuleDao.findAllByPatientId("pat-prime");
+        } catch (Exception e) {
+            // Expected
+        }
+        log.info("Done priming AlertRuleService");
+    }
+
+    /**
+     * The AlertRules of one Patient indexed by measure.
+     */
+    private static class RuleMatcher {
+        private final Map<MeasureName, List<AlertRule>> rulesByMeasure = new EnumMap<>(MeasureName.class);
+        private final LocalDateTime loadedAt;
+
+        RuleMatcher(List<AlertRule> alertRules, LocalDateTime loadedAt) {
+            for (AlertRule alertRule : alertRules) {
+                if (alertRule.getMeasureName() == null || alertRule.getOperator() == null || alertRule.getThreshold() == null) {
+                    log.warn("Skipping malformed AlertRule {}", alertRule);
+                    continue;
+                }
+                rulesByMeasure.computeIfAbsent(alertRule.getMeasureName(), k -> new ArrayList<>()).add(alertRule);
+            }
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isEmpty() {
+            return rulesByMeasure.isEmpty();
+        }
+
+        boolean hasRules(MeasureName measureName) {
+            return rulesByMeasure.containsKey(measureName);
+        }
+
+        List<AlertRule> getRules(MeasureName measureName) {
+            return rulesByMeasure.getOrDefault(measureName, Collections.emptyList());
+        }
+    }
+
+    @Getter
+    @Builder
+    @ToString
+    @EqualsAndHashCode
+    public static class Alert {
+        private String ruleId;
+        private String caregiverId;
+        private MeasureName measureName;
+        private Operator operator;
+        private double threshold;
+        private double value;
+        private String timestamp;
+
+        public String describe() {
+            return String.format("%s %s %s: value %s at %s",
+                    measureName.type, operator.symbol, threshold, value, timestamp);
+        }
+    }
+}
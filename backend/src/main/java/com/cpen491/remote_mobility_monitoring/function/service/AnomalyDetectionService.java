@@ -0,0 +1,246 @@
+package com.cpen491.remote_mobility_monitoring.function.service;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStateDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.MetricsState;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import com.cpen491.remote_mobility_monitoring.dependency.email.SesWrapper;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.TimeUtils.parseTime;
+
+/**
+ * Detects sustained changes in a Patient's gait metrics at ingest time. For every monitored measure an
+ * exponentially weighted mean and variance are kept together with a one-sided CUSUM of the standardized
+ * deviation in the adverse direction. Each sample is processed in O(1) and only the resulting state is persisted,
+ * so no history needs to be re-queried.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AnomalyDetectionService {
+    public enum Direction {
+        INCREASE,
+        DECREASE
+    }
+
+    /**
+     * The direction of change that is considered adverse for each monitored measure.
+     * Activity totals (distance walked, step count) vary too much day to day and are not monitored.
+     */
+    public static final Map<MeasureName, Direction> MONITORED_MEASURES = new EnumMap<>(MeasureName.class);
+
+    static {
+        MONITORED_MEASURES.put(MeasureName.WALKING_STEADINESS, Direction.DECREASE);
+        MONITORED_MEASURES.put(MeasureName.WALKING_SPEED, Direction.DECREASE);
+        MONITORED_MEASURES.put(MeasureName.STEP_LENGTH, Direction.DECREASE);
+        MONITORED_MEASURES.put(MeasureName.DOUBLE_SUPPORT_TIME, Direction.INCREASE);
+        MONITORED_MEASURES.put(MeasureName.WALKING_ASYMMETRY, Direction.INCREASE);
+    }
+
+    // Weight of the newest sample in the moving mean and variance
+    static final double EWMA_ALPHA = 0.1;
+    // Number of samples used to build a baseline before any alert can be raised
+    static final long WARMUP_SAMPLES = 10;
+    // Deviations (in standard deviations) smaller than this are treated as noise by the CUSUM
+    static final double CUSUM_SLACK = 0.5;
+    // CUSUM value at which an anomaly is raised
+    static final double CUSUM_THRESHOLD = 5.0;
+    // Lower bound of the standard deviation relative to the mean, so near constant series do not alert on tiny changes
+    static final double MIN_RELATIVE_STD_DEV = 0.01;
+    // Attempts to save the state of a measure that is concurrently saved by another ingest of the same Patient
+    static final int MAX_SAVE_ATTEMPTS = 3;
+
+    @NonNull
+    private MetricsStateDao metricsStateDao;
+    @NonNull
+    private PatientDao patientDao;
+    @NonNull
+    private CaregiverDao caregiverDao;
+    @NonNull
+    private SesWrapper sesWrapper;
+
+    /**
+     * Folds newly added Metrics of a Patient into the persisted online statistics and notifies the Caregivers that
+     * have the Patient of any anomalies found, i.e. not primary Caregivers the Patient has not accepted yet. Samples
+     * that are not newer than the last processed sample of the same measure are ignored. The state of each measure
+     * is only saved if no other ingest of the Patient saved it since it was read, otherwise the samples are applied
+     * to the saved state again, up to {@link #MAX_SAVE_ATTEMPTS} attempts.
+     *
+     * @param patient The Patient the metrics belong to
+     * @param metricsList The list of Metrics that were added
+     * @return {@link List} of anomalies that were detected
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patient id is empty or invalid
+     */
+    public List<Anomaly> processMetrics(Patient patient, List<Metrics> metricsList) {
+        Map<MeasureName, List<Metrics>> samplesByMeasure = metricsList.stream()
+                .filter(metrics -> MONITORED_MEASURES.containsKey(metrics.getMeasureName()))
+                .sorted(Comparator.comparing(metrics -> parseTime(metrics.getTimestamp())))
+                .collect(Collectors.groupingBy(Metrics::getMeasureName, () -> new EnumMap<>(MeasureName.class),
+                        Collectors.toList()));
+        if (samplesByMeasure.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String patientId = patient.getPid();
+        Map<MeasureName, MetricsState> states = findStates(patientId);
+        List<Anomaly> anomalies = new ArrayList<>();
+        for (Map.Entry<MeasureName, List<Metrics>> entry : samplesByMeasure.entrySet()) {
+            MeasureName measureName = entry.getKey();
+            for (int attempt = 1; ; attempt++) {
+                MetricsState state = states.getOrDefault(measureName, newState(patientId, measureName));
+                long readCount = state.getCount();
+                String readLastTimestamp = state.getLastTimestamp();
+                List<Anomaly> measureAnomalies = new ArrayList<>();
+                boolean updated = false;
+                for (Metrics metrics : entry.getValue()) {
+                    if (state.getLastTimestamp() != null &&
+                            !parseTime(metrics.getTimestamp()).isAfter(parseTime(state.getLastTimestamp()))) {
+                        continue;
+                    }
+                    double value = Double.parseDouble(metrics.getMeasureValue());
+                    Anomaly anomaly = update(state, value, metrics.getTimestamp());
+                    updated = true;
+                    if (anomaly != null) {
+                        measureAnomalies.add(anomaly);
+                    }
+                }
+
+                if (!updated || metricsStateDao.saveIfUnchanged(state, readCount, readLastTimestamp)) {
+                    anomalies.addAll(measureAnomalies);
+                    break;
+                }
+                if (attempt >= MAX_SAVE_ATTEMPTS) {
+                    log.error("Dropping {} samples of Patient [{}] after {} concurrent updates of its state",
+                            measureName, patientId, attempt);
+                    break;
+                }
+                // Another ingest of the Patient saved the state since it was read, so the samples are applied again
+                states = findStates(patientId);
+            }
+        }
+
+        if (!anomalies.isEmpty()) {
+            log.warn("Detected anomalies {} for Patient [{}]", anomalies, patientId);
+            notifyCaregivers(patient, anomalies);
+        }
+        return anomalies;
+    }
+
+    /**
+     * Applies one sample to the state and returns an Anomaly if the CUSUM crosses the threshold.
+     * The CUSUM is computed against the baseline before the sample is folded in, and is reset after an alert.
+     */
+    static Anomaly update(MetricsState state, double value, String timestamp) {
+        MeasureName measureName = state.getMeasureName();
+        Direction direction = MONITORED_MEASURES.get(measureName);
+        long count = state.getCount();
+        double mean = state.getMean();
+        double variance = state.getVariance();
+
+        Anomaly anomaly = null;
+        if (count >= WARMUP_SAMPLES) {
+            double stdDev = Math.max(Math.sqrt(variance), MIN_RELATIVE_STD_DEV * Math.abs(mean));
+            double z = stdDev > 0 ? (value - mean) / stdDev : 0;
+            double adverse = direction == Direction.DECREASE ? -z : z;
+            double cusum = Math.max(0, state.getCusum() + adverse - CUSUM_SLACK);
+            if (cusum >= CUSUM_THRESHOLD) {
+                anomaly = Anomaly.builder()
+                        .measureName(measureName)
+                        .direction(direction)
+                        .value(value)
+                        .baseline(mean)
+                        .timestamp(timestamp)
+                        .build();
+                cusum = 0;
+            }
+            state.setCusum(cusum);
+        }
+
+        if (count == 0) {
+            mean = value;
+            variance = 0;
+        } else {
+            double diff = value - mean;
+            double increment = EWMA_ALPHA * diff;
+            mean += increment;
+            variance = (1 - EWMA_ALPHA) * (variance + diff * increment);
+        }
+        state.setMean(mean);
+        state.setVariance(variance);
+        state.setCount(count + 1);
+        state.setLastTimestamp(timestamp);
+        return anomaly;
+    }
+
+    private Map<MeasureName, MetricsState> findStates(String patientId) {
+        return metricsStateDao.findAllByPatientId(patientId).stream()
+                .filter(state -> state.getMeasureName() != null)
+                .collect(Collectors.toMap(MetricsState::getMeasureName, state -> state));
+    }
+
+    private static MetricsState newState(String patientId, MeasureName measureName) {
+        return MetricsState.builder()
+                .pid(patientId)
+                .sid(MetricsState.buildSid(measureName))
+                .measureName(measureName)
+                .count(0L)
+                .mean(0.0)
+                .variance(0.0)
+                .cusum(0.0)
+                .build();
+    }
+
+    private void notifyCaregivers(Patient patient, List<Anomaly> anomalies) {
+        String patientName = patient.getFirstName() + " " + patient.getLastName();
+        String description = anomalies.stream().map(Anomaly::describe).collect(Collectors.joining("\n"));
+
+        List<Caregiver> caregivers = patientDao.findAllCaregivers(patient.getPid());
+        for (Caregiver caregiver : caregivers) {
+            try {
+                if (!caregiverDao.hasPatient(patient.getPid(), caregiver.getPid())) {
+                    log.info("Caregiver [{}] does not have Patient [{}], not notifying of anomalies", caregiver.getPid(), patient.getPid());
+                    continue;
+                }
+                sesWrapper.metricsAnomalyEmail(caregiver.getEmail(), patientName, description);
+            } catch (Exception e) {
+                log.error("Failed to notify Caregiver [{}] of anomalies for Patient [{}]", caregiver.getPid(), patient.getPid(), e);
+            }
+        }
+    }
+
+    @Getter
+    @Builder
+    @ToString
+    @EqualsAndHashCode
+    public static class Anomaly {
+        private MeasureName measureName;
+        private Direction direction;
+        private double value;
+        private double baseline;
+        private String timestamp;
+
+        public String describe() {
+            return String.format("%s: sustained %s, latest value %.3f against a baseline of %.3f (at %s)",
+                    measureName.type, direction.name().toLowerCase(), value, baseline, timestamp);
+        }
+    }
+}
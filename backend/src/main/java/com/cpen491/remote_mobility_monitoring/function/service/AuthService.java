@@ -1,15 +1,25 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.AdminDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AuthDecisionCache;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AuthDecisionCache.Relation;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.CognitoWrapper;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.Principal;
 import com.cpen491.remote_mobility_monitoring.dependency.exception.InsufficientPermissionException;
 import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AdminTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
 
@@ -24,6 +34,8 @@ public class AuthService {
     private CaregiverDao caregiverDao;
     @NonNull
     private PatientDao patientDao;
+    @NonNull
+    private AuthDecisionCache authDecisionCache;
 
     /**
      * Verifies that the user sending the request is same as the resource entity.
@@ -58,39 +70,70 @@ public class AuthService {
     }
 
     /**
-     * Verifies that user is an Admin.
+     * Verifies that user is an Admin using the Cognito groups claimed by its JWT. Falls back to
+     * {@link #isAdmin(String)} if the JWT has no groups claim.
+     *
+     * @param principal The user sending the request
+     * @throws InsufficientPermissionException If principal is not in the Admin group
+     */
+    public void isAdmin(Principal principal) {
+        if (!principal.hasGroups()) {
+            isAdmin(principal.getRawId());
+        } else if (!principal.isInGroup(CognitoWrapper.ADMIN_GROUP_NAME)) {
+            log.error("[{}] is not in the admin group", principal.getRawId());
+            throw new InsufficientPermissionException();
+        }
+    }
+
+    /**
+     * Verifies that user is an Admin. The decision is cached, see {@link AuthDecisionCache}.
      *
      * @param rawId The user rawId without prefix
      * @throws InsufficientPermissionException If rawId does not correspond to an Admin record
      */
     public void isAdmin(String rawId) {
-        try {
-            String id = AdminTable.ID_PREFIX + rawId;
-            adminDao.findById(id);
-        } catch (Exception e) {
+        String id = AdminTable.ID_PREFIX + rawId;
+
+        if (!isAllowed(id, Relation.IS_ADMIN, id, () -> adminDao.exists(id))) {
             log.error("[{}] does not correspond to an admin record", rawId);
             throw new InsufficientPermissionException();
         }
     }
 
     /**
-     * Verifies that user is a Caregiver.
+     * Verifies that user is a Caregiver using the Cognito groups claimed by its JWT. Falls back to
+     * {@link #isCaregiver(String)} if the JWT has no groups claim.
+     *
+     * @param principal The user sending the request
+     * @throws InsufficientPermissionException If principal is not in the Caregiver group
+     */
+    public void isCaregiver(Principal principal) {
+        if (!principal.hasGroups()) {
+            isCaregiver(principal.getRawId());
+        } else if (!principal.isInGroup(CognitoWrapper.CAREGIVER_GROUP_NAME)) {
+            log.error("[{}] is not in the caregiver group", principal.getRawId());
+            throw new InsufficientPermissionException();
+        }
+    }
+
+    /**
+     * Verifies that user is a Caregiver. The decision is cached, see {@link AuthDecisionCache}.
      *
      * @param rawId The user rawId without prefix
      * @throws InsufficientPermissionException If rawId does not correspond to a Caregiver record
      */
     public void isCaregiver(String rawId) {
-        try {
-            String id = CaregiverTable.ID_PREFIX + rawId;
-            caregiverDao.findById(id);
-        } catch (Exception e) {
+        String id = CaregiverTable.ID_PREFIX + rawId;
+
+        if (!isAllowed(id, Relation.IS_CAREGIVER, id, () -> caregiverDao.exists(id))) {
             log.error("[{}] does not correspond to a caregiver record", rawId);
             throw new InsufficientPermissionException();
         }
     }
 
     /**
-     * Verifies that Caregiver is the primary Caregiver of Patient.
+     * Verifies that Caregiver is the primary Caregiver of Patient. The decision is cached, see
+     * {@link AuthDecisionCache}.
      *
      * @param caregiverId The id of the Caregiver
      * @param patientId The id of the Patient
@@ -99,16 +142,19 @@ public class AuthService {
      * @throws NullPointerException Above 2 exceptions are thrown if patientId or caregiverId is empty or invalid
      */
     public void caregiverIsPrimaryCaregiverOfPatient(String caregiverId, String patientId) {
-        caregiverId = CaregiverTable.ID_PREFIX + caregiverId;
+        String id = CaregiverTable.ID_PREFIX + caregiverId;
+        Validator.validatePatientId(patientId);
+        Validator.validateCaregiverId(id);
 
-        if (!caregiverDao.isPrimaryCaregiverOfPatient(patientId, caregiverId)) {
-            log.error("Caregiver [{}] is not the primary caregiver of Patient [{}]", caregiverId, patientId);
+        if (!isAllowed(id, Relation.IS_PRIMARY_CAREGIVER_OF, patientId,
+                () -> caregiverDao.isPrimaryCaregiverOfPatient(patientId, id))) {
+            log.error("Caregiver [{}] is not the primary caregiver of Patient [{}]", id, patientId);
             throw new InsufficientPermissionException();
         }
     }
 
     /**
-     * Verifies that Caregiver has Patient.
+     * Verifies that Caregiver has Patient. The decision is cached, see {@link AuthDecisionCache}.
      *
      * @param caregiverId The id of the Caregiver
      * @param patientId The id of the Patient
@@ -117,11 +163,63 @@ public class AuthService {
      * @throws NullPointerException Above 2 exceptions are thrown if patientId or caregiverId is empty or invalid
      */
     public void caregiverHasPatient(String caregiverId, String patientId) {
-        caregiverId = CaregiverTable.ID_PREFIX + caregiverId;
+        String id = CaregiverTable.ID_PREFIX + caregiverId;
+        Validator.validatePatientId(patientId);
+        Validator.validateCaregiverId(id);
+
+        if (!isAllowed(id, Relation.HAS_PATIENT, patientId, () -> caregiverDao.hasPatient(patientId, id))) {
+            log.error("Caregiver [{}] does not have Patient [{}]", id, patientId);
+            throw new InsufficientPermissionException();
+        }
+    }
+
+    /**
+     * Verifies that Caregiver has all Patients. The pairs without a cached decision are checked together, see
+     * {@link CaregiverDao#findPatientsWithoutAccess}, and their decisions are cached, see {@link AuthDecisionCache}.
+     *
+     * @param caregiverId The id of the Caregiver
+     * @param patientIds The ids of the Patients
+     * @throws InsufficientPermissionException If Caregiver does not have any of the Patients
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if patientIds is null, or any of patientIds or
+     *                              caregiverId is empty or invalid
+     */
+    public void caregiverHasPatients(String caregiverId, List<String> patientIds) {
+        String id = CaregiverTable.ID_PREFIX + caregiverId;
+        Validator.validateIds(patientIds);
+        patientIds.forEach(Validator::validatePatientId);
+        Validator.validateCaregiverId(id);
 
-        if (!caregiverDao.hasPatient(patientId, caregiverId)) {
-            log.error("Caregiver [{}] does not have Patient [{}]", caregiverId, patientId);
+        Set<String> withoutAccess = new LinkedHashSet<>();
+        List<String> uncached = new ArrayList<>();
+        for (String patientId : patientIds) {
+            Boolean allowed = authDecisionCache.get(id, Relation.HAS_PATIENT, patientId);
+            if (allowed == null) {
+                uncached.add(patientId);
+            } else if (!allowed) {
+                withoutAccess.add(patientId);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            Set<String> uncachedWithoutAccess = caregiverDao.findPatientsWithoutAccess(uncached, id);
+            for (String patientId : uncached) {
+                authDecisionCache.put(id, Relation.HAS_PATIENT, patientId, !uncachedWithoutAccess.contains(patientId));
+            }
+            withoutAccess.addAll(uncachedWithoutAccess);
+        }
+        if (!withoutAccess.isEmpty()) {
+            log.error("Caregiver [{}] does not have Patients {}", id, withoutAccess);
             throw new InsufficientPermissionException();
         }
     }
+
+    private boolean isAllowed(String principal, Relation relation, String resource, BooleanSupplier check) {
+        Boolean cached = authDecisionCache.get(principal, relation, resource);
+        if (cached != null) {
+            return cached;
+        }
+        boolean allowed = check.getAsBoolean();
+        authDecisionCache.put(principal, relation, resource, allowed);
+        return allowed;
+    }
 }
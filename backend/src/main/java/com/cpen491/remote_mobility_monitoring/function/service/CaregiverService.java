@@ -1,7 +1,11 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.DeleteReport;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.ReadExecutor;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterPage;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterQuery;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.DuplicateRecordException;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
@@ -30,6 +34,8 @@ import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetCareg
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetCaregiverResponseBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemovePatientRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemovePatientResponseBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.SearchPatientsRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.SearchPatientsResponseBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.UpdateCaregiverRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.UpdateCaregiverResponseBody;
 import lombok.NonNull;
@@ -39,6 +45,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
@@ -61,6 +68,8 @@ public class CaregiverService {
     private CognitoWrapper cognitoWrapper;
     @NonNull
     private SesWrapper sesWrapper;
+    @NonNull
+    private ReadExecutor readExecutor;
 
     /**
      * Creates a Caregiver in database and Cognito and adds it to an Organization.
@@ -208,8 +217,10 @@ public class CaregiverService {
         log.info("Getting Caregiver {}", body);
         Validator.validateGetCaregiverRequestBody(body);
 
+        CompletableFuture<Organization> organizationRead = readExecutor.supplyAsync(
+                () -> caregiverDao.findOrganization(body.getCaregiverId()));
         Caregiver caregiver = caregiverDao.findById(body.getCaregiverId());
-        Organization organization = caregiverDao.findOrganization(body.getCaregiverId());
+        Organization organization = ReadExecutor.join(organizationRead);
 
         return GetCaregiverResponseBody.builder()
                 .email(caregiver.getEmail())
@@ -224,26 +235,59 @@ public class CaregiverService {
     }
 
     /**
-     * Gets all Patients for a Caregiver.
+     * Gets all Patients for a Caregiver. If any of limit, cursor, sort, or namePrefix is given, only one page of
+     * Patients is returned together with the cursor of the next page, see {@link CaregiverDao#findPatientPage}.
      *
      * @param body The request body
      * @return {@link GetAllPatientsResponseBody}
      * @throws RecordDoesNotExistException If Caregiver record with the given caregiverId does not exist
      * @throws IllegalArgumentException
-     * @throws NullPointerException Above 2 exceptions are thrown if caregiverId is empty
+     * @throws NullPointerException Above 2 exceptions are thrown if caregiverId is empty, or any of limit, cursor,
+     *                              or sort is invalid
      */
     public GetAllPatientsResponseBody getAllPatients(GetAllPatientsRequestBody body) {
         log.info("Getting all Patients {}", body);
         Validator.validateGetAllPatientsRequestBody(body);
 
         caregiverDao.findById(body.getCaregiverId());
-        List<Patient> patients = caregiverDao.findAllPatients(body.getCaregiverId());
+        RosterQuery query = RosterQuery.fromParameters(body.getLimit(), body.getCursor(), body.getSort(),
+                body.getNamePrefix());
+        if (query != null) {
+            RosterPage<Patient> page = caregiverDao.findPatientPage(body.getCaregiverId(), query);
+            return GetAllPatientsResponseBody.builder()
+                    .patients(page.getItems().stream().map(PatientSerialization::fromPatient).collect(Collectors.toList()))
+                    .nextCursor(page.getNextCursor())
+                    .build();
+        }
+        List<Patient> patients = caregiverDao.findAllPatients(body.getCaregiverId(), CaregiverDao.PATIENT_ROSTER_PROJECTION);
 
         return GetAllPatientsResponseBody.builder()
                 .patients(patients.stream().map(PatientSerialization::fromPatient).collect(Collectors.toList()))
                 .build();
     }
 
+    /**
+     * Searches the Patients of a Caregiver by prefixes of their names and email, see {@link CaregiverDao#searchPatients}.
+     * At most limit Patients are returned, or {@link RosterQuery#DEFAULT_LIMIT} if limit is not given. The Caregiver
+     * is not read, so a Caregiver that does not exist simply has no Patients.
+     *
+     * @param body The request body
+     * @return {@link SearchPatientsResponseBody}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if caregiverId or search is empty, or limit is invalid
+     */
+    public SearchPatientsResponseBody searchPatients(SearchPatientsRequestBody body) {
+        log.info("Searching Patients {}", body);
+        Validator.validateSearchPatientsRequestBody(body);
+
+        int limit = body.getLimit() == null ? RosterQuery.DEFAULT_LIMIT : body.getLimit();
+        List<Patient> patients = caregiverDao.searchPatients(body.getCaregiverId(), body.getSearch(), limit);
+
+        return SearchPatientsResponseBody.builder()
+                .patients(patients.stream().map(PatientSerialization::fromPatient).collect(Collectors.toList()))
+                .build();
+    }
+
     /**
      * Updates a Caregiver.
      *
@@ -289,7 +333,8 @@ public class CaregiverService {
             log.warn("Error {} thrown when trying to find and delete Caregiver {} in Cognito", e.getClass(), body);
         }
 
-        caregiverDao.delete(body.getCaregiverId());
+        DeleteReport report = caregiverDao.delete(body.getCaregiverId());
+        log.info("Deleted Caregiver {}", report);
 
         return DeleteCaregiverResponseBody.builder()
                 .message("OK")
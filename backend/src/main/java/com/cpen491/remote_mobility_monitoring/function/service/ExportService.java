@@ -0,0 +1,85 @@
+package com.cpen491.remote_mobility_monitoring.function.service;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
+import com.cpen491.remote_mobility_monitoring.dependency.exception.ExportException;
+import com.cpen491.remote_mobility_monitoring.dependency.export.ExportFormat;
+import com.cpen491.remote_mobility_monitoring.dependency.export.ExportStorage;
+import com.cpen491.remote_mobility_monitoring.dependency.export.MetricsExportWriter;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
+import com.cpen491.remote_mobility_monitoring.function.schema.patient.ExportMetricsRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.patient.ExportMetricsResponseBody;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+@Slf4j
+@AllArgsConstructor
+public class ExportService {
+    private static final String EXPORT_ID_PREFIX = "exp-";
+
+    @NonNull
+    private MetricsStore metricsStore;
+    @NonNull
+    private ExportStorage exportStorage;
+
+    /**
+     * Exports the Metrics of a cohort of Patients at specified time range into a file in export storage. Rows are
+     * streamed from Timestream into the file page by page, so memory use does not depend on the size of the export.
+     * The file is only published once completely written, and is discarded if the export fails.
+     *
+     * @param body The request body
+     * @return {@link ExportMetricsResponseBody}
+     * @throws ExportException If the export file cannot be written or published
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if any of patientIds, start, end, or format
+     *                              are empty or invalid
+     */
+    public ExportMetricsResponseBody exportMetrics(ExportMetricsRequestBody body) {
+        log.info("Exporting Metrics {}", body);
+        Validator.validateExportMetricsRequestBody(body);
+
+        ExportFormat format = ExportFormat.convertToEnum(body.getFormat());
+        String exportId = EXPORT_ID_PREFIX + UUID.randomUUID();
+        String name = exportId + format.extension;
+
+        long rowCount;
+        String location;
+        try {
+            rowCount = write(body, format, name);
+            location = exportStorage.publish(name);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to write export [{}]", name, e);
+            exportStorage.discard(name);
+            throw new ExportException(e);
+        } catch (RuntimeException e) {
+            exportStorage.discard(name);
+            throw e;
+        }
+        log.info("Exported {} Metrics to [{}]", rowCount, name);
+
+        return ExportMetricsResponseBody.builder()
+                .exportId(exportId)
+                .format(format.type)
+                .location(location)
+                .rowCount(rowCount)
+                .build();
+    }
+
+    private long write(ExportMetricsRequestBody body, ExportFormat format, String name) throws IOException {
+        try (MetricsExportWriter writer = format.createWriter(exportStorage.create(name))) {
+            metricsStore.stream(body.getPatientIds(), null, null, null, null, null, null, null,
+                    body.getStart(), body.getEnd(), metrics -> {
+                        try {
+                            writer.write(metrics);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+            return writer.getRowCount();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationRoster;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterPage;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterQuery;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.DuplicateRecordException;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Admin;
@@ -13,6 +16,8 @@ import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOr
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody.AdminSerialization;
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody.CaregiverSerialization;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.SearchCaregiversRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.SearchCaregiversResponseBody;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -50,25 +55,64 @@ public class OrganizationService {
     }
 
     /**
-     * Gets the Organization specified by organizationId. Also returns all caregivers in this Organization.
+     * Gets the Organization specified by organizationId. Also returns all admins and caregivers in this Organization.
+     * If any of limit, cursor, sort, or namePrefix is given, only one page of caregivers is returned together with
+     * the cursor of the next page, see {@link OrganizationDao#findCaregiverPage}.
      *
      * @param body The request body
      * @return {@link GetOrganizationResponseBody}
      * @throws RecordDoesNotExistException If Organization record with the given organizationId does not exist
      * @throws IllegalArgumentException
-     * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty
+     * @throws NullPointerException Above 2 exceptions are thrown if organizationId is empty, or any of limit, cursor,
+     *                              or sort is invalid
      */
     public GetOrganizationResponseBody getOrganization(GetOrganizationRequestBody body) {
         log.info("Getting Organization {}", body);
         Validator.validateGetOrganizationRequestBody(body);
 
-        Organization organization = organizationDao.findById(body.getOrganizationId());
-        List<Admin> admins = organizationDao.findAllAdmins(body.getOrganizationId());
-        List<Caregiver> caregivers = organizationDao.findAllCaregivers(body.getOrganizationId());
+        RosterQuery query = RosterQuery.fromParameters(body.getLimit(), body.getCursor(), body.getSort(),
+                body.getNamePrefix());
+        if (query != null) {
+            Organization organization = organizationDao.findById(body.getOrganizationId());
+            List<Admin> admins = organizationDao.findAllAdmins(body.getOrganizationId(), OrganizationDao.ADMIN_ROSTER_PROJECTION);
+            RosterPage<Caregiver> page = organizationDao.findCaregiverPage(body.getOrganizationId(), query);
+            return GetOrganizationResponseBody.builder()
+                    .organizationName(organization.getName())
+                    .admins(admins.stream().map(AdminSerialization::fromAdmin).collect(Collectors.toList()))
+                    .caregivers(page.getItems().stream().map(CaregiverSerialization::fromCaregiver).collect(Collectors.toList()))
+                    .nextCursor(page.getNextCursor())
+                    .build();
+        }
+
+        OrganizationRoster roster = organizationDao.findRosterById(body.getOrganizationId());
 
         return GetOrganizationResponseBody.builder()
-                .organizationName(organization.getName())
-                .admins(admins.stream().map(AdminSerialization::fromAdmin).collect(Collectors.toList()))
+                .organizationName(roster.getOrganization().getName())
+                .admins(roster.getAdmins().stream().map(AdminSerialization::fromAdmin).collect(Collectors.toList()))
+                .caregivers(roster.getCaregivers().stream().map(CaregiverSerialization::fromCaregiver).collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Searches the Caregivers of an Organization by prefixes of their names and email, see
+     * {@link OrganizationDao#searchCaregivers}. At most limit Caregivers are returned, or
+     * {@link RosterQuery#DEFAULT_LIMIT} if limit is not given. The Organization is not read, so an Organization that
+     * does not exist simply has no Caregivers.
+     *
+     * @param body The request body
+     * @return {@link SearchCaregiversResponseBody}
+     * @throws IllegalArgumentException
+     * @throws NullPointerException Above 2 exceptions are thrown if organizationId or search is empty, or limit is
+     *                              invalid
+     */
+    public SearchCaregiversResponseBody searchCaregivers(SearchCaregiversRequestBody body) {
+        log.info("Searching Caregivers {}", body);
+        Validator.validateSearchCaregiversRequestBody(body);
+
+        int limit = body.getLimit() == null ? RosterQuery.DEFAULT_LIMIT : body.getLimit();
+        List<Caregiver> caregivers = organizationDao.searchCaregivers(body.getOrganizationId(), body.getSearch(), limit);
+
+        return SearchCaregiversResponseBody.builder()
                 .caregivers(caregivers.stream().map(CaregiverSerialization::fromCaregiver).collect(Collectors.toList()))
                 .build();
     }
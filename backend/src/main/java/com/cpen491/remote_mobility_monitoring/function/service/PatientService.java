@@ -1,7 +1,9 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
-import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.DeleteReport;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.ReadExecutor;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.DuplicateRecordException;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.InvalidMetricsException;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
@@ -38,6 +40,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
@@ -50,9 +53,15 @@ public class PatientService {
     @NonNull
     private PatientDao patientDao;
     @NonNull
-    private MetricsDao metricsDao;
+    private MetricsStore metricsStore;
     @NonNull
     private CognitoWrapper cognitoWrapper;
+    @NonNull
+    private AnomalyDetectionService anomalyDetectionService;
+    @NonNull
+    private AlertRuleService alertRuleService;
+    @NonNull
+    private ReadExecutor readExecutor;
 
     /**
      * Creates a Patient in database and Cognito.
@@ -133,8 +142,10 @@ public class PatientService {
         log.info("Getting all Caregivers {}", body);
         Validator.validateGetAllCaregiversRequestBody(body);
 
+        CompletableFuture<List<Caregiver>> caregiversRead = readExecutor.supplyAsync(
+                () -> patientDao.findAllCaregivers(body.getPatientId(), PatientDao.CAREGIVER_ROSTER_PROJECTION));
         patientDao.findById(body.getPatientId());
-        List<Caregiver> caregivers = patientDao.findAllCaregivers(body.getPatientId());
+        List<Caregiver> caregivers = ReadExecutor.join(caregiversRead);
 
         return GetAllCaregiversResponseBody.builder()
                 .caregivers(caregivers.stream().map(CaregiverSerialization::fromCaregiver).collect(Collectors.toList()))
@@ -142,7 +153,8 @@ public class PatientService {
     }
 
     /**
-     * Add Metrics to Patient.
+     * Add Metrics to Patient. Once stored, the Metrics are also passed through anomaly detection and evaluated
+     * against the Patient's alert rules. Failures in either are logged and do not fail the request.
      *
      * @param body The request body
      * @return {@link AddMetricsResponseBody}
@@ -164,7 +176,18 @@ public class PatientService {
             metricsList.addAll(AddMetricsSerialization.convertToMetrics(patient, serialization));
         }
 
-        metricsDao.add(metricsList);
+        metricsStore.add(metricsList);
+
+        try {
+            anomalyDetectionService.processMetrics(patient, metricsList);
+        } catch (Exception e) {
+            log.error("Anomaly detection failed for Patient [{}]", patient.getPid(), e);
+        }
+        try {
+            alertRuleService.evaluateMetrics(patient, metricsList);
+        } catch (Exception e) {
+            log.error("Alert rule evaluation failed for Patient [{}]", patient.getPid(), e);
+        }
 
         return AddMetricsResponseBody.builder()
                 .message("OK")
@@ -183,7 +206,7 @@ public class PatientService {
         log.info("Querying Metrics {}", body);
         Validator.validateQueryMetricsRequestBody(body);
 
-        List<Metrics> metrics = metricsDao.query(
+        List<Metrics> metrics = metricsStore.query(
                 body.getPatientIds(),
                 body.getMinAge(),
                 body.getMaxAge(),
@@ -252,7 +275,8 @@ public class PatientService {
             log.warn("Error {} thrown when trying to find and delete Patient {} in Cognito", e.getClass(), body);
         }
 
-        patientDao.delete(body.getPatientId());
+        DeleteReport report = patientDao.delete(body.getPatientId());
+        log.info("Deleted Patient {}", report);
 
         return DeletePatientResponseBody.builder()
                 .message("OK")
@@ -270,7 +294,7 @@ public class PatientService {
             // Expected
         }
         try {
-            metricsDao.query(Collections.singletonList("pat-prime"), "2023-01-01T00:00:00", "2023-01-02T00:00:00");
+            metricsStore.query(Collections.singletonList("pat-prime"), "2023-01-01T00:00:00", "2023-01-02T00:00:00");
         } catch (Exception e) {
             // Expected
         }
@@ -0,0 +1,117 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads Metrics from CSV with a header row containing at least patient_id, measure_name, measure_value, and timestamp.
+ * Other columns are ignored, so files produced by the metrics export can be imported back. Timestamps are expected
+ * in UTC either in ISO-8601 or in the Timestream format (space instead of T).
+ */
+public class CsvMetricsReader implements MetricsReader {
+    static final String PATIENT_ID_COLUMN = "patient_id";
+    static final String MEASURE_NAME_COLUMN = "measure_name";
+    static final String MEASURE_VALUE_COLUMN = "measure_value";
+    static final String TIMESTAMP_COLUMN = "timestamp";
+
+    private final BufferedReader reader;
+    private final int patientIdIndex;
+    private final int measureNameIndex;
+    private final int measureValueIndex;
+    private final int timestampIndex;
+
+    public CsvMetricsReader(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IOException("CSV input is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        this.patientIdIndex = getColumn(columns, PATIENT_ID_COLUMN);
+        this.measureNameIndex = getColumn(columns, MEASURE_NAME_COLUMN);
+        this.measureValueIndex = getColumn(columns, MEASURE_VALUE_COLUMN);
+        this.timestampIndex = getColumn(columns, TIMESTAMP_COLUMN);
+    }
+
+    @Override
+    public Metrics next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> fields = parseLine(line);
+        String timestamp = getField(fields, timestampIndex);
+        return Metrics.builder()
+                .patientId(getField(fields, patientIdIndex))
+                .measureName(MeasureName.convertToEnum(getField(fields, measureNameIndex)))
+                .measureValue(getField(fields, measureValueIndex))
+                .timestamp(timestamp == null ? null : timestamp.replace(' ', 'T'))
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int getColumn(Map<String, Integer> columns, String name) throws IOException {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new IOException("CSV input is missing column " + name);
+        }
+        return index;
+    }
+
+    private static String getField(List<String> fields, int index) {
+        if (index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,121 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads Metrics of one Patient from an Apple Health export (export.xml) with a streaming XML parser. Only Record
+ * elements of the quantity types the app collects are returned, converted to the units the app sends. Records with
+ * a unit that cannot be converted are returned without a value so they are rejected by validation.
+ */
+public class HealthKitMetricsReader implements MetricsReader {
+    private static final String RECORD_ELEMENT = "Record";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z");
+    private static final Map<String, MeasureName> TYPE_TO_MEASURE_NAME = new HashMap<>();
+    private static final Map<MeasureName, Map<String, Double>> UNIT_CONVERSIONS = new EnumMap<>(MeasureName.class);
+
+    static {
+        TYPE_TO_MEASURE_NAME.put("HKQuantityTypeIdentifierWalkingStepLength", MeasureName.STEP_LENGTH);
+        TYPE_TO_MEASURE_NAME.put("HKQuantityTypeIdentifierWalkingDoubleSupportPercentage", MeasureName.DOUBLE_SUPPORT_TIME);
+        TYPE_TO_MEASURE_NAME.put("HKQuantityTypeIdentifierWalkingSpeed", MeasureName.WALKING_SPEED);
+        TYPE_TO_MEASURE_NAME.put("HKQuantityTypeIdentifierWalkingAsymmetryPercentage", MeasureName.WALKING_ASYMMETRY);
+        TYPE_TO_MEASURE_NAME.put("HKQuantityTypeIdentifierDistanceWalkingRunning", MeasureName.DISTANCE_WALKED);
+        TYPE_TO_MEASURE_NAME.put("HKQuantityTypeIdentifierStepCount", MeasureName.STEP_COUNT);
+        TYPE_TO_MEASURE_NAME.put("HKQuantityTypeIdentifierAppleWalkingSteadiness", MeasureName.WALKING_STEADINESS);
+
+        // Same units as the iOS app: cm, fraction, m/s, fraction, m, count, fraction
+        UNIT_CONVERSIONS.put(MeasureName.STEP_LENGTH, Map.of("cm", 1.0, "m", 100.0, "in", 2.54, "ft", 30.48));
+        UNIT_CONVERSIONS.put(MeasureName.DOUBLE_SUPPORT_TIME, Map.of("%", 1.0));
+        UNIT_CONVERSIONS.put(MeasureName.WALKING_SPEED, Map.of("m/s", 1.0, "km/hr", 1 / 3.6, "mi/hr", 0.44704));
+        UNIT_CONVERSIONS.put(MeasureName.WALKING_ASYMMETRY, Map.of("%", 1.0));
+        UNIT_CONVERSIONS.put(MeasureName.DISTANCE_WALKED, Map.of("m", 1.0, "km", 1000.0, "mi", 1609.344, "ft", 0.3048, "yd", 0.9144));
+        UNIT_CONVERSIONS.put(MeasureName.STEP_COUNT, Map.of("count", 1.0));
+        UNIT_CONVERSIONS.put(MeasureName.WALKING_STEADINESS, Map.of("%", 1.0));
+    }
+
+    private final String patientId;
+    private final XMLStreamReader reader;
+
+    public HealthKitMetricsReader(InputStream in, String patientId) throws IOException {
+        this.patientId = patientId;
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            this.reader = factory.createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public Metrics next() throws IOException {
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !RECORD_ELEMENT.equals(reader.getLocalName())) {
+                    continue;
+                }
+                MeasureName measureName = TYPE_TO_MEASURE_NAME.get(reader.getAttributeValue(null, "type"));
+                if (measureName == null) {
+                    continue;
+                }
+                return Metrics.builder()
+                        .patientId(patientId)
+                        .measureName(measureName)
+                        .measureValue(convertValue(measureName, reader.getAttributeValue(null, "unit"),
+                                reader.getAttributeValue(null, "value")))
+                        .timestamp(convertDate(reader.getAttributeValue(null, "startDate")))
+                        .build();
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static String convertValue(MeasureName measureName, String unit, String value) {
+        Double factor = UNIT_CONVERSIONS.get(measureName).get(unit);
+        if (factor == null || value == null) {
+            return null;
+        }
+        try {
+            return Double.toString(Double.parseDouble(value) * factor);
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    private static String convertDate(String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(date, DATE_FORMATTER).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime().toString();
+        } catch (DateTimeParseException e) {
+            return date;
+        }
+    }
+}
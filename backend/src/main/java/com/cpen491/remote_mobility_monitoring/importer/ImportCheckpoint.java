@@ -0,0 +1,48 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Persists how far an import got, as the number of input records from the start of the file that have all been
+ * handled (written or rejected). The file is replaced atomically so a crash never leaves a partial checkpoint.
+ */
+@AllArgsConstructor
+public class ImportCheckpoint {
+    private static final String RECORDS_PROCESSED_KEY = "records_processed";
+
+    @NonNull
+    private Path file;
+
+    /**
+     * @return The number of records already processed, 0 if there is no checkpoint yet
+     */
+    public long load() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return Long.parseLong(properties.getProperty(RECORDS_PROCESSED_KEY, "0"));
+    }
+
+    public void save(long recordsProcessed) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(RECORDS_PROCESSED_KEY, Long.toString(recordsProcessed));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,89 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.function.module.AwsModule;
+import com.cpen491.remote_mobility_monitoring.function.module.DatastoreModule;
+import com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule;
+import com.cpen491.remote_mobility_monitoring.importer.MetricsImporter.ImportResult;
+import software.amazon.awssdk.http.SdkHttpClient;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command line entry point for importing historical Metrics. Uses the same environment variables as the Lambda
+ * functions (DYNAMO_DB_TABLE_NAME, TIMESTREAM_DATABASE_NAME, TIMESTREAM_TABLE_NAME, METRICS_STORE,
+ * METRICS_STORE_DIRECTORY) and the default AWS credentials.
+ *
+ * <pre>
+ * --input &lt;file&gt;          CSV or Apple Health export.xml, optionally gzipped (.gz)
+ * --format csv|healthkit  Input format, default csv
+ * --patient-id &lt;id&gt;      Patient the records belong to, required for healthkit
+ * --checkpoint &lt;file&gt;     Checkpoint file, default &lt;input&gt;.checkpoint
+ * --parallelism &lt;n&gt;       Number of concurrent writers, default 4
+ * </pre>
+ */
+public class MetricsImportCommand {
+    private static final String CSV_FORMAT = "csv";
+    private static final String HEALTHKIT_FORMAT = "healthkit";
+    private static final int DEFAULT_PARALLELISM = 4;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        String input = options.get("input");
+        String format = options.getOrDefault("format", CSV_FORMAT);
+        String patientId = options.get("patient-id");
+        if (input == null || (!CSV_FORMAT.equals(format) && !HEALTHKIT_FORMAT.equals(format))
+                || (HEALTHKIT_FORMAT.equals(format) && patientId == null)) {
+            System.err.println("Usage: --input <file> [--format csv|healthkit] [--patient-id <id>] "
+                    + "[--checkpoint <file>] [--parallelism <n>]");
+            System.exit(2);
+            return;
+        }
+        Path checkpointFile = Paths.get(options.getOrDefault("checkpoint", input + ".checkpoint"));
+        int parallelism = Integer.parseInt(options.getOrDefault("parallelism", Integer.toString(DEFAULT_PARALLELISM)));
+
+        SdkHttpClient httpClient = AwsModule.httpClient();
+        PatientDao patientDao = DatastoreModule.patientDao(DatastoreModule.daoFactory(EnvironmentModule.dynamoDbTableName(),
+                EnvironmentModule.associationLayout(), EnvironmentModule.organizationShards(),
+                AwsModule.dynamoDbClient(httpClient), DatastoreModule.entityCache(), DatastoreModule.identityMap(),
+                DatastoreModule.authDecisionCache()));
+        // The import only writes, so there is no point in caching with a hot tier
+        MetricsStore metricsStore = DatastoreModule.metricsStore(EnvironmentModule.metricsStore(),
+                EnvironmentModule.metricsStoreDirectory(), "0", () -> DatastoreModule.metricsDao(DatastoreModule.metricsDaoFactory(
+                        EnvironmentModule.timestreamDatabaseName(), EnvironmentModule.timestreamTableName(),
+                        AwsModule.timestreamWriteClient(httpClient), AwsModule.timestreamQueryClient(httpClient))));
+
+        MetricsImporter importer = new MetricsImporter(metricsStore, patientDao::findById, parallelism);
+        ImportResult result;
+        try (InputStream in = open(Paths.get(input));
+             MetricsReader reader = CSV_FORMAT.equals(format) ? new CsvMetricsReader(in) : new HealthKitMetricsReader(in, patientId)) {
+            result = importer.importMetrics(reader, new ImportCheckpoint(checkpointFile));
+        }
+        System.out.println(result);
+        System.exit(result.isFailed() ? 1 : 0);
+    }
+
+    private static InputStream open(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path));
+        return path.toString().endsWith(".gz") ? new GZIPInputStream(in) : in;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].startsWith("--")) {
+                options.put(args[i].substring(2), args[i + 1]);
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,277 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
+import com.cpen491.remote_mobility_monitoring.datastore.exception.InvalidMetricsException;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import com.cpen491.remote_mobility_monitoring.dependency.utility.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.timestreamwrite.model.ThrottlingException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsDao.MAX_RECORDS_PER_WRITE;
+
+/**
+ * Imports historical Metrics into a {@link MetricsStore}. Input is read one record at a time and partitioned by Patient onto a
+ * fixed number of writers, each of which writes batches of at most {@link MetricsDao#MAX_RECORDS_PER_WRITE} records
+ * and backs off with jitter when Timestream throttles. Progress is checkpointed as the number of leading input records
+ * that are fully handled, so an interrupted import resumes from there. Records between the checkpoint and the point
+ * of interruption are written again on resume, which Timestream accepts since identical records are idempotent.
+ */
+@Slf4j
+public class MetricsImporter {
+    static final int MAX_ATTEMPTS = 8;
+    static final long BASE_BACKOFF_MILLIS = 100;
+    static final long MAX_BACKOFF_MILLIS = 20_000;
+    private static final int QUEUE_CAPACITY = MAX_RECORDS_PER_WRITE * 10;
+    private static final int CHECKPOINT_INTERVAL = 10_000;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final Entry END_OF_INPUT = new Entry(-1, null);
+
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    @NonNull
+    private final MetricsStore metricsStore;
+    @NonNull
+    private final Function<String, Patient> patientLookup;
+    private final int parallelism;
+    @NonNull
+    private final Sleeper sleeper;
+
+    /**
+     * @param metricsStore  The MetricsStore to write to
+     * @param patientLookup Finds a Patient by ID, returning null or throwing if the Patient does not exist
+     * @param parallelism   The number of concurrent writers
+     */
+    public MetricsImporter(MetricsStore metricsStore, Function<String, Patient> patientLookup, int parallelism) {
+        this(metricsStore, patientLookup, parallelism, Thread::sleep);
+    }
+
+    MetricsImporter(MetricsStore metricsStore, Function<String, Patient> patientLookup, int parallelism, Sleeper sleeper) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.metricsStore = metricsStore;
+        this.patientLookup = patientLookup;
+        this.parallelism = parallelism;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Imports all Metrics from reader, skipping the records already processed according to checkpoint. Records that
+     * fail validation, belong to an unknown Patient, or are rejected by Timestream are counted and skipped.
+     *
+     * @param reader     The input
+     * @param checkpoint The checkpoint to resume from and to update
+     * @return {@link ImportResult}
+     * @throws IOException If the input or the checkpoint cannot be read or written
+     */
+    public ImportResult importMetrics(MetricsReader reader, ImportCheckpoint checkpoint) throws IOException {
+        long resumeFrom = checkpoint.load();
+        log.info("Importing Metrics with {} writers, resuming after {} records", parallelism, resumeFrom);
+
+        ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+        AtomicLong written = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Map<String, Patient> patients = new HashMap<>();
+
+        List<BlockingQueue<Entry>> queues = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            queues.add(queue);
+            executor.execute(() -> runWriter(queue, pending, written, rejected, failure));
+        }
+
+        long sequence = 0;
+        long read = 0;
+        try {
+            Metrics metrics;
+            while (failure.get() == null && (metrics = reader.next()) != null) {
+                long current = sequence++;
+                if (current < resumeFrom) {
+                    continue;
+                }
+                read++;
+                if (!prepare(metrics, patients)) {
+                    rejected.incrementAndGet();
+                    continue;
+                }
+                pending.add(current);
+                int partition = Math.floorMod(metrics.getPatientId().hashCode(), parallelism);
+                if (!offer(queues.get(partition), new Entry(current, metrics), failure)) {
+                    break;
+                }
+                if (read % CHECKPOINT_INTERVAL == 0) {
+                    checkpoint.save(watermark(pending, sequence));
+                }
+            }
+        } finally {
+            boolean ended = true;
+            for (BlockingQueue<Entry> queue : queues) {
+                ended &= offer(queue, END_OF_INPUT, failure);
+            }
+            if (ended) {
+                executor.shutdown();
+            } else {
+                // A writer failed, so the others may never see the end of input
+                executor.shutdownNow();
+            }
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        long recordsProcessed = watermark(pending, sequence);
+        checkpoint.save(recordsProcessed);
+        ImportResult result = ImportResult.builder()
+                .read(read)
+                .written(written.get())
+                .rejected(rejected.get())
+                .recordsProcessed(recordsProcessed)
+                .failed(failure.get() != null)
+                .build();
+        log.info("Import finished {}", result);
+        return result;
+    }
+
+    private boolean prepare(Metrics metrics, Map<String, Patient> patients) {
+        try {
+            Validator.validateMetrics(metrics);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("Skipping invalid Metrics {}: {}", metrics, e.getMessage());
+            return false;
+        }
+        Patient patient = patients.computeIfAbsent(metrics.getPatientId(), this::findPatient);
+        if (patient == null) {
+            log.warn("Skipping Metrics of unknown Patient {}", metrics);
+            return false;
+        }
+        metrics.setHeight(patient.getHeight());
+        metrics.setWeight(patient.getWeight());
+        metrics.setSex(patient.getSex());
+        metrics.setBirthday(patient.getBirthday() == null ? null : patient.getBirthday().toString());
+        return true;
+    }
+
+    private Patient findPatient(String patientId) {
+        try {
+            return patientLookup.apply(patientId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to find Patient [{}]", patientId, e);
+            return null;
+        }
+    }
+
+    private void runWriter(BlockingQueue<Entry> queue, ConcurrentSkipListSet<Long> pending,
+                           AtomicLong written, AtomicLong rejected, AtomicReference<Exception> failure) {
+        List<Entry> batch = new ArrayList<>(MAX_RECORDS_PER_WRITE);
+        boolean done = false;
+        try {
+            while (!done) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_RECORDS_PER_WRITE - 1);
+                done = batch.remove(END_OF_INPUT);
+                if (!batch.isEmpty()) {
+                    List<Metrics> metricsList = new ArrayList<>(batch.size());
+                    batch.forEach(entry -> metricsList.add(entry.metrics));
+                    if (write(metricsList)) {
+                        written.addAndGet(metricsList.size());
+                    } else {
+                        rejected.addAndGet(metricsList.size());
+                    }
+                    batch.forEach(entry -> pending.remove(entry.sequence));
+                    batch.clear();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Import writer failed", e);
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Writes a batch, retrying with exponential backoff and full jitter while Timestream throttles.
+     *
+     * @return true if the batch was written, false if Timestream rejected it
+     * @throws ThrottlingException If still throttled after {@link #MAX_ATTEMPTS} attempts
+     */
+    private boolean write(List<Metrics> metricsList) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                metricsStore.add(metricsList);
+                return true;
+            } catch (InvalidMetricsException e) {
+                log.warn("Timestream rejected batch of {} Metrics", metricsList.size(), e);
+                return false;
+            } catch (ThrottlingException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                long cap = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+                sleeper.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+            }
+        }
+    }
+
+    private static boolean offer(BlockingQueue<Entry> queue, Entry entry, AtomicReference<Exception> failure) {
+        try {
+            while (failure.get() == null) {
+                if (queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+        return false;
+    }
+
+    private static long watermark(ConcurrentSkipListSet<Long> pending, long sequence) {
+        Long lowest = pending.ceiling(Long.MIN_VALUE);
+        return lowest == null ? sequence : lowest;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final long sequence;
+        private final Metrics metrics;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    public static class ImportResult {
+        private long read;
+        private long written;
+        private long rejected;
+        private long recordsProcessed;
+        private boolean failed;
+    }
+}
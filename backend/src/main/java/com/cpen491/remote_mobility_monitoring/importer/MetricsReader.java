@@ -0,0 +1,17 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads Metrics from an input file one record at a time. Records are returned as parsed, without validation,
+ * so that every record in the file is counted once whether it can be imported or not.
+ */
+public interface MetricsReader extends Closeable {
+    /**
+     * @return The next record, or null if the end of the input is reached
+     */
+    Metrics next() throws IOException;
+}
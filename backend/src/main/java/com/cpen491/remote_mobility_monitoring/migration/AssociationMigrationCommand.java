@@ -0,0 +1,33 @@
+package com.cpen491.remote_mobility_monitoring.migration;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AssociationLayout;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.GenericDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.TableMigrations;
+import com.cpen491.remote_mobility_monitoring.function.module.AwsModule;
+import com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule;
+
+/**
+ * Command line entry point for rewriting all association records in another {@link AssociationLayout}. Uses the
+ * DYNAMO_DB_TABLE_NAME environment variable and the default AWS credentials. Run it before switching the
+ * ASSOCIATION_LAYOUT of the Lambda functions, and again afterwards to pick up associations written in between.
+ * Rewriting is idempotent.
+ *
+ * <pre>
+ * --layout normalized|denormalized  Layout to rewrite the associations in
+ * </pre>
+ */
+public class AssociationMigrationCommand {
+    public static void main(String[] args) {
+        AssociationLayout layout = args.length == 2 && "--layout".equals(args[0]) ? AssociationLayout.convertToEnum(args[1]) : null;
+        if (layout == null) {
+            System.err.println("Usage: --layout normalized|denormalized");
+            System.exit(2);
+            return;
+        }
+
+        TableMigrations migrations = new TableMigrations(new GenericDao(EnvironmentModule.dynamoDbTableName(),
+                AwsModule.dynamoDbClient(AwsModule.httpClient()), layout, null));
+        long rewritten = migrations.rewriteAssociations(layout);
+        System.out.println("Rewrote " + rewritten + " association records as " + layout.layout);
+    }
+}
@@ -0,0 +1,24 @@
+package com.cpen491.remote_mobility_monitoring.migration;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.GenericDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.TableMigrations;
+import com.cpen491.remote_mobility_monitoring.function.module.AwsModule;
+import com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
+
+/**
+ * Command line entry point for claiming the emails of Caregiver and Patient records created before emails were
+ * claimed, so that new records cannot reuse them. Uses the DYNAMO_DB_TABLE_NAME environment variable and the default
+ * AWS credentials. Run it once after deploying the Lambda functions that claim emails. Backfilling is idempotent.
+ */
+public class EmailClaimMigrationCommand {
+    public static void main(String[] args) {
+        TableMigrations migrations = new TableMigrations(new GenericDao(EnvironmentModule.dynamoDbTableName(),
+                AwsModule.dynamoDbClient(AwsModule.httpClient())));
+        long caregivers = migrations.backfillClaims(CaregiverTable.ID_PREFIX, CaregiverTable.EMAIL_NAME);
+        long patients = migrations.backfillClaims(PatientTable.ID_PREFIX, PatientTable.EMAIL_NAME);
+        System.out.println("Claimed the emails of " + caregivers + " Caregiver and " + patients + " Patient records");
+    }
+}
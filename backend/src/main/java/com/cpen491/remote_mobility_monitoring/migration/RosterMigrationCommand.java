@@ -0,0 +1,24 @@
+package com.cpen491.remote_mobility_monitoring.migration;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.GenericDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.TableMigrations;
+import com.cpen491.remote_mobility_monitoring.function.module.AwsModule;
+import com.cpen491.remote_mobility_monitoring.function.module.DatastoreModule;
+import com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule;
+
+/**
+ * Command line entry point for writing the roster index keys of association records created before rosters were
+ * paginated, so that paginated roster requests list them. Uses the DYNAMO_DB_TABLE_NAME, ASSOCIATION_LAYOUT and
+ * ORGANIZATION_SHARDS environment variables with the values of the Lambda functions, and the default AWS credentials.
+ * Run it once after deploying the roster indexes. Backfilling is idempotent.
+ */
+public class RosterMigrationCommand {
+    public static void main(String[] args) {
+        TableMigrations migrations = new TableMigrations(new GenericDao(EnvironmentModule.dynamoDbTableName(),
+                AwsModule.dynamoDbClient(AwsModule.httpClient()),
+                DatastoreModule.associationLayout(EnvironmentModule.associationLayout()), null, null,
+                DatastoreModule.partitionShards(EnvironmentModule.organizationShards())));
+        long written = migrations.backfillRosterKeys();
+        System.out.println("Wrote the roster keys of " + written + " association records");
+    }
+}
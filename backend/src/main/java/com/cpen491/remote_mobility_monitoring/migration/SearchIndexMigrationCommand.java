@@ -0,0 +1,25 @@
+package com.cpen491.remote_mobility_monitoring.migration;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.GenericDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.TableMigrations;
+import com.cpen491.remote_mobility_monitoring.function.module.AwsModule;
+import com.cpen491.remote_mobility_monitoring.function.module.DatastoreModule;
+import com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule;
+
+/**
+ * Command line entry point for writing the search index records of the Patients of Caregivers and the Caregivers of
+ * Organizations associated before the search index existed, so that searches find them. Uses the
+ * DYNAMO_DB_TABLE_NAME, ASSOCIATION_LAYOUT and ORGANIZATION_SHARDS environment variables with the values of the Lambda
+ * functions, and the default AWS credentials. Run it once after deploying the search functions. Backfilling is
+ * idempotent.
+ */
+public class SearchIndexMigrationCommand {
+    public static void main(String[] args) {
+        TableMigrations migrations = new TableMigrations(new GenericDao(EnvironmentModule.dynamoDbTableName(),
+                AwsModule.dynamoDbClient(AwsModule.httpClient()),
+                DatastoreModule.associationLayout(EnvironmentModule.associationLayout()), null, null,
+                DatastoreModule.partitionShards(EnvironmentModule.organizationShards())));
+        long indexed = migrations.backfillSearchIndex();
+        System.out.println("Indexed " + indexed + " association records for search");
+    }
+}
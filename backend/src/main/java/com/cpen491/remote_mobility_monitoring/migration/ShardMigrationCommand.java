@@ -0,0 +1,23 @@
+package com.cpen491.remote_mobility_monitoring.migration;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AssociationLayout;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.GenericDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.TableMigrations;
+import com.cpen491.remote_mobility_monitoring.function.module.AwsModule;
+import com.cpen491.remote_mobility_monitoring.function.module.DatastoreModule;
+import com.cpen491.remote_mobility_monitoring.function.module.EnvironmentModule;
+
+/**
+ * Command line entry point for moving all association records to the partitions given by the ORGANIZATION_SHARDS
+ * environment variable. Uses the DYNAMO_DB_TABLE_NAME environment variable and the default AWS credentials. Run it
+ * after changing the ORGANIZATION_SHARDS of the Lambda functions, with the same value. Moving is idempotent.
+ */
+public class ShardMigrationCommand {
+    public static void main(String[] args) {
+        TableMigrations migrations = new TableMigrations(new GenericDao(EnvironmentModule.dynamoDbTableName(),
+                AwsModule.dynamoDbClient(AwsModule.httpClient()), AssociationLayout.DENORMALIZED, null, null,
+                DatastoreModule.partitionShards(EnvironmentModule.organizationShards())));
+        long moved = migrations.reshardAssociations();
+        System.out.println("Moved " + moved + " association records to their shards");
+    }
+}
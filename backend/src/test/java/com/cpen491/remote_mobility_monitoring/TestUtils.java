@@ -1,9 +1,12 @@
 package com.cpen491.remote_mobility_monitoring;
 
 import com.cpen491.remote_mobility_monitoring.datastore.model.Admin;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule.Operator;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.MetricsState;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Organization;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
 import org.assertj.core.api.ThrowableAssert;
@@ -92,4 +95,31 @@ public class TestUtils {
                 .timestamp(timestamp)
                 .build();
     }
+
+    public static MetricsState buildMetricsState(String patientId, MeasureName measureName, Long count, Double mean,
+                                                 Double variance, Double cusum, String lastTimestamp) {
+        return MetricsState.builder()
+                .pid(patientId)
+                .sid(MetricsState.buildSid(measureName))
+                .measureName(measureName)
+                .count(count)
+                .mean(mean)
+                .variance(variance)
+                .cusum(cusum)
+                .lastTimestamp(lastTimestamp)
+                .build();
+    }
+
+    public static AlertRule buildAlertRule(String patientId, String ruleId, String caregiverId, MeasureName measureName,
+                                           Operator operator, Double threshold, Long durationMinutes) {
+        return AlertRule.builder()
+                .pid(patientId)
+                .sid(ruleId)
+                .caregiverId(caregiverId)
+                .measureName(measureName)
+                .operator(operator)
+                .threshold(threshold)
+                .durationMinutes(durationMinutes)
+                .build();
+    }
 }
@@ -34,6 +34,7 @@ import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validato
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -162,6 +163,15 @@ class AdminDaoTest extends DaoTestParent {
         );
     }
 
+    @Test
+    public void testExists_HappyCase() {
+        Admin newRecord = buildAdminDefault();
+        createAdmin(newRecord);
+
+        assertTrue(cut.exists(PID));
+        assertFalse(cut.exists(PID2));
+    }
+
     @Test
     public void testFindByEmail_HappyCase() {
         Admin newRecord = buildAdminDefault();
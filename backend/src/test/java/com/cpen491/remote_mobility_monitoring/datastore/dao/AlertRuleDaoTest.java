@@ -0,0 +1,223 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule.Operator;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.assertInvalidInputExceptionThrown;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildAlertRule;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildPatient;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.ALERT_RULE_RECORD_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.CAREGIVER_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.DURATION_MINUTES_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.MEASURE_NAME_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.OPERATOR_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.RULE_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.RULE_ID_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.THRESHOLD_NULL_ERROR_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlertRuleDaoTest extends DaoTestParent {
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+    private static final String CAREGIVER_ID = "car-1";
+    private static final String RULE_ID = "rul-1";
+    private static final String TIMESTAMP = "2023-02-01T00:12:30.10101";
+
+    AlertRuleDao cut;
+    PatientDao patientDao;
+
+    @BeforeEach
+    public void setup() {
+        setupTable();
+        cut = new AlertRuleDao(genericDao);
+        patientDao = new PatientDao(genericDao);
+    }
+
+    @AfterEach
+    public void teardown() {
+        teardownTable();
+    }
+
+    @Test
+    public void testCreate_HappyCase() {
+        AlertRule alertRule = buildAlertRuleDefault(PATIENT_ID1);
+        cut.create(alertRule);
+
+        assertThat(alertRule.getSid()).startsWith("rul-");
+        assertEquals(0L, alertRule.getDurationMinutes());
+        AlertRule found = cut.findById(PATIENT_ID1, alertRule.getSid());
+        assertEquals(alertRule, found);
+        assertNotNull(found.getCreatedAt());
+        assertNotNull(found.getUpdatedAt());
+    }
+
+    @Test
+    public void testFindById_WHEN_RecordDoesNotExist_THEN_ThrowRecordDoesNotExistException() {
+        assertThatThrownBy(() -> cut.findById(PATIENT_ID1, RULE_ID)).isInstanceOf(RecordDoesNotExistException.class);
+    }
+
+    @Test
+    public void testFindAllByPatientId_WHEN_OtherAssociationsExist_THEN_ReturnOnlyRules() {
+        Patient patient = buildPatient(PATIENT_ID1, PATIENT_ID1, "patient@email.com", null, "Jack", "Jackson", "1234567890");
+        createPatient(patient);
+        putPrimaryKey(PATIENT_ID1, CAREGIVER_ID);
+        AlertRule alertRule1 = buildAlertRuleDefault(PATIENT_ID1);
+        AlertRule alertRule2 = buildAlertRuleDefault(PATIENT_ID1);
+        AlertRule alertRule3 = buildAlertRuleDefault(PATIENT_ID2);
+        cut.create(alertRule1);
+        cut.create(alertRule2);
+        cut.create(alertRule3);
+
+        List<AlertRule> found = cut.findAllByPatientId(PATIENT_ID1);
+        assertThat(found).containsExactlyInAnyOrder(alertRule1, alertRule2);
+    }
+
+    @Test
+    public void testUpdateEvaluationState_HappyCase() {
+        AlertRule alertRule = buildAlertRuleDefault(PATIENT_ID1);
+        cut.create(alertRule);
+
+        alertRule.setBreachStartedAt(TIMESTAMP);
+        alertRule.setLastEvaluatedAt(TIMESTAMP);
+        alertRule.setLastTriggeredAt(TIMESTAMP);
+        List<AlertRule> deleted = cut.updateEvaluationState(Collections.singletonList(alertRule));
+
+        assertThat(deleted).isEmpty();
+        AlertRule found = cut.findById(PATIENT_ID1, alertRule.getSid());
+        assertEquals(TIMESTAMP, found.getBreachStartedAt());
+        assertEquals(TIMESTAMP, found.getLastEvaluatedAt());
+        assertEquals(TIMESTAMP, found.getLastTriggeredAt());
+        assertEquals(alertRule.getCreatedAt(), found.getCreatedAt());
+    }
+
+    @Test
+    public void testUpdateEvaluationState_WHEN_BreachReset_THEN_WriteOnlyEvaluationState() {
+        AlertRule alertRule = buildAlertRuleDefault(PATIENT_ID1);
+        alertRule.setBreachStartedAt(TIMESTAMP);
+        cut.create(alertRule);
+
+        alertRule.setBreachStartedAt(null);
+        alertRule.setLastEvaluatedAt(TIMESTAMP);
+        alertRule.setThreshold(1.0);
+        cut.updateEvaluationState(Collections.singletonList(alertRule));
+
+        AlertRule found = cut.findById(PATIENT_ID1, alertRule.getSid());
+        assertNull(found.getBreachStartedAt());
+        assertEquals(TIMESTAMP, found.getLastEvaluatedAt());
+        assertEquals(1000.0, found.getThreshold());
+    }
+
+    @Test
+    public void testUpdateEvaluationState_WHEN_RecordDeleted_THEN_ReturnItAndWriteNothing() {
+        AlertRule alertRule1 = buildAlertRuleDefault(PATIENT_ID1);
+        AlertRule alertRule2 = buildAlertRuleDefault(PATIENT_ID1);
+        cut.create(alertRule1);
+        cut.create(alertRule2);
+        cut.delete(PATIENT_ID1, alertRule1.getSid());
+
+        alertRule1.setLastEvaluatedAt(TIMESTAMP);
+        alertRule2.setLastEvaluatedAt(TIMESTAMP);
+        List<AlertRule> deleted = cut.updateEvaluationState(List.of(alertRule1, alertRule2));
+
+        assertThat(deleted).containsExactly(alertRule1);
+        assertFalse(findByPrimaryKey(PATIENT_ID1, alertRule1.getSid()).hasItem());
+        assertEquals(TIMESTAMP, cut.findById(PATIENT_ID1, alertRule2.getSid()).getLastEvaluatedAt());
+    }
+
+    @Test
+    public void testDelete_HappyCase() {
+        AlertRule alertRule = buildAlertRuleDefault(PATIENT_ID1);
+        cut.create(alertRule);
+        assertTrue(findByPrimaryKey(PATIENT_ID1, alertRule.getSid()).hasItem());
+
+        cut.delete(PATIENT_ID1, alertRule.getSid());
+        assertFalse(findByPrimaryKey(PATIENT_ID1, alertRule.getSid()).hasItem());
+    }
+
+    @Test
+    public void testDeletePatient_THEN_RulesAreDeleted() {
+        Patient patient = buildPatient(PATIENT_ID1, PATIENT_ID1, "patient@email.com", null, "Jack", "Jackson", "1234567890");
+        createPatient(patient);
+        AlertRule alertRule = buildAlertRuleDefault(PATIENT_ID1);
+        cut.create(alertRule);
+
+        patientDao.delete(PATIENT_ID1);
+        assertFalse(findByPrimaryKey(PATIENT_ID1, alertRule.getSid()).hasItem());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForCreate")
+    public void testCreate_WHEN_InvalidInput_THEN_ThrowInvalidInputException(AlertRule record, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.create(record), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForCreate() {
+        return Stream.of(
+                Arguments.of(buildAlertRule(null, null, CAREGIVER_ID, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, null), PATIENT_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(buildAlertRule(CAREGIVER_ID, null, CAREGIVER_ID, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, null), PATIENT_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(buildAlertRule(PATIENT_ID1, null, null, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, null), CAREGIVER_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(buildAlertRule(PATIENT_ID1, null, CAREGIVER_ID, null, Operator.LESS_THAN, 1000.0, null), MEASURE_NAME_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAlertRule(PATIENT_ID1, null, CAREGIVER_ID, MeasureName.STEP_COUNT, null, 1000.0, null), OPERATOR_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAlertRule(PATIENT_ID1, null, CAREGIVER_ID, MeasureName.STEP_COUNT, Operator.LESS_THAN, null, null), THRESHOLD_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAlertRule(PATIENT_ID1, null, CAREGIVER_ID, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, -1L), DURATION_MINUTES_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @Test
+    public void testCreate_WHEN_NullRecord_THEN_ThrowNullPointerException() {
+        assertThatThrownBy(() -> cut.create(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForFindById")
+    public void testFindById_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String patientId, String ruleId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.findById(patientId, ruleId), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForFindById() {
+        return Stream.of(
+                Arguments.of(null, RULE_ID, PATIENT_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(CAREGIVER_ID, RULE_ID, PATIENT_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(PATIENT_ID1, "", RULE_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(PATIENT_ID1, CAREGIVER_ID, RULE_ID_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForUpdate")
+    public void testUpdateEvaluationState_WHEN_InvalidInput_THEN_ThrowInvalidInputException(AlertRule record, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.updateEvaluationState(Collections.singletonList(record)), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForUpdate() {
+        return Stream.of(
+                Arguments.of(null, ALERT_RULE_RECORD_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAlertRule(PATIENT_ID1, null, CAREGIVER_ID, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L), RULE_ID_BLANK_ERROR_MESSAGE)
+        );
+    }
+
+    private static AlertRule buildAlertRuleDefault(String patientId) {
+        return buildAlertRule(patientId, null, CAREGIVER_ID, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, null);
+    }
+}
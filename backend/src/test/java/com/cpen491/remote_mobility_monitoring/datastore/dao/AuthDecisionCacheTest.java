@@ -0,0 +1,108 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AuthDecisionCache.Relation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuthDecisionCacheTest {
+    private static final int MAX_ENTRIES = 3;
+    private static final long ALLOW_TTL_MILLIS = 1000;
+    private static final long DENY_TTL_MILLIS = 100;
+    private static final String CAREGIVER_ID1 = "car-1";
+    private static final String CAREGIVER_ID2 = "car-2";
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+
+    AtomicLong clock;
+    AuthDecisionCache cut;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        cut = new AuthDecisionCache(MAX_ENTRIES, ALLOW_TTL_MILLIS, DENY_TTL_MILLIS, clock::get);
+    }
+
+    @Test
+    public void testGet_WHEN_Cached_THEN_ReturnDecision() {
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1, true);
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID2, false);
+
+        assertTrue(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1));
+        assertFalse(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID2));
+        assertNull(cut.get(CAREGIVER_ID1, Relation.IS_PRIMARY_CAREGIVER_OF, PATIENT_ID1));
+        assertNull(cut.get(CAREGIVER_ID2, Relation.HAS_PATIENT, PATIENT_ID1));
+    }
+
+    @Test
+    public void testGet_WHEN_DenialExpired_THEN_ReturnNullBeforeAllowExpires() {
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1, true);
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID2, false);
+        clock.set(DENY_TTL_MILLIS);
+
+        assertTrue(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1));
+        assertNull(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID2));
+
+        clock.set(ALLOW_TTL_MILLIS);
+
+        assertNull(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1));
+        assertEquals(0, cut.size());
+    }
+
+    @Test
+    public void testPut_WHEN_Full_THEN_EvictLeastRecentlyUsed() {
+        cut.put(CAREGIVER_ID1, Relation.IS_CAREGIVER, CAREGIVER_ID1, true);
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1, true);
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID2, true);
+        cut.get(CAREGIVER_ID1, Relation.IS_CAREGIVER, CAREGIVER_ID1);
+        cut.put(CAREGIVER_ID2, Relation.IS_CAREGIVER, CAREGIVER_ID2, true);
+
+        assertEquals(MAX_ENTRIES, cut.size());
+        assertTrue(cut.get(CAREGIVER_ID1, Relation.IS_CAREGIVER, CAREGIVER_ID1));
+        assertNull(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1));
+    }
+
+    @Test
+    public void testGet_WHEN_HitsAndMisses_THEN_CountBoth() {
+        cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1);
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1, false);
+        cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1);
+        cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1);
+
+        assertEquals(2, cut.getHitCount());
+        assertEquals(1, cut.getMissCount());
+    }
+
+    @Test
+    public void testInvalidate_WHEN_Cached_THEN_RemoveDecisionsOfPair() {
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1, false);
+        cut.put(CAREGIVER_ID1, Relation.IS_PRIMARY_CAREGIVER_OF, PATIENT_ID1, false);
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID2, true);
+        cut.invalidate(CAREGIVER_ID1, PATIENT_ID1);
+
+        assertNull(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1));
+        assertNull(cut.get(CAREGIVER_ID1, Relation.IS_PRIMARY_CAREGIVER_OF, PATIENT_ID1));
+        assertTrue(cut.get(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID2));
+    }
+
+    @Test
+    public void testInvalidateAll_WHEN_Cached_THEN_RemoveDecisionsWithId() {
+        cut.put(CAREGIVER_ID1, Relation.IS_CAREGIVER, CAREGIVER_ID1, true);
+        cut.put(CAREGIVER_ID1, Relation.HAS_PATIENT, PATIENT_ID1, true);
+        cut.put(CAREGIVER_ID2, Relation.HAS_PATIENT, PATIENT_ID1, true);
+        cut.invalidateAll(CAREGIVER_ID1);
+
+        assertEquals(1, cut.size());
+        assertTrue(cut.get(CAREGIVER_ID2, Relation.HAS_PATIENT, PATIENT_ID1));
+
+        cut.invalidateAll(PATIENT_ID1);
+
+        assertEquals(0, cut.size());
+    }
+}
@@ -337,6 +337,36 @@ public class CaregiverDaoTest extends DaoTestParent {
         assertInvalidInputExceptionThrown(() -> cut.hasPatient(patientId, caregiverId), errorMessage);
     }
 
+    @Test
+    public void testFindPatientsWithoutAccess_HappyCase() {
+        Patient patient1 = buildPatient(PATIENT_ID1, PATIENT_ID1, PATIENT_EMAIL1, null, null, null, null);
+        createPatient(patient1);
+        Patient patient2 = buildPatient(PATIENT_ID2, PATIENT_ID2, PATIENT_EMAIL2, null, null, null, null);
+        createPatient(patient2);
+        Caregiver caregiver = buildCaregiverDefault();
+        createCaregiver(caregiver);
+        cut.addPatient(PATIENT_ID1, PID);
+        cut.addPatientPrimary(PATIENT_EMAIL2, PID, AUTH_CODE);
+
+        assertThat(cut.findPatientsWithoutAccess(List.of(PATIENT_ID1, PATIENT_ID2, "pat-3", PATIENT_ID1), PID))
+                .containsExactly(PATIENT_ID2, "pat-3");
+
+        cut.acceptPatientPrimary(PATIENT_ID2, PID);
+        assertThat(cut.findPatientsWithoutAccess(List.of(PATIENT_ID1, PATIENT_ID2), PID)).isEmpty();
+        assertThat(cut.findPatientsWithoutAccess(List.of(), PID)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForHasPatient")
+    public void testFindPatientsWithoutAccess_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String patientId, String caregiverId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.findPatientsWithoutAccess(Arrays.asList(patientId), caregiverId), errorMessage);
+    }
+
+    @Test
+    public void testFindPatientsWithoutAccess_WHEN_PatientIdsNull_THEN_ThrowInvalidInputException() {
+        assertInvalidInputExceptionThrown(() -> cut.findPatientsWithoutAccess(null, PID), IDS_NULL_ERROR_MESSAGE);
+    }
+
     private static Stream<Arguments> invalidInputsForHasPatient() {
         return Stream.of(
                 Arguments.of(null, PID, PATIENT_ID_BLANK_ERROR_MESSAGE),
@@ -489,6 +519,25 @@ public class CaregiverDaoTest extends DaoTestParent {
         assertFalse(response2.hasItem());
     }
 
+    @Test
+    public void testRemovePatient_WHEN_DecisionCached_THEN_InvalidateDecision() {
+        AuthDecisionCache authDecisionCache = new AuthDecisionCache(100, 60000, 10000);
+        cut = new CaregiverDao(genericDao, new OrganizationDao(genericDao), new PatientDao(genericDao), authDecisionCache);
+        Patient patient = buildPatientDefault();
+        createPatient(patient);
+        Caregiver caregiver = buildCaregiverDefault();
+        createCaregiver(caregiver);
+        authDecisionCache.put(PID, AuthDecisionCache.Relation.HAS_PATIENT, PATIENT_ID1, false);
+        cut.addPatient(PATIENT_ID1, PID);
+
+        assertNull(authDecisionCache.get(PID, AuthDecisionCache.Relation.HAS_PATIENT, PATIENT_ID1));
+
+        authDecisionCache.put(PID, AuthDecisionCache.Relation.HAS_PATIENT, PATIENT_ID1, true);
+        cut.removePatient(PATIENT_ID1, PID);
+
+        assertNull(authDecisionCache.get(PID, AuthDecisionCache.Relation.HAS_PATIENT, PATIENT_ID1));
+    }
+
     @Test
     public void testRemovePatient_WHEN_RecordsDoNotExist_THEN_DoNothing() {
         cut.removePatient(PATIENT_ID1, PID);
@@ -539,6 +588,20 @@ public class CaregiverDaoTest extends DaoTestParent {
         );
     }
 
+    @Test
+    public void testExists_HappyCase() {
+        Caregiver newRecord = buildCaregiverDefault();
+        createCaregiver(newRecord);
+
+        assertTrue(cut.exists(PID));
+        assertFalse(cut.exists(PID2));
+    }
+
+    @Test
+    public void testExists_WHEN_InvalidInput_THEN_ThrowInvalidInputException() {
+        assertInvalidInputExceptionThrown(() -> cut.exists(PATIENT_ID1), CAREGIVER_ID_INVALID_ERROR_MESSAGE);
+    }
+
     @Test
     public void testFindByEmail_HappyCase() {
         Caregiver newRecord = buildCaregiverDefault();
@@ -648,6 +711,28 @@ public class CaregiverDaoTest extends DaoTestParent {
         assertThat(patients).containsExactlyInAnyOrder(patient1, patient2);
     }
 
+    @Test
+    public void testFindAllPatients_WHEN_RosterProjection_THEN_ReadOnlyProjectedAttributes() {
+        Patient patient = buildPatientDefault();
+        createPatient(patient);
+        Caregiver caregiver = buildCaregiverDefault();
+        createCaregiver(caregiver);
+
+        cut.addPatientPrimary(PATIENT_EMAIL1, PID, AUTH_CODE);
+        List<Patient> patients = cut.findAllPatients(PID, CaregiverDao.PATIENT_ROSTER_PROJECTION);
+        assertEquals(1, patients.size());
+        Patient found = patients.get(0);
+        assertEquals(patient.getPid(), found.getPid());
+        assertEquals(patient.getEmail(), found.getEmail());
+        assertEquals(patient.getFirstName(), found.getFirstName());
+        assertEquals(patient.getLastName(), found.getLastName());
+        assertEquals(patient.getPhoneNumber(), found.getPhoneNumber());
+        assertTrue(found.getIsPrimary());
+        assertFalse(found.getVerified());
+        assertNull(found.getDeviceId());
+        assertNull(found.getCreatedAt());
+    }
+
     @Test
     public void testFindAllPatients_WHEN_CaregiverRecordDoesNotExist_THEN_ReturnEmptyList() {
         List<Patient> patients = cut.findAllPatients(PID);
@@ -815,6 +900,79 @@ public class CaregiverDaoTest extends DaoTestParent {
         );
     }
 
+    @Test
+    public void testFindPatientPage_HappyCase() {
+        Patient patient1 = buildPatient(PATIENT_ID1, PATIENT_ID1, PATIENT_EMAIL1, DEVICE_ID, "Jack", "Smith", PHONE_NUMBER);
+        createPatient(patient1);
+        Patient patient2 = buildPatient(PATIENT_ID2, PATIENT_ID2, PATIENT_EMAIL2, null, "Jill", "Adams", PHONE_NUMBER);
+        createPatient(patient2);
+        Caregiver caregiver = buildCaregiverDefault();
+        createCaregiver(caregiver);
+
+        cut.addPatientPrimary(PATIENT_EMAIL1, PID, AUTH_CODE);
+        cut.addPatient(PATIENT_ID2, PID);
+        RosterQuery query = RosterQuery.builder().limit(1).build();
+        RosterPage<Patient> page1 = cut.findPatientPage(PID, query);
+        query.setCursor(page1.getNextCursor());
+        RosterPage<Patient> page2 = cut.findPatientPage(PID, query);
+
+        assertEquals(1, page1.getItems().size());
+        assertEquals(PATIENT_ID2, page1.getItems().get(0).getPid());
+        assertEquals("Adams", page1.getItems().get(0).getLastName());
+        assertNotNull(page1.getNextCursor());
+        assertEquals(1, page2.getItems().size());
+        Patient found = page2.getItems().get(0);
+        assertEquals(PATIENT_ID1, found.getPid());
+        assertTrue(found.getIsPrimary());
+        assertFalse(found.getVerified());
+        assertNull(found.getDeviceId());
+        assertNull(page2.getNextCursor());
+    }
+
+    @Test
+    public void testFindPatientPage_WHEN_NoPatientRecordsAssociated_THEN_ReturnEmptyPage() {
+        Caregiver caregiver = buildCaregiverDefault();
+        createCaregiver(caregiver);
+
+        RosterPage<Patient> page = cut.findPatientPage(PID, RosterQuery.builder().build());
+        assertThat(page.getItems()).isEmpty();
+        assertNull(page.getNextCursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForFindAllPatients")
+    public void testFindPatientPage_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String caregiverId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.findPatientPage(caregiverId, RosterQuery.builder().build()), errorMessage);
+    }
+
+    @Test
+    public void testSearchPatients_HappyCase() {
+        Patient patient1 = buildPatient(PATIENT_ID1, PATIENT_ID1, PATIENT_EMAIL1, DEVICE_ID, "Jack", "Smith", PHONE_NUMBER);
+        createPatient(patient1);
+        Patient patient2 = buildPatient(PATIENT_ID2, PATIENT_ID2, PATIENT_EMAIL2, null, "Jill", "Adams", PHONE_NUMBER);
+        createPatient(patient2);
+        Caregiver caregiver = buildCaregiverDefault();
+        createCaregiver(caregiver);
+
+        cut.addPatient(PATIENT_ID1, PID);
+        cut.addPatient(PATIENT_ID2, PID);
+        List<Patient> patients = cut.searchPatients(PID, "SMI", 10);
+
+        assertEquals(1, patients.size());
+        assertEquals(PATIENT_ID1, patients.get(0).getPid());
+        assertEquals("Jack", patients.get(0).getFirstName());
+        assertEquals(PATIENT_EMAIL1, patients.get(0).getEmail());
+        assertNull(patients.get(0).getDeviceId());
+        assertEquals(2, cut.searchPatients(PID, "j", 10).size());
+        assertEquals(1, cut.searchPatients(PID, "j", 1).size());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForFindAllPatients")
+    public void testSearchPatients_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String caregiverId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.searchPatients(caregiverId, "j", 10), errorMessage);
+    }
+
     private static Caregiver buildCaregiverDefault() {
         return buildCaregiver(PID, SID, EMAIL1, FIRST_NAME, LAST_NAME, TITLE, PHONE_NUMBER);
     }
@@ -36,8 +36,10 @@ import java.util.stream.Stream;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AdminTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.ClaimTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.OrganizationTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.RosterTable;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
 
 public class DaoTestParent {
@@ -99,6 +101,20 @@ public class DaoTestParent {
             globalSecondaryIndexes.add(gsi);
         }
 
+        attributeDefinitions.add(buildAttributeDefinition(RosterTable.ROSTER_ID_NAME, ScalarAttributeType.S));
+        for (Pair<String, String> indexNameAndSortKey : RosterTable.INDEX_NAMES_AND_SORT_KEYS) {
+            String sortKey = indexNameAndSortKey.getRight();
+            attributeDefinitions.add(buildAttributeDefinition(sortKey, ScalarAttributeType.S));
+
+            gsi = GlobalSecondaryIndex.builder()
+                    .keySchema(buildKeySchemaElement(RosterTable.ROSTER_ID_NAME, KeyType.HASH),
+                            buildKeySchemaElement(sortKey, KeyType.RANGE))
+                    .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+                    .indexName(indexNameAndSortKey.getLeft())
+                    .build();
+            globalSecondaryIndexes.add(gsi);
+        }
+
         CreateTableRequest request = CreateTableRequest.builder()
                 .attributeDefinitions(attributeDefinitions)
                 .keySchema(keySchemaElements)
@@ -163,6 +179,10 @@ public class DaoTestParent {
                 .item(Caregiver.convertToMap(caregiver))
                 .tableName(TABLE_NAME)
                 .build());
+        // Also used to write associations, which do not claim the email
+        if (caregiver.getPid().equals(caregiver.getSid())) {
+            createClaim(GenericDao.buildClaimId(CaregiverTable.EMAIL_NAME, caregiver.getEmail()), caregiver.getPid());
+        }
     }
 
     void createPatient(Patient patient) {
@@ -170,6 +190,21 @@ public class DaoTestParent {
                 .item(Patient.convertToMap(patient))
                 .tableName(TABLE_NAME)
                 .build());
+        // Also used to write associations, which do not claim the email
+        if (patient.getPid().equals(patient.getSid())) {
+            createClaim(GenericDao.buildClaimId(PatientTable.EMAIL_NAME, patient.getEmail()), patient.getPid());
+        }
+    }
+
+    void createClaim(String claimId, String ownerId) {
+        Map<String, AttributeValue> claim = new HashMap<>();
+        claim.put(BaseTable.PID_NAME, convertToAttributeValue(claimId));
+        claim.put(BaseTable.SID_NAME, convertToAttributeValue(claimId));
+        claim.put(ClaimTable.OWNER_ID_NAME, convertToAttributeValue(ownerId));
+        ddbClient.putItem(PutItemRequest.builder()
+                .item(claim)
+                .tableName(TABLE_NAME)
+                .build());
     }
 
     GetItemResponse findByPrimaryKey(String pk, String sk) {
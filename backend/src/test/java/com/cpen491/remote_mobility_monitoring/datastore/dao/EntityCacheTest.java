@@ -0,0 +1,82 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EntityCacheTest {
+    private static final int MAX_ENTRIES = 2;
+    private static final long TTL_MILLIS = 1000;
+    private static final String ID1 = "car-1";
+    private static final String ID2 = "car-2";
+    private static final String ID3 = "car-3";
+
+    AtomicLong clock;
+    EntityCache cut;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        cut = new EntityCache(MAX_ENTRIES, TTL_MILLIS, clock::get);
+    }
+
+    @Test
+    public void testGet_WHEN_Cached_THEN_ReturnRecord() {
+        cut.put(ID1, buildItem(ID1));
+
+        assertEquals(buildItem(ID1), cut.get(ID1));
+    }
+
+    @Test
+    public void testGet_WHEN_Expired_THEN_ReturnNull() {
+        cut.put(ID1, buildItem(ID1));
+        clock.set(TTL_MILLIS);
+
+        assertNull(cut.get(ID1));
+        assertEquals(0, cut.size());
+    }
+
+    @Test
+    public void testPut_WHEN_Full_THEN_EvictLeastRecentlyUsed() {
+        cut.put(ID1, buildItem(ID1));
+        cut.put(ID2, buildItem(ID2));
+        cut.get(ID1);
+        cut.put(ID3, buildItem(ID3));
+
+        assertEquals(MAX_ENTRIES, cut.size());
+        assertEquals(buildItem(ID1), cut.get(ID1));
+        assertNull(cut.get(ID2));
+        assertEquals(buildItem(ID3), cut.get(ID3));
+    }
+
+    @Test
+    public void testGet_WHEN_HitsAndMisses_THEN_CountBoth() {
+        cut.get(ID1);
+        cut.put(ID1, buildItem(ID1));
+        cut.get(ID1);
+        cut.get(ID1);
+
+        assertEquals(2, cut.getHitCount());
+        assertEquals(1, cut.getMissCount());
+    }
+
+    @Test
+    public void testInvalidate_WHEN_Cached_THEN_RemoveRecord() {
+        cut.put(ID1, buildItem(ID1));
+        cut.invalidate(ID1);
+
+        assertNull(cut.get(ID1));
+    }
+
+    private static Map<String, AttributeValue> buildItem(String id) {
+        return Map.of(BaseTable.PID_NAME, convertToAttributeValue(id), BaseTable.SID_NAME, convertToAttributeValue(id));
+    }
+}
@@ -0,0 +1,750 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.SearchTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.putNullIfAbsent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GenericDaoTest extends DaoTestParent {
+    private static final String TABLE_NAME = "REMOTE_MOBILITY_MONITORING";
+    private static final String NAME = "name";
+    private static final String PATIENT_NAME = "pat-name";
+    private static final String CAREGIVER_ID = "car-1";
+    private static final String ORGANIZATION_ID = "org-1";
+    private static final PartitionShards ORGANIZATION_SHARDS = new PartitionShards(Set.of("org-"), 4);
+
+    @BeforeEach
+    public void setup() {
+        setupTable();
+    }
+
+    @AfterEach
+    public void teardown() {
+        teardownTable();
+    }
+
+    @Test
+    public void testBatchPut_WHEN_MoreThanOneChunk_THEN_PutAllItems() {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int i = 0; i < GenericDao.MAX_BATCH_WRITE_ITEMS * 3 + 1; i++) {
+            items.add(buildItem("pat-" + i, "pat-" + i, "Jack"));
+        }
+
+        genericDao.batchPut(items);
+
+        for (int i = 0; i < items.size(); i++) {
+            assertTrue(findByPrimaryKey("pat-" + i, "pat-" + i).hasItem());
+        }
+    }
+
+    @Test
+    public void testUpdate_WHEN_ManyAssociations_THEN_UpdateAllRecords() {
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        for (int i = 0; i < GenericDao.MAX_BATCH_WRITE_ITEMS * 2; i++) {
+            genericDao.addAssociation(caregiver, buildItem("pat-" + i, "pat-" + i, "Patient"));
+        }
+
+        genericDao.update(buildItem(CAREGIVER_ID, CAREGIVER_ID, "John"));
+
+        assertEquals("John", findByPrimaryKey(CAREGIVER_ID, CAREGIVER_ID).item().get(NAME).s());
+        for (int i = 0; i < GenericDao.MAX_BATCH_WRITE_ITEMS * 2; i++) {
+            Map<String, AttributeValue> association = findByPrimaryKey(CAREGIVER_ID, "pat-" + i).item();
+            assertEquals("John", association.get(NAME).s());
+            assertTrue(association.containsKey(BaseTable.UPDATED_AT_NAME));
+        }
+    }
+
+    @Test
+    public void testBatchPut_WHEN_UnprocessedItems_THEN_Retry() {
+        DynamoDbClient client = mock(DynamoDbClient.class);
+        Map<String, AttributeValue> item = buildItem("pat-1", "pat-1", "Jack");
+        WriteRequest unprocessed = WriteRequest.builder().putRequest(builder -> builder.item(item)).build();
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(buildResponse(Collections.singletonList(unprocessed)))
+                .thenReturn(buildResponse(Collections.emptyList()));
+
+        new GenericDao(TABLE_NAME, client).batchPut(List.of(item, buildItem("pat-2", "pat-2", "Jane")));
+
+        verify(client, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+        verify(client, times(0)).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    public void testBatchPut_WHEN_UnprocessedAfterAllAttempts_THEN_PutOneByOne() {
+        DynamoDbClient client = mock(DynamoDbClient.class);
+        Map<String, AttributeValue> item = buildItem("pat-1", "pat-1", "Jack");
+        WriteRequest unprocessed = WriteRequest.builder().putRequest(builder -> builder.item(item)).build();
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(buildResponse(Collections.singletonList(unprocessed)));
+
+        new GenericDao(TABLE_NAME, client).batchPut(List.of(item));
+
+        verify(client, times(GenericDao.MAX_BATCH_WRITE_ATTEMPTS)).batchWriteItem(any(BatchWriteItemRequest.class));
+        verify(client).putItem(PutItemRequest.builder().tableName(TABLE_NAME).item(item).build());
+    }
+
+    @Test
+    public void testDelete_WHEN_ManyAssociations_THEN_DeleteAllRecordsAndReport() {
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        genericDao.addAssociation(buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org"), caregiver);
+        for (int i = 0; i < GenericDao.MAX_BATCH_WRITE_ITEMS * 2; i++) {
+            genericDao.addAssociation(caregiver, buildItem("pat-" + i, "pat-" + i, "Patient"));
+        }
+
+        DeleteReport report = genericDao.delete(CAREGIVER_ID);
+
+        assertEquals(CAREGIVER_ID, report.getId());
+        assertEquals(GenericDao.MAX_BATCH_WRITE_ITEMS * 2 + 2, report.getRecordsDeleted());
+        assertEquals(Map.of("car", 1, "org", 1, "pat", GenericDao.MAX_BATCH_WRITE_ITEMS * 2), report.getRecordsDeletedByType());
+        assertFalse(findByPrimaryKey(CAREGIVER_ID, CAREGIVER_ID).hasItem());
+        assertFalse(findByPrimaryKey(ORGANIZATION_ID, CAREGIVER_ID).hasItem());
+        for (int i = 0; i < GenericDao.MAX_BATCH_WRITE_ITEMS * 2; i++) {
+            assertFalse(findByPrimaryKey(CAREGIVER_ID, "pat-" + i).hasItem());
+        }
+    }
+
+    @Test
+    public void testDelete_WHEN_RecordDoesNotExist_THEN_ReportNothingDeleted() {
+        DeleteReport report = genericDao.delete(CAREGIVER_ID);
+
+        assertEquals(0, report.getRecordsDeleted());
+        assertTrue(report.getRecordsDeletedByType().isEmpty());
+    }
+
+    @Test
+    public void testBatchDeleteByPrimaryKey_WHEN_UnprocessedAfterAllAttempts_THEN_DeleteOneByOne() {
+        DynamoDbClient client = mock(DynamoDbClient.class);
+        Map<String, AttributeValue> item = buildItem(CAREGIVER_ID, "pat-1", "Jack");
+        Map<String, AttributeValue> key = new HashMap<>(item);
+        key.remove(NAME);
+        WriteRequest unprocessed = WriteRequest.builder().deleteRequest(builder -> builder.key(key)).build();
+        when(client.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(buildResponse(Collections.singletonList(unprocessed)));
+
+        new GenericDao(TABLE_NAME, client).batchDeleteByPrimaryKey(List.of(item));
+
+        verify(client, times(GenericDao.MAX_BATCH_WRITE_ATTEMPTS)).batchWriteItem(any(BatchWriteItemRequest.class));
+        verify(client).deleteItem(DeleteItemRequest.builder().tableName(TABLE_NAME).key(key).build());
+    }
+
+    @Test
+    public void testFindAllAssociations_WHEN_ResultLargerThanOnePage_THEN_ReturnAllRecords() {
+        // Each association is about 4 KB so the 300 of them span more than one 1 MB page
+        String padding = "x".repeat(4000);
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            items.add(buildItem(CAREGIVER_ID, String.format("pat-%03d", i), padding));
+        }
+        genericDao.batchPut(items);
+
+        List<String> sids = new ArrayList<>();
+        genericDao.findAllAssociations(CAREGIVER_ID, "pat-").forEach(item -> sids.add(item.get(BaseTable.SID_NAME).s()));
+
+        assertEquals(items.size(), sids.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(String.format("pat-%03d", i), sids.get(i));
+        }
+    }
+
+    @Test
+    public void testFindAllByPartitionKey_WHEN_Iterated_THEN_FetchPagesLazily() {
+        DynamoDbClient client = mock(DynamoDbClient.class);
+        when(client.queryPaginator(any(QueryRequest.class)))
+                .thenAnswer(invocation -> new QueryIterable(client, invocation.getArgument(0)));
+        Map<String, AttributeValue> lastKey = buildItem(CAREGIVER_ID, "pat-1", "Jack");
+        when(client.query(any(QueryRequest.class)))
+                .thenReturn(QueryResponse.builder().items(List.of(lastKey)).lastEvaluatedKey(lastKey).build())
+                .thenReturn(QueryResponse.builder().items(List.of(buildItem(CAREGIVER_ID, "pat-2", "Jane"))).build());
+
+        Iterator<Map<String, AttributeValue>> iterator = new GenericDao(TABLE_NAME, client).findAllByPartitionKey(CAREGIVER_ID).iterator();
+        assertEquals("pat-1", iterator.next().get(BaseTable.SID_NAME).s());
+        verify(client, times(1)).query(any(QueryRequest.class));
+
+        assertEquals("pat-2", iterator.next().get(BaseTable.SID_NAME).s());
+        assertFalse(iterator.hasNext());
+        verify(client, times(2)).query(any(QueryRequest.class));
+        verify(client).query(QueryRequest.builder()
+                .keyConditionExpression("#pid = :pidValue")
+                .expressionAttributeNames(Map.of("#pid", BaseTable.PID_NAME))
+                .expressionAttributeValues(Map.of(":pidValue", convertToAttributeValue(CAREGIVER_ID)))
+                .tableName(TABLE_NAME)
+                .exclusiveStartKey(lastKey)
+                .build());
+    }
+
+    @Test
+    public void testBatchFindByPartitionKey_WHEN_MoreThanOneChunk_THEN_ReturnRecordsInInputOrder() {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int i = 0; i < GenericDao.MAX_BATCH_GET_KEYS * 2 + 1; i++) {
+            items.add(buildItem("pat-" + i, "pat-" + i, "Jack"));
+        }
+        genericDao.batchPut(items);
+
+        List<String> keyValues = new ArrayList<>();
+        for (int i = items.size() - 1; i >= 0; i--) {
+            keyValues.add("pat-" + i);
+        }
+        keyValues.add(1, "pat-missing");
+        List<Map<String, AttributeValue>> found = genericDao.batchFindByPartitionKey(keyValues);
+
+        assertEquals(items.size(), found.size());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals("pat-" + (items.size() - 1 - i), found.get(i).get(BaseTable.PID_NAME).s());
+        }
+    }
+
+    @Test
+    public void testBatchFindAssociations_WHEN_ShardedAndMoreThanOneChunk_THEN_ReturnFoundRecordsInInputOrder() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, null, null, ORGANIZATION_SHARDS);
+        Map<String, AttributeValue> organization = buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org");
+        cut.put(organization);
+        List<String> sids = new ArrayList<>();
+        for (int i = GenericDao.MAX_BATCH_GET_KEYS + 10; i >= 0; i--) {
+            if (i % 3 != 0) {
+                cut.addAssociation(organization, buildItem("car-" + i, "car-" + i, null));
+            }
+            sids.add("car-" + i);
+        }
+        sids.add("car-1");
+
+        List<String> found = cut.batchFindAssociations(ORGANIZATION_ID, sids, List.of(NAME)).stream()
+                .map(item -> {
+                    assertEquals("Org", item.get(NAME).s());
+                    return item.get(BaseTable.SID_NAME).s();
+                })
+                .collect(Collectors.toList());
+
+        List<String> expected = sids.stream()
+                .filter(sid -> Integer.parseInt(sid.substring(4)) % 3 != 0)
+                .collect(Collectors.toList());
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void testBatchFindByPartitionKey_WHEN_UnprocessedKeys_THEN_Retry() {
+        DynamoDbClient client = mock(DynamoDbClient.class);
+        Map<String, AttributeValue> item1 = buildItem("pat-1", "pat-1", "Jack");
+        Map<String, AttributeValue> item2 = buildItem("pat-2", "pat-2", "Jane");
+        Map<String, AttributeValue> key2 = new HashMap<>(item2);
+        key2.remove(NAME);
+        when(client.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(buildGetResponse(List.of(item1), List.of(key2)))
+                .thenReturn(buildGetResponse(List.of(item2), Collections.emptyList()));
+
+        List<Map<String, AttributeValue>> found = new GenericDao(TABLE_NAME, client).batchFindByPartitionKey(List.of("pat-2", "pat-1"));
+
+        assertEquals(List.of(item2, item1), found);
+        verify(client, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    public void testBatchFindByPartitionKey_WHEN_UnprocessedAfterAllAttempts_THEN_GetOneByOne() {
+        DynamoDbClient client = mock(DynamoDbClient.class);
+        Map<String, AttributeValue> item = buildItem("pat-1", "pat-1", "Jack");
+        Map<String, AttributeValue> key = new HashMap<>(item);
+        key.remove(NAME);
+        when(client.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(buildGetResponse(Collections.emptyList(), List.of(key)));
+        when(client.getItem(GetItemRequest.builder().tableName(TABLE_NAME).key(key).build()))
+                .thenReturn(GetItemResponse.builder().item(item).build());
+
+        List<Map<String, AttributeValue>> found = new GenericDao(TABLE_NAME, client).batchFindByPartitionKey(List.of("pat-1"));
+
+        assertEquals(List.of(item), found);
+        verify(client, times(GenericDao.MAX_BATCH_GET_ATTEMPTS)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    public void testUpdate_WHEN_NormalizedLayout_THEN_UpdateOnlyRecordAndHydrateAssociations() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.NORMALIZED, new EntityCache(100, 60000));
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        cut.put(caregiver);
+        for (int i = 0; i < 3; i++) {
+            Map<String, AttributeValue> patient = buildItem("pat-" + i, "pat-" + i, null);
+            patient.put(PATIENT_NAME, convertToAttributeValue("Patient" + i));
+            cut.put(patient);
+            cut.addAssociation(caregiver, patient);
+        }
+
+        assertFalse(findByPrimaryKey(CAREGIVER_ID, "pat-0").item().containsKey(NAME));
+        cut.update(buildItem(CAREGIVER_ID, CAREGIVER_ID, "John"));
+
+        List<Map<String, AttributeValue>> associations = new ArrayList<>();
+        cut.findAllAssociations(CAREGIVER_ID, "pat-").forEach(associations::add);
+        assertEquals(3, associations.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("John", associations.get(i).get(NAME).s());
+            assertEquals("Patient" + i, associations.get(i).get(PATIENT_NAME).s());
+        }
+        assertEquals("John", cut.findAssociationByPrimaryKey(CAREGIVER_ID, "pat-0").item().get(NAME).s());
+    }
+
+    @Test
+    public void testUpdate_WHEN_NormalizedLayoutAndAttributeCleared_THEN_RemoveAttribute() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.NORMALIZED, null);
+        Map<String, AttributeValue> patient = buildItem("pat-1", "pat-1", "Jack");
+        patient.put(PATIENT_NAME, convertToAttributeValue("Patient1"));
+        cut.put(patient);
+
+        Map<String, AttributeValue> updated = buildItem("pat-1", "pat-1", "John");
+        putNullIfAbsent(updated, PATIENT_NAME);
+        cut.update(updated);
+
+        Map<String, AttributeValue> found = findByPrimaryKey("pat-1", "pat-1").item();
+        assertEquals("John", found.get(NAME).s());
+        assertFalse(found.containsKey(PATIENT_NAME));
+    }
+
+    @Test
+    public void testFindPartitions_WHEN_NormalizedLayout_THEN_ReturnRecordAndHydratedAssociations() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.NORMALIZED, null);
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        cut.put(caregiver);
+        for (int i = 0; i < 3; i++) {
+            Map<String, AttributeValue> patient = buildItem("pat-" + i, "pat-" + i, null);
+            patient.put(PATIENT_NAME, convertToAttributeValue("Patient" + i));
+            cut.put(patient);
+            cut.addAssociation(caregiver, patient);
+        }
+
+        List<Map<String, AttributeValue>> records = new ArrayList<>();
+        cut.findPartitions(List.of(CAREGIVER_ID), List.of(NAME, PATIENT_NAME)).forEach(records::add);
+
+        assertEquals(4, records.size());
+        assertEquals(CAREGIVER_ID, records.get(0).get(BaseTable.SID_NAME).s());
+        assertEquals("Jack", records.get(0).get(NAME).s());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("pat-" + i, records.get(i + 1).get(BaseTable.SID_NAME).s());
+            assertEquals("Jack", records.get(i + 1).get(NAME).s());
+            assertEquals("Patient" + i, records.get(i + 1).get(PATIENT_NAME).s());
+        }
+    }
+
+    @Test
+    public void testAddAssociation_WHEN_Sharded_THEN_FindAssociationsInAllShards() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, null, null, ORGANIZATION_SHARDS);
+        Map<String, AttributeValue> organization = buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org");
+        cut.put(organization);
+        for (int i = 0; i < 20; i++) {
+            cut.addAssociation(organization, buildItem("car-" + i, "car-" + i, null));
+        }
+
+        List<Map<String, AttributeValue>> unsharded = new ArrayList<>();
+        genericDao.findAllByPartitionKey(ORGANIZATION_ID).forEach(unsharded::add);
+        assertEquals(1, unsharded.size());
+
+        List<Map<String, AttributeValue>> associations = new ArrayList<>();
+        cut.findAllAssociations(ORGANIZATION_ID, "car-").forEach(associations::add);
+        assertEquals(20, associations.size());
+        for (Map<String, AttributeValue> association : associations) {
+            assertEquals(ORGANIZATION_ID, association.get(BaseTable.PID_NAME).s());
+            assertEquals("Org", association.get(NAME).s());
+        }
+        assertTrue(cut.findByPrimaryKey(ORGANIZATION_ID, "car-3").hasItem());
+
+        List<Map<String, AttributeValue>> organizations = new ArrayList<>();
+        cut.findAllAssociationsOnSidIndex("car-3", "org-").forEach(organizations::add);
+        assertEquals(1, organizations.size());
+        assertEquals(ORGANIZATION_ID, organizations.get(0).get(BaseTable.PID_NAME).s());
+    }
+
+    @Test
+    public void testDelete_WHEN_Sharded_THEN_DeleteAssociationsInAllShards() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, null, null, ORGANIZATION_SHARDS);
+        Map<String, AttributeValue> organization = buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org");
+        cut.put(organization);
+        for (int i = 0; i < 20; i++) {
+            cut.addAssociation(organization, buildItem("car-" + i, "car-" + i, null));
+        }
+
+        DeleteReport report = cut.delete(ORGANIZATION_ID);
+
+        assertEquals(21, report.getRecordsDeleted());
+        assertEquals(Map.of("car", 20, "org", 1), report.getRecordsDeletedByType());
+        assertFalse(cut.findAllAssociations(ORGANIZATION_ID, "car-").iterator().hasNext());
+    }
+
+    @Test
+    public void testFindAllAssociations_WHEN_ShardedNormalizedLayout_THEN_HydrateFromEntityRecords() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.NORMALIZED, null, null, ORGANIZATION_SHARDS);
+        Map<String, AttributeValue> organization = buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org");
+        cut.put(organization);
+        for (int i = 0; i < 5; i++) {
+            Map<String, AttributeValue> caregiver = buildItem("car-" + i, "car-" + i, null);
+            caregiver.put(PATIENT_NAME, convertToAttributeValue("Caregiver" + i));
+            cut.put(caregiver);
+            cut.addAssociation(organization, caregiver);
+        }
+
+        List<Map<String, AttributeValue>> associations = new ArrayList<>();
+        cut.findAllAssociations(ORGANIZATION_ID, "car-").forEach(associations::add);
+
+        assertEquals(5, associations.size());
+        for (Map<String, AttributeValue> association : associations) {
+            assertEquals("Org", association.get(NAME).s());
+            String sid = association.get(BaseTable.SID_NAME).s();
+            assertEquals("Caregiver" + sid.substring("car-".length()), association.get(PATIENT_NAME).s());
+        }
+    }
+
+    @Test
+    public void testFindRosterPage_WHEN_Sharded_THEN_ReturnAllMembersInNameOrder() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, null, null, ORGANIZATION_SHARDS);
+        Map<String, AttributeValue> organization = buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org");
+        cut.put(organization);
+        for (int i = 0; i < 25; i++) {
+            Map<String, AttributeValue> caregiver = buildItem("car-" + i, "car-" + i, null);
+            caregiver.put(CaregiverTable.LAST_NAME_NAME, convertToAttributeValue((i % 2 == 0 ? "Name" : "name") + (50 - i)));
+            cut.addAssociation(organization, caregiver);
+        }
+
+        List<String> sids = new ArrayList<>();
+        String cursor = null;
+        do {
+            RosterQuery query = RosterQuery.builder().limit(10).cursor(cursor).build();
+            RosterPage<Map<String, AttributeValue>> page = cut.findRosterPage(ORGANIZATION_ID, "car-", query, List.of(NAME));
+            assertTrue(page.getItems().size() <= 10);
+            for (Map<String, AttributeValue> item : page.getItems()) {
+                assertEquals(ORGANIZATION_ID, item.get(BaseTable.PID_NAME).s());
+                assertEquals("Org", item.get(NAME).s());
+                sids.add(item.get(BaseTable.SID_NAME).s());
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 24; i >= 0; i--) {
+            expected.add("car-" + i);
+        }
+        assertEquals(expected, sids);
+    }
+
+    @Test
+    public void testFindRosterPage_WHEN_NamePrefix_THEN_ReturnOnlyMatchingMembers() {
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        genericDao.addAssociation(caregiver, buildPatient("pat-1", "Smyth"));
+        genericDao.addAssociation(caregiver, buildPatient("pat-2", "Jones"));
+        genericDao.addAssociation(caregiver, buildPatient("pat-3", "smith"));
+
+        RosterQuery query = RosterQuery.builder().namePrefix("SM").limit(1).build();
+        RosterPage<Map<String, AttributeValue>> page1 = genericDao.findRosterPage(CAREGIVER_ID, "pat-", query, null);
+        query.setCursor(page1.getNextCursor());
+        RosterPage<Map<String, AttributeValue>> page2 = genericDao.findRosterPage(CAREGIVER_ID, "pat-", query, null);
+
+        assertEquals(1, page1.getItems().size());
+        assertEquals("pat-3", page1.getItems().get(0).get(BaseTable.SID_NAME).s());
+        assertEquals(1, page2.getItems().size());
+        assertEquals("pat-1", page2.getItems().get(0).get(BaseTable.SID_NAME).s());
+        assertNull(page2.getNextCursor());
+    }
+
+    @Test
+    public void testFindRosterPage_WHEN_SortedByCreatedAt_THEN_ReturnMembersInAddOrder() {
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.NORMALIZED, null);
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        cut.put(caregiver);
+        for (String[] patient : new String[][]{{"pat-0", "Smith"}, {"pat-1", "Jones"}, {"pat-2", "Adams"}, {"pat-3", "Sand"}}) {
+            Map<String, AttributeValue> item = buildPatient(patient[0], patient[1]);
+            cut.put(item);
+            cut.addAssociation(caregiver, item);
+        }
+
+        RosterQuery query = RosterQuery.builder().sort(RosterSort.CREATED_AT).namePrefix("s").build();
+        RosterPage<Map<String, AttributeValue>> page = cut.findRosterPage(CAREGIVER_ID, "pat-", query,
+                List.of(PatientTable.LAST_NAME_NAME));
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("Smith", page.getItems().get(0).get(PatientTable.LAST_NAME_NAME).s());
+        assertEquals("Sand", page.getItems().get(1).get(PatientTable.LAST_NAME_NAME).s());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testFindRosterPage_WHEN_NameUpdated_THEN_ReturnMembersInNewOrder() {
+        for (AssociationLayout layout : AssociationLayout.values()) {
+            GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, layout, null);
+            String caregiverId = CAREGIVER_ID + layout;
+            Map<String, AttributeValue> caregiver = buildItem(caregiverId, caregiverId, "Jack");
+            cut.put(caregiver);
+            Map<String, AttributeValue> patient1 = buildPatient("pat-1" + layout, "Adams");
+            Map<String, AttributeValue> patient2 = buildPatient("pat-2" + layout, "Baker");
+            for (Map<String, AttributeValue> patient : List.of(patient1, patient2)) {
+                cut.put(patient);
+                cut.addAssociation(caregiver, patient);
+            }
+
+            cut.update(buildPatient("pat-1" + layout, "Carter"));
+
+            RosterPage<Map<String, AttributeValue>> page = cut.findRosterPage(caregiverId, "pat-",
+                    RosterQuery.builder().build(), List.of(PatientTable.LAST_NAME_NAME));
+            assertEquals(2, page.getItems().size());
+            assertEquals("Baker", page.getItems().get(0).get(PatientTable.LAST_NAME_NAME).s());
+            assertEquals("Carter", page.getItems().get(1).get(PatientTable.LAST_NAME_NAME).s());
+        }
+    }
+
+    @Test
+    public void testFindRosterPage_WHEN_InvalidCursor_THEN_ThrowIllegalArgumentException() {
+        RosterQuery query = RosterQuery.builder().cursor("not a cursor!").build();
+        assertThrows(IllegalArgumentException.class, () -> genericDao.findRosterPage(CAREGIVER_ID, "pat-", query, null));
+    }
+
+    @Test
+    public void testSearch_WHEN_MembersAdded_THEN_ReturnMatchingMembers() {
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        genericDao.addAssociation(caregiver, buildPatient("pat-1", "Smyth"));
+        genericDao.addAssociation(caregiver, buildPatient("pat-2", "Jones"));
+        Map<String, AttributeValue> patient3 = buildPatient("pat-3", "Smith");
+        patient3.put(PatientTable.FIRST_NAME_NAME, convertToAttributeValue("Jane"));
+        genericDao.addAssociation(caregiver, patient3);
+
+        assertEquals(List.of("pat-1", "pat-3"), searchSids(genericDao, CAREGIVER_ID, "SM", 10));
+        assertEquals(List.of("pat-1"), searchSids(genericDao, CAREGIVER_ID, "sm", 1));
+        assertEquals(List.of("pat-3"), searchSids(genericDao, CAREGIVER_ID, " smi ", 10));
+        assertEquals(List.of("pat-2", "pat-3"), searchSids(genericDao, CAREGIVER_ID, "j", 10));
+        assertEquals(List.of("pat-3"), searchSids(genericDao, CAREGIVER_ID, "ja sm", 10));
+        assertTrue(searchSids(genericDao, CAREGIVER_ID, "smythe", 10).isEmpty());
+        assertTrue(searchSids(genericDao, "car-2", "sm", 10).isEmpty());
+        assertTrue(searchSids(genericDao, CAREGIVER_ID, " ", 10).isEmpty());
+
+        Map<String, AttributeValue> result = genericDao.search(CAREGIVER_ID, "pat-", "jane", 10).get(0);
+        assertEquals("pat-3", result.get(BaseTable.SID_NAME).s());
+        assertEquals("Smith", result.get(PatientTable.LAST_NAME_NAME).s());
+        assertFalse(result.containsKey(SearchTable.MEMBER_NAME));
+    }
+
+    @Test
+    public void testSearch_WHEN_MemberHasEmail_THEN_NotFoundOnEmailIndex() {
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        Map<String, AttributeValue> patient = buildPatient("pat-1", "Smith");
+        patient.put(PatientTable.EMAIL_NAME, convertToAttributeValue("jsmith@email.com"));
+        genericDao.put(patient);
+        genericDao.addAssociation(caregiver, patient);
+
+        assertEquals(List.of("pat-1"), searchSids(genericDao, CAREGIVER_ID, "jsmith@e", 10));
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        genericDao.findAllByPartitionKeyOnIndex(PatientTable.EMAIL_NAME, "jsmith@email.com", PatientTable.EMAIL_INDEX_NAME)
+                .forEach(items::add);
+        assertTrue(items.stream().noneMatch(item -> item.get(BaseTable.PID_NAME).s().startsWith(SearchTable.ID_PREFIX)));
+    }
+
+    @Test
+    public void testSearch_WHEN_NameUpdated_THEN_FindByNewNameOnly() {
+        for (AssociationLayout layout : AssociationLayout.values()) {
+            GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, layout, null);
+            String caregiverId = CAREGIVER_ID + layout;
+            Map<String, AttributeValue> caregiver = buildItem(caregiverId, caregiverId, "Jack");
+            cut.put(caregiver);
+            String patientId = "pat-1" + layout;
+            Map<String, AttributeValue> patient = buildPatient(patientId, "Adams");
+            cut.put(patient);
+            cut.addAssociation(caregiver, patient);
+
+            cut.update(buildPatient(patientId, "Carter"));
+
+            assertTrue(searchSids(cut, caregiverId, "adams", 10).isEmpty());
+            assertEquals(List.of(patientId), searchSids(cut, caregiverId, "cart", 10));
+            assertEquals(List.of(patientId), searchSids(cut, caregiverId, "first", 10));
+        }
+    }
+
+    @Test
+    public void testSearch_WHEN_MemberRemovedOrDeleted_THEN_DeleteSearchRecords() {
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        for (int i = 0; i < 3; i++) {
+            Map<String, AttributeValue> patient = buildPatient("pat-" + i, "Smith");
+            genericDao.put(patient);
+            genericDao.addAssociation(caregiver, patient);
+        }
+        Map<String, AttributeValue> otherCaregiver = buildItem("car-2", "car-2", "Jill");
+        genericDao.put(otherCaregiver);
+        genericDao.addAssociation(otherCaregiver, buildPatient("pat-0", "Smith"));
+
+        genericDao.deleteByPrimaryKey(CAREGIVER_ID, "pat-1");
+        assertEquals(List.of("pat-0", "pat-2"), searchSids(genericDao, CAREGIVER_ID, "smith", 10));
+
+        DeleteReport patientReport = genericDao.delete("pat-0");
+        assertEquals(3, patientReport.getRecordsDeleted());
+        assertEquals(List.of("pat-2"), searchSids(genericDao, CAREGIVER_ID, "smith", 10));
+        assertTrue(searchSids(genericDao, "car-2", "smith", 10).isEmpty());
+
+        DeleteReport caregiverReport = genericDao.delete(CAREGIVER_ID);
+        assertEquals(Map.of("car", 1, "pat", 1), caregiverReport.getRecordsDeletedByType());
+        assertTrue(searchSids(genericDao, CAREGIVER_ID, "smith", 10).isEmpty());
+        assertEquals(0, countSearchRecords());
+    }
+
+    @Test
+    public void testFindByPartitionKey_WHEN_Cached_THEN_ReadThroughCacheUntilWritten() {
+        EntityCache entityCache = new EntityCache(100, 60000);
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, entityCache);
+        cut.put(buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack"));
+
+        assertEquals("Jack", cut.findByPartitionKey(CAREGIVER_ID).item().get(NAME).s());
+        // Written behind the cache's back, so the cached record is still returned
+        genericDao.put(buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jane"));
+        assertEquals("Jack", cut.findByPartitionKey(CAREGIVER_ID).item().get(NAME).s());
+        assertEquals(1, entityCache.getHitCount());
+        assertEquals(1, entityCache.getMissCount());
+
+        cut.update(buildItem(CAREGIVER_ID, CAREGIVER_ID, "John"));
+        assertEquals("John", cut.findByPartitionKey(CAREGIVER_ID).item().get(NAME).s());
+        assertEquals(2, entityCache.getMissCount());
+
+        cut.delete(CAREGIVER_ID);
+        assertFalse(cut.findByPartitionKey(CAREGIVER_ID).hasItem());
+    }
+
+    @Test
+    public void testFindByPartitionKey_WHEN_InIdentityMapScope_THEN_ReadOncePerScope() {
+        IdentityMap identityMap = new IdentityMap();
+        GenericDao cut = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, null, identityMap);
+        cut.put(buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack"));
+
+        identityMap.withScope(() -> {
+            assertEquals("Jack", cut.findByPartitionKey(CAREGIVER_ID).item().get(NAME).s());
+            assertFalse(cut.findByPartitionKey(ORGANIZATION_ID).hasItem());
+            // Written behind the identity map's back, so the record read earlier in the scope is still returned
+            genericDao.put(buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jane"));
+            genericDao.put(buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org"));
+            assertEquals("Jack", cut.findByPartitionKey(CAREGIVER_ID).item().get(NAME).s());
+            assertFalse(cut.findByPartitionKey(ORGANIZATION_ID).hasItem());
+
+            cut.update(buildItem(CAREGIVER_ID, CAREGIVER_ID, "John"));
+            assertEquals("John", cut.findByPartitionKey(CAREGIVER_ID).item().get(NAME).s());
+            return null;
+        });
+
+        genericDao.put(buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jane"));
+        identityMap.withScope(() -> {
+            assertEquals("Jane", cut.findByPartitionKey(CAREGIVER_ID).item().get(NAME).s());
+            assertTrue(cut.findByPartitionKey(ORGANIZATION_ID).hasItem());
+            return null;
+        });
+    }
+
+    @Test
+    public void testCreateWithClaim_WHEN_ConcurrentCreatesClaimSameValue_THEN_OnlyOneWritten() {
+        String claimId = GenericDao.buildClaimId(NAME, "Jack");
+        List<CompletableFuture<ClaimResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Map<String, AttributeValue> item = buildItem("pat-" + i, "pat-" + i, "Jack");
+            futures.add(CompletableFuture.supplyAsync(() -> createWithClaimRetryingConflicts(item, claimId)));
+        }
+
+        List<ClaimResult> results = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        assertEquals(1, results.stream().filter(ClaimResult.WRITTEN::equals).count());
+        assertEquals(7, results.stream().filter(ClaimResult.ALREADY_CLAIMED::equals).count());
+    }
+
+    @Test
+    public void testUpdateWithClaim_WHEN_RecordDoesNotExist_THEN_WriteNothing() {
+        assertEquals(ClaimResult.RECORD_DOES_NOT_EXIST, genericDao.updateWithClaim(buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack"), NAME));
+        assertFalse(findByPrimaryKey(CAREGIVER_ID, CAREGIVER_ID).hasItem());
+        String claimId = GenericDao.buildClaimId(NAME, "Jack");
+        assertFalse(findByPrimaryKey(claimId, claimId).hasItem());
+    }
+
+    private ClaimResult createWithClaimRetryingConflicts(Map<String, AttributeValue> item, String claimId) {
+        while (true) {
+            try {
+                return genericDao.createWithClaim(List.of(item), claimId);
+            } catch (TransactionCanceledException e) {
+                // Transactions on the same claim conflicting with each other are cancelled and can be retried
+            }
+        }
+    }
+
+    private static BatchGetItemResponse buildGetResponse(List<Map<String, AttributeValue>> items,
+                                                         List<Map<String, AttributeValue>> unprocessed) {
+        return BatchGetItemResponse.builder()
+                .responses(Collections.singletonMap(TABLE_NAME, items))
+                .unprocessedKeys(unprocessed.isEmpty() ? Collections.emptyMap()
+                        : Collections.singletonMap(TABLE_NAME, KeysAndAttributes.builder().keys(unprocessed).build()))
+                .build();
+    }
+
+    private static BatchWriteItemResponse buildResponse(List<WriteRequest> unprocessed) {
+        return BatchWriteItemResponse.builder()
+                .unprocessedItems(unprocessed.isEmpty() ? Collections.emptyMap() : Collections.singletonMap(TABLE_NAME, unprocessed))
+                .build();
+    }
+
+    private static List<String> searchSids(GenericDao cut, String scopeId, String search, int limit) {
+        return cut.search(scopeId, "pat-", search, limit).stream()
+                .map(item -> item.get(BaseTable.SID_NAME).s())
+                .collect(Collectors.toList());
+    }
+
+    private long countSearchRecords() {
+        return ddbClient.scanPaginator(ScanRequest.builder().tableName(TABLE_NAME).build()).items().stream()
+                .filter(item -> item.get(BaseTable.PID_NAME).s().startsWith(SearchTable.ID_PREFIX))
+                .count();
+    }
+
+    private static Map<String, AttributeValue> buildPatient(String id, String lastName) {
+        Map<String, AttributeValue> patient = buildItem(id, id, null);
+        patient.put(PatientTable.FIRST_NAME_NAME, convertToAttributeValue("First"));
+        patient.put(PatientTable.LAST_NAME_NAME, convertToAttributeValue(lastName));
+        return patient;
+    }
+
+    private static Map<String, AttributeValue> buildItem(String pid, String sid, String name) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put(BaseTable.PID_NAME, convertToAttributeValue(pid));
+        item.put(BaseTable.SID_NAME, convertToAttributeValue(sid));
+        if (name != null) {
+            item.put(NAME, convertToAttributeValue(name));
+        }
+        return item;
+    }
+}
@@ -0,0 +1,88 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GorillaBlockTest {
+    @Test
+    public void testForEach_WHEN_IrregularPoints_THEN_DecodeSamePoints() {
+        Random random = new Random(42);
+        List<Long> times = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        long time = 1675209600000L;
+        double value = 1.0;
+        for (int i = 0; i < GorillaBlock.MAX_POINTS; i++) {
+            switch (i % 5) {
+                case 0:
+                    time += 60_000;
+                    break;
+                case 1:
+                    time += random.nextInt(100);
+                    break;
+                case 2:
+                    time += 1_000 + random.nextInt(3_000);
+                    break;
+                case 3:
+                    time += 86_400_000L * 30;
+                    break;
+                default:
+                    break;
+            }
+            if (i % 3 == 0) {
+                value = random.nextDouble() * 1000;
+            } else if (i % 7 == 0) {
+                value = -value;
+            }
+            times.add(time);
+            values.add(value);
+        }
+
+        GorillaBlock cut = new GorillaBlock(new Metrics());
+        for (int i = 0; i < times.size(); i++) {
+            assertTrue(cut.canAppend(times.get(i)));
+            cut.append(times.get(i), values.get(i));
+        }
+        cut.seal();
+
+        List<Long> actualTimes = new ArrayList<>();
+        List<Double> actualValues = new ArrayList<>();
+        cut.forEach((t, v) -> {
+            actualTimes.add(t);
+            actualValues.add(v);
+        });
+        assertThat(actualTimes).isEqualTo(times);
+        assertThat(actualValues).isEqualTo(values);
+        assertEquals(times.get(times.size() - 1), cut.lastTime());
+        assertFalse(cut.canAppend(time + 1));
+    }
+
+    @Test
+    public void testSizeBytes_WHEN_RegularSeries_THEN_Compress() {
+        GorillaBlock cut = new GorillaBlock(new Metrics());
+        for (int i = 0; i < GorillaBlock.MAX_POINTS; i++) {
+            cut.append(1675209600000L + i * 60_000L, 1000.0);
+        }
+        cut.seal();
+
+        // Two raw 64 bit values for the first point, then 2 bits per point
+        assertThat(cut.sizeBytes()).isLessThan(GorillaBlock.MAX_POINTS / 4 + 32 + GorillaBlock.OVERHEAD_BYTES);
+    }
+
+    @Test
+    public void testCanAppend_WHEN_TimeBeforeLast_THEN_ReturnFalse() {
+        GorillaBlock cut = new GorillaBlock(new Metrics());
+        cut.append(1000, 1.0);
+
+        assertTrue(cut.canAppend(1000));
+        assertFalse(cut.canAppend(999));
+    }
+}
@@ -0,0 +1,171 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HotTierMetricsStoreTest {
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2023-02-08T00:00:00Z"), ZoneOffset.UTC);
+    private static final String WINDOW_START = "2023-02-01T00:00";
+    private static final String LOAD_END = "2023-02-09T00:00";
+    private static final String START = "2023-02-05T00:00:00";
+    private static final String END = "2023-02-08T00:00:00";
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    HotTierMetricsStore cut;
+    @Mock
+    MetricsStore backingStore;
+
+    @BeforeEach
+    public void setup() {
+        cut = new HotTierMetricsStore(backingStore, MAX_BYTES, CLOCK);
+    }
+
+    @Test
+    public void testQuery_WHEN_RecentAndMiss_THEN_LoadOnceAndServeFromCache() {
+        mockLoad(Arrays.asList(PATIENT_ID1, PATIENT_ID2), Arrays.asList(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0", "2023-02-04 10:00:00.000000000"),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "2000.0", "2023-02-06 10:00:00.000000000"),
+                buildMetrics(PATIENT_ID2, MeasureName.WALKING_SPEED, "1.2", "2023-02-06 09:00:00.123000000"),
+                buildMetrics(PATIENT_ID1, MeasureName.WALKING_SPEED, "1.1", "2023-02-07 10:00:00.000000000")));
+        List<String> ids = Arrays.asList(PATIENT_ID1, PATIENT_ID2);
+
+        List<Metrics> found = cut.query(ids, START, END);
+        assertThat(found).containsExactly(
+                buildMetrics(PATIENT_ID2, MeasureName.WALKING_SPEED, "1.2", "2023-02-06 09:00:00.123000000"),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "2000.0", "2023-02-06 10:00:00.000000000"),
+                buildMetrics(PATIENT_ID1, MeasureName.WALKING_SPEED, "1.1", "2023-02-07 10:00:00.000000000"));
+
+        assertThat(cut.query(ids, "2023-02-02T00:00:00", END)).hasSize(4);
+        assertThat(cut.query(Collections.singletonList(PATIENT_ID2), START, END)).hasSize(1);
+        verify(backingStore, times(1)).stream(anyList(), any(), any(), any(), any(), any(), any(), any(),
+                anyString(), anyString(), any());
+        assertTrue(cut.getBytes() > 0);
+    }
+
+    @Test
+    public void testQuery_WHEN_OlderThanWindow_THEN_QueryBackingStore() {
+        cut.query(Collections.singletonList(PATIENT_ID1), "2023-01-01T00:00:00", END);
+
+        verify(backingStore).stream(eq(Collections.singletonList(PATIENT_ID1)), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), isNull(), eq("2023-01-01T00:00:00"), eq(END), any());
+        assertFalse(cut.isCached(PATIENT_ID1));
+    }
+
+    @Test
+    public void testQuery_WHEN_Filters_THEN_FilterCachedMetrics() {
+        Metrics tall = buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0", "2023-02-06 10:00:00.000000000");
+        tall.setHeight(180f);
+        Metrics shortMetrics = buildMetrics(PATIENT_ID2, MeasureName.STEP_COUNT, "2000.0", "2023-02-06 11:00:00.000000000");
+        shortMetrics.setHeight(150f);
+        mockLoad(Arrays.asList(PATIENT_ID1, PATIENT_ID2), Arrays.asList(tall, shortMetrics));
+
+        List<Metrics> found = cut.query(Arrays.asList(PATIENT_ID1, PATIENT_ID2), null, null, null, 170f, null, null, null, START, END);
+
+        assertThat(found).containsExactly(tall);
+    }
+
+    @Test
+    public void testAdd_WHEN_PatientCached_THEN_AppendToCache() {
+        mockLoad(Collections.singletonList(PATIENT_ID1), Collections.singletonList(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0", "2023-02-06 10:00:00.000000000")));
+        cut.query(Collections.singletonList(PATIENT_ID1), START, END);
+
+        List<Metrics> added = Arrays.asList(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1500", "2023-02-07T10:00:00"),
+                buildMetrics(PATIENT_ID2, MeasureName.STEP_COUNT, "1500", "2023-02-07T10:00:00"));
+        cut.add(added);
+
+        verify(backingStore).add(added);
+        assertThat(cut.query(Collections.singletonList(PATIENT_ID1), START, END)).extracting(Metrics::getMeasureValue)
+                .containsExactly("1000.0", "1500.0");
+        assertFalse(cut.isCached(PATIENT_ID2));
+    }
+
+    @Test
+    public void testAdd_WHEN_OutOfOrder_THEN_EvictPatient() {
+        mockLoad(Collections.singletonList(PATIENT_ID1), Collections.singletonList(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0", "2023-02-06 10:00:00.000000000")));
+        cut.query(Collections.singletonList(PATIENT_ID1), START, END);
+
+        cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1500", "2023-02-05T10:00:00")));
+
+        assertFalse(cut.isCached(PATIENT_ID1));
+        assertEquals(0, cut.getBytes());
+    }
+
+    @Test
+    public void testQuery_WHEN_WriteDuringLoad_THEN_DoNotCache() {
+        Mockito.doAnswer(invocation -> {
+            cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1500", "2023-02-07T10:00:00")));
+            return 0L;
+        }).when(backingStore).stream(eq(Collections.singletonList(PATIENT_ID1)), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), isNull(), eq(WINDOW_START), eq(LOAD_END), any());
+
+        cut.query(Collections.singletonList(PATIENT_ID1), START, END);
+
+        assertFalse(cut.isCached(PATIENT_ID1));
+        verify(backingStore).stream(eq(Collections.singletonList(PATIENT_ID1)), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), isNull(), eq(START), eq(END), any());
+    }
+
+    @Test
+    public void testQuery_WHEN_OverBudget_THEN_EvictLeastRecentlyUsed() {
+        cut = new HotTierMetricsStore(backingStore, 700, CLOCK);
+        cut.query(Collections.singletonList(PATIENT_ID1), START, END);
+        cut.query(Collections.singletonList(PATIENT_ID2), START, END);
+        assertTrue(cut.isCached(PATIENT_ID1));
+        assertTrue(cut.isCached(PATIENT_ID2));
+
+        mockLoad(Collections.singletonList("pat-3"), Collections.singletonList(
+                buildMetrics("pat-3", MeasureName.STEP_COUNT, "1000.0", "2023-02-06 10:00:00.000000000")));
+        cut.query(Collections.singletonList(PATIENT_ID2), START, END);
+        cut.query(Collections.singletonList("pat-3"), START, END);
+
+        assertFalse(cut.isCached(PATIENT_ID1));
+        assertTrue(cut.isCached(PATIENT_ID2));
+        assertTrue(cut.isCached("pat-3"));
+        assertThat(cut.getBytes()).isLessThanOrEqualTo(700);
+        verify(backingStore, never()).add(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockLoad(List<String> patientIds, List<Metrics> stored) {
+        Mockito.when(backingStore.stream(eq(patientIds), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                isNull(), eq(WINDOW_START), eq(LOAD_END), any())).thenAnswer(invocation -> {
+            Consumer<Metrics> consumer = invocation.getArgument(10);
+            stored.forEach(consumer);
+            return (long) stored.size();
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdentityMapTest {
+    private static final String ID1 = "car-1";
+    private static final String ID2 = "car-2";
+
+    IdentityMap cut;
+
+    @BeforeEach
+    public void setup() {
+        cut = new IdentityMap();
+    }
+
+    @Test
+    public void testPut_WHEN_InScope_THEN_KeepRecordUntilScopeEnds() {
+        cut.withScope(() -> {
+            cut.put(ID1, buildItem(ID1));
+            cut.put(ID2, null);
+            assertEquals(buildItem(ID1), cut.get(ID1));
+            assertTrue(cut.contains(ID2));
+            assertNull(cut.get(ID2));
+            return null;
+        });
+
+        assertFalse(cut.contains(ID1));
+        assertFalse(cut.contains(ID2));
+    }
+
+    @Test
+    public void testPut_WHEN_NotInScope_THEN_KeepNothing() {
+        cut.put(ID1, buildItem(ID1));
+
+        assertFalse(cut.contains(ID1));
+    }
+
+    @Test
+    public void testWithScope_WHEN_Nested_THEN_ShareOuterScope() {
+        cut.withScope(() -> {
+            cut.withScope(() -> {
+                cut.put(ID1, buildItem(ID1));
+                return null;
+            });
+            assertTrue(cut.contains(ID1));
+            return null;
+        });
+    }
+
+    @Test
+    public void testWithScope_WHEN_Throws_THEN_EndScope() {
+        RuntimeException toThrow = new RuntimeException();
+        assertThatThrownBy(() -> cut.withScope(() -> {
+            cut.put(ID1, buildItem(ID1));
+            throw toThrow;
+        })).isSameAs(toThrow);
+
+        assertFalse(cut.contains(ID1));
+    }
+
+    @Test
+    public void testInvalidate_WHEN_InScope_THEN_RemoveRecord() {
+        cut.withScope(() -> {
+            cut.put(ID1, buildItem(ID1));
+            cut.invalidate(ID1);
+            assertFalse(cut.contains(ID1));
+            return null;
+        });
+    }
+
+    private static Map<String, AttributeValue> buildItem(String id) {
+        return Map.of(BaseTable.PID_NAME, convertToAttributeValue(id), BaseTable.SID_NAME, convertToAttributeValue(id));
+    }
+}
@@ -0,0 +1,190 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.assertInvalidInputExceptionThrown;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.IDS_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.MEASURE_VALUE_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.METRICS_LIST_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.TIMESTAMP_INVALID_ERROR_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalMetricsStoreTest {
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+    private static final String START = "2023-02-01T00:00:00";
+    private static final String END = "2023-02-02T00:00:00";
+
+    LocalMetricsStore cut;
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void setup() {
+        cut = new LocalMetricsStore(directory);
+    }
+
+    @Test
+    public void testQuery_HappyCase() {
+        cut.add(Arrays.asList(
+                buildMetricsWithDimensions(PATIENT_ID1, MeasureName.STEP_COUNT, "1000", "2023-02-01T00:12:30.101", "M", 180f),
+                buildMetricsWithDimensions(PATIENT_ID1, MeasureName.WALKING_SPEED, "1.2", "2023-02-01T00:10:00", "M", 180f)));
+        cut.add(Collections.singletonList(
+                buildMetricsWithDimensions(PATIENT_ID2, MeasureName.STEP_LENGTH, "60.5", "2023-02-01T00:11:00", "F", null)));
+
+        List<Metrics> found = cut.query(Arrays.asList(PATIENT_ID1, PATIENT_ID2), START, END);
+
+        assertThat(found).extracting(Metrics::getTimestamp).containsExactly(
+                "2023-02-01 00:10:00.000000000", "2023-02-01 00:11:00.000000000", "2023-02-01 00:12:30.101000000");
+        Metrics first = found.get(0);
+        assertEquals(PATIENT_ID1, first.getPatientId());
+        assertEquals(MeasureName.WALKING_SPEED, first.getMeasureName());
+        assertEquals("1.2", first.getMeasureValue());
+        assertEquals("M", first.getSex());
+        assertEquals("1950-01-01", first.getBirthday());
+        assertEquals(180f, first.getHeight());
+        assertEquals(70f, first.getWeight());
+        assertEquals("1000.0", found.get(2).getMeasureValue());
+        assertEquals(null, found.get(1).getHeight());
+    }
+
+    @Test
+    public void testQuery_WHEN_OutsideTimeRange_THEN_Exclude() {
+        cut.add(Arrays.asList(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1", START),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "2", "2023-02-01T12:00:00"),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "3", END),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "4", "2023-03-01T00:00:00")));
+
+        assertThat(cut.query(Collections.singletonList(PATIENT_ID1), START, END))
+                .extracting(Metrics::getMeasureValue).containsExactly("2.0");
+        assertThat(cut.query(Collections.singletonList(PATIENT_ID2), START, END)).isEmpty();
+    }
+
+    @Test
+    public void testQuery_WHEN_Filters_THEN_MatchDimensions() {
+        cut.add(Arrays.asList(
+                buildMetricsWithDimensions(PATIENT_ID1, MeasureName.STEP_COUNT, "1", "2023-02-01T01:00:00", "M", 180f),
+                buildMetricsWithDimensions(PATIENT_ID2, MeasureName.STEP_COUNT, "2", "2023-02-01T02:00:00", "F", 160f),
+                buildMetricsWithDimensions(PATIENT_ID2, MeasureName.STEP_COUNT, "3", "2023-02-01T03:00:00", "F", null)));
+        List<String> ids = Arrays.asList(PATIENT_ID1, PATIENT_ID2);
+
+        assertThat(cut.query(ids, null, null, "F", null, null, null, null, START, END))
+                .extracting(Metrics::getMeasureValue).containsExactly("2.0", "3.0");
+        assertThat(cut.query(ids, null, null, null, 170f, null, null, null, START, END))
+                .extracting(Metrics::getMeasureValue).containsExactly("1.0");
+        assertThat(cut.query(ids, null, null, null, null, 170f, null, null, START, END))
+                .extracting(Metrics::getMeasureValue).containsExactly("2.0");
+        assertThat(cut.query(ids, 60, 90, null, null, null, 60f, 80f, START, END)).hasSize(3);
+        assertThat(cut.query(ids, 90, null, null, null, null, null, null, START, END)).isEmpty();
+    }
+
+    @Test
+    public void testAdd_WHEN_ManyWrites_THEN_CompactSegments() throws IOException {
+        for (int i = 0; i < LocalMetricsStore.MAX_SEGMENTS_PER_PATIENT + 1; i++) {
+            cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, Integer.toString(i),
+                    String.format("2023-02-01T%02d:00:00", i))));
+        }
+        // Replayed write is kept once after compaction
+        cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "0", "2023-02-01T00:00:00")));
+
+        assertEquals(2, listSegments(PATIENT_ID1).size());
+        List<Metrics> found = cut.query(Collections.singletonList(PATIENT_ID1), "2023-01-31T00:00:00", END);
+        assertThat(found).hasSize(LocalMetricsStore.MAX_SEGMENTS_PER_PATIENT + 2);
+
+        for (int i = 0; i < LocalMetricsStore.MAX_SEGMENTS_PER_PATIENT - 1; i++) {
+            cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "0", "2023-02-01T00:00:00")));
+        }
+        assertEquals(1, listSegments(PATIENT_ID1).size());
+        found = cut.query(Collections.singletonList(PATIENT_ID1), "2023-01-31T00:00:00", END);
+        assertThat(found).hasSize(LocalMetricsStore.MAX_SEGMENTS_PER_PATIENT + 1);
+    }
+
+    @Test
+    public void testReopen_THEN_LoadSegmentsAndDiscardSuperseded() throws IOException {
+        for (int i = 0; i < LocalMetricsStore.MAX_SEGMENTS_PER_PATIENT + 1; i++) {
+            cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, Integer.toString(i),
+                    String.format("2023-02-01T%02d:00:00", i))));
+        }
+        cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "100", "2023-02-01T20:00:00")));
+        Path patientDirectory = directory.resolve(PATIENT_ID1);
+        // Simulate a compaction interrupted before the merged segments were deleted and a write interrupted mid-file
+        Files.write(patientDirectory.resolve(String.format("%019d-%019d.seg", 3, 3)), new byte[0]);
+        Files.write(patientDirectory.resolve("partial.seg.tmp"), new byte[]{1, 2, 3});
+
+        cut = new LocalMetricsStore(directory);
+        List<Metrics> found = cut.query(Collections.singletonList(PATIENT_ID1), START, END);
+        assertThat(found).hasSize(LocalMetricsStore.MAX_SEGMENTS_PER_PATIENT + 1);
+        assertEquals(2, listSegments(PATIENT_ID1).size());
+        assertThat(patientDirectory.resolve("partial.seg.tmp")).doesNotExist();
+
+        cut.add(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "101", "2023-02-01T21:00:00")));
+        assertThat(cut.query(Collections.singletonList(PATIENT_ID1), START, END)).hasSize(LocalMetricsStore.MAX_SEGMENTS_PER_PATIENT + 2);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForAdd")
+    public void testAdd_WHEN_InvalidInput_THEN_ThrowInvalidInputException(List<Metrics> metricsList, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.add(metricsList), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForAdd() {
+        return Stream.of(
+                Arguments.of(null, METRICS_LIST_NULL_ERROR_MESSAGE),
+                Arguments.of(Collections.singletonList(buildMetrics("pat-../x", MeasureName.STEP_COUNT, "1", START)), PATIENT_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1%", START)), MEASURE_VALUE_INVALID_ERROR_MESSAGE),
+                Arguments.of(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1", "2023-02-01 00:00:00")), TIMESTAMP_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForQuery")
+    public void testQuery_WHEN_InvalidInput_THEN_ThrowInvalidInputException(List<String> ids, String start, String end, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.query(ids, start, end), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForQuery() {
+        return Stream.of(
+                Arguments.of(null, START, END, IDS_NULL_ERROR_MESSAGE),
+                Arguments.of(Collections.singletonList("pat-/etc"), START, END, PATIENT_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(Collections.singletonList(PATIENT_ID1), "2023-02-01 00:00:00", END, TIMESTAMP_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    private List<Path> listSegments(String patientId) throws IOException {
+        try (Stream<Path> stream = Files.list(directory.resolve(patientId))) {
+            return stream.filter(path -> path.toString().endsWith(".seg")).collect(Collectors.toList());
+        }
+    }
+
+    private static Metrics buildMetricsWithDimensions(String patientId, MeasureName measureName, String measureValue,
+                                                      String timestamp, String sex, Float height) {
+        Metrics metrics = buildMetrics(patientId, measureName, measureValue, timestamp);
+        metrics.setSex(sex);
+        metrics.setBirthday(LocalDate.of(1950, 1, 1).toString());
+        metrics.setHeight(height);
+        metrics.setWeight(70f);
+        return metrics;
+    }
+}
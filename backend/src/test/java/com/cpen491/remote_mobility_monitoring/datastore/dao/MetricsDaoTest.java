@@ -66,6 +66,17 @@ class MetricsDaoTest {
         assertThatThrownBy(() -> cut.add(metricsList)).isInstanceOf(InvalidMetricsException.class);
     }
 
+    @Test
+    public void testAdd_WHEN_MoreThanMaxRecords_THEN_WriteInMultipleRequests() {
+        List<Metrics> metricsList = new ArrayList<>();
+        for (int i = 0; i < MetricsDao.MAX_RECORDS_PER_WRITE + 50; i++) {
+            metricsList.add(buildMetricsDefault(MeasureName.STEP_COUNT, "1000"));
+        }
+        cut.add(metricsList);
+
+        Mockito.verify(writeClient, Mockito.times(2)).writeRecords(any(WriteRecordsRequest.class));
+    }
+
     @ParameterizedTest
     @MethodSource("invalidInputsForAdd")
     public void testAdd_WHEN_InvalidInput_THEN_ThrowInvalidInputException(List<Metrics> metricsList, String errorMessage) {
@@ -0,0 +1,183 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.MetricsState;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.assertInvalidInputExceptionThrown;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetricsState;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildPatient;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.MEASURE_NAME_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.METRICS_STATE_LIST_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.METRICS_STATE_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_INVALID_ERROR_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsStateDaoTest extends DaoTestParent {
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+    private static final String CAREGIVER_ID = "car-1";
+    private static final String TIMESTAMP1 = "2023-02-01T00:12:30.10101";
+    private static final String TIMESTAMP2 = "2023-02-02T00:12:30.10101";
+
+    MetricsStateDao cut;
+    PatientDao patientDao;
+
+    @BeforeEach
+    public void setup() {
+        setupTable();
+        cut = new MetricsStateDao(genericDao);
+        patientDao = new PatientDao(genericDao);
+    }
+
+    @AfterEach
+    public void teardown() {
+        teardownTable();
+    }
+
+    @Test
+    public void testSaveAndFindAllByPatientId_HappyCase() {
+        MetricsState state1 = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_SPEED, 3L, 1.2, 0.01, 0.5, TIMESTAMP1);
+        MetricsState state2 = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_STEADINESS, 1L, 0.8, 0.0, 0.0, TIMESTAMP1);
+        MetricsState state3 = buildMetricsState(PATIENT_ID2, MeasureName.WALKING_SPEED, 5L, 1.0, 0.02, 0.0, TIMESTAMP1);
+        cut.save(Arrays.asList(state1, state2, state3));
+
+        List<MetricsState> found = cut.findAllByPatientId(PATIENT_ID1);
+        assertThat(found).containsExactlyInAnyOrder(state1, state2);
+        for (MetricsState state : found) {
+            assertNotNull(state.getCreatedAt());
+            assertNotNull(state.getUpdatedAt());
+        }
+    }
+
+    @Test
+    public void testSave_WHEN_StateAlreadyExists_THEN_Overwrite() {
+        MetricsState state = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_SPEED, 3L, 1.2, 0.01, 0.5, TIMESTAMP1);
+        cut.save(Collections.singletonList(state));
+        String createdAt = state.getCreatedAt();
+
+        state.setCount(4L);
+        state.setMean(1.1);
+        state.setLastTimestamp(TIMESTAMP2);
+        cut.save(Collections.singletonList(state));
+
+        List<MetricsState> found = cut.findAllByPatientId(PATIENT_ID1);
+        assertEquals(1, found.size());
+        assertEquals(4L, found.get(0).getCount());
+        assertEquals(1.1, found.get(0).getMean());
+        assertEquals(TIMESTAMP2, found.get(0).getLastTimestamp());
+        assertEquals(createdAt, found.get(0).getCreatedAt());
+    }
+
+    @Test
+    public void testSaveIfUnchanged_WHEN_StateUnchangedSinceRead_THEN_Save() {
+        MetricsState state = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_SPEED, 1L, 1.2, 0.0, 0.0, TIMESTAMP1);
+        assertTrue(cut.saveIfUnchanged(state, 0L, null));
+
+        MetricsState found = cut.findAllByPatientId(PATIENT_ID1).get(0);
+        found.setCount(2L);
+        found.setLastTimestamp(TIMESTAMP2);
+        assertTrue(cut.saveIfUnchanged(found, 1L, TIMESTAMP1));
+
+        assertEquals(2L, cut.findAllByPatientId(PATIENT_ID1).get(0).getCount());
+        assertEquals(state.getCreatedAt(), cut.findAllByPatientId(PATIENT_ID1).get(0).getCreatedAt());
+    }
+
+    @Test
+    public void testSaveIfUnchanged_WHEN_StateChangedSinceRead_THEN_DoNotSave() {
+        MetricsState state = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_SPEED, 2L, 1.2, 0.0, 0.0, TIMESTAMP2);
+        cut.save(Collections.singletonList(state));
+
+        MetricsState stale = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_SPEED, 2L, 1.1, 0.0, 0.0, TIMESTAMP2);
+        assertFalse(cut.saveIfUnchanged(stale, 1L, TIMESTAMP1));
+        assertFalse(cut.saveIfUnchanged(stale, 0L, null));
+
+        List<MetricsState> found = cut.findAllByPatientId(PATIENT_ID1);
+        assertEquals(1, found.size());
+        assertEquals(1.2, found.get(0).getMean());
+    }
+
+    @Test
+    public void testFindAllByPatientId_WHEN_OtherAssociationsExist_THEN_ReturnOnlyStates() {
+        Patient patient = buildPatient(PATIENT_ID1, PATIENT_ID1, "patient@email.com", null, "Jack", "Jackson", "1234567890");
+        createPatient(patient);
+        putPrimaryKey(PATIENT_ID1, CAREGIVER_ID);
+        MetricsState state = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_SPEED, 3L, 1.2, 0.01, 0.5, TIMESTAMP1);
+        cut.save(Collections.singletonList(state));
+
+        List<MetricsState> found = cut.findAllByPatientId(PATIENT_ID1);
+        assertThat(found).containsExactly(state);
+    }
+
+    @Test
+    public void testFindAllByPatientId_WHEN_NoStates_THEN_ReturnEmptyList() {
+        assertThat(cut.findAllByPatientId(PATIENT_ID1)).isEmpty();
+    }
+
+    @Test
+    public void testDeletePatient_THEN_StatesAreDeleted() {
+        Patient patient = buildPatient(PATIENT_ID1, PATIENT_ID1, "patient@email.com", null, "Jack", "Jackson", "1234567890");
+        createPatient(patient);
+        MetricsState state = buildMetricsState(PATIENT_ID1, MeasureName.WALKING_SPEED, 3L, 1.2, 0.01, 0.5, TIMESTAMP1);
+        cut.save(Collections.singletonList(state));
+        assertTrue(findByPrimaryKey(PATIENT_ID1, state.getSid()).hasItem());
+
+        patientDao.delete(PATIENT_ID1);
+        assertFalse(findByPrimaryKey(PATIENT_ID1, state.getSid()).hasItem());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForFindAllByPatientId")
+    public void testFindAllByPatientId_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String patientId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.findAllByPatientId(patientId), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForFindAllByPatientId() {
+        return Stream.of(
+                Arguments.of(null, PATIENT_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of("", PATIENT_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(CAREGIVER_ID, PATIENT_ID_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForSave")
+    public void testSave_WHEN_InvalidInput_THEN_ThrowInvalidInputException(List<MetricsState> metricsStates, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.save(metricsStates), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForSave() {
+        List<MetricsState> argument2 = new ArrayList<>();
+        argument2.add(null);
+        List<MetricsState> argument3 = new ArrayList<>();
+        argument3.add(MetricsState.builder().measureName(MeasureName.WALKING_SPEED).build());
+        List<MetricsState> argument4 = new ArrayList<>();
+        argument4.add(MetricsState.builder().pid(CAREGIVER_ID).measureName(MeasureName.WALKING_SPEED).build());
+        List<MetricsState> argument5 = new ArrayList<>();
+        argument5.add(MetricsState.builder().pid(PATIENT_ID1).build());
+        return Stream.of(
+                Arguments.of(null, METRICS_STATE_LIST_NULL_ERROR_MESSAGE),
+                Arguments.of(argument2, METRICS_STATE_NULL_ERROR_MESSAGE),
+                Arguments.of(argument3, PATIENT_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(argument4, PATIENT_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(argument5, MEASURE_NAME_NULL_ERROR_MESSAGE)
+        );
+    }
+}
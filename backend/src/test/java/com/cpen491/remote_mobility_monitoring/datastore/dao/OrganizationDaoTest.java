@@ -15,6 +15,7 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -48,6 +49,7 @@ public class OrganizationDaoTest extends DaoTestParent {
     private static final String SID = PID;
     private static final String NAME1 = "ORG1";
     private static final String NAME2 = "ORG2";
+    private static final String TABLE_NAME = "REMOTE_MOBILITY_MONITORING";
     private static final String ADMIN_ID = "adm-1";
     private static final String CAREGIVER_ID = "car-1";
 
@@ -269,6 +271,127 @@ public class OrganizationDaoTest extends DaoTestParent {
         );
     }
 
+    @Test
+    public void testFindCaregiverPage_HappyCase() {
+        Organization organization = buildOrganizationDefault();
+        createOrganization(organization);
+        for (int i = 0; i < 3; i++) {
+            Caregiver caregiver = buildCaregiver("car-" + i, "car-" + i, null, "First", "Last" + (3 - i), null, null);
+            genericDao.addAssociation(Organization.convertToMap(organization), Caregiver.convertToMap(caregiver));
+        }
+
+        RosterPage<Caregiver> page = cut.findCaregiverPage(PID, RosterQuery.builder().limit(2).build());
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("car-2", page.getItems().get(0).getPid());
+        assertEquals("Last1", page.getItems().get(0).getLastName());
+        assertEquals("car-1", page.getItems().get(1).getPid());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForFindAllCaregivers")
+    public void testFindCaregiverPage_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String organizationId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.findCaregiverPage(organizationId, RosterQuery.builder().build()), errorMessage);
+    }
+
+    @Test
+    public void testSearchCaregivers_HappyCase() {
+        Organization organization = buildOrganizationDefault();
+        createOrganization(organization);
+        for (int i = 0; i < 3; i++) {
+            Caregiver caregiver = buildCaregiver("car-" + i, "car-" + i, null, "First", "Last" + i, null, null);
+            genericDao.addAssociation(Organization.convertToMap(organization), Caregiver.convertToMap(caregiver));
+        }
+
+        List<Caregiver> caregivers = cut.searchCaregivers(PID, "last1", 10);
+
+        assertEquals(1, caregivers.size());
+        assertEquals("car-1", caregivers.get(0).getPid());
+        assertEquals("Last1", caregivers.get(0).getLastName());
+        assertEquals(3, cut.searchCaregivers(PID, "fir las", 10).size());
+        assertEquals(2, cut.searchCaregivers(PID, "first", 2).size());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForFindAllCaregivers")
+    public void testSearchCaregivers_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String organizationId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.searchCaregivers(organizationId, "first", 10), errorMessage);
+    }
+
+    @Test
+    public void testFindRosterById_HappyCase() {
+        Admin admin1 = buildAdmin(ADMIN_ID, ADMIN_ID, null, "Jack", "Jones");
+        createAdmin(admin1);
+        Caregiver caregiver1 = buildCaregiver(CAREGIVER_ID, CAREGIVER_ID, null, "Jane", "Doe", null, null);
+        createCaregiver(caregiver1);
+        Organization organization = buildOrganizationDefault();
+        createOrganization(organization);
+        genericDao.addAssociation(Organization.convertToMap(organization), Admin.convertToMap(admin1));
+        genericDao.addAssociation(Organization.convertToMap(organization), Caregiver.convertToMap(caregiver1));
+
+        OrganizationRoster roster = cut.findRosterById(PID);
+
+        assertEquals(NAME1, roster.getOrganization().getName());
+        assertThat(roster.getAdmins()).hasSize(1);
+        assertEquals(ADMIN_ID, roster.getAdmins().get(0).getPid());
+        assertEquals("Jack", roster.getAdmins().get(0).getFirstName());
+        assertEquals("Jones", roster.getAdmins().get(0).getLastName());
+        assertThat(roster.getCaregivers()).hasSize(1);
+        assertEquals(CAREGIVER_ID, roster.getCaregivers().get(0).getPid());
+        assertEquals("Jane", roster.getCaregivers().get(0).getFirstName());
+        assertEquals("Doe", roster.getCaregivers().get(0).getLastName());
+    }
+
+    @Test
+    public void testFindRosterById_WHEN_Sharded_THEN_GatherAllShards() {
+        GenericDao shardedDao = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, null, null,
+                new PartitionShards(Set.of(OrganizationTable.ID_PREFIX), 4));
+        cut = new OrganizationDao(shardedDao);
+        Organization organization = buildOrganizationDefault();
+        createOrganization(organization);
+        for (int i = 0; i < 10; i++) {
+            Caregiver caregiver = buildCaregiver("car-" + i, "car-" + i, null, "Jane", "Doe" + i, null, null);
+            createCaregiver(caregiver);
+            shardedDao.addAssociation(Organization.convertToMap(organization), Caregiver.convertToMap(caregiver));
+        }
+        Admin admin1 = buildAdmin(ADMIN_ID, ADMIN_ID, null, "Jack", "Jones");
+        createAdmin(admin1);
+        shardedDao.addAssociation(Organization.convertToMap(organization), Admin.convertToMap(admin1));
+
+        OrganizationRoster roster = cut.findRosterById(PID);
+
+        assertEquals(NAME1, roster.getOrganization().getName());
+        assertEquals(PID, roster.getOrganization().getPid());
+        assertThat(roster.getAdmins()).extracting(Admin::getPid).containsExactly(ADMIN_ID);
+        assertThat(roster.getCaregivers()).hasSize(10);
+        assertThat(cut.findAllCaregivers(PID)).hasSize(10);
+        assertTrue(cut.hasCaregiver("car-3", PID));
+    }
+
+    @Test
+    public void testFindRosterById_WHEN_NoRecordsAssociated_THEN_ReturnEmptyLists() {
+        Organization organization = buildOrganizationDefault();
+        createOrganization(organization);
+
+        OrganizationRoster roster = cut.findRosterById(PID);
+
+        assertEquals(NAME1, roster.getOrganization().getName());
+        assertThat(roster.getAdmins()).isEmpty();
+        assertThat(roster.getCaregivers()).isEmpty();
+    }
+
+    @Test
+    public void testFindRosterById_WHEN_RecordDoesNotExist_THEN_ThrowRecordDoesNotExistException() {
+        assertThatThrownBy(() -> cut.findRosterById(PID)).isInstanceOf(RecordDoesNotExistException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForFindAllCaregivers")
+    public void testFindRosterById_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String organizationId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.findRosterById(organizationId), errorMessage);
+    }
+
     @Test
     public void testUpdate_HappyCase() {
         Organization newRecord = buildOrganizationDefault();
@@ -0,0 +1,70 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionShardsTest {
+    private static final String ORGANIZATION_ID = "org-1";
+    private static final String CAREGIVER_ID = "car-1";
+
+    PartitionShards cut = new PartitionShards(Set.of("org-"), 4);
+
+    @Test
+    public void testShardKey_WHEN_Sharded_THEN_ReturnSameShardForSameId() {
+        String shardKey = cut.shardKey(ORGANIZATION_ID, CAREGIVER_ID);
+
+        assertEquals(shardKey, cut.shardKey(ORGANIZATION_ID, CAREGIVER_ID));
+        assertThat(cut.shardKeys(ORGANIZATION_ID)).contains(shardKey);
+        assertEquals(ORGANIZATION_ID, cut.entityId(shardKey));
+    }
+
+    @Test
+    public void testShardKey_WHEN_ManyIds_THEN_SpreadOverAllShards() {
+        Set<String> shardKeys = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            shardKeys.add(cut.shardKey(ORGANIZATION_ID, "car-" + i));
+        }
+
+        assertEquals(Set.copyOf(cut.shardKeys(ORGANIZATION_ID)), shardKeys);
+    }
+
+    @Test
+    public void testShardKey_WHEN_NotSharded_THEN_ReturnId() {
+        assertEquals(CAREGIVER_ID, cut.shardKey(CAREGIVER_ID, ORGANIZATION_ID));
+        assertEquals(ORGANIZATION_ID, new PartitionShards(Set.of("org-"), 1).shardKey(ORGANIZATION_ID, CAREGIVER_ID));
+        assertEquals(List.of(ORGANIZATION_ID), PartitionShards.NONE.shardKeys(ORGANIZATION_ID));
+    }
+
+    @Test
+    public void testShardKey_WHEN_AlreadyShardKey_THEN_ReturnSameKey() {
+        String shardKey = cut.shardKey(ORGANIZATION_ID, CAREGIVER_ID);
+
+        assertFalse(cut.isSharded(shardKey));
+        assertEquals(shardKey, cut.shardKey(shardKey, CAREGIVER_ID));
+    }
+
+    @Test
+    public void testShardKeys_WHEN_Sharded_THEN_ReturnAllShards() {
+        assertTrue(cut.isSharded(ORGANIZATION_ID));
+        assertEquals(List.of("org-1#0", "org-1#1", "org-1#2", "org-1#3"), cut.shardKeys(ORGANIZATION_ID));
+    }
+
+    @Test
+    public void testEntityId_WHEN_NotShardedPrefix_THEN_ReturnPid() {
+        assertEquals("clm-email#a@b.com", cut.entityId("clm-email#a@b.com"));
+    }
+
+    @Test
+    public void testConstructor_WHEN_ShardCountLessThanOne_THEN_ThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> new PartitionShards(Set.of("org-"), 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,7 +2,11 @@ package com.cpen491.remote_mobility_monitoring.datastore.dao;
 
 import com.cpen491.remote_mobility_monitoring.datastore.exception.DuplicateRecordException;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule.Operator;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.MetricsState;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +23,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.cpen491.remote_mobility_monitoring.TestUtils.assertInvalidInputExceptionThrown;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildAlertRule;
 import static com.cpen491.remote_mobility_monitoring.TestUtils.buildCaregiver;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetricsState;
 import static com.cpen491.remote_mobility_monitoring.TestUtils.buildPatient;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
 import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
@@ -321,6 +327,73 @@ public class PatientDaoTest extends DaoTestParent {
         assertEquals(CAREGIVER_EMAIL1, findByPrimaryKey(CAREGIVER_ID1, PID).item().get(CaregiverTable.EMAIL_NAME).s());
     }
 
+    @Test
+    public void testUpdate_WHEN_OptionalAttributesCleared_THEN_RemoveThemFromAllRecords() {
+        Patient newRecord = buildPatientDefault();
+        newRecord.setWeight(70.5f);
+        createPatient(newRecord);
+        Caregiver newRecord2 = buildCaregiverDefault();
+        newRecord2.setSid(PID);
+        createCaregiver(newRecord2);
+
+        Patient updatedRecord = cut.findById(PID);
+        updatedRecord.setDeviceId(null);
+        updatedRecord.setWeight(null);
+        cut.update(updatedRecord);
+
+        for (GetItemResponse response : List.of(findByPrimaryKey(PID, PID), findByPrimaryKey(CAREGIVER_ID1, PID))) {
+            assertFalse(response.item().containsKey(PatientTable.DEVICE_ID_NAME));
+            assertFalse(response.item().containsKey(PatientTable.WEIGHT));
+            assertEquals(FIRST_NAME, response.item().get(PatientTable.FIRST_NAME_NAME).s());
+        }
+        assertNull(cut.findById(PID).getDeviceId());
+        assertNull(cut.findByDeviceId(DEVICE_ID1));
+    }
+
+    @Test
+    public void testUpdate_WHEN_PatientHasRulesAndMetricsState_THEN_DoNotCopyPatientOntoThem() {
+        Patient newRecord = buildPatientDefault();
+        cut.create(newRecord);
+        AlertRuleDao alertRuleDao = new AlertRuleDao(genericDao);
+        AlertRule rule = buildAlertRule(PID, null, CAREGIVER_ID1, MeasureName.STEP_LENGTH, Operator.LESS_THAN, 0.5, 0L);
+        alertRuleDao.create(rule);
+        MetricsState metricsState = buildMetricsState(PID, MeasureName.STEP_LENGTH, 1L, 0.6, 0.0, 0.0, null);
+        new MetricsStateDao(genericDao).save(List.of(metricsState));
+        GetItemResponse ruleBefore = findByPrimaryKey(PID, rule.getSid());
+
+        Patient updatedRecord = cut.findById(PID);
+        updatedRecord.setEmail(EMAIL2);
+        cut.update(updatedRecord);
+
+        for (String sid : List.of(rule.getSid(), metricsState.getSid())) {
+            GetItemResponse response = findByPrimaryKey(PID, sid);
+            assertTrue(response.hasItem());
+            assertNull(response.item().get(PatientTable.EMAIL_NAME));
+            assertNull(response.item().get(PatientTable.DEVICE_ID_NAME));
+            assertNull(response.item().get(PatientTable.FIRST_NAME_NAME));
+        }
+        assertEquals(ruleBefore.item(), findByPrimaryKey(PID, rule.getSid()).item());
+        assertEquals(PID, cut.findByEmail(EMAIL2).getPid());
+        assertEquals(PID, cut.findByDeviceId(DEVICE_ID1).getPid());
+    }
+
+    @Test
+    public void testUpdate_WHEN_EmailChanged_THEN_MoveEmailClaim() {
+        Patient newRecord = buildPatientDefault();
+        cut.create(newRecord);
+
+        Patient updatedRecord = cut.findById(PID);
+        updatedRecord.setEmail(EMAIL2);
+        cut.update(updatedRecord);
+
+        assertFalse(findByPrimaryKey(emailClaimId(EMAIL1), emailClaimId(EMAIL1)).hasItem());
+        assertTrue(findByPrimaryKey(emailClaimId(EMAIL2), emailClaimId(EMAIL2)).hasItem());
+        Patient otherRecord = buildPatientDefault();
+        otherRecord.setPid(PID2);
+        otherRecord.setSid(SID2);
+        assertDoesNotThrow(() -> cut.create(otherRecord));
+    }
+
     @Test
     public void testUpdate_WHEN_RecordDoesNotExist_THEN_ThrowRecordDoesNotExistException() {
         Patient newRecord = buildPatientDefault();
@@ -381,6 +454,18 @@ public class PatientDaoTest extends DaoTestParent {
         assertFalse(response2.hasItem());
     }
 
+    @Test
+    public void testDelete_WHEN_EmailClaimed_THEN_ReleaseEmailClaim() {
+        Patient newRecord = buildPatientDefault();
+        cut.create(newRecord);
+        assertTrue(findByPrimaryKey(emailClaimId(EMAIL1), emailClaimId(EMAIL1)).hasItem());
+
+        cut.delete(PID);
+
+        assertFalse(findByPrimaryKey(emailClaimId(EMAIL1), emailClaimId(EMAIL1)).hasItem());
+        assertDoesNotThrow(() -> cut.create(buildPatientDefault()));
+    }
+
     @Test
     public void testDelete_WHEN_RecordDoesNotExist_THEN_DoNothing() {
         assertDoesNotThrow(() -> cut.delete(PID));
@@ -407,4 +492,8 @@ public class PatientDaoTest extends DaoTestParent {
     private static Caregiver buildCaregiverDefault() {
         return buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null);
     }
+
+    private static String emailClaimId(String email) {
+        return GenericDao.buildClaimId(PatientTable.EMAIL_NAME, email);
+    }
 }
@@ -0,0 +1,84 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReadExecutorTest {
+    private static final String ID = "car-1";
+
+    ExecutorService executor;
+    IdentityMap identityMap;
+    ReadExecutor cut;
+
+    @BeforeEach
+    public void setup() {
+        executor = Executors.newFixedThreadPool(2);
+        identityMap = new IdentityMap();
+        cut = new ReadExecutor(executor, identityMap);
+    }
+
+    @AfterEach
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSupplyAsync_WHEN_TwoReads_THEN_RunConcurrently() {
+        CountDownLatch latch = new CountDownLatch(2);
+        CompletableFuture<Boolean> read1 = cut.supplyAsync(() -> countDownAndAwait(latch));
+        CompletableFuture<Boolean> read2 = cut.supplyAsync(() -> countDownAndAwait(latch));
+
+        assertTrue(ReadExecutor.join(read1));
+        assertTrue(ReadExecutor.join(read2));
+    }
+
+    @Test
+    public void testSupplyAsync_WHEN_InIdentityMapScope_THEN_ReadWithinCallerScope() {
+        identityMap.withScope(() -> {
+            ReadExecutor.join(cut.supplyAsync(() -> {
+                identityMap.put(ID, Map.of());
+                return null;
+            }));
+            assertTrue(identityMap.contains(ID));
+            return null;
+        });
+    }
+
+    @Test
+    public void testJoin_WHEN_ReadThrows_THEN_RethrowSameException() {
+        RecordDoesNotExistException toThrow = new RecordDoesNotExistException("Caregiver", ID);
+        CompletableFuture<Object> read = cut.supplyAsync(() -> {
+            throw toThrow;
+        });
+
+        assertThatThrownBy(() -> ReadExecutor.join(read)).isSameAs(toThrow);
+    }
+
+    @Test
+    public void testJoin_WHEN_ReadReturns_THEN_ReturnResult() {
+        assertEquals(ID, ReadExecutor.join(cut.supplyAsync(() -> ID)));
+    }
+
+    private static boolean countDownAndAwait(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SearchTokensTest {
+    private static final String FIRST_NAME = "first_name";
+    private static final String LAST_NAME = "last_name";
+
+    @Test
+    public void testTerms_WHEN_AttributesHaveManyWords_THEN_ReturnLowerCaseWords() {
+        Map<String, AttributeValue> member = Map.of(
+                FIRST_NAME, convertToAttributeValue("Mary Ann"),
+                LAST_NAME, convertToAttributeValue(" Smith "));
+
+        assertEquals(List.of("mary", "ann", "smith"), SearchTokens.terms(member, List.of(FIRST_NAME, LAST_NAME, "email")));
+    }
+
+    @Test
+    public void testTokens_WHEN_TermsSharePrefixesOrAreLong_THEN_ReturnDistinctPrefixesUpToMaxLength() {
+        String longTerm = "a".repeat(SearchTokens.MAX_TOKEN_LENGTH + 5);
+
+        assertThat(SearchTokens.tokens(List.of("ann", "anna"))).containsExactly("a", "an", "ann", "anna");
+        assertEquals(SearchTokens.MAX_TOKEN_LENGTH, SearchTokens.tokens(List.of(longTerm)).size());
+    }
+
+    @Test
+    public void testLookupToken_WHEN_ManyWords_THEN_ReturnLongestWordCutToMaxLength() {
+        String longWord = "b".repeat(SearchTokens.MAX_TOKEN_LENGTH + 1);
+
+        assertEquals("smith", SearchTokens.lookupToken(List.of("jo", "smith")));
+        assertEquals(longWord.substring(0, SearchTokens.MAX_TOKEN_LENGTH), SearchTokens.lookupToken(List.of(longWord)));
+        assertNull(SearchTokens.lookupToken(SearchTokens.words("  ")));
+        assertTrue(SearchTokens.isExactLookup(List.of("smith")));
+        assertFalse(SearchTokens.isExactLookup(List.of("jo", "smith")));
+        assertFalse(SearchTokens.isExactLookup(List.of(longWord)));
+    }
+
+    @Test
+    public void testMatches_WHEN_EveryWordIsPrefixOfTerm_THEN_ReturnTrue() {
+        List<String> terms = List.of("mary", "ann", "smith");
+
+        assertTrue(SearchTokens.matches(terms, List.of("sm", "mar")));
+        assertFalse(SearchTokens.matches(terms, List.of("sm", "jo")));
+    }
+}
@@ -0,0 +1,168 @@
+package com.cpen491.remote_mobility_monitoring.datastore.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.BaseTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.ClaimTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.PatientTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.RosterTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.DynamoDbUtils.convertToAttributeValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableMigrationsTest extends DaoTestParent {
+    private static final String TABLE_NAME = "REMOTE_MOBILITY_MONITORING";
+    private static final String NAME = "name";
+    private static final String PATIENT_NAME = "pat-name";
+    private static final String CAREGIVER_ID = "car-1";
+    private static final String ORGANIZATION_ID = "org-1";
+    private static final PartitionShards ORGANIZATION_SHARDS = new PartitionShards(Set.of("org-"), 4);
+
+    @BeforeEach
+    public void setup() {
+        setupTable();
+    }
+
+    @AfterEach
+    public void teardown() {
+        teardownTable();
+    }
+
+    @Test
+    public void testReshardAssociations_WHEN_ShardCountChanged_THEN_MoveAssociationsToShards() {
+        GenericDao shardedDao = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.DENORMALIZED, null, null,
+                ORGANIZATION_SHARDS);
+        TableMigrations cut = new TableMigrations(shardedDao);
+        Map<String, AttributeValue> organization = buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org");
+        genericDao.put(organization);
+        for (int i = 0; i < 20; i++) {
+            genericDao.addAssociation(organization, buildItem("car-" + i, "car-" + i, null));
+        }
+
+        assertEquals(20, cut.reshardAssociations());
+        assertEquals(0, cut.reshardAssociations());
+
+        List<Map<String, AttributeValue>> unsharded = new ArrayList<>();
+        genericDao.findAllByPartitionKey(ORGANIZATION_ID).forEach(unsharded::add);
+        assertEquals(1, unsharded.size());
+        List<Map<String, AttributeValue>> associations = new ArrayList<>();
+        shardedDao.findAllAssociations(ORGANIZATION_ID, "car-").forEach(associations::add);
+        assertEquals(20, associations.size());
+    }
+
+    @Test
+    public void testBackfillRosterKeys_WHEN_AssociationsWithoutKeys_THEN_WriteKeys() {
+        TableMigrations cut = new TableMigrations(genericDao);
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        for (int i = 0; i < 3; i++) {
+            Map<String, AttributeValue> association = buildPatient("pat-" + i, "Patient" + (3 - i));
+            association.put(BaseTable.PID_NAME, convertToAttributeValue(CAREGIVER_ID));
+            association.put(BaseTable.CREATED_AT_NAME, convertToAttributeValue("2023-01-01T00:00:00"));
+            genericDao.put(association);
+        }
+        assertTrue(genericDao.findRosterPage(CAREGIVER_ID, "pat-", RosterQuery.builder().build(), null).getItems().isEmpty());
+
+        assertEquals(3, cut.backfillRosterKeys());
+        assertEquals(0, cut.backfillRosterKeys());
+
+        List<String> sids = genericDao.findRosterPage(CAREGIVER_ID, "pat-", RosterQuery.builder().build(), null)
+                .getItems().stream().map(item -> item.get(BaseTable.SID_NAME).s()).collect(Collectors.toList());
+        assertEquals(List.of("pat-2", "pat-1", "pat-0"), sids);
+        assertTrue(findByPrimaryKey(CAREGIVER_ID, "pat-0").item().containsKey(RosterTable.CREATED_AT_KEY_NAME));
+    }
+
+    @Test
+    public void testBackfillSearchIndex_WHEN_AssociationsWithoutSearchRecords_THEN_WriteSearchRecords() {
+        GenericDao normalizedDao = new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.NORMALIZED, null);
+        TableMigrations cut = new TableMigrations(normalizedDao);
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        normalizedDao.put(caregiver);
+        for (int i = 0; i < 3; i++) {
+            Map<String, AttributeValue> patient = buildPatient("pat-" + i, "Patient" + i);
+            normalizedDao.put(patient);
+            normalizedDao.put(normalizedDao.buildAssociation(caregiver, patient));
+        }
+        assertTrue(searchSids(normalizedDao, "patient").isEmpty());
+
+        assertEquals(3, cut.backfillSearchIndex());
+        assertEquals(3, cut.backfillSearchIndex());
+
+        assertEquals(List.of("pat-0", "pat-1", "pat-2"), searchSids(normalizedDao, "patient"));
+        assertEquals(List.of("pat-1"), searchSids(normalizedDao, "patient1"));
+    }
+
+    @Test
+    public void testRewriteAssociations_WHEN_LayoutSwitched_THEN_RewriteAllAssociationRecords() {
+        TableMigrations cut = new TableMigrations(new GenericDao(TABLE_NAME, ddbClient, AssociationLayout.NORMALIZED, null));
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        for (int i = 0; i < GenericDao.MAX_BATCH_WRITE_ITEMS * 2; i++) {
+            Map<String, AttributeValue> patient = buildItem("pat-" + i, "pat-" + i, null);
+            patient.put(PATIENT_NAME, convertToAttributeValue("Patient"));
+            genericDao.put(patient);
+            genericDao.addAssociation(caregiver, patient);
+        }
+
+        assertEquals(GenericDao.MAX_BATCH_WRITE_ITEMS * 2, cut.rewriteAssociations(AssociationLayout.NORMALIZED));
+        Map<String, AttributeValue> normalized = findByPrimaryKey(CAREGIVER_ID, "pat-0").item();
+        assertFalse(normalized.containsKey(NAME));
+        assertFalse(normalized.containsKey(PATIENT_NAME));
+        assertTrue(normalized.containsKey(BaseTable.CREATED_AT_NAME));
+
+        assertEquals(GenericDao.MAX_BATCH_WRITE_ITEMS * 2, cut.rewriteAssociations(AssociationLayout.DENORMALIZED));
+        Map<String, AttributeValue> denormalized = findByPrimaryKey(CAREGIVER_ID, "pat-0").item();
+        assertEquals("Jack", denormalized.get(NAME).s());
+        assertEquals("Patient", denormalized.get(PATIENT_NAME).s());
+    }
+
+    @Test
+    public void testBackfillClaims_WHEN_RecordsWithoutClaims_THEN_ClaimValuesOfEntityRecords() {
+        TableMigrations cut = new TableMigrations(genericDao);
+        Map<String, AttributeValue> caregiver = buildItem(CAREGIVER_ID, CAREGIVER_ID, "Jack");
+        genericDao.put(caregiver);
+        genericDao.put(buildItem("car-2", "car-2", "Jane"));
+        genericDao.addAssociation(buildItem(ORGANIZATION_ID, ORGANIZATION_ID, "Org"), caregiver);
+
+        assertEquals(2, cut.backfillClaims("car-", NAME));
+
+        String claimId = GenericDao.buildClaimId(NAME, "Jack");
+        assertEquals(CAREGIVER_ID, findByPrimaryKey(claimId, claimId).item().get(ClaimTable.OWNER_ID_NAME).s());
+        assertEquals(ClaimResult.ALREADY_CLAIMED,
+                genericDao.createWithClaim(List.of(buildItem("car-3", "car-3", "Jack")), claimId));
+    }
+
+    private static List<String> searchSids(GenericDao dao, String search) {
+        return dao.search(CAREGIVER_ID, "pat-", search, 10).stream()
+                .map(item -> item.get(BaseTable.SID_NAME).s())
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, AttributeValue> buildPatient(String id, String lastName) {
+        Map<String, AttributeValue> patient = buildItem(id, id, null);
+        patient.put(PatientTable.FIRST_NAME_NAME, convertToAttributeValue("First"));
+        patient.put(PatientTable.LAST_NAME_NAME, convertToAttributeValue(lastName));
+        return patient;
+    }
+
+    private static Map<String, AttributeValue> buildItem(String pid, String sid, String name) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put(BaseTable.PID_NAME, convertToAttributeValue(pid));
+        item.put(BaseTable.SID_NAME, convertToAttributeValue(sid));
+        if (name != null) {
+            item.put(NAME, convertToAttributeValue(name));
+        }
+        return item;
+    }
+}
@@ -0,0 +1,130 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import com.cpen491.remote_mobility_monitoring.dependency.exception.InvalidAuthorizationException;
+import com.cpen491.remote_mobility_monitoring.function.module.UtilityModule;
+import com.cpen491.remote_mobility_monitoring.function.schema.auth.JwtPayload;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+public class JwksJwtVerifierTest {
+    private static final String KID = "kid-1";
+    private static final long EXP = 1700003600;
+    private static final String ISSUER = "https://cognito-idp.us-west-2.amazonaws.com/us-west-2_pool";
+    private static final String CLIENT_ID = "client-1";
+    private static final String PAYLOAD = "{\"sub\":\"1234\",\"cognito:groups\":[\"Admin\"],\"exp\":" + EXP
+            + ",\"iss\":\"" + ISSUER + "\",\"token_use\":\"id\",\"aud\":\"" + CLIENT_ID + "\"}";
+
+    @TempDir
+    Path directory;
+    AtomicLong clock;
+    KeyPair keyPair;
+    Gson gson;
+    JwksJwtVerifier cut;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        gson = UtilityModule.gson();
+        keyPair = JwksTestUtils.generateKeyPair();
+        Path jwksFile = directory.resolve("jwks.json");
+        Files.writeString(jwksFile, JwksTestUtils.buildJwks(KID, keyPair));
+        clock = new AtomicLong(EXP * 1000 - 1);
+        cut = new JwksJwtVerifier(new JwksKeyProvider(jwksFile.toString(), 0, gson, clock::get), gson, ISSUER,
+                CLIENT_ID, clock::get);
+    }
+
+    @Test
+    public void testVerify_HappyCase() throws Exception {
+        String jwt = JwksTestUtils.buildJwt("RS256", KID, PAYLOAD, keyPair);
+
+        assertDoesNotThrow(() -> cut.verify(jwt, parse(PAYLOAD)));
+    }
+
+    @Test
+    public void testVerify_WHEN_Expired_THEN_ThrowInvalidAuthorizationException() throws Exception {
+        String jwt = JwksTestUtils.buildJwt("RS256", KID, PAYLOAD, keyPair);
+        clock.set(EXP * 1000);
+
+        assertInvalidAuthorizationExceptionThrown(jwt, PAYLOAD);
+        assertClaimsRejected(PAYLOAD.replace(",\"exp\":" + EXP, ""));
+    }
+
+    @Test
+    public void testVerify_WHEN_NoSubject_THEN_ThrowInvalidAuthorizationException() throws Exception {
+        assertClaimsRejected(PAYLOAD.replace("\"sub\":\"1234\"", "\"sub\":\"\""));
+        assertClaimsRejected(PAYLOAD.replace("\"sub\":\"1234\",", ""));
+    }
+
+    @Test
+    public void testVerify_WHEN_IssuedByOtherUserPool_THEN_ThrowInvalidAuthorizationException() throws Exception {
+        assertClaimsRejected(PAYLOAD.replace(ISSUER, "https://cognito-idp.us-west-2.amazonaws.com/us-west-2_other"));
+        assertClaimsRejected(PAYLOAD.replace(",\"iss\":\"" + ISSUER + "\"", ""));
+    }
+
+    @Test
+    public void testVerify_WHEN_NotIdTokenOfAppClient_THEN_ThrowInvalidAuthorizationException() throws Exception {
+        assertClaimsRejected(PAYLOAD.replace("\"token_use\":\"id\"", "\"token_use\":\"access\""));
+        assertClaimsRejected(PAYLOAD.replace(CLIENT_ID, "client-2"));
+    }
+
+    @Test
+    public void testVerify_WHEN_NoAppClientConfigured_THEN_AcceptEveryAppClient() throws Exception {
+        Path jwksFile = directory.resolve("jwks.json");
+        cut = new JwksJwtVerifier(new JwksKeyProvider(jwksFile.toString(), 0, gson, clock::get), gson, ISSUER, null,
+                clock::get);
+        String payload = PAYLOAD.replace(CLIENT_ID, "client-2");
+        String jwt = JwksTestUtils.buildJwt("RS256", KID, payload, keyPair);
+
+        assertDoesNotThrow(() -> cut.verify(jwt, parse(payload)));
+    }
+
+    @Test
+    public void testVerify_WHEN_SignedByOtherKey_THEN_ThrowInvalidAuthorizationException() throws Exception {
+        KeyPair otherKeyPair = JwksTestUtils.generateKeyPair();
+
+        assertInvalidAuthorizationExceptionThrown(JwksTestUtils.buildJwt("RS256", KID, PAYLOAD, otherKeyPair), PAYLOAD);
+        assertInvalidAuthorizationExceptionThrown(JwksTestUtils.buildJwt("RS256", "kid-2", PAYLOAD, keyPair), PAYLOAD);
+    }
+
+    @Test
+    public void testVerify_WHEN_PayloadTampered_THEN_ThrowInvalidAuthorizationException() throws Exception {
+        String jwt = JwksTestUtils.buildJwt("RS256", KID, PAYLOAD, keyPair);
+        String otherPayload = PAYLOAD.replace("1234", "5678");
+        String otherJwt = JwksTestUtils.buildJwt("RS256", KID, otherPayload, keyPair);
+        String[] parts = jwt.split("\\.");
+        String tampered = parts[0] + "." + otherJwt.split("\\.")[1] + "." + parts[2];
+
+        assertInvalidAuthorizationExceptionThrown(tampered, otherPayload);
+    }
+
+    @Test
+    public void testVerify_WHEN_NotRs256OrMalformed_THEN_ThrowInvalidAuthorizationException() throws Exception {
+        String jwt = JwksTestUtils.buildJwt("none", KID, PAYLOAD, keyPair);
+
+        assertInvalidAuthorizationExceptionThrown(jwt, PAYLOAD);
+        assertInvalidAuthorizationExceptionThrown("a.b", PAYLOAD);
+        assertInvalidAuthorizationExceptionThrown("a.b.c.d", PAYLOAD);
+        assertInvalidAuthorizationExceptionThrown("!!.!!.!!", PAYLOAD);
+    }
+
+    private void assertClaimsRejected(String payload) throws Exception {
+        assertInvalidAuthorizationExceptionThrown(JwksTestUtils.buildJwt("RS256", KID, payload, keyPair), payload);
+    }
+
+    private void assertInvalidAuthorizationExceptionThrown(String jwt, String payload) {
+        assertThatThrownBy(() -> cut.verify(jwt, parse(payload))).isInstanceOf(InvalidAuthorizationException.class);
+    }
+
+    private JwtPayload parse(String payload) {
+        return gson.fromJson(payload, JwtPayload.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import com.cpen491.remote_mobility_monitoring.function.module.UtilityModule;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JwksKeyProviderTest {
+    private static final long MIN_REFRESH_MILLIS = 1000;
+    private static final String KID1 = "kid-1";
+    private static final String KID2 = "kid-2";
+
+    @TempDir
+    Path directory;
+    Path jwksFile;
+    AtomicLong clock;
+    KeyPair keyPair1;
+    KeyPair keyPair2;
+    Gson gson = UtilityModule.gson();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        jwksFile = directory.resolve("jwks.json");
+        clock = new AtomicLong();
+        keyPair1 = JwksTestUtils.generateKeyPair();
+        keyPair2 = JwksTestUtils.generateKeyPair();
+    }
+
+    @Test
+    public void testGetKey_HappyCase() throws Exception {
+        Files.writeString(jwksFile, JwksTestUtils.buildJwks(KID1, keyPair1));
+        JwksKeyProvider cut = new JwksKeyProvider(jwksFile.toString(), MIN_REFRESH_MILLIS, gson, clock::get);
+
+        assertEquals(1, cut.size());
+        assertEquals(keyPair1.getPublic(), cut.getKey(KID1));
+    }
+
+    @Test
+    public void testGetKey_WHEN_UnknownKid_THEN_RefreshAtMostOncePerInterval() throws Exception {
+        Files.writeString(jwksFile, JwksTestUtils.buildJwks(KID1, keyPair1));
+        JwksKeyProvider cut = new JwksKeyProvider(jwksFile.toString(), MIN_REFRESH_MILLIS, gson, clock::get);
+        Files.writeString(jwksFile, JwksTestUtils.buildJwks(KID2, keyPair2));
+
+        assertNull(cut.getKey(KID2));
+
+        clock.set(MIN_REFRESH_MILLIS);
+        assertEquals(keyPair2.getPublic(), cut.getKey(KID2));
+        assertNull(cut.getKey(KID1));
+    }
+
+    @Test
+    public void testRefresh_WHEN_JwksCannotBeRead_THEN_KeepKeys() throws Exception {
+        Files.writeString(jwksFile, JwksTestUtils.buildJwks(KID1, keyPair1));
+        JwksKeyProvider cut = new JwksKeyProvider(jwksFile.toString(), MIN_REFRESH_MILLIS, gson, clock::get);
+        Files.writeString(jwksFile, "not json");
+        cut.refresh();
+        Files.delete(jwksFile);
+        cut.refresh();
+
+        assertNotNull(cut.getKey(KID1));
+    }
+
+    @Test
+    public void testConstructor_WHEN_JwksCannotBeRead_THEN_ThrowIllegalArgumentException() throws Exception {
+        assertThatThrownBy(() -> new JwksKeyProvider(jwksFile.toString(), MIN_REFRESH_MILLIS, gson, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Files.writeString(jwksFile, "{\"keys\":[{\"kty\":\"EC\",\"kid\":\"" + KID1 + "\"}]}");
+        assertThatThrownBy(() -> new JwksKeyProvider(jwksFile.toString(), MIN_REFRESH_MILLIS, gson, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
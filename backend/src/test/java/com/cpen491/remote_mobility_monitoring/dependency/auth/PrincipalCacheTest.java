@@ -0,0 +1,78 @@
+package com.cpen491.remote_mobility_monitoring.dependency.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PrincipalCacheTest {
+    private static final int MAX_ENTRIES = 2;
+    private static final long EXPIRES_AT = 1000;
+    private static final String JWT1 = "a.1.c";
+    private static final String JWT2 = "a.2.c";
+    private static final String JWT3 = "a.3.c";
+    private static final Principal PRINCIPAL = new Principal("1234", List.of(CognitoWrapper.ADMIN_GROUP_NAME));
+
+    AtomicLong clock;
+    PrincipalCache cut;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        cut = new PrincipalCache(MAX_ENTRIES, clock::get);
+    }
+
+    @Test
+    public void testGet_WHEN_Cached_THEN_ReturnPrincipal() {
+        cut.put(JWT1, PRINCIPAL, EXPIRES_AT);
+
+        assertSame(PRINCIPAL, cut.get(JWT1));
+        assertNull(cut.get(JWT2));
+    }
+
+    @Test
+    public void testGet_WHEN_Expired_THEN_ReturnNull() {
+        cut.put(JWT1, PRINCIPAL, EXPIRES_AT);
+        clock.set(EXPIRES_AT);
+
+        assertNull(cut.get(JWT1));
+        assertEquals(0, cut.size());
+    }
+
+    @Test
+    public void testPut_WHEN_AlreadyExpired_THEN_DoNotCache() {
+        clock.set(EXPIRES_AT);
+        cut.put(JWT1, PRINCIPAL, EXPIRES_AT);
+
+        assertEquals(0, cut.size());
+    }
+
+    @Test
+    public void testPut_WHEN_Full_THEN_EvictLeastRecentlyUsed() {
+        cut.put(JWT1, PRINCIPAL, EXPIRES_AT);
+        cut.put(JWT2, PRINCIPAL, EXPIRES_AT);
+        cut.get(JWT1);
+        cut.put(JWT3, PRINCIPAL, EXPIRES_AT);
+
+        assertEquals(MAX_ENTRIES, cut.size());
+        assertSame(PRINCIPAL, cut.get(JWT1));
+        assertNull(cut.get(JWT2));
+        assertSame(PRINCIPAL, cut.get(JWT3));
+    }
+
+    @Test
+    public void testGet_WHEN_HitsAndMisses_THEN_CountBoth() {
+        cut.get(JWT1);
+        cut.put(JWT1, PRINCIPAL, EXPIRES_AT);
+        cut.get(JWT1);
+        cut.get(JWT1);
+
+        assertEquals(2, cut.getHitCount());
+        assertEquals(1, cut.getMissCount());
+    }
+}
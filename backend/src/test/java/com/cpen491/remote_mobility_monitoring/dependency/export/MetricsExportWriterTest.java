@@ -0,0 +1,103 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MetricsExportWriterTest {
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+    private static final String TIMESTAMP = "2023-02-01 00:12:30.101000000";
+
+    @Test
+    public void testCsvWriter_HappyCase() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MetricsExportWriter writer = ExportFormat.CSV.createWriter(bytes)) {
+            writer.write(buildMetricsFull(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0"));
+            Metrics metrics = buildMetrics(PATIENT_ID2, MeasureName.WALKING_SPEED, "1.5", TIMESTAMP);
+            metrics.setSex("a,\"b\"");
+            writer.write(metrics);
+            assertEquals(2, writer.getRowCount());
+        }
+
+        List<String> lines = readGzipLines(bytes.toByteArray());
+        assertThat(lines).containsExactly(
+                "patient_id,measure_name,measure_value,timestamp,sex,birthday,height,weight",
+                "pat-1,step_count,1000.0,2023-02-01 00:12:30.101000000,M,1950-01-01,170.5,65.0",
+                "pat-2,walking_speed,1.5,2023-02-01 00:12:30.101000000,\"a,\"\"b\"\"\",,,"
+        );
+    }
+
+    @Test
+    public void testColumnarWriter_WHEN_MultipleRowGroups_THEN_ReadBackAllRows() throws IOException {
+        List<Metrics> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Metrics metrics = i % 3 == 0 ?
+                    buildMetrics(PATIENT_ID2, MeasureName.WALKING_ASYMMETRY, Double.toString(i * 0.5), TIMESTAMP) :
+                    buildMetricsFull(PATIENT_ID1, MeasureName.STEP_LENGTH, Double.toString(i * 0.5));
+            expected.add(metrics);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MetricsExportWriter writer = new ColumnarMetricsExportWriter(bytes, 10)) {
+            for (Metrics metrics : expected) {
+                writer.write(metrics);
+            }
+            assertEquals(25, writer.getRowCount());
+        }
+
+        List<Metrics> actual = new ArrayList<>();
+        long count = ColumnarMetricsExportReader.read(new ByteArrayInputStream(bytes.toByteArray()), actual::add);
+        assertEquals(25, count);
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void testColumnarWriter_WHEN_NoRows_THEN_ReadBackNothing() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ColumnarMetricsExportWriter(bytes).close();
+
+        List<Metrics> actual = new ArrayList<>();
+        assertEquals(0, ColumnarMetricsExportReader.read(new ByteArrayInputStream(bytes.toByteArray()), actual::add));
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    public void testColumnarReader_WHEN_NotColumnarFile_THEN_ThrowIOException() {
+        byte[] bytes = "patient_id,measure_name".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> ColumnarMetricsExportReader.read(new ByteArrayInputStream(bytes), metrics -> {}))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static Metrics buildMetricsFull(String patientId, MeasureName measureName, String measureValue) {
+        Metrics metrics = buildMetrics(patientId, measureName, measureValue, TIMESTAMP);
+        metrics.setSex("M");
+        metrics.setBirthday("1950-01-01");
+        metrics.setHeight(170.5f);
+        metrics.setWeight(65f);
+        return metrics;
+    }
+
+    private static List<String> readGzipLines(byte[] bytes) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+}
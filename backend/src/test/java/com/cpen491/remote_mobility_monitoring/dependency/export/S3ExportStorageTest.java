@@ -0,0 +1,89 @@
+package com.cpen491.remote_mobility_monitoring.dependency.export;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class S3ExportStorageTest {
+    private static final String BUCKET_NAME = "exports";
+    private static final String NAME = "exp-1.csv.gz";
+    private static final Duration URL_DURATION = Duration.ofMinutes(15);
+
+    S3ExportStorage cut;
+    @Mock
+    S3Client s3Client;
+    S3Presigner s3Presigner;
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void setup() {
+        s3Presigner = S3Presigner.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                .region(Region.US_WEST_2)
+                .build();
+        cut = new S3ExportStorage(s3Client, s3Presigner, BUCKET_NAME, directory, URL_DURATION);
+    }
+
+    @Test
+    public void testPublish_HappyCase() throws IOException {
+        try (OutputStream out = cut.create(NAME)) {
+            out.write(new byte[]{1, 2, 3});
+        }
+
+        String location = cut.publish(NAME);
+        assertThat(location).startsWith("https://" + BUCKET_NAME + ".s3.").contains(NAME)
+                .contains("X-Amz-Expires=" + URL_DURATION.getSeconds());
+        ArgumentCaptor<PutObjectRequest> putCaptor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3Client).putObject(putCaptor.capture(), any(RequestBody.class));
+        assertEquals(BUCKET_NAME, putCaptor.getValue().bucket());
+        assertEquals(NAME, putCaptor.getValue().key());
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    public void testPublish_WHEN_UploadFails_THEN_DeleteStagedFileAndThrowIOException() throws IOException {
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(SdkClientException.create("unreachable"));
+        cut.create(NAME).close();
+
+        assertThatThrownBy(() -> cut.publish(NAME)).isInstanceOf(IOException.class);
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    public void testDiscard_WHEN_PartiallyWritten_THEN_DeleteStagedFile() throws IOException {
+        try (OutputStream out = cut.create(NAME)) {
+            out.write(1);
+        }
+
+        cut.discard(NAME);
+        cut.discard(NAME);
+        assertThat(directory).isEmptyDirectory();
+    }
+}
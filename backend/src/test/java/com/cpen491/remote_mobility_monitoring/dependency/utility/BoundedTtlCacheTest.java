@@ -0,0 +1,67 @@
+package com.cpen491.remote_mobility_monitoring.dependency.utility;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BoundedTtlCacheTest {
+    private static final int MAX_ENTRIES = 2;
+    private static final long EXPIRES_AT = 1000;
+
+    AtomicLong clock;
+    BoundedTtlCache<String, String> cut;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong();
+        cut = new BoundedTtlCache<>("Test", MAX_ENTRIES, clock::get);
+    }
+
+    @Test
+    public void testGet_WHEN_EntriesExpireAtDifferentTimes_THEN_ExpireEachAtItsOwnTime() {
+        cut.put("a", "1", EXPIRES_AT);
+        cut.put("b", "2", EXPIRES_AT * 2);
+        clock.set(EXPIRES_AT);
+
+        assertNull(cut.get("a"));
+        assertEquals("2", cut.get("b"));
+        assertEquals(1, cut.size());
+    }
+
+    @Test
+    public void testPut_WHEN_Full_THEN_EvictLeastRecentlyUsed() {
+        cut.put("a", "1", EXPIRES_AT);
+        cut.put("b", "2", EXPIRES_AT);
+        cut.get("a");
+        cut.put("c", "3", EXPIRES_AT);
+
+        assertEquals(MAX_ENTRIES, cut.size());
+        assertEquals("1", cut.get("a"));
+        assertNull(cut.get("b"));
+    }
+
+    @Test
+    public void testInvalidateIf_WHEN_KeysMatch_THEN_RemoveOnlyMatchingEntries() {
+        cut.put("a1", "1", EXPIRES_AT);
+        cut.put("b1", "2", EXPIRES_AT);
+        cut.invalidateIf(key -> key.startsWith("a"));
+
+        assertNull(cut.get("a1"));
+        assertEquals("2", cut.get("b1"));
+    }
+
+    @Test
+    public void testGet_WHEN_ManyLookups_THEN_CountEveryLookup() {
+        cut.put("a", "1", EXPIRES_AT);
+        for (int i = 0; i < BoundedTtlCache.REPORT_INTERVAL; i++) {
+            cut.get(i % 2 == 0 ? "a" : "b");
+        }
+
+        assertEquals(BoundedTtlCache.REPORT_INTERVAL / 2, cut.getHitCount());
+        assertEquals(BoundedTtlCache.REPORT_INTERVAL / 2, cut.getMissCount());
+    }
+}
@@ -0,0 +1,86 @@
+package com.cpen491.remote_mobility_monitoring.dependency.utility;
+
+import com.cpen491.remote_mobility_monitoring.function.schema.auth.JwtPayload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JwtClaimScannerTest {
+    @Test
+    public void testScan_HappyCase() {
+        String payload = "{\"origin_jti\":\"abc\",\"sub\":\"1234\",\"cognito:groups\":[\"Admin\",\"Caregiver\"],"
+                + "\"iss\":\"https://cognito-idp.us-west-2.amazonaws.com/pool\",\"token_use\":\"access\",\"scope\":\"aws.cognito.signin.user.admin\","
+                + "\"auth_time\":1700000000,\"exp\":1700003600,\"iat\":1700000000,\"jti\":\"j\",\"username\":\"u\"}";
+
+        JwtPayload claims = scan(payload);
+        assertNotNull(claims);
+        assertEquals("1234", claims.getSub());
+        assertEquals(List.of("Admin", "Caregiver"), claims.getGroups());
+        assertEquals(1700003600L, claims.getExp());
+        assertEquals("https://cognito-idp.us-west-2.amazonaws.com/pool", claims.getIss());
+        assertEquals("access", claims.getTokenUse());
+        assertNull(claims.getAud());
+    }
+
+    @Test
+    public void testScan_WHEN_OtherClaimsNestedOrEscaped_THEN_SkipThem() {
+        String payload = " { \"address\" : {\"formatted\":\"a \\\"}\\\" b\",\"list\":[1,[2,{}],\"]\"]} ,"
+                + "\"email_verified\":true,\"nickname\":null,\"score\":-1.5e3,"
+                + "\"sub\" : \"12\\u0033\\/4\" , \"cognito:groups\" : [ ] } ";
+
+        JwtPayload claims = scan(payload);
+        assertNotNull(claims);
+        assertEquals("123/4", claims.getSub());
+        assertEquals(List.of(), claims.getGroups());
+        assertNull(claims.getExp());
+    }
+
+    @Test
+    public void testScan_WHEN_ClaimsMissingOrNull_THEN_ReturnNullClaims() {
+        JwtPayload claims = scan("{\"sub\":null,\"exp\":null,\"cognito:groups\":null}");
+        assertNotNull(claims);
+        assertNull(claims.getSub());
+        assertNull(claims.getGroups());
+        assertNull(claims.getExp());
+
+        claims = scan("{}");
+        assertNotNull(claims);
+        assertNull(claims.getSub());
+    }
+
+    @Test
+    public void testScan_WHEN_NonAsciiString_THEN_DecodeUtf8() {
+        JwtPayload claims = scan("{\"sub\":\"1234\",\"cognito:groups\":[\"Soignant\u00e9\"]}");
+        assertNotNull(claims);
+        assertEquals(List.of("Soignant\u00e9"), claims.getGroups());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "[]",
+            "{\"sub\":1234}",
+            "{\"sub\":\"1234\",\"cognito:groups\":\"Admin\"}",
+            "{\"sub\":\"1234\",\"cognito:groups\":[1]}",
+            "{\"sub\":\"1234\",\"exp\":1.7e9}",
+            "{\"sub\":\"1234\",\"exp\":\"1700003600\"}",
+            "{\"sub\":\"1234\"",
+            "{\"sub\":\"1234\"}}",
+            "{\"sub\":\"12\\q4\"}",
+            "{\"sub\" \"1234\"}"
+    })
+    public void testScan_WHEN_Unscannable_THEN_ReturnNull(String payload) {
+        assertNull(scan(payload));
+    }
+
+    private static JwtPayload scan(String payload) {
+        return JwtClaimScanner.scan(payload.getBytes(StandardCharsets.UTF_8));
+    }
+}
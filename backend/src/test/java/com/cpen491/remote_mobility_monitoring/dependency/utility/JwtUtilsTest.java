@@ -0,0 +1,152 @@
+package com.cpen491.remote_mobility_monitoring.dependency.utility;
+
+import com.cpen491.remote_mobility_monitoring.dependency.auth.CognitoWrapper;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwtVerifier;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.Principal;
+import com.cpen491.remote_mobility_monitoring.dependency.exception.InvalidAuthorizationException;
+import com.cpen491.remote_mobility_monitoring.function.module.UtilityModule;
+import com.cpen491.remote_mobility_monitoring.function.schema.Const;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class JwtUtilsTest {
+    private static final String RAW_ID = "1234";
+
+    Gson gson = UtilityModule.gson();
+
+    @Test
+    public void testGetPrincipalFromHeader_HappyCase() {
+        String payload = "{\"sub\":\"" + RAW_ID + "\",\"cognito:groups\":[\"" + CognitoWrapper.ADMIN_GROUP_NAME + "\"]}";
+
+        Principal principal = JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE);
+        assertEquals(RAW_ID, principal.getRawId());
+        assertTrue(principal.hasGroups());
+        assertEquals(List.of(CognitoWrapper.ADMIN_GROUP_NAME), principal.getGroups());
+        assertTrue(principal.isInGroup(CognitoWrapper.ADMIN_GROUP_NAME));
+        assertFalse(principal.isInGroup(CognitoWrapper.CAREGIVER_GROUP_NAME));
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_NoGroupsClaim_THEN_ReturnPrincipalWithoutGroups() {
+        String payload = "{\"sub\":\"" + RAW_ID + "\"}";
+
+        Principal principal = JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE);
+        assertEquals(RAW_ID, principal.getRawId());
+        assertFalse(principal.hasGroups());
+        assertFalse(principal.isInGroup(CognitoWrapper.ADMIN_GROUP_NAME));
+        assertEquals(RAW_ID, JwtUtils.getIdFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE));
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_SameUnexpiredToken_THEN_ReturnCachedPrincipal() {
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = "{\"sub\":\"" + RAW_ID + "\",\"exp\":" + exp + "}";
+
+        Principal principal = JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE);
+        assertEquals(RAW_ID, principal.getRawId());
+        assertSame(principal, JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE));
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_ExpiredToken_THEN_DoNotCachePrincipal() {
+        long exp = System.currentTimeMillis() / 1000 - 3600;
+        String payload = "{\"sub\":\"" + RAW_ID + "\",\"exp\":" + exp + "}";
+
+        Principal principal = JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE);
+        assertNotSame(principal, JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE));
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_Verified_THEN_VerifyOnlyOnCacheMiss() {
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = "{\"sub\":\"verified-" + RAW_ID + "\",\"exp\":" + exp + "}";
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+
+        JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, jwtVerifier);
+        JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, jwtVerifier);
+        verify(jwtVerifier, times(1)).verify(anyString(), any());
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_VerificationFails_THEN_ThrowInvalidAuthorizationException() {
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = "{\"sub\":\"unverified-" + RAW_ID + "\",\"exp\":" + exp + "}";
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+        doThrow(InvalidAuthorizationException.class).when(jwtVerifier).verify(anyString(), any());
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, jwtVerifier))
+                    .isInstanceOf(InvalidAuthorizationException.class);
+        }
+        verify(jwtVerifier, times(2)).verify(anyString(), any());
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_CachedByOtherVerifier_THEN_VerifyAgain() {
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = "{\"sub\":\"forged-" + RAW_ID + "\",\"exp\":" + exp + "}";
+        JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+        doThrow(InvalidAuthorizationException.class).when(jwtVerifier).verify(anyString(), any());
+
+        JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE);
+        assertThatThrownBy(() -> JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, jwtVerifier))
+                .isInstanceOf(InvalidAuthorizationException.class);
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_PayloadCannotBeScanned_THEN_ParseWithGson() {
+        String payload = "{\"sub\":1234,\"cognito:groups\":[\"" + CognitoWrapper.CAREGIVER_GROUP_NAME + "\"]}";
+
+        Principal principal = JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE);
+        assertEquals(RAW_ID, principal.getRawId());
+        assertTrue(principal.isInGroup(CognitoWrapper.CAREGIVER_GROUP_NAME));
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_MalformedJwt_THEN_ThrowInvalidAuthorizationException() {
+        for (String authorization : List.of("Bearer", "Bearer a.b", "Bearer a.b.", "Bearer a..c", "Bearer a.!!.c", "Bearer  a.b.c")) {
+            assertThatThrownBy(() -> JwtUtils.getPrincipalFromHeader(
+                    Map.of(Const.AUTHORIZATION_NAME1, authorization), gson, JwtVerifier.NONE))
+                    .isInstanceOf(InvalidAuthorizationException.class);
+        }
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_NoSubClaim_THEN_ThrowInvalidAuthorizationException() {
+        String payload = "{\"cognito:groups\":[\"" + CognitoWrapper.ADMIN_GROUP_NAME + "\"]}";
+
+        assertThatThrownBy(() -> JwtUtils.getPrincipalFromHeader(buildHeaders(payload), gson, JwtVerifier.NONE))
+                .isInstanceOf(InvalidAuthorizationException.class);
+    }
+
+    @Test
+    public void testGetPrincipalFromHeader_WHEN_NoAuthorizationHeader_THEN_ThrowInvalidAuthorizationException() {
+        assertThatThrownBy(() -> JwtUtils.getPrincipalFromHeader(Map.of(), gson, JwtVerifier.NONE))
+                .isInstanceOf(InvalidAuthorizationException.class);
+    }
+
+    private static Map<String, String> buildHeaders(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String jwt = encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".signature";
+        return Map.of(Const.AUTHORIZATION_NAME1, "Bearer " + jwt);
+    }
+}
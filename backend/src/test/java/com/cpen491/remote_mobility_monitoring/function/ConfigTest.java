@@ -0,0 +1,27 @@
+package com.cpen491.remote_mobility_monitoring.function;
+
+import com.cpen491.remote_mobility_monitoring.dependency.auth.JwtVerifier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Builds the component the handlers use with only the environment variables the stack sets on every function, which
+ * surefire sets for the unit tests, so that optional variables left unset fall back to their defaults.
+ */
+public class ConfigTest {
+    @Test
+    public void testInstance_WHEN_OptionalVariablesUnset_THEN_BuildEveryService() {
+        Config cut = Config.instance();
+
+        assertNotNull(cut.authService());
+        assertNotNull(cut.organizationService());
+        assertNotNull(cut.adminService());
+        assertNotNull(cut.caregiverService());
+        assertNotNull(cut.patientService());
+        assertNotNull(cut.alertRuleService());
+        assertNotNull(cut.exportService());
+        assertSame(JwtVerifier.NONE, cut.jwtVerifier());
+    }
+}
@@ -591,7 +591,7 @@ public class LambdaHandlersIntegrationTest {
     }
 
     private static String buildAuthorizationHeader(String rawId) {
-        JwtPayload payload = new JwtPayload(rawId.substring(4));
+        JwtPayload payload = JwtPayload.builder().sub(rawId.substring(4)).build();
         String payloadEncoded = Base64.getUrlEncoder().encodeToString(gson.toJson(payload).getBytes());
         String jwt = String.format("a.%s.c", payloadEncoded);
         return "Bearer " + jwt;
@@ -0,0 +1,426 @@
+package com.cpen491.remote_mobility_monitoring.function.service;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AlertRuleDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule;
+import com.cpen491.remote_mobility_monitoring.datastore.model.AlertRule.Operator;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import com.cpen491.remote_mobility_monitoring.dependency.email.SesWrapper;
+import com.cpen491.remote_mobility_monitoring.dependency.exception.InsufficientPermissionException;
+import com.cpen491.remote_mobility_monitoring.dependency.exception.SesException;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddAlertRuleRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.AddAlertRuleResponseBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllAlertRulesRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetAllAlertRulesResponseBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemoveAlertRuleRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemoveAlertRuleResponseBody;
+import com.cpen491.remote_mobility_monitoring.function.service.AlertRuleService.Alert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.assertInvalidInputExceptionThrown;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildAlertRule;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildCaregiver;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildPatient;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.ADD_ALERT_RULE_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.CAREGIVER_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.DURATION_MINUTES_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.MEASURE_NAME_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.OPERATOR_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.REMOVE_ALERT_RULE_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.RULE_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.THRESHOLD_NULL_ERROR_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertRuleServiceTest {
+    private static final String PATIENT_ID = "pat-1";
+    private static final String CAREGIVER_ID1 = "car-1";
+    private static final String CAREGIVER_ID2 = "car-2";
+    private static final String CAREGIVER_EMAIL1 = "caregiver1@email.com";
+    private static final String CAREGIVER_EMAIL2 = "caregiver2@email.com";
+    private static final String RULE_ID1 = "rul-1";
+    private static final String RULE_ID2 = "rul-2";
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2023, 2, 1, 0, 0);
+
+    AlertRuleService cut;
+    @Mock
+    AlertRuleDao alertRuleDao;
+    @Mock
+    CaregiverDao caregiverDao;
+    @Mock
+    SesWrapper sesWrapper;
+    @Captor
+    ArgumentCaptor<AlertRule> alertRuleCaptor;
+    @Captor
+    ArgumentCaptor<List<AlertRule>> alertRuleListCaptor;
+
+    @BeforeEach
+    public void setup() {
+        cut = new AlertRuleService(alertRuleDao, caregiverDao, sesWrapper);
+    }
+
+    @Test
+    public void testAddAlertRule_HappyCase() {
+        Mockito.doAnswer(invocation -> {
+            invocation.<AlertRule>getArgument(0).setSid(RULE_ID1);
+            return null;
+        }).when(alertRuleDao).create(any(AlertRule.class));
+
+        AddAlertRuleRequestBody requestBody = buildAddAlertRuleRequestBody(CAREGIVER_ID1, PATIENT_ID, "step_count", "<", 1000.0, 4320L);
+        AddAlertRuleResponseBody responseBody = cut.addAlertRule(requestBody);
+
+        verify(alertRuleDao, times(1)).create(alertRuleCaptor.capture());
+        AlertRule alertRule = alertRuleCaptor.getValue();
+        assertEquals(PATIENT_ID, alertRule.getPid());
+        assertEquals(CAREGIVER_ID1, alertRule.getCaregiverId());
+        assertEquals(MeasureName.STEP_COUNT, alertRule.getMeasureName());
+        assertEquals(Operator.LESS_THAN, alertRule.getOperator());
+        assertEquals(1000.0, alertRule.getThreshold());
+        assertEquals(4320L, alertRule.getDurationMinutes());
+        assertEquals(RULE_ID1, responseBody.getRuleId());
+    }
+
+    @Test
+    public void testAddAlertRule_THEN_MatcherIsReloaded() {
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.emptyList());
+        cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.STEP_COUNT, 0, 500));
+        cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.STEP_COUNT, 1, 500));
+        verify(alertRuleDao, times(1)).findAllByPatientId(PATIENT_ID);
+
+        cut.addAlertRule(buildAddAlertRuleRequestBody(CAREGIVER_ID1, PATIENT_ID, "step_count", "<", 1000.0, null));
+        cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.STEP_COUNT, 2, 500));
+        verify(alertRuleDao, times(2)).findAllByPatientId(PATIENT_ID);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForAddAlertRule")
+    public void testAddAlertRule_WHEN_InvalidInput_THEN_ThrowInvalidInputException(AddAlertRuleRequestBody body, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.addAlertRule(body), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForAddAlertRule() {
+        return Stream.of(
+                Arguments.of(null, ADD_ALERT_RULE_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAddAlertRuleRequestBody(null, PATIENT_ID, "step_count", "<", 1000.0, null), CAREGIVER_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(buildAddAlertRuleRequestBody(CAREGIVER_ID1, CAREGIVER_ID1, "step_count", "<", 1000.0, null), PATIENT_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(buildAddAlertRuleRequestBody(CAREGIVER_ID1, PATIENT_ID, "heart_rate", "<", 1000.0, null), MEASURE_NAME_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAddAlertRuleRequestBody(CAREGIVER_ID1, PATIENT_ID, "step_count", "!=", 1000.0, null), OPERATOR_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAddAlertRuleRequestBody(CAREGIVER_ID1, PATIENT_ID, "step_count", "<", null, null), THRESHOLD_NULL_ERROR_MESSAGE),
+                Arguments.of(buildAddAlertRuleRequestBody(CAREGIVER_ID1, PATIENT_ID, "step_count", "<", 1000.0, -5L), DURATION_MINUTES_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @Test
+    public void testGetAllAlertRules_THEN_ReturnOnlyCaregiversRules() {
+        AlertRule alertRule1 = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        AlertRule alertRule2 = buildAlertRule(PATIENT_ID, RULE_ID2, CAREGIVER_ID2, MeasureName.WALKING_ASYMMETRY, Operator.GREATER_THAN, 10.0, 0L);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Arrays.asList(alertRule1, alertRule2));
+
+        GetAllAlertRulesResponseBody responseBody = cut.getAllAlertRules(GetAllAlertRulesRequestBody.builder()
+                .caregiverId(CAREGIVER_ID1)
+                .patientId(PATIENT_ID)
+                .build());
+
+        assertEquals(1, responseBody.getRules().size());
+        assertEquals(RULE_ID1, responseBody.getRules().get(0).getRuleId());
+        assertEquals("step_count", responseBody.getRules().get(0).getMetricName());
+        assertEquals("<", responseBody.getRules().get(0).getOperator());
+    }
+
+    @Test
+    public void testRemoveAlertRule_HappyCase() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        when(alertRuleDao.findById(PATIENT_ID, RULE_ID1)).thenReturn(alertRule);
+
+        RemoveAlertRuleResponseBody responseBody = cut.removeAlertRule(buildRemoveAlertRuleRequestBody(CAREGIVER_ID1, RULE_ID1));
+
+        verify(alertRuleDao, times(1)).delete(PATIENT_ID, RULE_ID1);
+        assertEquals("OK", responseBody.getMessage());
+    }
+
+    @Test
+    public void testRemoveAlertRule_WHEN_RuleBelongsToOtherCaregiver_THEN_ThrowInsufficientPermissionException() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID2, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        when(alertRuleDao.findById(PATIENT_ID, RULE_ID1)).thenReturn(alertRule);
+
+        assertThatThrownBy(() -> cut.removeAlertRule(buildRemoveAlertRuleRequestBody(CAREGIVER_ID1, RULE_ID1)))
+                .isInstanceOf(InsufficientPermissionException.class);
+        verify(alertRuleDao, never()).delete(anyString(), anyString());
+    }
+
+    @Test
+    public void testRemoveAlertRule_WHEN_AlertRuleDaoFindByIdThrows_THEN_ThrowSameException() {
+        RecordDoesNotExistException toThrow = new RecordDoesNotExistException(AlertRule.class.getSimpleName(), RULE_ID1);
+        Mockito.doThrow(toThrow).when(alertRuleDao).findById(PATIENT_ID, RULE_ID1);
+
+        assertThatThrownBy(() -> cut.removeAlertRule(buildRemoveAlertRuleRequestBody(CAREGIVER_ID1, RULE_ID1))).isSameAs(toThrow);
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForRemoveAlertRule")
+    public void testRemoveAlertRule_WHEN_InvalidInput_THEN_ThrowInvalidInputException(RemoveAlertRuleRequestBody body, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.removeAlertRule(body), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForRemoveAlertRule() {
+        return Stream.of(
+                Arguments.of(null, REMOVE_ALERT_RULE_NULL_ERROR_MESSAGE),
+                Arguments.of(buildRemoveAlertRuleRequestBody(CAREGIVER_ID1, null), RULE_ID_BLANK_ERROR_MESSAGE)
+        );
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_ImmediateRuleBreached_THEN_NotifyCaregiverOnce() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.WALKING_ASYMMETRY, Operator.GREATER_THAN, 10.0, 0L);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+        when(caregiverDao.hasPatient(PATIENT_ID, CAREGIVER_ID1)).thenReturn(true);
+        when(caregiverDao.findById(CAREGIVER_ID1)).thenReturn(
+                buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null));
+
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(),
+                buildMetricsSeries(MeasureName.WALKING_ASYMMETRY, 0, 5.0, 12.0, 15.0));
+
+        assertEquals(1, alerts.size());
+        assertEquals(12.0, alerts.get(0).getValue());
+        assertEquals(RULE_ID1, alerts.get(0).getRuleId());
+        verify(sesWrapper, times(1)).alertRuleEmail(eq(CAREGIVER_EMAIL1), eq("Jack Jackson"), anyString());
+        verify(alertRuleDao, times(1)).updateEvaluationState(alertRuleListCaptor.capture());
+        assertThat(alertRuleListCaptor.getValue()).containsExactly(alertRule);
+        assertNotNull(alertRule.getLastTriggeredAt());
+        assertEquals(alertRule.getLastEvaluatedAt(), START_TIME.plusMinutes(2).toString());
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_BatchesEvaluatedConcurrently_THEN_NotifyCaregiverOnce() throws Exception {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.WALKING_ASYMMETRY, Operator.GREATER_THAN, 10.0, 0L);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+        when(caregiverDao.hasPatient(PATIENT_ID, CAREGIVER_ID1)).thenReturn(true);
+        when(caregiverDao.findById(CAREGIVER_ID1)).thenReturn(
+                buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null));
+        cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.WALKING_ASYMMETRY, 0, 5.0));
+
+        // Long batches alternating between breaching and not, so unserialized evaluations would interleave
+        double[] values = new double[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 2 == 0 ? 12.0 : 5.0;
+        }
+        int batches = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(batches);
+        List<Future<List<Alert>>> futures = new ArrayList<>();
+        for (int i = 0; i < batches; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return cut.evaluateMetrics(buildPatientDefault(),
+                        buildMetricsSeries(MeasureName.WALKING_ASYMMETRY, 1, values));
+            }));
+        }
+        start.countDown();
+        int alerts = 0;
+        for (Future<List<Alert>> future : futures) {
+            alerts += future.get(10, TimeUnit.SECONDS).size();
+        }
+        executor.shutdown();
+
+        assertEquals(values.length / 2, alerts);
+        verify(sesWrapper, times(1)).alertRuleEmail(eq(CAREGIVER_EMAIL1), eq("Jack Jackson"), anyString());
+        assertEquals(alertRule.getLastEvaluatedAt(), START_TIME.plusMinutes(values.length).toString());
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_RuleDeletedInMeantime_THEN_NoAlertAndReloadRules() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.WALKING_ASYMMETRY, Operator.GREATER_THAN, 10.0, 0L);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+        when(alertRuleDao.updateEvaluationState(anyList())).thenReturn(Collections.singletonList(alertRule));
+
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(),
+                buildMetricsSeries(MeasureName.WALKING_ASYMMETRY, 0, 12.0));
+        cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.WALKING_ASYMMETRY, 1, 15.0));
+
+        assertThat(alerts).isEmpty();
+        Mockito.verifyNoInteractions(sesWrapper, caregiverDao);
+        verify(alertRuleDao, times(2)).findAllByPatientId(PATIENT_ID);
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_BreachShorterThanDuration_THEN_NoAlert() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 3L * 24 * 60);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+
+        List<Metrics> metricsList = Arrays.asList(
+                buildMetrics(PATIENT_ID, MeasureName.STEP_COUNT, "500", START_TIME.toString()),
+                buildMetrics(PATIENT_ID, MeasureName.STEP_COUNT, "600", START_TIME.plusDays(1).toString()),
+                buildMetrics(PATIENT_ID, MeasureName.STEP_COUNT, "700", START_TIME.plusDays(2).toString())
+        );
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(), metricsList);
+
+        assertThat(alerts).isEmpty();
+        assertEquals(START_TIME.toString(), alertRule.getBreachStartedAt());
+        Mockito.verifyNoInteractions(sesWrapper, caregiverDao);
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_BreachHeldForDurationAcrossBatches_THEN_Alert() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 3L * 24 * 60);
+        alertRule.setBreachStartedAt(START_TIME.toString());
+        alertRule.setLastEvaluatedAt(START_TIME.plusDays(2).toString());
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+        when(caregiverDao.hasPatient(PATIENT_ID, CAREGIVER_ID1)).thenReturn(true);
+        when(caregiverDao.findById(CAREGIVER_ID1)).thenReturn(
+                buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null));
+
+        List<Metrics> metricsList = Collections.singletonList(
+                buildMetrics(PATIENT_ID, MeasureName.STEP_COUNT, "800", START_TIME.plusDays(3).toString()));
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(), metricsList);
+
+        assertEquals(1, alerts.size());
+        verify(sesWrapper, times(1)).alertRuleEmail(eq(CAREGIVER_EMAIL1), anyString(), anyString());
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_ConditionRecovers_THEN_BreachIsReset() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 60L);
+        alertRule.setBreachStartedAt(START_TIME.toString());
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.STEP_COUNT, 1, 2000));
+
+        assertThat(alerts).isEmpty();
+        assertNull(alertRule.getBreachStartedAt());
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_SamplesAreNotNewerThanLastEvaluated_THEN_IgnoreSamples() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        alertRule.setLastEvaluatedAt(START_TIME.plusMinutes(5).toString());
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.STEP_COUNT, 0, 10, 20));
+
+        assertThat(alerts).isEmpty();
+        verify(alertRuleDao, never()).updateEvaluationState(anyList());
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_NoRulesOnMeasure_THEN_DoNothing() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.WALKING_SPEED, 0, 0.1));
+
+        assertThat(alerts).isEmpty();
+        verify(alertRuleDao, never()).updateEvaluationState(anyList());
+        assertNull(alertRule.getLastEvaluatedAt());
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_CaregiverNoLongerHasPatient_THEN_DeleteRule() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(alertRule));
+        when(caregiverDao.hasPatient(PATIENT_ID, CAREGIVER_ID1)).thenReturn(false);
+
+        cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.STEP_COUNT, 0, 10));
+
+        verify(alertRuleDao, times(1)).delete(PATIENT_ID, RULE_ID1);
+        Mockito.verifyNoInteractions(sesWrapper);
+    }
+
+    @Test
+    public void testEvaluateMetrics_WHEN_SesWrapperThrows_THEN_StillNotifyOtherCaregivers() {
+        AlertRule alertRule1 = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        AlertRule alertRule2 = buildAlertRule(PATIENT_ID, RULE_ID2, CAREGIVER_ID2, MeasureName.STEP_COUNT, Operator.LESS_THAN_OR_EQUAL, 10.0, 0L);
+        when(alertRuleDao.findAllByPatientId(PATIENT_ID)).thenReturn(Arrays.asList(alertRule1, alertRule2));
+        when(caregiverDao.hasPatient(eq(PATIENT_ID), anyString())).thenReturn(true);
+        when(caregiverDao.findById(CAREGIVER_ID1)).thenReturn(
+                buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null));
+        when(caregiverDao.findById(CAREGIVER_ID2)).thenReturn(
+                buildCaregiver(CAREGIVER_ID2, CAREGIVER_ID2, CAREGIVER_EMAIL2, null, null, null, null));
+        Mockito.doThrow(SesException.class).when(sesWrapper).alertRuleEmail(eq(CAREGIVER_EMAIL1), anyString(), anyString());
+
+        List<Alert> alerts = cut.evaluateMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.STEP_COUNT, 0, 10));
+
+        assertEquals(2, alerts.size());
+        verify(sesWrapper, times(1)).alertRuleEmail(eq(CAREGIVER_EMAIL2), anyString(), anyString());
+    }
+
+    @Test
+    public void testEvaluate_WHEN_AlreadyTriggeredForCurrentBreach_THEN_NoAlert() {
+        AlertRule alertRule = buildAlertRule(PATIENT_ID, RULE_ID1, CAREGIVER_ID1, MeasureName.STEP_COUNT, Operator.LESS_THAN, 1000.0, 0L);
+        assertNotNull(AlertRuleService.evaluate(alertRule, 10, START_TIME.toString()));
+        assertNull(AlertRuleService.evaluate(alertRule, 20, START_TIME.plusMinutes(1).toString()));
+        assertNull(AlertRuleService.evaluate(alertRule, 2000, START_TIME.plusMinutes(2).toString()));
+        assertNotNull(AlertRuleService.evaluate(alertRule, 30, START_TIME.plusMinutes(3).toString()));
+    }
+
+    private static List<Metrics> buildMetricsSeries(MeasureName measureName, int startMinute, double... values) {
+        List<Metrics> metricsList = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            String timestamp = START_TIME.plusMinutes(startMinute + i).toString();
+            metricsList.add(buildMetrics(PATIENT_ID, measureName, Double.toString(values[i]), timestamp));
+        }
+        return metricsList;
+    }
+
+    private static AddAlertRuleRequestBody buildAddAlertRuleRequestBody(String caregiverId, String patientId, String metricName,
+                                                                        String operator, Double threshold, Long durationMinutes) {
+        return AddAlertRuleRequestBody.builder()
+                .caregiverId(caregiverId)
+                .patientId(patientId)
+                .metricName(metricName)
+                .operator(operator)
+                .threshold(threshold)
+                .durationMinutes(durationMinutes)
+                .build();
+    }
+
+    private static RemoveAlertRuleRequestBody buildRemoveAlertRuleRequestBody(String caregiverId, String ruleId) {
+        return RemoveAlertRuleRequestBody.builder()
+                .caregiverId(caregiverId)
+                .patientId(PATIENT_ID)
+                .ruleId(ruleId)
+                .build();
+    }
+
+    private static Patient buildPatientDefault() {
+        return buildPatient(PATIENT_ID, PATIENT_ID, "patient@email.com", null, "Jack", "Jackson", "1234567890");
+    }
+}
@@ -0,0 +1,264 @@
+package com.cpen491.remote_mobility_monitoring.function.service;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStateDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.MetricsState;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import com.cpen491.remote_mobility_monitoring.dependency.email.SesWrapper;
+import com.cpen491.remote_mobility_monitoring.dependency.exception.SesException;
+import com.cpen491.remote_mobility_monitoring.function.service.AnomalyDetectionService.Anomaly;
+import com.cpen491.remote_mobility_monitoring.function.service.AnomalyDetectionService.Direction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildCaregiver;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetricsState;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildPatient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnomalyDetectionServiceTest {
+    private static final String PATIENT_ID = "pat-1";
+    private static final String CAREGIVER_ID1 = "car-1";
+    private static final String CAREGIVER_ID2 = "car-2";
+    private static final String CAREGIVER_EMAIL1 = "caregiver1@email.com";
+    private static final String CAREGIVER_EMAIL2 = "caregiver2@email.com";
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2023, 2, 1, 0, 0);
+
+    AnomalyDetectionService cut;
+    @Mock
+    MetricsStateDao metricsStateDao;
+    @Mock
+    PatientDao patientDao;
+    @Mock
+    CaregiverDao caregiverDao;
+    @Mock
+    SesWrapper sesWrapper;
+    @Captor
+    ArgumentCaptor<MetricsState> metricsStateCaptor;
+
+    @BeforeEach
+    public void setup() {
+        cut = new AnomalyDetectionService(metricsStateDao, patientDao, caregiverDao, sesWrapper);
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_NoStateExists_THEN_CreateState() {
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.emptyList());
+        when(metricsStateDao.saveIfUnchanged(any(MetricsState.class), anyLong(), any())).thenReturn(true);
+
+        List<Metrics> metricsList = buildMetricsSeries(MeasureName.WALKING_SPEED, 0, 1.0, 1.2, 1.1);
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), metricsList);
+
+        assertThat(anomalies).isEmpty();
+        verify(metricsStateDao, times(1)).saveIfUnchanged(metricsStateCaptor.capture(), eq(0L), isNull());
+        MetricsState state = metricsStateCaptor.getValue();
+        assertEquals(PATIENT_ID, state.getPid());
+        assertEquals(MeasureName.WALKING_SPEED, state.getMeasureName());
+        assertEquals(3L, state.getCount());
+        assertEquals(0.0, state.getCusum());
+        assertEquals(metricsList.get(2).getTimestamp(), state.getLastTimestamp());
+        verify(sesWrapper, never()).metricsAnomalyEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_SustainedDrop_THEN_NotifyCaregivers() {
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.emptyList());
+        when(metricsStateDao.saveIfUnchanged(any(MetricsState.class), anyLong(), any())).thenReturn(true);
+        when(patientDao.findAllCaregivers(PATIENT_ID)).thenReturn(Arrays.asList(
+                buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null),
+                buildCaregiver(CAREGIVER_ID2, CAREGIVER_ID2, CAREGIVER_EMAIL2, null, null, null, null)
+        ));
+        when(caregiverDao.hasPatient(eq(PATIENT_ID), anyString())).thenReturn(true);
+
+        double[] values = new double[30];
+        for (int i = 0; i < values.length; i++) {
+            double noise = i % 2 == 0 ? 0.02 : -0.02;
+            values[i] = (i < 20 ? 1.0 : 0.7) + noise;
+        }
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.WALKING_STEADINESS, 0, values));
+
+        assertThat(anomalies).isNotEmpty();
+        Anomaly anomaly = anomalies.get(0);
+        assertEquals(MeasureName.WALKING_STEADINESS, anomaly.getMeasureName());
+        assertEquals(Direction.DECREASE, anomaly.getDirection());
+        verify(sesWrapper, times(1)).metricsAnomalyEmail(eq(CAREGIVER_EMAIL1), eq("Jack Jackson"), anyString());
+        verify(sesWrapper, times(1)).metricsAnomalyEmail(eq(CAREGIVER_EMAIL2), eq("Jack Jackson"), anyString());
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_CaregiverDoesNotHavePatient_THEN_NotifyOnlyCaregiversWithAccess() {
+        MetricsState state = buildMetricsState(PATIENT_ID, MeasureName.DOUBLE_SUPPORT_TIME, 20L, 0.3, 0.0001, 4.9,
+                START_TIME.toString());
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(state));
+        when(metricsStateDao.saveIfUnchanged(any(MetricsState.class), anyLong(), any())).thenReturn(true);
+        when(patientDao.findAllCaregivers(PATIENT_ID)).thenReturn(Arrays.asList(
+                buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null),
+                buildCaregiver(CAREGIVER_ID2, CAREGIVER_ID2, CAREGIVER_EMAIL2, null, null, null, null)
+        ));
+        when(caregiverDao.hasPatient(PATIENT_ID, CAREGIVER_ID1)).thenReturn(true);
+        when(caregiverDao.hasPatient(PATIENT_ID, CAREGIVER_ID2)).thenReturn(false);
+
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.DOUBLE_SUPPORT_TIME, 1, 0.4));
+
+        assertEquals(1, anomalies.size());
+        verify(sesWrapper, times(1)).metricsAnomalyEmail(eq(CAREGIVER_EMAIL1), anyString(), anyString());
+        verify(sesWrapper, never()).metricsAnomalyEmail(eq(CAREGIVER_EMAIL2), anyString(), anyString());
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_SustainedRiseInDecreaseMonitoredMeasure_THEN_NoAnomaly() {
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.emptyList());
+        when(metricsStateDao.saveIfUnchanged(any(MetricsState.class), anyLong(), any())).thenReturn(true);
+
+        double[] values = new double[30];
+        for (int i = 0; i < values.length; i++) {
+            double noise = i % 2 == 0 ? 0.02 : -0.02;
+            values[i] = (i < 20 ? 1.0 : 1.3) + noise;
+        }
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.WALKING_SPEED, 0, values));
+
+        assertThat(anomalies).isEmpty();
+        verify(patientDao, never()).findAllCaregivers(anyString());
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_SamplesAreNotNewerThanState_THEN_IgnoreSamples() {
+        List<Metrics> metricsList = buildMetricsSeries(MeasureName.WALKING_SPEED, 0, 1.0, 1.1);
+        MetricsState state = buildMetricsState(PATIENT_ID, MeasureName.WALKING_SPEED, 12L, 1.0, 0.01, 0.0,
+                metricsList.get(1).getTimestamp());
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(state));
+
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), metricsList);
+
+        assertThat(anomalies).isEmpty();
+        assertEquals(12L, state.getCount());
+        verify(metricsStateDao, never()).saveIfUnchanged(any(MetricsState.class), anyLong(), any());
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_StateSavedConcurrently_THEN_ApplySamplesToSavedState() {
+        List<Metrics> metricsList = buildMetricsSeries(MeasureName.WALKING_SPEED, 2, 1.0);
+        MetricsState readState = buildMetricsState(PATIENT_ID, MeasureName.WALKING_SPEED, 12L, 1.0, 0.01, 0.0,
+                START_TIME.toString());
+        MetricsState savedState = buildMetricsState(PATIENT_ID, MeasureName.WALKING_SPEED, 13L, 1.0, 0.01, 0.0,
+                START_TIME.plusMinutes(1).toString());
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID))
+                .thenReturn(Collections.singletonList(readState), Collections.singletonList(savedState));
+        when(metricsStateDao.saveIfUnchanged(readState, 12L, START_TIME.toString())).thenReturn(false);
+        when(metricsStateDao.saveIfUnchanged(savedState, 13L, START_TIME.plusMinutes(1).toString())).thenReturn(true);
+
+        cut.processMetrics(buildPatientDefault(), metricsList);
+
+        assertEquals(14L, savedState.getCount());
+        assertEquals(metricsList.get(0).getTimestamp(), savedState.getLastTimestamp());
+        verify(metricsStateDao, times(2)).findAllByPatientId(PATIENT_ID);
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_StateKeepsBeingSavedConcurrently_THEN_GiveUpAfterMaxAttempts() {
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID)).thenAnswer(invocation -> Collections.singletonList(
+                buildMetricsState(PATIENT_ID, MeasureName.DOUBLE_SUPPORT_TIME, 20L, 0.3, 0.0001, 4.9, START_TIME.toString())));
+        when(metricsStateDao.saveIfUnchanged(any(MetricsState.class), anyLong(), any())).thenReturn(false);
+
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.DOUBLE_SUPPORT_TIME, 1, 0.4));
+
+        assertThat(anomalies).isEmpty();
+        verify(metricsStateDao, times(AnomalyDetectionService.MAX_SAVE_ATTEMPTS))
+                .saveIfUnchanged(any(MetricsState.class), anyLong(), any());
+        Mockito.verifyNoInteractions(patientDao, sesWrapper);
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_OnlyUnmonitoredMeasures_THEN_DoNothing() {
+        List<Metrics> metricsList = new ArrayList<>();
+        metricsList.addAll(buildMetricsSeries(MeasureName.STEP_COUNT, 0, 1000, 2000));
+        metricsList.addAll(buildMetricsSeries(MeasureName.DISTANCE_WALKED, 0, 10, 20));
+
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), metricsList);
+
+        assertThat(anomalies).isEmpty();
+        Mockito.verifyNoInteractions(metricsStateDao, patientDao, caregiverDao, sesWrapper);
+    }
+
+    @Test
+    public void testProcessMetrics_WHEN_SesWrapperThrows_THEN_StillNotifyOtherCaregivers() {
+        MetricsState state = buildMetricsState(PATIENT_ID, MeasureName.DOUBLE_SUPPORT_TIME, 20L, 0.3, 0.0001, 4.9,
+                START_TIME.toString());
+        when(metricsStateDao.findAllByPatientId(PATIENT_ID)).thenReturn(Collections.singletonList(state));
+        when(metricsStateDao.saveIfUnchanged(any(MetricsState.class), anyLong(), any())).thenReturn(true);
+        when(patientDao.findAllCaregivers(PATIENT_ID)).thenReturn(Arrays.asList(
+                buildCaregiver(CAREGIVER_ID1, CAREGIVER_ID1, CAREGIVER_EMAIL1, null, null, null, null),
+                buildCaregiver(CAREGIVER_ID2, CAREGIVER_ID2, CAREGIVER_EMAIL2, null, null, null, null)
+        ));
+        when(caregiverDao.hasPatient(eq(PATIENT_ID), anyString())).thenReturn(true);
+        Mockito.doThrow(SesException.class).when(sesWrapper).metricsAnomalyEmail(eq(CAREGIVER_EMAIL1), anyString(), anyString());
+
+        List<Anomaly> anomalies = cut.processMetrics(buildPatientDefault(), buildMetricsSeries(MeasureName.DOUBLE_SUPPORT_TIME, 1, 0.4));
+
+        assertEquals(1, anomalies.size());
+        assertEquals(Direction.INCREASE, anomalies.get(0).getDirection());
+        assertEquals(0.0, state.getCusum());
+        verify(sesWrapper, times(1)).metricsAnomalyEmail(eq(CAREGIVER_EMAIL2), anyString(), anyString());
+    }
+
+    @Test
+    public void testUpdate_WHEN_WarmingUp_THEN_NeverAlert() {
+        MetricsState state = buildMetricsState(PATIENT_ID, MeasureName.WALKING_SPEED, 0L, 0.0, 0.0, 0.0, null);
+        for (int i = 0; i < AnomalyDetectionService.WARMUP_SAMPLES; i++) {
+            assertNull(AnomalyDetectionService.update(state, i % 2 == 0 ? 1.0 : 0.1, START_TIME.plusMinutes(i).toString()));
+        }
+        assertEquals(AnomalyDetectionService.WARMUP_SAMPLES, state.getCount());
+        assertEquals(0.0, state.getCusum());
+    }
+
+    @Test
+    public void testUpdate_WHEN_ConstantSeries_THEN_MeanConvergesAndVarianceIsZero() {
+        MetricsState state = buildMetricsState(PATIENT_ID, MeasureName.WALKING_SPEED, 0L, 0.0, 0.0, 0.0, null);
+        for (int i = 0; i < 50; i++) {
+            assertNull(AnomalyDetectionService.update(state, 1.5, START_TIME.plusMinutes(i).toString()));
+        }
+        assertEquals(1.5, state.getMean(), 1e-9);
+        assertEquals(0.0, state.getVariance(), 1e-9);
+    }
+
+    private static List<Metrics> buildMetricsSeries(MeasureName measureName, int startMinute, double... values) {
+        List<Metrics> metricsList = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            String timestamp = START_TIME.plusMinutes(startMinute + i).toString();
+            metricsList.add(buildMetrics(PATIENT_ID, measureName, Double.toString(values[i]), timestamp));
+        }
+        return metricsList;
+    }
+
+    private static Patient buildPatientDefault() {
+        return buildPatient(PATIENT_ID, PATIENT_ID, "patient@email.com", null, "Jack", "Jackson", "1234567890");
+    }
+}
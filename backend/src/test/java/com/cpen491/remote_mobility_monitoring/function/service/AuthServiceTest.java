@@ -1,10 +1,12 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.AdminDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.AuthDecisionCache;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
-import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.CognitoWrapper;
+import com.cpen491.remote_mobility_monitoring.dependency.auth.Principal;
 import com.cpen491.remote_mobility_monitoring.dependency.exception.InsufficientPermissionException;
 import org.assertj.core.api.ThrowableAssert;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,16 +19,27 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.cpen491.remote_mobility_monitoring.TestUtils.assertInvalidInputExceptionThrown;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.AdminTable;
+import static com.cpen491.remote_mobility_monitoring.datastore.model.Const.CaregiverTable;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_INVALID_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.USER_ID_BLANK_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.USER_ID_INVALID_ERROR_MESSAGE;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +49,8 @@ class AuthServiceTest {
     private static final String ADMIN_ID2 = "adm-5678";
     private static final String CAREGIVER_ID1 = "car-1313";
     private static final String PATIENT_ID1 = "pat-2424";
+    private static final String PATIENT_ID2 = "pat-3535";
+    private static final String PATIENT_ID3 = "pat-4646";
     private static final String INVALID_ADMIN_ID = "adm";
     private static final String INVALID_USER_PREFIX = "abcd";
 
@@ -51,7 +66,7 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
-        cut = new AuthService(organizationDao, adminDao, caregiverDao, patientDao);
+        cut = new AuthService(organizationDao, adminDao, caregiverDao, patientDao, new AuthDecisionCache(100, 60000, 10000));
     }
 
     @Test
@@ -94,26 +109,72 @@ class AuthServiceTest {
 
     @Test
     public void testIsAdmin_HappyCase() {
-        assertDoesNotThrow(() -> cut.isAdmin(ADMIN_ID1));
+        when(adminDao.exists(anyString())).thenReturn(true);
+
+        assertDoesNotThrow(() -> cut.isAdmin(RAW_ID1));
+        assertDoesNotThrow(() -> cut.isAdmin(RAW_ID1));
+        verify(adminDao, times(1)).exists(AdminTable.ID_PREFIX + RAW_ID1);
     }
 
     @Test
     public void testIsAdmin_WHEN_NotAdmin_THEN_ThrowInsufficientPermissionException() {
-        Mockito.doThrow(RecordDoesNotExistException.class).when(adminDao).findById(anyString());
+        when(adminDao.exists(anyString())).thenReturn(false);
 
-        assertInsufficientPermissionExceptionThrown(() -> cut.isAdmin(CAREGIVER_ID1));
+        assertInsufficientPermissionExceptionThrown(() -> cut.isAdmin(RAW_ID1));
+        assertInsufficientPermissionExceptionThrown(() -> cut.isAdmin(RAW_ID1));
+        verify(adminDao, times(1)).exists(anyString());
     }
 
     @Test
     public void testIsCaregiver_HappyCase() {
-        assertDoesNotThrow(() -> cut.isCaregiver(CAREGIVER_ID1));
+        when(caregiverDao.exists(anyString())).thenReturn(true);
+
+        assertDoesNotThrow(() -> cut.isCaregiver(RAW_ID1));
+        assertDoesNotThrow(() -> cut.isCaregiver(RAW_ID1));
+        verify(caregiverDao, times(1)).exists(CaregiverTable.ID_PREFIX + RAW_ID1);
     }
 
     @Test
     public void testIsCaregiver_WHEN_NotCaregiver_THEN_ThrowInsufficientPermissionException() {
-        Mockito.doThrow(RecordDoesNotExistException.class).when(caregiverDao).findById(anyString());
+        when(caregiverDao.exists(anyString())).thenReturn(false);
+
+        assertInsufficientPermissionExceptionThrown(() -> cut.isCaregiver(RAW_ID1));
+    }
+
+    @Test
+    public void testIsAdminPrincipal_WHEN_InAdminGroup_THEN_DoNotReadRecord() {
+        assertDoesNotThrow(() -> cut.isAdmin(new Principal(RAW_ID1, List.of(CognitoWrapper.ADMIN_GROUP_NAME))));
+        verify(adminDao, never()).exists(anyString());
+    }
+
+    @Test
+    public void testIsAdminPrincipal_WHEN_NotInAdminGroup_THEN_ThrowInsufficientPermissionException() {
+        assertInsufficientPermissionExceptionThrown(() -> cut.isAdmin(new Principal(RAW_ID1, List.of(CognitoWrapper.CAREGIVER_GROUP_NAME))));
+        assertInsufficientPermissionExceptionThrown(() -> cut.isAdmin(new Principal(RAW_ID1, List.of())));
+        verify(adminDao, never()).exists(anyString());
+    }
+
+    @Test
+    public void testIsAdminPrincipal_WHEN_NoGroupsClaim_THEN_ReadRecord() {
+        when(adminDao.exists(anyString())).thenReturn(false);
 
-        assertInsufficientPermissionExceptionThrown(() -> cut.isCaregiver(ADMIN_ID1));
+        assertInsufficientPermissionExceptionThrown(() -> cut.isAdmin(new Principal(RAW_ID1, null)));
+        verify(adminDao).exists(AdminTable.ID_PREFIX + RAW_ID1);
+    }
+
+    @Test
+    public void testIsCaregiverPrincipal_WHEN_InCaregiverGroup_THEN_DoNotReadRecord() {
+        assertDoesNotThrow(() -> cut.isCaregiver(new Principal(RAW_ID1, List.of(CognitoWrapper.CAREGIVER_GROUP_NAME))));
+        assertInsufficientPermissionExceptionThrown(() -> cut.isCaregiver(new Principal(RAW_ID1, List.of(CognitoWrapper.PATIENT_GROUP_NAME))));
+        verify(caregiverDao, never()).exists(anyString());
+    }
+
+    @Test
+    public void testIsCaregiverPrincipal_WHEN_NoGroupsClaim_THEN_ReadRecord() {
+        when(caregiverDao.exists(anyString())).thenReturn(true);
+
+        assertDoesNotThrow(() -> cut.isCaregiver(new Principal(RAW_ID1, null)));
+        verify(caregiverDao).exists(CaregiverTable.ID_PREFIX + RAW_ID1);
     }
 
     @Test
@@ -144,6 +205,62 @@ class AuthServiceTest {
         assertInsufficientPermissionExceptionThrown(() -> cut.caregiverHasPatient(RAW_ID1, PATIENT_ID1));
     }
 
+    @Test
+    public void testCaregiverHasPatient_WHEN_DecisionCached_THEN_DoNotReadAgain() {
+        when(caregiverDao.hasPatient(anyString(), anyString())).thenReturn(true);
+
+        cut.caregiverHasPatient(RAW_ID1, PATIENT_ID1);
+        cut.caregiverHasPatient(RAW_ID1, PATIENT_ID1);
+        cut.caregiverHasPatients(RAW_ID1, List.of(PATIENT_ID1));
+
+        verify(caregiverDao, times(1)).hasPatient(PATIENT_ID1, CaregiverTable.ID_PREFIX + RAW_ID1);
+        verify(caregiverDao, never()).findPatientsWithoutAccess(anyList(), anyString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForCaregiverHasPatient")
+    public void testCaregiverHasPatient_WHEN_InvalidInput_THEN_ThrowInvalidInputException(String patientId, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.caregiverHasPatient(RAW_ID1, patientId), errorMessage);
+        assertInvalidInputExceptionThrown(() -> cut.caregiverHasPatients(RAW_ID1, Arrays.asList(patientId)), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForCaregiverHasPatient() {
+        return Stream.of(
+                Arguments.of(null, PATIENT_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(CAREGIVER_ID1, PATIENT_ID_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @Test
+    public void testCaregiverHasPatients_HappyCase() {
+        when(caregiverDao.findPatientsWithoutAccess(anyList(), anyString())).thenReturn(Set.of());
+
+        assertDoesNotThrow(() -> cut.caregiverHasPatients(RAW_ID1, List.of(PATIENT_ID1)));
+        verify(caregiverDao).findPatientsWithoutAccess(List.of(PATIENT_ID1), CaregiverTable.ID_PREFIX + RAW_ID1);
+        verify(caregiverDao, never()).hasPatient(anyString(), anyString());
+    }
+
+    @Test
+    public void testCaregiverHasPatients_WHEN_NotCaregiverOfAnyPatient_THEN_ThrowInsufficientPermissionException() {
+        when(caregiverDao.findPatientsWithoutAccess(anyList(), anyString())).thenReturn(Set.of(PATIENT_ID1));
+
+        assertInsufficientPermissionExceptionThrown(() -> cut.caregiverHasPatients(RAW_ID1, List.of(PATIENT_ID1)));
+    }
+
+    @Test
+    public void testCaregiverHasPatients_WHEN_SomeDecisionsCached_THEN_CheckOnlyUncachedPatients() {
+        String caregiverId = CaregiverTable.ID_PREFIX + RAW_ID1;
+        when(caregiverDao.findPatientsWithoutAccess(List.of(PATIENT_ID1, PATIENT_ID2), caregiverId)).thenReturn(Set.of(PATIENT_ID2));
+        when(caregiverDao.findPatientsWithoutAccess(List.of(PATIENT_ID3), caregiverId)).thenReturn(Set.of());
+
+        assertInsufficientPermissionExceptionThrown(() -> cut.caregiverHasPatients(RAW_ID1, List.of(PATIENT_ID1, PATIENT_ID2)));
+        assertDoesNotThrow(() -> cut.caregiverHasPatients(RAW_ID1, List.of(PATIENT_ID1, PATIENT_ID3)));
+        assertInsufficientPermissionExceptionThrown(() -> cut.caregiverHasPatient(RAW_ID1, PATIENT_ID2));
+
+        verify(caregiverDao, times(2)).findPatientsWithoutAccess(anyList(), anyString());
+        verify(caregiverDao, never()).hasPatient(anyString(), anyString());
+    }
+
     private static void assertInsufficientPermissionExceptionThrown(ThrowableAssert.ThrowingCallable shouldRaiseThrowable) {
         assertThatThrownBy(shouldRaiseThrowable).isInstanceOf(InsufficientPermissionException.class);
     }
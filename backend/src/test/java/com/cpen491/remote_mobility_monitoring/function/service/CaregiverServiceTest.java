@@ -1,7 +1,12 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.CaregiverDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.IdentityMap;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.ReadExecutor;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterPage;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterQuery;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterSort;
 import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Organization;
@@ -28,6 +33,8 @@ import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetCareg
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.GetCaregiverResponseBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemovePatientRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.RemovePatientResponseBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.SearchPatientsRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.SearchPatientsResponseBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.UpdateCaregiverRequestBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.caregiver.UpdateCaregiverResponseBody;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,6 +65,10 @@ import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validato
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.ADD_PATIENT_PRIMARY_NULL_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.AUTH_CODE_BLANK_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.CAREGIVER_ID_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.LIMIT_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.SEARCH_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.SEARCH_PATIENTS_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.SORT_INVALID_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.CAREGIVER_ID_INVALID_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.CREATE_CAREGIVER_NULL_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.DELETE_CAREGIVER_NULL_ERROR_MESSAGE;
@@ -118,7 +129,8 @@ public class CaregiverServiceTest {
     @BeforeEach
     public void setup() {
         caregiverCaptor = ArgumentCaptor.forClass(Caregiver.class);
-        cut = new CaregiverService(caregiverDao, organizationDao, cognitoWrapper, sesWrapper);
+        cut = new CaregiverService(caregiverDao, organizationDao, cognitoWrapper, sesWrapper,
+                new ReadExecutor(Runnable::run, new IdentityMap()));
     }
 
     @Test
@@ -433,7 +445,7 @@ public class CaregiverServiceTest {
         patient2.setIsPrimary(true);
         patient2.setVerified(true);
         List<Patient> patients = Arrays.asList(patient1, patient2);
-        when(caregiverDao.findAllPatients(anyString())).thenReturn(patients);
+        when(caregiverDao.findAllPatients(anyString(), eq(CaregiverDao.PATIENT_ROSTER_PROJECTION))).thenReturn(patients);
 
         GetAllPatientsRequestBody requestBody = buildGetAllPatientsRequestBody();
         GetAllPatientsResponseBody responseBody = cut.getAllPatients(requestBody);
@@ -442,6 +454,28 @@ public class CaregiverServiceTest {
         assertThat(responseBody.getPatients()).containsExactlyInAnyOrderElementsOf(expected);
     }
 
+    @Test
+    public void testGetAllPatients_WHEN_PageRequested_THEN_ReturnPageAndNextCursor() {
+        Patient patient = buildPatientDefault();
+        ArgumentCaptor<RosterQuery> queryCaptor = ArgumentCaptor.forClass(RosterQuery.class);
+        when(caregiverDao.findPatientPage(anyString(), queryCaptor.capture())).thenReturn(RosterPage.<Patient>builder()
+                .items(List.of(patient))
+                .nextCursor("cursor2")
+                .build());
+
+        GetAllPatientsRequestBody requestBody = buildGetAllPatientsRequestBody();
+        requestBody.setCursor("cursor1");
+        requestBody.setSort("created_at");
+        GetAllPatientsResponseBody responseBody = cut.getAllPatients(requestBody);
+
+        assertThat(responseBody.getPatients()).containsExactly(PatientSerialization.fromPatient(patient));
+        assertEquals("cursor2", responseBody.getNextCursor());
+        assertEquals(RosterQuery.DEFAULT_LIMIT, queryCaptor.getValue().getLimit());
+        assertEquals(RosterSort.CREATED_AT, queryCaptor.getValue().getSort());
+        assertEquals("cursor1", queryCaptor.getValue().getCursor());
+        verify(caregiverDao, never()).findAllPatients(anyString(), any());
+    }
+
     @Test
     public void testGetAllPatients_WHEN_CaregiverHasNoPatients_THEN_ReturnEmptyPatients() {
         GetAllPatientsRequestBody requestBody = buildGetAllPatientsRequestBody();
@@ -462,7 +496,7 @@ public class CaregiverServiceTest {
     @Test
     public void testGetAllPatients_WHEN_CaregiverDaoFindAllPatientsThrows_THEN_ThrowSameException() {
         NullPointerException toThrow = new NullPointerException();
-        Mockito.doThrow(toThrow).when(caregiverDao).findAllPatients(anyString());
+        Mockito.doThrow(toThrow).when(caregiverDao).findAllPatients(anyString(), eq(CaregiverDao.PATIENT_ROSTER_PROJECTION));
 
         GetAllPatientsRequestBody requestBody = buildGetAllPatientsRequestBody();
         assertThatThrownBy(() -> cut.getAllPatients(requestBody)).isSameAs(toThrow);
@@ -479,7 +513,43 @@ public class CaregiverServiceTest {
                 Arguments.of(null, GET_ALL_PATIENTS_NULL_ERROR_MESSAGE),
                 Arguments.of(buildGetAllPatientsRequestBody(null), CAREGIVER_ID_BLANK_ERROR_MESSAGE),
                 Arguments.of(buildGetAllPatientsRequestBody(""), CAREGIVER_ID_BLANK_ERROR_MESSAGE),
-                Arguments.of(buildGetAllPatientsRequestBody(ORGANIZATION_ID), CAREGIVER_ID_INVALID_ERROR_MESSAGE)
+                Arguments.of(buildGetAllPatientsRequestBody(ORGANIZATION_ID), CAREGIVER_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(GetAllPatientsRequestBody.builder().caregiverId(CAREGIVER_ID).limit(0).build(), LIMIT_INVALID_ERROR_MESSAGE),
+                Arguments.of(GetAllPatientsRequestBody.builder().caregiverId(CAREGIVER_ID).limit(RosterQuery.MAX_LIMIT + 1).build(), LIMIT_INVALID_ERROR_MESSAGE),
+                Arguments.of(GetAllPatientsRequestBody.builder().caregiverId(CAREGIVER_ID).sort("email").build(), SORT_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @Test
+    public void testSearchPatients_HappyCase() {
+        Patient patient = buildPatientDefault();
+        when(caregiverDao.searchPatients(anyString(), anyString(), anyInt())).thenReturn(List.of(patient));
+
+        SearchPatientsRequestBody requestBody = SearchPatientsRequestBody.builder()
+                .caregiverId(CAREGIVER_ID)
+                .search("jack")
+                .build();
+        SearchPatientsResponseBody responseBody = cut.searchPatients(requestBody);
+
+        assertThat(responseBody.getPatients()).containsExactly(PatientSerialization.fromPatient(patient));
+        verify(caregiverDao).searchPatients(CAREGIVER_ID, "jack", RosterQuery.DEFAULT_LIMIT);
+        verify(caregiverDao, never()).findById(anyString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForSearchPatients")
+    public void testSearchPatients_WHEN_InvalidInput_THEN_ThrowInvalidInputException(SearchPatientsRequestBody body, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.searchPatients(body), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForSearchPatients() {
+        return Stream.of(
+                Arguments.of(null, SEARCH_PATIENTS_NULL_ERROR_MESSAGE),
+                Arguments.of(SearchPatientsRequestBody.builder().search("jack").build(), CAREGIVER_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(SearchPatientsRequestBody.builder().caregiverId(ORGANIZATION_ID).search("jack").build(), CAREGIVER_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(SearchPatientsRequestBody.builder().caregiverId(CAREGIVER_ID).build(), SEARCH_BLANK_ERROR_MESSAGE),
+                Arguments.of(SearchPatientsRequestBody.builder().caregiverId(CAREGIVER_ID).search(" ").build(), SEARCH_BLANK_ERROR_MESSAGE),
+                Arguments.of(SearchPatientsRequestBody.builder().caregiverId(CAREGIVER_ID).search("jack").limit(0).build(), LIMIT_INVALID_ERROR_MESSAGE)
         );
     }
 
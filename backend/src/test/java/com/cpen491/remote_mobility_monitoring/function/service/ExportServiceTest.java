@@ -0,0 +1,181 @@
+package com.cpen491.remote_mobility_monitoring.function.service;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.dependency.exception.ExportException;
+import com.cpen491.remote_mobility_monitoring.dependency.export.ColumnarMetricsExportReader;
+import com.cpen491.remote_mobility_monitoring.dependency.export.ExportStorage;
+import com.cpen491.remote_mobility_monitoring.dependency.export.LocalExportStorage;
+import com.cpen491.remote_mobility_monitoring.function.schema.patient.ExportMetricsRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.patient.ExportMetricsResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.assertInvalidInputExceptionThrown;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.EXPORT_FORMAT_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.EXPORT_METRICS_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.EXPORT_PATIENTS_EMPTY_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.IDS_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.PATIENT_ID_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.TIMESTAMP_BLANK_ERROR_MESSAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+    private static final String START = "2023-02-01T00:00:00";
+    private static final String END = "2023-03-01T00:00:00";
+    private static final String TIMESTAMP = "2023-02-01 00:12:30.101000000";
+
+    ExportService cut;
+    @Mock
+    MetricsStore metricsStore;
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void setup() {
+        cut = new ExportService(metricsStore, new LocalExportStorage(directory));
+    }
+
+    @Test
+    public void testExportMetrics_WHEN_Csv_THEN_WriteGzipFile() {
+        List<Metrics> metricsList = Arrays.asList(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0", TIMESTAMP),
+                buildMetrics(PATIENT_ID2, MeasureName.WALKING_SPEED, "1.2", TIMESTAMP));
+        mockStream(metricsList);
+
+        ExportMetricsResponseBody responseBody = cut.exportMetrics(buildExportMetricsRequestBody("csv"));
+
+        assertEquals("csv", responseBody.getFormat());
+        assertEquals(2L, responseBody.getRowCount());
+        assertThat(responseBody.getExportId()).startsWith("exp-");
+        Path file = Paths.get(URI.create(responseBody.getLocation()));
+        assertEquals(directory.resolve(responseBody.getExportId() + ".csv.gz"), file);
+        assertThat(file).exists();
+    }
+
+    @Test
+    public void testExportMetrics_WHEN_Columnar_THEN_WriteReadableFile() throws IOException {
+        List<Metrics> metricsList = Arrays.asList(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0", TIMESTAMP),
+                buildMetrics(PATIENT_ID2, MeasureName.WALKING_SPEED, "1.2", TIMESTAMP));
+        mockStream(metricsList);
+
+        ExportMetricsResponseBody responseBody = cut.exportMetrics(buildExportMetricsRequestBody("columnar"));
+
+        assertEquals("columnar", responseBody.getFormat());
+        assertEquals(2L, responseBody.getRowCount());
+        List<Metrics> actual = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(Paths.get(URI.create(responseBody.getLocation())))) {
+            ColumnarMetricsExportReader.read(in, actual::add);
+        }
+        assertThat(actual).containsExactlyElementsOf(metricsList);
+    }
+
+    @Test
+    public void testExportMetrics_WHEN_StorageThrows_THEN_ThrowExportException() throws IOException {
+        ExportStorage exportStorage = mock(ExportStorage.class);
+        when(exportStorage.create(anyString())).thenThrow(IOException.class);
+        cut = new ExportService(metricsStore, exportStorage);
+
+        assertThatThrownBy(() -> cut.exportMetrics(buildExportMetricsRequestBody("csv"))).isInstanceOf(ExportException.class);
+        Mockito.verifyNoInteractions(metricsStore);
+    }
+
+    @Test
+    public void testExportMetrics_WHEN_MetricsStoreThrows_THEN_ThrowSameException() {
+        RuntimeException toThrow = new RuntimeException();
+        Mockito.doThrow(toThrow).when(metricsStore).stream(any(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), anyString(), anyString(), any());
+
+        assertThatThrownBy(() -> cut.exportMetrics(buildExportMetricsRequestBody("csv"))).isSameAs(toThrow);
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    public void testExportMetrics_WHEN_PublishThrows_THEN_DiscardFileAndThrowExportException() throws IOException {
+        ExportStorage exportStorage = mock(ExportStorage.class);
+        when(exportStorage.create(anyString())).thenAnswer(invocation -> Files.newOutputStream(directory.resolve("export")));
+        when(exportStorage.publish(anyString())).thenThrow(IOException.class);
+        cut = new ExportService(metricsStore, exportStorage);
+        mockStream(Collections.singletonList(buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000.0", TIMESTAMP)));
+
+        assertThatThrownBy(() -> cut.exportMetrics(buildExportMetricsRequestBody("csv"))).isInstanceOf(ExportException.class);
+        ArgumentCaptor<String> nameCaptor = ArgumentCaptor.forClass(String.class);
+        verify(exportStorage).create(nameCaptor.capture());
+        verify(exportStorage).discard(nameCaptor.getValue());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForExportMetrics")
+    public void testExportMetrics_WHEN_InvalidInput_THEN_ThrowInvalidInputException(ExportMetricsRequestBody body, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.exportMetrics(body), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForExportMetrics() {
+        return Stream.of(
+                Arguments.of(null, EXPORT_METRICS_NULL_ERROR_MESSAGE),
+                Arguments.of(new ExportMetricsRequestBody(null, START, END, "csv"), IDS_NULL_ERROR_MESSAGE),
+                Arguments.of(new ExportMetricsRequestBody(Collections.emptyList(), START, END, "csv"), EXPORT_PATIENTS_EMPTY_ERROR_MESSAGE),
+                Arguments.of(new ExportMetricsRequestBody(Collections.singletonList("car-1"), START, END, "csv"), PATIENT_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(new ExportMetricsRequestBody(Collections.singletonList(PATIENT_ID1), null, END, "csv"), TIMESTAMP_BLANK_ERROR_MESSAGE),
+                Arguments.of(new ExportMetricsRequestBody(Collections.singletonList(PATIENT_ID1), START, "", "csv"), TIMESTAMP_BLANK_ERROR_MESSAGE),
+                Arguments.of(new ExportMetricsRequestBody(Collections.singletonList(PATIENT_ID1), START, END, "parquet"), EXPORT_FORMAT_INVALID_ERROR_MESSAGE),
+                Arguments.of(new ExportMetricsRequestBody(Collections.singletonList(PATIENT_ID1), START, END, null), EXPORT_FORMAT_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockStream(List<Metrics> metricsList) {
+        when(metricsStore.stream(eq(Arrays.asList(PATIENT_ID1, PATIENT_ID2)), isNull(), isNull(), isNull(), isNull(),
+                isNull(), isNull(), isNull(), eq(START), eq(END), any())).thenAnswer(invocation -> {
+            Consumer<Metrics> consumer = invocation.getArgument(10);
+            metricsList.forEach(consumer);
+            return (long) metricsList.size();
+        });
+    }
+
+    private static ExportMetricsRequestBody buildExportMetricsRequestBody(String format) {
+        return ExportMetricsRequestBody.builder()
+                .patientIds(Arrays.asList(PATIENT_ID1, PATIENT_ID2))
+                .start(START)
+                .end(END)
+                .format(format)
+                .build();
+    }
+}
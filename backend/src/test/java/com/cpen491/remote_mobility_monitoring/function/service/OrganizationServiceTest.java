@@ -1,6 +1,9 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
 import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.OrganizationRoster;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterPage;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.RosterQuery;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Admin;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Organization;
@@ -10,6 +13,8 @@ import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOr
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody;
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody.AdminSerialization;
 import com.cpen491.remote_mobility_monitoring.function.schema.organization.GetOrganizationResponseBody.CaregiverSerialization;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.SearchCaregiversRequestBody;
+import com.cpen491.remote_mobility_monitoring.function.schema.organization.SearchCaregiversResponseBody;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,15 +37,21 @@ import static com.cpen491.remote_mobility_monitoring.TestUtils.buildCaregiver;
 import static com.cpen491.remote_mobility_monitoring.TestUtils.buildOrganization;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.CREATE_ORGANIZATION_NULL_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.GET_ORGANIZATION_NULL_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.LIMIT_INVALID_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.NAME_BLANK_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.ORGANIZATION_ID_BLANK_ERROR_MESSAGE;
 import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.ORGANIZATION_ID_INVALID_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.SEARCH_BLANK_ERROR_MESSAGE;
+import static com.cpen491.remote_mobility_monitoring.dependency.utility.Validator.SEARCH_CAREGIVERS_NULL_ERROR_MESSAGE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -105,19 +116,21 @@ public class OrganizationServiceTest {
 
     @Test
     public void testGetOrganization_HappyCase() {
-        when(organizationDao.findById(anyString())).thenReturn(buildOrganizationDefault());
         Admin admin1 = buildAdminDefault();
         Admin admin2 = buildAdminDefault();
         admin2.setPid(ADMIN_ID2);
         admin2.setSid(ADMIN_ID2);
         List<Admin> admins = Arrays.asList(admin1, admin2);
-        when(organizationDao.findAllAdmins(anyString())).thenReturn(admins);
         Caregiver caregiver1 = buildCaregiverDefault();
         Caregiver caregiver2 = buildCaregiverDefault();
         caregiver2.setPid(CAREGIVER_ID2);
         caregiver2.setSid(CAREGIVER_ID2);
         List<Caregiver> caregivers = Arrays.asList(caregiver1, caregiver2);
-        when(organizationDao.findAllCaregivers(anyString())).thenReturn(caregivers);
+        when(organizationDao.findRosterById(anyString())).thenReturn(OrganizationRoster.builder()
+                .organization(buildOrganizationDefault())
+                .admins(admins)
+                .caregivers(caregivers)
+                .build());
 
         GetOrganizationRequestBody requestBody = buildGetOrganizationRequestBody();
         GetOrganizationResponseBody responseBody = cut.getOrganization(requestBody);
@@ -130,18 +143,35 @@ public class OrganizationServiceTest {
     }
 
     @Test
-    public void testGetOrganization_WHEN_OrganizationDaoFindByIdThrows_THEN_ThrowSameException() {
-        NullPointerException toThrow = new NullPointerException();
-        Mockito.doThrow(toThrow).when(organizationDao).findById(anyString());
+    public void testGetOrganization_WHEN_PageRequested_THEN_ReturnAllAdminsAndPageOfCaregivers() {
+        List<Admin> admins = List.of(buildAdminDefault());
+        Caregiver caregiver = buildCaregiverDefault();
+        ArgumentCaptor<RosterQuery> queryCaptor = ArgumentCaptor.forClass(RosterQuery.class);
+        when(organizationDao.findById(anyString())).thenReturn(buildOrganizationDefault());
+        when(organizationDao.findAllAdmins(anyString(), eq(OrganizationDao.ADMIN_ROSTER_PROJECTION))).thenReturn(admins);
+        when(organizationDao.findCaregiverPage(anyString(), queryCaptor.capture())).thenReturn(RosterPage.<Caregiver>builder()
+                .items(List.of(caregiver))
+                .nextCursor("cursor")
+                .build());
 
         GetOrganizationRequestBody requestBody = buildGetOrganizationRequestBody();
-        assertThatThrownBy(() -> cut.getOrganization(requestBody)).isSameAs(toThrow);
+        requestBody.setLimit(1);
+        requestBody.setNamePrefix("Jack");
+        GetOrganizationResponseBody responseBody = cut.getOrganization(requestBody);
+
+        assertEquals(ORGANIZATION_NAME, responseBody.getOrganizationName());
+        assertThat(responseBody.getAdmins()).containsExactly(AdminSerialization.fromAdmin(admins.get(0)));
+        assertThat(responseBody.getCaregivers()).containsExactly(CaregiverSerialization.fromCaregiver(caregiver));
+        assertEquals("cursor", responseBody.getNextCursor());
+        assertEquals(1, queryCaptor.getValue().getLimit());
+        assertEquals("Jack", queryCaptor.getValue().getNamePrefix());
+        verify(organizationDao, never()).findRosterById(anyString());
     }
 
     @Test
-    public void testGetOrganization_WHEN_OrganizationDaoFindAllCaregiversThrows_THEN_ThrowSameException() {
+    public void testGetOrganization_WHEN_OrganizationDaoFindRosterByIdThrows_THEN_ThrowSameException() {
         NullPointerException toThrow = new NullPointerException();
-        Mockito.doThrow(toThrow).when(organizationDao).findAllCaregivers(anyString());
+        Mockito.doThrow(toThrow).when(organizationDao).findRosterById(anyString());
 
         GetOrganizationRequestBody requestBody = buildGetOrganizationRequestBody();
         assertThatThrownBy(() -> cut.getOrganization(requestBody)).isSameAs(toThrow);
@@ -158,7 +188,41 @@ public class OrganizationServiceTest {
                 Arguments.of(null, GET_ORGANIZATION_NULL_ERROR_MESSAGE),
                 Arguments.of(buildGetOrganizationRequestBody(null), ORGANIZATION_ID_BLANK_ERROR_MESSAGE),
                 Arguments.of(buildGetOrganizationRequestBody(""), ORGANIZATION_ID_BLANK_ERROR_MESSAGE),
-                Arguments.of(buildGetOrganizationRequestBody(CAREGIVER_ID1), ORGANIZATION_ID_INVALID_ERROR_MESSAGE)
+                Arguments.of(buildGetOrganizationRequestBody(CAREGIVER_ID1), ORGANIZATION_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(GetOrganizationRequestBody.builder().organizationId(ORGANIZATION_ID).limit(-1).build(), LIMIT_INVALID_ERROR_MESSAGE)
+        );
+    }
+
+    @Test
+    public void testSearchCaregivers_HappyCase() {
+        Caregiver caregiver = buildCaregiverDefault();
+        when(organizationDao.searchCaregivers(anyString(), anyString(), anyInt())).thenReturn(List.of(caregiver));
+
+        SearchCaregiversRequestBody requestBody = SearchCaregiversRequestBody.builder()
+                .organizationId(ORGANIZATION_ID)
+                .search("jack")
+                .limit(5)
+                .build();
+        SearchCaregiversResponseBody responseBody = cut.searchCaregivers(requestBody);
+
+        assertThat(responseBody.getCaregivers()).containsExactly(CaregiverSerialization.fromCaregiver(caregiver));
+        verify(organizationDao).searchCaregivers(ORGANIZATION_ID, "jack", 5);
+        verify(organizationDao, never()).findById(anyString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidInputsForSearchCaregivers")
+    public void testSearchCaregivers_WHEN_InvalidInput_THEN_ThrowInvalidInputException(SearchCaregiversRequestBody body, String errorMessage) {
+        assertInvalidInputExceptionThrown(() -> cut.searchCaregivers(body), errorMessage);
+    }
+
+    private static Stream<Arguments> invalidInputsForSearchCaregivers() {
+        return Stream.of(
+                Arguments.of(null, SEARCH_CAREGIVERS_NULL_ERROR_MESSAGE),
+                Arguments.of(SearchCaregiversRequestBody.builder().search("jack").build(), ORGANIZATION_ID_BLANK_ERROR_MESSAGE),
+                Arguments.of(SearchCaregiversRequestBody.builder().organizationId(CAREGIVER_ID1).search("jack").build(), ORGANIZATION_ID_INVALID_ERROR_MESSAGE),
+                Arguments.of(SearchCaregiversRequestBody.builder().organizationId(ORGANIZATION_ID).search("").build(), SEARCH_BLANK_ERROR_MESSAGE),
+                Arguments.of(SearchCaregiversRequestBody.builder().organizationId(ORGANIZATION_ID).search("jack").limit(RosterQuery.MAX_LIMIT + 1).build(), LIMIT_INVALID_ERROR_MESSAGE)
         );
     }
 
@@ -1,7 +1,9 @@
 package com.cpen491.remote_mobility_monitoring.function.service;
 
-import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.IdentityMap;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
 import com.cpen491.remote_mobility_monitoring.datastore.dao.PatientDao;
+import com.cpen491.remote_mobility_monitoring.datastore.dao.ReadExecutor;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Caregiver;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
 import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
@@ -117,9 +119,13 @@ class PatientServiceTest {
     @Mock
     PatientDao patientDao;
     @Mock
-    MetricsDao metricsDao;
+    MetricsStore metricsStore;
     @Mock
     CognitoWrapper cognitoWrapper;
+    @Mock
+    AnomalyDetectionService anomalyDetectionService;
+    @Mock
+    AlertRuleService alertRuleService;
     ArgumentCaptor<Patient> patientCaptor;
     @Captor
     ArgumentCaptor<List<Metrics>> metricsListCaptor;
@@ -127,7 +133,8 @@ class PatientServiceTest {
     @BeforeEach
     public void setup() {
         patientCaptor = ArgumentCaptor.forClass(Patient.class);
-        cut = new PatientService(patientDao, metricsDao, cognitoWrapper);
+        cut = new PatientService(patientDao, metricsStore, cognitoWrapper, anomalyDetectionService, alertRuleService,
+                new ReadExecutor(Runnable::run, new IdentityMap()));
     }
 
     @Test
@@ -240,7 +247,7 @@ class PatientServiceTest {
         caregiver2.setPid(CAREGIVER_ID2);
         caregiver2.setSid(CAREGIVER_ID2);
         List<Caregiver> caregivers = Arrays.asList(caregiver1, caregiver2);
-        when(patientDao.findAllCaregivers(anyString())).thenReturn(caregivers);
+        when(patientDao.findAllCaregivers(anyString(), eq(PatientDao.CAREGIVER_ROSTER_PROJECTION))).thenReturn(caregivers);
 
         GetAllCaregiversRequestBody requestBody = buildGetAllCaregiversRequestBody();
         GetAllCaregiversResponseBody responseBody = cut.getAllCaregivers(requestBody);
@@ -261,7 +268,7 @@ class PatientServiceTest {
     @Test
     public void testGetAllCaregivers_WHEN_PatientDaoFindAllCaregiversThrows_THEN_ThrowSameException() {
         NullPointerException toThrow = new NullPointerException();
-        Mockito.doThrow(toThrow).when(patientDao).findAllCaregivers(anyString());
+        Mockito.doThrow(toThrow).when(patientDao).findAllCaregivers(anyString(), eq(PatientDao.CAREGIVER_ROSTER_PROJECTION));
 
         GetAllCaregiversRequestBody requestBody = buildGetAllCaregiversRequestBody();
         assertThatThrownBy(() -> cut.getAllCaregivers(requestBody)).isSameAs(toThrow);
@@ -307,16 +314,45 @@ class PatientServiceTest {
         expected.add(buildMetricsDefault(MeasureName.STEP_COUNT, METRIC_VALUES2[5]));
         expected.add(buildMetricsDefault(MeasureName.WALKING_STEADINESS, METRIC_VALUES2[6]));
 
-        verify(metricsDao, times(1)).add(metricsListCaptor.capture());
+        verify(metricsStore, times(1)).add(metricsListCaptor.capture());
         List<Metrics> metricsList = metricsListCaptor.getValue();
         assertThat(metricsList).containsExactlyInAnyOrderElementsOf(expected);
+        verify(anomalyDetectionService, times(1)).processMetrics(any(Patient.class), eq(metricsList));
+        verify(alertRuleService, times(1)).evaluateMetrics(any(Patient.class), eq(metricsList));
+        assertEquals("OK", responseBody.getMessage());
+    }
+
+    @Test
+    public void testAddMetrics_WHEN_AnomalyDetectionThrows_THEN_ReturnOk() {
+        Mockito.when(patientDao.findById(anyString())).thenReturn(buildPatientDefault());
+        Mockito.doThrow(RuntimeException.class).when(anomalyDetectionService).processMetrics(any(Patient.class), anyList());
+
+        List<AddMetricsSerialization> serializations = Arrays.asList(buildAddMetricsSerialization(METRIC_VALUES1));
+        AddMetricsRequestBody requestBody = buildAddMetricsRequestBody(serializations);
+        AddMetricsResponseBody responseBody = cut.addMetrics(requestBody);
+
+        verify(metricsStore, times(1)).add(anyList());
+        verify(alertRuleService, times(1)).evaluateMetrics(any(Patient.class), anyList());
+        assertEquals("OK", responseBody.getMessage());
+    }
+
+    @Test
+    public void testAddMetrics_WHEN_AlertRuleEvaluationThrows_THEN_ReturnOk() {
+        Mockito.when(patientDao.findById(anyString())).thenReturn(buildPatientDefault());
+        Mockito.doThrow(RuntimeException.class).when(alertRuleService).evaluateMetrics(any(Patient.class), anyList());
+
+        List<AddMetricsSerialization> serializations = Arrays.asList(buildAddMetricsSerialization(METRIC_VALUES1));
+        AddMetricsRequestBody requestBody = buildAddMetricsRequestBody(serializations);
+        AddMetricsResponseBody responseBody = cut.addMetrics(requestBody);
+
+        verify(metricsStore, times(1)).add(anyList());
         assertEquals("OK", responseBody.getMessage());
     }
 
     @Test
-    public void testAddMetrics_WHEN_MetricsDaoAddThrows_THEN_ThrowSameException() {
+    public void testAddMetrics_WHEN_MetricsStoreAddThrows_THEN_ThrowSameException() {
         NullPointerException toThrow = new NullPointerException();
-        Mockito.doThrow(toThrow).when(metricsDao).add(anyList());
+        Mockito.doThrow(toThrow).when(metricsStore).add(anyList());
         Mockito.when(patientDao.findById(anyString())).thenReturn(buildPatientDefault());
 
         List<AddMetricsSerialization> serializations = Arrays.asList(buildAddMetricsSerialization(METRIC_VALUES1));
@@ -416,7 +452,7 @@ class PatientServiceTest {
         Metrics metrics3 = buildMetricsDefault(MeasureName.WALKING_SPEED, METRIC_VALUES1[2]);
         metrics3.setPatientId(PATIENT_ID2);
         List<Metrics> metricsList = Arrays.asList(metrics1, metrics2, metrics3);
-        when(metricsDao.query(
+        when(metricsStore.query(
                 anyList(),
                 nullable(Integer.class),
                 nullable(Integer.class),
@@ -439,9 +475,9 @@ class PatientServiceTest {
     }
 
     @Test
-    public void testQueryMetrics_WHEN_MetricsDaoQueryThrows_THEN_ThrowSameException() {
+    public void testQueryMetrics_WHEN_MetricsStoreQueryThrows_THEN_ThrowSameException() {
         NullPointerException toThrow = new NullPointerException();
-        Mockito.doThrow(toThrow).when(metricsDao).query(
+        Mockito.doThrow(toThrow).when(metricsStore).query(
                 anyList(),
                 nullable(Integer.class),
                 nullable(Integer.class),
@@ -0,0 +1,59 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvMetricsReaderTest {
+    @Test
+    public void testNext_HappyCase() throws IOException {
+        String csv = "timestamp,patient_id,sex,measure_name,measure_value\n" +
+                "2023-02-01 00:12:30.101000000,pat-1,M,step_count,1000.0\n" +
+                "\n" +
+                "2023-02-01T00:13:00,\"pat-2\",\"F, \"\"x\"\"\",walking_speed,1.2\n";
+        try (CsvMetricsReader cut = create(csv)) {
+            assertEquals(buildMetrics("pat-1", MeasureName.STEP_COUNT, "1000.0", "2023-02-01T00:12:30.101000000"), cut.next());
+            assertEquals(buildMetrics("pat-2", MeasureName.WALKING_SPEED, "1.2", "2023-02-01T00:13:00"), cut.next());
+            assertNull(cut.next());
+        }
+    }
+
+    @Test
+    public void testNext_WHEN_FieldsMissing_THEN_ReturnNullFields() throws IOException {
+        String csv = "patient_id,measure_name,measure_value,timestamp\n" +
+                "pat-1,unknown,,\n";
+        try (CsvMetricsReader cut = create(csv)) {
+            Metrics metrics = cut.next();
+            assertEquals("pat-1", metrics.getPatientId());
+            assertNull(metrics.getMeasureName());
+            assertNull(metrics.getMeasureValue());
+            assertNull(metrics.getTimestamp());
+        }
+    }
+
+    @Test
+    public void testConstructor_WHEN_ColumnMissing_THEN_ThrowIOException() {
+        assertThatThrownBy(() -> create("patient_id,measure_name,timestamp\n"))
+                .isInstanceOf(IOException.class).hasMessageContaining("measure_value");
+        assertThatThrownBy(() -> create("")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testParseLine_WHEN_QuotedFields_THEN_UnquoteFields() {
+        assertThat(CsvMetricsReader.parseLine("a,\"b,c\",\"d\"\"e\",")).containsExactly("a", "b,c", "d\"e", "");
+    }
+
+    private static CsvMetricsReader create(String csv) throws IOException {
+        return new CsvMetricsReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
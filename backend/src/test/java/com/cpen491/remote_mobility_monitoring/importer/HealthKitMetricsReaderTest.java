@@ -0,0 +1,48 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HealthKitMetricsReaderTest {
+    private static final String PATIENT_ID = "pat-1";
+
+    @Test
+    public void testNext_HappyCase() throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<!DOCTYPE HealthData [\n<!ELEMENT HealthData (Record*)>\n]>\n" +
+                "<HealthData locale=\"en_CA\">\n" +
+                " <Record type=\"HKQuantityTypeIdentifierStepCount\" unit=\"count\" value=\"120\" startDate=\"2023-02-01 10:00:00 -0800\"/>\n" +
+                " <Record type=\"HKQuantityTypeIdentifierHeartRate\" unit=\"count/min\" value=\"60\" startDate=\"2023-02-01 10:00:00 -0800\"/>\n" +
+                " <Record type=\"HKQuantityTypeIdentifierWalkingSpeed\" unit=\"mi/hr\" value=\"1\" startDate=\"2023-02-01 10:00:30 +0000\"/>\n" +
+                " <Record type=\"HKQuantityTypeIdentifierDistanceWalkingRunning\" unit=\"km\" value=\"1.5\" startDate=\"2023-02-01 10:01:00 +0000\">\n" +
+                "  <MetadataEntry key=\"HKMetadataKeySyncVersion\" value=\"1\"/>\n" +
+                " </Record>\n" +
+                " <Record type=\"HKQuantityTypeIdentifierWalkingStepLength\" unit=\"furlong\" value=\"1\" startDate=\"2023-02-01 10:02:00 +0000\"/>\n" +
+                "</HealthData>\n";
+
+        List<Metrics> actual = new ArrayList<>();
+        try (HealthKitMetricsReader cut = new HealthKitMetricsReader(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), PATIENT_ID)) {
+            Metrics metrics;
+            while ((metrics = cut.next()) != null) {
+                actual.add(metrics);
+            }
+        }
+
+        assertThat(actual).containsExactly(
+                buildMetrics(PATIENT_ID, MeasureName.STEP_COUNT, "120.0", "2023-02-01T18:00"),
+                buildMetrics(PATIENT_ID, MeasureName.WALKING_SPEED, "0.44704", "2023-02-01T10:00:30"),
+                buildMetrics(PATIENT_ID, MeasureName.DISTANCE_WALKED, "1500.0", "2023-02-01T10:01"),
+                buildMetrics(PATIENT_ID, MeasureName.STEP_LENGTH, null, "2023-02-01T10:02"));
+    }
+}
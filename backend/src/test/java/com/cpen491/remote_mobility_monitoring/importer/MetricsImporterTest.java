@@ -0,0 +1,204 @@
+package com.cpen491.remote_mobility_monitoring.importer;
+
+import com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsStore;
+import com.cpen491.remote_mobility_monitoring.datastore.exception.InvalidMetricsException;
+import com.cpen491.remote_mobility_monitoring.datastore.exception.RecordDoesNotExistException;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Metrics.MeasureName;
+import com.cpen491.remote_mobility_monitoring.datastore.model.Patient;
+import com.cpen491.remote_mobility_monitoring.importer.MetricsImporter.ImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.timestreamwrite.model.ThrottlingException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildMetrics;
+import static com.cpen491.remote_mobility_monitoring.TestUtils.buildPatient;
+import static com.cpen491.remote_mobility_monitoring.datastore.dao.MetricsDao.MAX_RECORDS_PER_WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsImporterTest {
+    private static final String PATIENT_ID1 = "pat-1";
+    private static final String PATIENT_ID2 = "pat-2";
+    private static final String PATIENT_ID3 = "pat-3";
+    private static final String TIMESTAMP = "2023-02-01T00:12:30";
+    private static final Map<String, Patient> PATIENTS = Map.of(
+            PATIENT_ID1, buildPatient(PATIENT_ID1, PATIENT_ID1, "patient1@email.com", null, "Jack", "Jackson",
+                    "1234567890", "M", LocalDate.of(1950, 1, 1), 180f, 80f),
+            PATIENT_ID2, buildPatient(PATIENT_ID2, PATIENT_ID2, "patient2@email.com", null, "Jane", "Jackson",
+                    "1234567890", "F", null, null, null));
+
+    MetricsImporter cut;
+    @Mock
+    MetricsStore metricsStore;
+    @TempDir
+    Path directory;
+    ImportCheckpoint checkpoint;
+    List<Long> sleeps;
+    List<List<Metrics>> batches;
+
+    @BeforeEach
+    public void setup() {
+        sleeps = Collections.synchronizedList(new ArrayList<>());
+        batches = Collections.synchronizedList(new ArrayList<>());
+        checkpoint = new ImportCheckpoint(directory.resolve("import.checkpoint"));
+        cut = new MetricsImporter(metricsStore, this::findPatient, 2, sleeps::add);
+    }
+
+    @Test
+    public void testImportMetrics_HappyCase() throws IOException {
+        recordBatches();
+        List<Metrics> input = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            input.add(buildMetrics(i % 2 == 0 ? PATIENT_ID1 : PATIENT_ID2, MeasureName.STEP_COUNT, "1000", TIMESTAMP));
+        }
+
+        ImportResult result = cut.importMetrics(new ListMetricsReader(input), checkpoint);
+
+        assertEquals(new ImportResult(250, 250, 0, 250, false), result);
+        assertEquals(250L, checkpoint.load());
+        assertThat(batches).allSatisfy(batch -> {
+            assertThat(batch).hasSizeLessThanOrEqualTo(MAX_RECORDS_PER_WRITE);
+            assertThat(batch).extracting(Metrics::getPatientId).containsOnly(batch.get(0).getPatientId());
+        });
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(250);
+        Metrics metrics = input.get(0);
+        assertEquals("M", metrics.getSex());
+        assertEquals("1950-01-01", metrics.getBirthday());
+        assertEquals(180f, metrics.getHeight());
+        assertEquals(80f, metrics.getWeight());
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void testImportMetrics_WHEN_InvalidRecords_THEN_CountRejected() throws IOException {
+        recordBatches();
+        List<Metrics> input = List.of(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000", TIMESTAMP),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "abc", TIMESTAMP),
+                buildMetrics(PATIENT_ID1, null, "1000", TIMESTAMP),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000", "2023-02-01 00:12:30"),
+                buildMetrics(PATIENT_ID3, MeasureName.STEP_COUNT, "1000", TIMESTAMP),
+                buildMetrics(PATIENT_ID2, MeasureName.WALKING_SPEED, "1.2", TIMESTAMP));
+
+        ImportResult result = cut.importMetrics(new ListMetricsReader(input), checkpoint);
+
+        assertEquals(new ImportResult(6, 2, 4, 6, false), result);
+    }
+
+    @Test
+    public void testImportMetrics_WHEN_Throttled_THEN_RetryWithBackoff() throws IOException {
+        Mockito.doThrow(ThrottlingException.class).doThrow(ThrottlingException.class).doNothing()
+                .when(metricsStore).add(anyList());
+
+        ImportResult result = cut.importMetrics(new ListMetricsReader(List.of(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000", TIMESTAMP))), checkpoint);
+
+        assertEquals(new ImportResult(1, 1, 0, 1, false), result);
+        assertThat(sleeps).hasSize(2);
+        assertThat(sleeps.get(0)).isBetween(0L, MetricsImporter.BASE_BACKOFF_MILLIS);
+        assertThat(sleeps.get(1)).isBetween(0L, MetricsImporter.BASE_BACKOFF_MILLIS * 2);
+    }
+
+    @Test
+    public void testImportMetrics_WHEN_ThrottledTooManyTimes_THEN_FailWithoutAdvancingCheckpoint() throws IOException {
+        Mockito.doThrow(ThrottlingException.class).when(metricsStore).add(anyList());
+
+        ImportResult result = cut.importMetrics(new ListMetricsReader(List.of(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000", TIMESTAMP))), checkpoint);
+
+        assertTrue(result.isFailed());
+        assertEquals(0L, result.getWritten());
+        assertEquals(0L, result.getRecordsProcessed());
+        assertEquals(0L, checkpoint.load());
+        assertThat(sleeps).hasSize(MetricsImporter.MAX_ATTEMPTS - 1);
+        assertThat(sleeps).allSatisfy(sleep -> assertThat(sleep).isBetween(0L, MetricsImporter.MAX_BACKOFF_MILLIS));
+    }
+
+    @Test
+    public void testImportMetrics_WHEN_TimestreamRejectsBatch_THEN_CountRejected() throws IOException {
+        Mockito.doThrow(InvalidMetricsException.class).when(metricsStore).add(anyList());
+
+        ImportResult result = cut.importMetrics(new ListMetricsReader(List.of(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1000", TIMESTAMP))), checkpoint);
+
+        assertEquals(new ImportResult(1, 0, 1, 1, false), result);
+    }
+
+    @Test
+    public void testImportMetrics_WHEN_CheckpointExists_THEN_Resume() throws IOException {
+        recordBatches();
+        checkpoint.save(2);
+        List<Metrics> input = List.of(
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "1", TIMESTAMP),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "2", TIMESTAMP),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "3", TIMESTAMP),
+                buildMetrics(PATIENT_ID1, MeasureName.STEP_COUNT, "4", TIMESTAMP));
+
+        ImportResult result = cut.importMetrics(new ListMetricsReader(input), checkpoint);
+
+        assertEquals(new ImportResult(2, 2, 0, 4, false), result);
+        assertEquals(4L, checkpoint.load());
+        assertThat(batches).flatExtracting(batch -> batch).extracting(Metrics::getMeasureValue).containsExactly("3", "4");
+    }
+
+    @Test
+    public void testImportMetrics_WHEN_InputIsEmpty_THEN_NoWrites() throws IOException {
+        ImportResult result = cut.importMetrics(new ListMetricsReader(Collections.emptyList()), checkpoint);
+
+        assertEquals(new ImportResult(0, 0, 0, 0, false), result);
+        assertFalse(result.isFailed());
+        Mockito.verifyNoInteractions(metricsStore);
+    }
+
+    private void recordBatches() {
+        Mockito.doAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.getArgument(0)));
+            return null;
+        }).when(metricsStore).add(any());
+    }
+
+    private Patient findPatient(String patientId) {
+        Patient patient = PATIENTS.get(patientId);
+        if (patient == null) {
+            throw new RecordDoesNotExistException(Patient.class.getSimpleName(), patientId);
+        }
+        return patient;
+    }
+
+    private static class ListMetricsReader implements MetricsReader {
+        private final Iterator<Metrics> iterator;
+
+        ListMetricsReader(List<Metrics> metricsList) {
+            this.iterator = metricsList.iterator();
+        }
+
+        @Override
+        public Metrics next() {
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}